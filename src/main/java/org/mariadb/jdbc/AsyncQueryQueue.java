@@ -0,0 +1,220 @@
+/*
+ *
+ * MariaDB Client for Java
+ *
+ * Copyright (c) 2012-2014 Monty Program Ab.
+ * Copyright (c) 2015-2020 MariaDB Corporation Ab.
+ *
+ * This library is free software; you can redistribute it and/or modify it under
+ * the terms of the GNU Lesser General Public License as published by the Free
+ * Software Foundation; either version 2.1 of the License, or (at your option)
+ * any later version.
+ *
+ * This library is distributed in the hope that it will be useful, but
+ * WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE.  See the GNU Lesser General Public License
+ * for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License along
+ * with this library; if not, write to Monty Program Ab info@montyprogram.com.
+ *
+ */
+
+package org.mariadb.jdbc;
+
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.AtomicBoolean;
+import org.mariadb.jdbc.internal.com.read.dao.Results;
+import org.mariadb.jdbc.internal.com.read.resultset.SelectResultSet;
+import org.mariadb.jdbc.internal.protocol.Protocol;
+import org.mariadb.jdbc.internal.util.Utils;
+import org.mariadb.jdbc.internal.util.exceptions.ExceptionFactory;
+import org.mariadb.jdbc.internal.util.scheduler.SchedulerServiceProviderHolder;
+
+/**
+ * Connection asynchronous query queue. Queued queries are sent in pipeline by a single task, that
+ * then read results in order. Only one task run at a time for a connection, using connection lock
+ * for each pipeline round, so synchronous commands can be interleaved between rounds.
+ */
+class AsyncQueryQueue implements Runnable {
+
+  /** Maximum query size sent in a pipeline round, to avoid filling socket buffers. */
+  private static final int MAX_PIPELINE_CHARS = 16 * 1024;
+
+  private final MariaDbConnection connection;
+  private final ConcurrentLinkedQueue<AsyncQuery> queue = new ConcurrentLinkedQueue<>();
+  private final AtomicBoolean running = new AtomicBoolean();
+
+  AsyncQueryQueue(MariaDbConnection connection) {
+    this.connection = connection;
+  }
+
+  /**
+   * Queue a query.
+   *
+   * @param sql query
+   * @param query must return a result-set, or an update count
+   * @param <T> future result type
+   * @return future
+   */
+  <T> CompletableFuture<T> submit(String sql, boolean query) {
+    CompletableFuture<T> future = new CompletableFuture<>();
+    queue.add(new AsyncQuery(sql, query, future));
+    schedule();
+    return future;
+  }
+
+  private void schedule() {
+    while (running.compareAndSet(false, true)) {
+      try {
+        SchedulerServiceProviderHolder.getAsyncQueryScheduler().execute(this);
+        return;
+      } catch (RejectedExecutionException rejected) {
+        // executor saturated or shut down : fail queued queries, never executing them on caller
+        SQLException exception =
+            ExceptionFactory.INSTANCE.create(
+                "Asynchronous query executor rejected query", "HY000", rejected);
+        AsyncQuery query;
+        while ((query = queue.poll()) != null) {
+          query.exception = exception;
+          query.complete();
+        }
+        running.set(false);
+        // query may have been queued after queue was emptied
+        if (queue.isEmpty()) {
+          return;
+        }
+      }
+    }
+  }
+
+  @Override
+  public void run() {
+    do {
+      try {
+        executeRound();
+        while (!queue.isEmpty()) {
+          executeRound();
+        }
+      } finally {
+        running.set(false);
+      }
+      // query may have been queued after last round, but before running flag reset
+    } while (!queue.isEmpty() && running.compareAndSet(false, true));
+  }
+
+  /** Send a pipeline of queued queries, then read their results. */
+  private void executeRound() {
+    List<AsyncQuery> queries = new ArrayList<>();
+    int chars = 0;
+    AsyncQuery next;
+    while ((next = queue.peek()) != null
+        && (queries.isEmpty() || chars + next.sql.length() <= MAX_PIPELINE_CHARS)) {
+      queries.add(queue.poll());
+      chars += next.sql.length();
+    }
+    if (queries.isEmpty()) {
+      return;
+    }
+
+    Protocol protocol = connection.getProtocol();
+    connection.lock.lock();
+    try {
+      Results[] results = new Results[queries.size()];
+      String[] sqls = new String[queries.size()];
+      int autoIncrement = protocol.getAutoIncrementIncrement();
+      for (int i = 0; i < results.length; i++) {
+        AsyncQuery asyncQuery = queries.get(i);
+        asyncQuery.statement = (MariaDbStatement) connection.createStatement();
+        sqls[i] = Utils.nativeSql(asyncQuery.sql, protocol);
+        results[i] =
+            new Results(
+                asyncQuery.statement,
+                0,
+                false,
+                1,
+                false,
+                ResultSet.TYPE_FORWARD_ONLY,
+                ResultSet.CONCUR_READ_ONLY,
+                Statement.NO_GENERATED_KEYS,
+                autoIncrement,
+                sqls[i],
+                null);
+      }
+
+      SQLException[] exceptions =
+          protocol.executePipelineQueries(protocol.isMasterConnection(), results, sqls);
+
+      for (int i = 0; i < results.length; i++) {
+        AsyncQuery asyncQuery = queries.get(i);
+        if (exceptions[i] != null) {
+          asyncQuery.exception = exceptions[i];
+          asyncQuery.statement.close();
+          continue;
+        }
+        results[i].commandEnd();
+        if (asyncQuery.query) {
+          ResultSet resultSet = results[i].getResultSet();
+          if (resultSet == null) {
+            asyncQuery.result = SelectResultSet.createEmptyResultSet();
+            asyncQuery.statement.close();
+          } else {
+            asyncQuery.result = resultSet;
+            asyncQuery.statement.closeOnCompletion();
+          }
+        } else {
+          asyncQuery.result =
+              results[i].getCmdInformation() != null
+                  ? results[i].getCmdInformation().getLargeUpdateCount()
+                  : 0L;
+          asyncQuery.statement.close();
+        }
+      }
+
+    } catch (SQLException | RuntimeException exception) {
+      for (AsyncQuery asyncQuery : queries) {
+        if (asyncQuery.result == null && asyncQuery.exception == null) {
+          asyncQuery.exception = exception;
+        }
+      }
+    } finally {
+      connection.lock.unlock();
+    }
+
+    // complete futures when connection is released, so dependant actions can use connection
+    for (AsyncQuery asyncQuery : queries) {
+      asyncQuery.complete();
+    }
+  }
+
+  private static class AsyncQuery {
+    private final String sql;
+    private final boolean query;
+    private final CompletableFuture<Object> future;
+    private MariaDbStatement statement;
+    private Object result;
+    private Throwable exception;
+
+    @SuppressWarnings("unchecked")
+    private AsyncQuery(String sql, boolean query, CompletableFuture<?> future) {
+      this.sql = sql;
+      this.query = query;
+      this.future = (CompletableFuture<Object>) future;
+    }
+
+    private void complete() {
+      if (exception != null) {
+        future.completeExceptionally(exception);
+      } else {
+        future.complete(result);
+      }
+    }
+  }
+}
@@ -554,7 +554,12 @@ public abstract class BasePrepareStatement extends MariaDbStatement implements P
    *     PreparedStatement</code>
    */
   public void setNull(final int parameterIndex, final int sqlType) throws SQLException {
-    setParameter(parameterIndex, new NullParameter());
+    ParameterBatch parameters = directParameters(parameterIndex);
+    if (parameters != null) {
+      parameters.setNull(parameterIndex - 1, ColumnType.NULL);
+    } else {
+      setParameter(parameterIndex, new NullParameter());
+    }
   }
 
   /**
@@ -569,7 +574,12 @@ public abstract class BasePrepareStatement extends MariaDbStatement implements P
    *     PreparedStatement</code>
    */
   public void setNull(final int parameterIndex, final ColumnType mariadbType) throws SQLException {
-    setParameter(parameterIndex, new NullParameter(mariadbType));
+    ParameterBatch parameters = directParameters(parameterIndex);
+    if (parameters != null) {
+      parameters.setNull(parameterIndex - 1, mariadbType);
+    } else {
+      setParameter(parameterIndex, new NullParameter(mariadbType));
+    }
   }
 
   /**
@@ -597,12 +607,26 @@ public abstract class BasePrepareStatement extends MariaDbStatement implements P
    */
   public void setNull(final int parameterIndex, final int sqlType, final String typeName)
       throws SQLException {
-    setParameter(parameterIndex, new NullParameter());
+    ParameterBatch parameters = directParameters(parameterIndex);
+    if (parameters != null) {
+      parameters.setNull(parameterIndex - 1, ColumnType.NULL);
+    } else {
+      setParameter(parameterIndex, new NullParameter());
+    }
   }
 
   public abstract void setParameter(final int parameterIndex, final ParameterHolder holder)
       throws SQLException;
 
+  /**
+   * Parameter storage where primitive and NULL values can be set directly, without creating a
+   * {@link ParameterHolder}.
+   *
+   * @param parameterIndex parameter index (first parameter is 1)
+   * @return parameter storage, or null if value must be set using {@link #setParameter}
+   */
+  protected abstract ParameterBatch directParameters(int parameterIndex);
+
   /**
    * Sets the designated parameter to the given <code>java.net.URL</code> value. The driver converts
    * this to an SQL <code>DATALINK</code> value when it sends it to the database.
@@ -1339,7 +1363,12 @@ public abstract class BasePrepareStatement extends MariaDbStatement implements P
    *     PreparedStatement</code>
    */
   public void setBoolean(final int parameterIndex, final boolean value) throws SQLException {
-    setParameter(parameterIndex, new BooleanParameter(value));
+    ParameterBatch parameters = directParameters(parameterIndex);
+    if (parameters != null) {
+      parameters.setBoolean(parameterIndex - 1, value);
+    } else {
+      setParameter(parameterIndex, new BooleanParameter(value));
+    }
   }
 
   /**
@@ -1353,7 +1382,12 @@ public abstract class BasePrepareStatement extends MariaDbStatement implements P
    *     PreparedStatement</code>
    */
   public void setByte(final int parameterIndex, final byte bit) throws SQLException {
-    setParameter(parameterIndex, new ByteParameter(bit));
+    ParameterBatch parameters = directParameters(parameterIndex);
+    if (parameters != null) {
+      parameters.setByte(parameterIndex - 1, bit);
+    } else {
+      setParameter(parameterIndex, new ByteParameter(bit));
+    }
   }
 
   /**
@@ -1367,7 +1401,12 @@ public abstract class BasePrepareStatement extends MariaDbStatement implements P
    *     PreparedStatement</code>
    */
   public void setShort(final int parameterIndex, final short value) throws SQLException {
-    setParameter(parameterIndex, new ShortParameter(value));
+    ParameterBatch parameters = directParameters(parameterIndex);
+    if (parameters != null) {
+      parameters.setShort(parameterIndex - 1, value);
+    } else {
+      setParameter(parameterIndex, new ShortParameter(value));
+    }
   }
 
   /**
@@ -1441,7 +1480,12 @@ public abstract class BasePrepareStatement extends MariaDbStatement implements P
   }
 
   public void setInt(final int column, final int value) throws SQLException {
-    setParameter(column, new IntParameter(value));
+    ParameterBatch parameters = directParameters(column);
+    if (parameters != null) {
+      parameters.setInt(column - 1, value);
+    } else {
+      setParameter(column, new IntParameter(value));
+    }
   }
 
   /**
@@ -1455,7 +1499,12 @@ public abstract class BasePrepareStatement extends MariaDbStatement implements P
    *     PreparedStatement</code>
    */
   public void setLong(final int parameterIndex, final long value) throws SQLException {
-    setParameter(parameterIndex, new LongParameter(value));
+    ParameterBatch parameters = directParameters(parameterIndex);
+    if (parameters != null) {
+      parameters.setLong(parameterIndex - 1, value);
+    } else {
+      setParameter(parameterIndex, new LongParameter(value));
+    }
   }
 
   /**
@@ -1469,7 +1518,12 @@ public abstract class BasePrepareStatement extends MariaDbStatement implements P
    *     PreparedStatement</code>
    */
   public void setFloat(final int parameterIndex, final float value) throws SQLException {
-    setParameter(parameterIndex, new FloatParameter(value));
+    ParameterBatch parameters = directParameters(parameterIndex);
+    if (parameters != null) {
+      parameters.setFloat(parameterIndex - 1, value);
+    } else {
+      setParameter(parameterIndex, new FloatParameter(value));
+    }
   }
 
   /**
@@ -1483,7 +1537,12 @@ public abstract class BasePrepareStatement extends MariaDbStatement implements P
    *     PreparedStatement</code>
    */
   public void setDouble(final int parameterIndex, final double value) throws SQLException {
-    setParameter(parameterIndex, new DoubleParameter(value));
+    ParameterBatch parameters = directParameters(parameterIndex);
+    if (parameters != null) {
+      parameters.setDouble(parameterIndex - 1, value);
+    } else {
+      setParameter(parameterIndex, new DoubleParameter(value));
+    }
   }
 
   /**
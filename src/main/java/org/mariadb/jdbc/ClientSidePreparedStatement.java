@@ -53,23 +53,22 @@
 package org.mariadb.jdbc;
 
 import java.sql.*;
-import java.util.ArrayList;
-import java.util.List;
 import org.mariadb.jdbc.internal.com.read.dao.Results;
 import org.mariadb.jdbc.internal.com.read.resultset.SelectResultSet;
+import org.mariadb.jdbc.internal.com.send.parameters.ParameterBatch;
 import org.mariadb.jdbc.internal.com.send.parameters.ParameterHolder;
 import org.mariadb.jdbc.internal.logging.Logger;
 import org.mariadb.jdbc.internal.logging.LoggerFactory;
+import org.mariadb.jdbc.internal.util.ClientPrepareResultCache;
 import org.mariadb.jdbc.internal.util.dao.ClientPrepareResult;
 import org.mariadb.jdbc.internal.util.exceptions.ExceptionFactory;
 
 public class ClientSidePreparedStatement extends BasePrepareStatement {
 
   private static final Logger logger = LoggerFactory.getLogger(ClientSidePreparedStatement.class);
-  private final List<ParameterHolder[]> parameterList = new ArrayList<>();
   private ClientPrepareResult prepareResult;
   private String sqlQuery;
-  private ParameterHolder[] parameters;
+  private ParameterBatch parameters;
   private ResultSetMetaData resultSetMetaData = null;
   private ParameterMetaData parameterMetaData = null;
 
@@ -100,12 +99,16 @@ public class ClientSidePreparedStatement extends BasePrepareStatement {
         connection, resultSetScrollType, resultSetConcurrency, autoGeneratedKeys, exceptionFactory);
     sqlQuery = sql;
 
-    if (options.rewriteBatchedStatements) {
+    if (options.cachePrepStmts) {
+      prepareResult =
+          ClientPrepareResultCache.getInstance()
+              .get(sqlQuery, protocol.noBackslashEscapes(), options.rewriteBatchedStatements);
+    } else if (options.rewriteBatchedStatements) {
       prepareResult = ClientPrepareResult.rewritableParts(sqlQuery, protocol.noBackslashEscapes());
     } else {
       prepareResult = ClientPrepareResult.parameterParts(sqlQuery, protocol.noBackslashEscapes());
     }
-    parameters = new ParameterHolder[prepareResult.getParamCount()];
+    parameters = new ParameterBatch(prepareResult.getParamCount());
   }
 
   /**
@@ -120,7 +123,7 @@ public class ClientSidePreparedStatement extends BasePrepareStatement {
     ClientSidePreparedStatement clone = (ClientSidePreparedStatement) super.clone(connection);
     clone.sqlQuery = sqlQuery;
     clone.prepareResult = prepareResult;
-    clone.parameters = new ParameterHolder[prepareResult.getParamCount()];
+    clone.parameters = new ParameterBatch(prepareResult.getParamCount());
     clone.resultSetMetaData = resultSetMetaData;
     clone.parameterMetaData = parameterMetaData;
     return clone;
@@ -187,18 +190,18 @@ public class ClientSidePreparedStatement extends BasePrepareStatement {
   protected boolean executeInternal(int fetchSize) throws SQLException {
 
     // valid parameters
-    for (int i = 0; i < prepareResult.getParamCount(); i++) {
-      if (parameters[i] == null) {
-        logger.error("Parameter at position {} is not set", (i + 1));
-        throw exceptionFactory
-            .raiseStatementError(connection, this)
-            .create("Parameter at position " + (i + 1) + " is " + "not set", "07004");
-      }
+    int unsetParameter = parameters.firstUnsetParameter();
+    if (unsetParameter != -1) {
+      logger.error("Parameter at position {} is not set", (unsetParameter + 1));
+      throw exceptionFactory
+          .raiseStatementError(connection, this)
+          .create("Parameter at position " + (unsetParameter + 1) + " is " + "not set", "07004");
     }
+    ParameterHolder[] currentParameters = parameters.current();
 
     lock.lock();
     try {
-      executeQueryPrologue(false);
+      executeQueryPrologue(false, canUseServerTimeout);
       results =
           new Results(
               this,
@@ -211,13 +214,14 @@ public class ClientSidePreparedStatement extends BasePrepareStatement {
               autoGeneratedKeys,
               protocol.getAutoIncrementIncrement(),
               sqlQuery,
-              parameters);
+              currentParameters);
       if (queryTimeout != 0 && canUseServerTimeout) {
         // timer will not be used for timeout to avoid having threads
         protocol.executeQuery(
-            protocol.isMasterConnection(), results, prepareResult, parameters, queryTimeout);
+            protocol.isMasterConnection(), results, prepareResult, currentParameters, queryTimeout);
       } else {
-        protocol.executeQuery(protocol.isMasterConnection(), results, prepareResult, parameters);
+        protocol.executeQuery(
+            protocol.isMasterConnection(), results, prepareResult, currentParameters);
       }
       results.commandEnd();
       return results.getResultSet() != null;
@@ -243,23 +247,19 @@ public class ClientSidePreparedStatement extends BasePrepareStatement {
    * @since 1.2
    */
   public void addBatch() throws SQLException {
-    ParameterHolder[] holder = new ParameterHolder[prepareResult.getParamCount()];
-    for (int i = 0; i < holder.length; i++) {
-      holder[i] = parameters[i];
-      if (holder[i] == null) {
-        logger.error(
-            "You need to set exactly "
-                + prepareResult.getParamCount()
-                + " parameters on the prepared statement");
-        throw exceptionFactory
-            .raiseStatementError(connection, this)
-            .create(
-                "You need to set exactly "
-                    + prepareResult.getParamCount()
-                    + " parameters on the prepared statement");
-      }
+    if (parameters.firstUnsetParameter() != -1) {
+      logger.error(
+          "You need to set exactly "
+              + prepareResult.getParamCount()
+              + " parameters on the prepared statement");
+      throw exceptionFactory
+          .raiseStatementError(connection, this)
+          .create(
+              "You need to set exactly "
+                  + prepareResult.getParamCount()
+                  + " parameters on the prepared statement");
     }
-    parameterList.add(holder);
+    parameters.addRow();
   }
 
   /**
@@ -278,15 +278,15 @@ public class ClientSidePreparedStatement extends BasePrepareStatement {
   /** Clear batch. */
   @Override
   public void clearBatch() {
-    parameterList.clear();
+    parameters.clear();
     hasLongData = false;
-    this.parameters = new ParameterHolder[prepareResult.getParamCount()];
+    parameters.clearParameters();
   }
 
   /** {inheritdoc}. */
   public int[] executeBatch() throws SQLException {
     checkClose();
-    int size = parameterList.size();
+    int size = parameters.size();
     if (size == 0) {
       return new int[0];
     }
@@ -328,7 +328,7 @@ public class ClientSidePreparedStatement extends BasePrepareStatement {
    */
   public long[] executeLargeBatch() throws SQLException {
     checkClose();
-    int size = parameterList.size();
+    int size = parameters.size();
     if (size == 0) {
       return new long[0];
     }
@@ -353,7 +353,9 @@ public class ClientSidePreparedStatement extends BasePrepareStatement {
    * @throws SQLException if any error occur
    */
   private void executeInternalBatch(int size) throws SQLException {
-    executeQueryPrologue(true);
+    // batch queries are sent as text, each one with a SET STATEMENT prefix when server permits it
+    boolean serverTimeout = queryTimeout != 0 && canUseServerTimeout;
+    executeQueryPrologue(true, serverTimeout);
     results =
         new Results(
             this,
@@ -368,7 +370,12 @@ public class ClientSidePreparedStatement extends BasePrepareStatement {
             null,
             null);
     if (protocol.executeBatchClient(
-        protocol.isMasterConnection(), results, prepareResult, parameterList, hasLongData)) {
+        protocol.isMasterConnection(),
+        results,
+        prepareResult,
+        parameters,
+        hasLongData,
+        serverTimeout ? queryTimeout : 0)) {
       return;
     }
 
@@ -379,11 +386,20 @@ public class ClientSidePreparedStatement extends BasePrepareStatement {
       for (int batchQueriesCount = 0; batchQueriesCount < size; batchQueriesCount++) {
         protocol.stopIfInterrupted();
         try {
-          protocol.executeQuery(
-              protocol.isMasterConnection(),
-              results,
-              prepareResult,
-              parameterList.get(batchQueriesCount));
+          if (serverTimeout) {
+            protocol.executeQuery(
+                protocol.isMasterConnection(),
+                results,
+                prepareResult,
+                parameters.get(batchQueriesCount),
+                queryTimeout);
+          } else {
+            protocol.executeQuery(
+                protocol.isMasterConnection(),
+                results,
+                prepareResult,
+                parameters.get(batchQueriesCount));
+          }
         } catch (SQLException e) {
           if (options.continueBatchOnError) {
             exception = e;
@@ -400,7 +416,7 @@ public class ClientSidePreparedStatement extends BasePrepareStatement {
               protocol.isMasterConnection(),
               results,
               prepareResult,
-              parameterList.get(batchQueriesCount));
+              parameters.get(batchQueriesCount));
         } catch (SQLException e) {
           if (options.continueBatchOnError) {
             exception = e;
@@ -452,7 +468,7 @@ public class ClientSidePreparedStatement extends BasePrepareStatement {
   public void setParameter(final int parameterIndex, final ParameterHolder holder)
       throws SQLException {
     if (parameterIndex >= 1 && parameterIndex < prepareResult.getParamCount() + 1) {
-      parameters[parameterIndex - 1] = holder;
+      parameters.set(parameterIndex - 1, holder);
     } else {
       String error =
           "Could not set parameter at position "
@@ -483,6 +499,11 @@ public class ClientSidePreparedStatement extends BasePrepareStatement {
     }
   }
 
+  @Override
+  protected ParameterBatch directParameters(int parameterIndex) {
+    return parameterIndex >= 1 && parameterIndex <= parameters.getColumnCount() ? parameters : null;
+  }
+
   /**
    * Retrieves the number, types and properties of this <code>PreparedStatement</code> object's
    * parameters.
@@ -531,7 +552,7 @@ public class ClientSidePreparedStatement extends BasePrepareStatement {
    * calling the method <code>clearParameters</code>.
    */
   public void clearParameters() {
-    parameters = new ParameterHolder[prepareResult.getParamCount()];
+    parameters.clearParameters();
   }
 
   // Close prepared statement, maybe fire closed-statement events
@@ -556,14 +577,14 @@ public class ClientSidePreparedStatement extends BasePrepareStatement {
   public String toString() {
     StringBuilder sb = new StringBuilder("sql : '" + sqlQuery + "'");
     sb.append(", parameters : [");
-    for (int i = 0; i < parameters.length; i++) {
-      ParameterHolder holder = parameters[i];
+    for (int i = 0; i < parameters.getColumnCount(); i++) {
+      ParameterHolder holder = parameters.getParameter(i);
       if (holder == null) {
         sb.append("null");
       } else {
         sb.append(holder.toString());
       }
-      if (i != parameters.length - 1) {
+      if (i != parameters.getColumnCount() - 1) {
         sb.append(",");
       }
     }
@@ -0,0 +1,44 @@
+/*
+ *
+ * MariaDB Client for Java
+ *
+ * Copyright (c) 2012-2014 Monty Program Ab.
+ * Copyright (c) 2015-2020 MariaDB Corporation Ab.
+ *
+ * This library is free software; you can redistribute it and/or modify it under
+ * the terms of the GNU Lesser General Public License as published by the Free
+ * Software Foundation; either version 2.1 of the License, or (at your option)
+ * any later version.
+ *
+ * This library is distributed in the hope that it will be useful, but
+ * WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE.  See the GNU Lesser General Public License
+ * for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License along
+ * with this library; if not, write to Monty Program Ab info@montyprogram.com.
+ *
+ */
+
+package org.mariadb.jdbc;
+
+import java.io.IOException;
+import java.sql.SQLException;
+
+/**
+ * Producer of rows sent as content of next "LOAD DATA LOCAL INFILE" command, see {@link
+ * MariaDbStatement#setLocalInfileRows(LocalInfileRowProducer)}.
+ */
+@FunctionalInterface
+public interface LocalInfileRowProducer {
+
+  /**
+   * Write all rows. Called during statement execution, when server requests file content.
+   *
+   * @param writer row writer
+   * @throws IOException if a socket error occurs while writing rows, or if producer fails to read
+   *     rows. Only socket errors close connection
+   * @throws SQLException to interrupt data sending
+   */
+  void produce(LocalInfileRowWriter writer) throws IOException, SQLException;
+}
@@ -0,0 +1,43 @@
+/*
+ *
+ * MariaDB Client for Java
+ *
+ * Copyright (c) 2012-2014 Monty Program Ab.
+ * Copyright (c) 2015-2020 MariaDB Corporation Ab.
+ *
+ * This library is free software; you can redistribute it and/or modify it under
+ * the terms of the GNU Lesser General Public License as published by the Free
+ * Software Foundation; either version 2.1 of the License, or (at your option)
+ * any later version.
+ *
+ * This library is distributed in the hope that it will be useful, but
+ * WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE.  See the GNU Lesser General Public License
+ * for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License along
+ * with this library; if not, write to Monty Program Ab info@montyprogram.com.
+ *
+ */
+
+package org.mariadb.jdbc;
+
+import java.io.IOException;
+
+/**
+ * Writes rows using LOAD DATA default format: fields terminated by tab, lines terminated by new
+ * line, escaped by backslash, NULL written as \N.
+ */
+public interface LocalInfileRowWriter {
+
+  /**
+   * Write a row. Supported values are null, String, byte[], Boolean, numbers, and temporal values
+   * (java.util.Date and java.sql subclasses, Calendar, Instant and java.time local, offset and
+   * zoned date/time), other objects are written using their <code>toString()</code> value. Temporal
+   * values representing an instant are written in connection time zone.
+   *
+   * @param values row values
+   * @throws IOException if a socket error occurs
+   */
+  void writeRow(Object... values) throws IOException;
+}
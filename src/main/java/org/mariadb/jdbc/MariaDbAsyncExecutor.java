@@ -0,0 +1,57 @@
+/*
+ *
+ * MariaDB Client for Java
+ *
+ * Copyright (c) 2012-2014 Monty Program Ab.
+ * Copyright (c) 2015-2020 MariaDB Corporation Ab.
+ *
+ * This library is free software; you can redistribute it and/or modify it under
+ * the terms of the GNU Lesser General Public License as published by the Free
+ * Software Foundation; either version 2.1 of the License, or (at your option)
+ * any later version.
+ *
+ * This library is distributed in the hope that it will be useful, but
+ * WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE.  See the GNU Lesser General Public License
+ * for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License along
+ * with this library; if not, write to Monty Program Ab info@montyprogram.com.
+ *
+ */
+
+package org.mariadb.jdbc;
+
+import java.sql.ResultSet;
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * Asynchronous query execution, obtained using <code>
+ * connection.unwrap(MariaDbAsyncExecutor.class)</code>.
+ *
+ * <p>Queries are queued on the connection and sent in pipeline : a single reader per connection
+ * reads results and completes futures, without blocking calling threads. Futures are completed when
+ * connection is not used anymore by the reader, so dependant actions can use the connection.
+ * Result-sets are fully loaded.
+ *
+ * <p>Reader tasks run on a dedicated bounded executor, never on calling threads. If this executor
+ * is saturated, futures complete exceptionally.
+ */
+public interface MariaDbAsyncExecutor {
+
+  /**
+   * Execute a query that return a result-set.
+   *
+   * @param sql query
+   * @return future result-set
+   */
+  CompletableFuture<ResultSet> executeQueryAsync(String sql);
+
+  /**
+   * Execute a query that return an update count.
+   *
+   * @param sql query
+   * @return future update count
+   */
+  CompletableFuture<Long> executeUpdateAsync(String sql);
+}
@@ -58,6 +58,7 @@ import java.util.HashMap;
 import java.util.Map;
 import java.util.Properties;
 import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.Executor;
 import java.util.concurrent.locks.ReentrantLock;
 import java.util.regex.Matcher;
@@ -67,6 +68,8 @@ import org.mariadb.jdbc.internal.logging.LoggerFactory;
 import org.mariadb.jdbc.internal.protocol.Protocol;
 import org.mariadb.jdbc.internal.util.CallableStatementCache;
 import org.mariadb.jdbc.internal.util.ConnectionState;
+import org.mariadb.jdbc.internal.util.MetadataCache;
+import org.mariadb.jdbc.internal.util.TableMetadataCache;
 import org.mariadb.jdbc.internal.util.Utils;
 import org.mariadb.jdbc.internal.util.dao.CallableStatementCacheKey;
 import org.mariadb.jdbc.internal.util.dao.CloneableCallableStatement;
@@ -76,7 +79,7 @@ import org.mariadb.jdbc.internal.util.pool.Pools;
 import org.mariadb.jdbc.util.Options;
 
 @SuppressWarnings("Annotator")
-public class MariaDbConnection implements Connection {
+public class MariaDbConnection implements Connection, MariaDbAsyncExecutor {
 
   private static final Logger logger = LoggerFactory.getLogger(MariaDbConnection.class);
 
@@ -106,12 +109,15 @@ public class MariaDbConnection implements Connection {
   public MariaDbPooledConnection pooledConnection;
   protected boolean nullCatalogMeansCurrent;
   private CallableStatementCache callableStatementCache;
+  private TableMetadataCache tableMetadataCache;
   private volatile int lowercaseTableNames = -1;
   private boolean canUseServerTimeout;
+  private boolean canUseServerSelectTimeout;
   private boolean sessionStateAware;
   private int stateFlag = 0;
   private int defaultTransactionIsolation = 0;
   private ExceptionFactory exceptionFactory;
+  private final AsyncQueryQueue asyncQueryQueue = new AsyncQueryQueue(this);
 
   private boolean warningsCleared;
 
@@ -124,11 +130,16 @@ public class MariaDbConnection implements Connection {
     this.protocol = protocol;
     options = protocol.getOptions();
     canUseServerTimeout = protocol.versionGreaterOrEqual(10, 1, 2);
+    canUseServerSelectTimeout =
+        !protocol.isServerMariaDb() && protocol.versionGreaterOrEqual(5, 7, 8);
     sessionStateAware = protocol.sessionStateAware();
     nullCatalogMeansCurrent = options.nullCatalogMeansCurrent;
     if (options.cacheCallableStmts) {
       callableStatementCache = CallableStatementCache.newInstance(options.callableStmtCacheSize);
     }
+    if (options.tableMetadataCacheSize > 0) {
+      tableMetadataCache = new TableMetadataCache(options.tableMetadataCacheSize);
+    }
     this.lock = protocol.getLock();
     this.exceptionFactory = ExceptionFactory.of(this.getServerThreadId(), this.options);
   }
@@ -1491,6 +1502,30 @@ public class MariaDbConnection implements Connection {
     throw exceptionFactory.notSupported("Struct type is not supported");
   }
 
+  /**
+   * Execute a query asynchronously. Query is queued and sent in pipeline with other asynchronous
+   * queries of this connection.
+   *
+   * @param sql query
+   * @return future fully loaded result-set
+   */
+  @Override
+  public CompletableFuture<ResultSet> executeQueryAsync(String sql) {
+    return asyncQueryQueue.submit(sql, true);
+  }
+
+  /**
+   * Execute an update asynchronously. Query is queued and sent in pipeline with other asynchronous
+   * queries of this connection.
+   *
+   * @param sql query
+   * @return future update count
+   */
+  @Override
+  public CompletableFuture<Long> executeUpdateAsync(String sql) {
+    return asyncQueryQueue.submit(sql, false);
+  }
+
   /**
    * Returns an object that implements the given interface to allow access to non-standard methods,
    * or standard methods not exposed by the proxy. If the receiver implements the interface then the
@@ -1680,6 +1715,15 @@ public class MariaDbConnection implements Connection {
     return canUseServerTimeout;
   }
 
+  /**
+   * Can server enforce timeout for SELECT statements only (MySQL max_execution_time).
+   *
+   * @return true if server is MySQL 5.7.8+
+   */
+  public boolean canUseServerSelectTimeout() {
+    return canUseServerSelectTimeout;
+  }
+
   public void setDefaultTransactionIsolation(int defaultTransactionIsolation) {
     this.defaultTransactionIsolation = defaultTransactionIsolation;
   }
@@ -1694,57 +1738,104 @@ public class MariaDbConnection implements Connection {
    * @throws SQLException if resetting operation failed
    */
   public void reset() throws SQLException {
-    // COM_RESET_CONNECTION exist since mysql 5.7.3 and mariadb 10.2.4
-    // but not possible to use it with mysql waiting for https://bugs.mysql.com/bug.php?id=97633
-    // correction.
-    // and mariadb only since https://jira.mariadb.org/browse/MDEV-18281
-    boolean useComReset =
-        options.useResetConnection
-            && protocol.isServerMariaDb()
-            && (protocol.versionGreaterOrEqual(10, 3, 13)
-                || (protocol.getMajorServerVersion() == 10
-                    && protocol.getMinorServerVersion() == 2
-                    && protocol.versionGreaterOrEqual(10, 2, 22)));
-
-    if (useComReset) {
-      protocol.reset();
-    }
-
-    if (stateFlag != 0) {
+    boolean useComReset = useComReset();
 
+    // reset commands are pipelined, so only one round-trip is needed
+    try {
+      protocol.startPipeline();
       try {
-
-        if ((stateFlag & ConnectionState.STATE_NETWORK_TIMEOUT) != 0) {
-          setNetworkTimeout(null, options.socketTimeout);
+        if (useComReset) {
+          protocol.reset();
         }
 
-        if ((stateFlag & ConnectionState.STATE_AUTOCOMMIT) != 0) {
-          setAutoCommit(options.autocommit);
-        }
+        if (stateFlag != 0) {
 
-        if ((stateFlag & ConnectionState.STATE_DATABASE) != 0) {
-          protocol.resetDatabase();
-        }
+          if ((stateFlag & ConnectionState.STATE_NETWORK_TIMEOUT) != 0) {
+            setNetworkTimeout(null, options.socketTimeout);
+          }
 
-        if ((stateFlag & ConnectionState.STATE_READ_ONLY) != 0) {
-          setReadOnly(false); // default to master connection
-        }
+          if ((stateFlag & ConnectionState.STATE_AUTOCOMMIT) != 0) {
+            // server status may not be known yet, so always set value
+            protocol.executeQuery("set autocommit=" + ((options.autocommit) ? "1" : "0"));
+          }
 
-        // COM_RESET_CONNECTION reset transaction isolation
-        if (!useComReset && (stateFlag & ConnectionState.STATE_TRANSACTION_ISOLATION) != 0) {
-          setTransactionIsolation(defaultTransactionIsolation);
-        }
+          if ((stateFlag & ConnectionState.STATE_DATABASE) != 0) {
+            protocol.resetDatabase();
+          }
 
-        stateFlag = 0;
+          if ((stateFlag & ConnectionState.STATE_READ_ONLY) != 0) {
+            setReadOnly(false); // default to master connection
+          }
 
-      } catch (SQLException sqle) {
-        throw exceptionFactory.create("error resetting connection");
+          // COM_RESET_CONNECTION reset transaction isolation
+          if (!useComReset && (stateFlag & ConnectionState.STATE_TRANSACTION_ISOLATION) != 0) {
+            setTransactionIsolation(defaultTransactionIsolation);
+          }
+
+          stateFlag = 0;
+        }
+      } finally {
+        protocol.endPipeline();
       }
+    } catch (SQLException sqle) {
+      throw exceptionFactory.create("error resetting connection", sqle);
     }
 
+    if (tableMetadataCache != null) {
+      tableMetadataCache.clear();
+    }
     warningsCleared = true;
   }
 
+  private boolean useComReset() {
+    // COM_RESET_CONNECTION exist since mysql 5.7.3 and mariadb 10.2.4
+    // but not possible to use it with mysql waiting for https://bugs.mysql.com/bug.php?id=97633
+    // correction.
+    // and mariadb only since https://jira.mariadb.org/browse/MDEV-18281
+    return options.useResetConnection
+        && protocol.isServerMariaDb()
+        && (protocol.versionGreaterOrEqual(10, 3, 13)
+            || (protocol.getMajorServerVersion() == 10
+                && protocol.getMinorServerVersion() == 2
+                && protocol.versionGreaterOrEqual(10, 2, 22)));
+  }
+
+  /**
+   * Indicate if {@link #reset()} will send commands to server.
+   *
+   * @return true if reset needs a server exchange
+   */
+  public boolean isResetNeeded() {
+    return stateFlag != 0 || useComReset();
+  }
+
+  /**
+   * Table column metadata cache used by updatable result-sets.
+   *
+   * @return cache, or null if option tableMetadataCacheSize is 0
+   */
+  public TableMetadataCache getTableMetadataCache() {
+    return tableMetadataCache;
+  }
+
+  /**
+   * Clear table column metadata cache and shared DatabaseMetaData cache if query is a DDL command.
+   *
+   * @param sql executed query
+   */
+  public void invalidateTableMetadata(String sql) {
+    boolean cached =
+        options.useMetadataCache || (tableMetadataCache != null && !tableMetadataCache.isEmpty());
+    if (cached && TableMetadataCache.isDdl(sql)) {
+      if (tableMetadataCache != null) {
+        tableMetadataCache.clear();
+      }
+      if (options.useMetadataCache) {
+        MetadataCache.clear(protocol.getUrlParser());
+      }
+    }
+  }
+
   public boolean includeDeadLockInfo() {
     return options.includeInnodbStatusInDeadlockExceptions;
   }
@@ -56,12 +56,19 @@ import java.sql.*;
 import java.text.ParseException;
 import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.Collections;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Locale;
+import java.util.Map;
+import java.util.NavigableSet;
+import java.util.TreeSet;
+import java.util.function.Function;
 import org.mariadb.jdbc.internal.ColumnType;
 import org.mariadb.jdbc.internal.com.read.resultset.ColumnDefinition;
 import org.mariadb.jdbc.internal.com.read.resultset.SelectResultSet;
 import org.mariadb.jdbc.internal.io.input.StandardPacketInputStream;
+import org.mariadb.jdbc.internal.util.MetadataCache;
 import org.mariadb.jdbc.internal.util.Utils;
 import org.mariadb.jdbc.internal.util.constant.Version;
 import org.mariadb.jdbc.internal.util.dao.Identifier;
@@ -72,6 +79,7 @@ public class MariaDbDatabaseMetaData implements DatabaseMetaData {
   public static final String DRIVER_NAME = "MariaDB Connector/J";
   private final MariaDbConnection connection;
   private final UrlParser urlParser;
+  private final MetadataCache metadataCache;
   private boolean datePrecisionColumnExist = true;
 
   /**
@@ -83,6 +91,8 @@ public class MariaDbDatabaseMetaData implements DatabaseMetaData {
   public MariaDbDatabaseMetaData(Connection connection, UrlParser urlParser) {
     this.connection = (MariaDbConnection) connection;
     this.urlParser = urlParser;
+    this.metadataCache =
+        urlParser.getOptions().useMetadataCache ? MetadataCache.retrieve(urlParser) : null;
   }
 
   private static String columnTypeClause(Options options) {
@@ -413,6 +423,11 @@ public class MariaDbDatabaseMetaData implements DatabaseMetaData {
       }
     }
 
+    if (metadataCache != null) {
+      // information schema results are cached
+      return getImportedKeysUsingInformationSchema(database, table);
+    }
+
     try {
       return getImportedKeysUsingShowCreateTable(database, table);
     } catch (Exception e) {
@@ -506,6 +521,25 @@ public class MariaDbDatabaseMetaData implements DatabaseMetaData {
   }
 
   private ResultSet executeQuery(String sql) throws SQLException {
+    if (metadataCache != null) {
+      String key = cacheKey(sql);
+      MetadataCache.Entry entry = metadataCache.get(key);
+      if (entry == null) {
+        try (Statement stmt = connection.createStatement()) {
+          SelectResultSet rs = (SelectResultSet) stmt.executeQuery(sql);
+          entry = metadataCache.put(key, rs.getColumnsInformation(), readRows(rs, null, null));
+        }
+      }
+      SelectResultSet rs =
+          new SelectResultSet(
+              entry.getColumns(),
+              entry.getRows(),
+              connection.getProtocol(),
+              ResultSet.TYPE_FORWARD_ONLY);
+      rs.setForceTableAlias();
+      return rs;
+    }
+
     Statement stmt = connection.createStatement();
     SelectResultSet rs = (SelectResultSet) stmt.executeQuery(sql);
     rs.setStatement(null); // bypass Hibernate statement tracking (CONJ-49)
@@ -513,6 +547,214 @@ public class MariaDbDatabaseMetaData implements DatabaseMetaData {
     return rs;
   }
 
+  // queries using database() depend on connection current database
+  private String cacheKey(String sql) throws SQLException {
+    if (sql.contains("database()")) {
+      return connection.getCatalog() + '\0' + sql;
+    }
+    return sql;
+  }
+
+  /**
+   * Read all rows of a result-set in text format. When a table column index is given, rows are also
+   * grouped by table name.
+   *
+   * @param rs text result-set
+   * @param tableIndex table name column index, or null
+   * @param rowsByTable map to fill with rows by table name, or null
+   * @return all rows
+   * @throws SQLException if any error occurs reading rows
+   */
+  private static List<byte[]> readRows(
+      SelectResultSet rs, Integer tableIndex, Map<String, List<byte[]>> rowsByTable)
+      throws SQLException {
+    ColumnDefinition[] columns = rs.getColumnsInformation();
+    ColumnType[] columnTypes = new ColumnType[columns.length];
+    for (int i = 0; i < columns.length; i++) {
+      columnTypes[i] = columns[i].getColumnType();
+    }
+
+    List<byte[]> rows = new ArrayList<>();
+    byte[][] values = new byte[columns.length][];
+    while (rs.next()) {
+      for (int i = 0; i < columns.length; i++) {
+        values[i] = rs.getBytes(i + 1);
+      }
+      byte[] row = StandardPacketInputStream.create(values, columnTypes);
+      rows.add(row);
+      if (tableIndex != null) {
+        rowsByTable.computeIfAbsent(rs.getString(tableIndex), t -> new ArrayList<>()).add(row);
+      }
+    }
+    return rows;
+  }
+
+  /**
+   * Load column, primary key, index and imported key information of all tables of a catalog in
+   * metadata cache, using one query for each kind of information. Subsequent {@link #getColumns},
+   * {@link #getPrimaryKeys}, {@link #getIndexInfo} and {@link #getImportedKeys} calls for a table
+   * of this catalog are then answered from cache, without querying server.
+   *
+   * <p>Requires option useMetadataCache.
+   *
+   * @param catalog catalog, as it will be given to other methods
+   * @throws SQLException if metadata cache is disabled, or if any error occurs
+   */
+  public void prefetch(String catalog) throws SQLException {
+    if (metadataCache == null) {
+      throw new SQLException("metadata prefetch requires option useMetadataCache");
+    }
+
+    // every table has columns : column query gives the table list
+    NavigableSet<String> tables =
+        prefetch(
+            columnsQuery(catalog, null, null),
+            3,
+            true,
+            null,
+            table ->
+                new String[] {
+                  columnsQuery(catalog, table, null), columnsQuery(catalog, table, "%")
+                });
+    prefetch(
+        primaryKeysQuery(catalog, null),
+        3,
+        true,
+        tables,
+        table -> new String[] {primaryKeysQuery(catalog, table)});
+    prefetch(
+        indexInfoQuery(catalog, null, false),
+        3,
+        false,
+        tables,
+        table -> new String[] {indexInfoQuery(catalog, table, false)});
+    prefetch(
+        indexInfoQuery(catalog, null, true),
+        3,
+        false,
+        tables,
+        table -> new String[] {indexInfoQuery(catalog, table, true)});
+    prefetch(
+        importedKeysQuery(catalog, null),
+        7,
+        false,
+        tables,
+        table -> new String[] {importedKeysQuery(catalog, table)});
+  }
+
+  /**
+   * Execute a query for all tables, and cache the rows of each table under the queries of this
+   * table. Tables without rows (no primary key, index or foreign key) are cached with an empty
+   * result, so they don't need a query either.
+   *
+   * @param sql query for all tables, ordered by table name first
+   * @param tableIndex table name column index
+   * @param pattern are table names used as LIKE pattern in table queries
+   * @param tables all tables of catalog, or null to use tables of query result
+   * @param tableQueries table queries builder
+   * @return tables cached
+   * @throws SQLException if any error occurs
+   */
+  private NavigableSet<String> prefetch(
+      String sql,
+      int tableIndex,
+      boolean pattern,
+      NavigableSet<String> tables,
+      Function<String, String[]> tableQueries)
+      throws SQLException {
+    Map<String, List<byte[]>> rowsByTable = new LinkedHashMap<>();
+    ColumnDefinition[] columns;
+    try (Statement stmt = connection.createStatement()) {
+      SelectResultSet rs = (SelectResultSet) stmt.executeQuery(sql);
+      columns = rs.getColumnsInformation();
+      readRows(rs, tableIndex, rowsByTable);
+    }
+
+    if (tables == null) {
+      tables = new TreeSet<>(rowsByTable.keySet());
+    }
+    for (String table : tables) {
+      // a table name containing '_' matching other tables must be queried
+      if (pattern && matchesOtherTable(table, tables)) {
+        continue;
+      }
+      List<byte[]> rows = rowsByTable.getOrDefault(table, Collections.emptyList());
+      for (String tableSql : tableQueries.apply(table)) {
+        metadataCache.put(cacheKey(tableSql), columns, rows);
+      }
+    }
+    return tables;
+  }
+
+  private static boolean matchesOtherTable(String table, NavigableSet<String> tables) {
+    int wildcard = 0;
+    while (wildcard < table.length()
+        && table.charAt(wildcard) != '_'
+        && table.charAt(wildcard) != '%'
+        && table.charAt(wildcard) != '\\') {
+      wildcard++;
+    }
+    if (wildcard == table.length()) {
+      return false;
+    }
+    String prefix = table.substring(0, wildcard);
+    for (String other : tables.subSet(prefix, true, prefix + Character.MAX_VALUE, true)) {
+      if (!other.equals(table) && like(other, 0, table, 0)) {
+        return true;
+      }
+    }
+    return false;
+  }
+
+  /**
+   * LIKE pattern matching, with '%' and '_' wildcards and backslash escape character.
+   *
+   * @param value value
+   * @param pos value position
+   * @param pattern pattern
+   * @param patternPos pattern position
+   * @return true if value matches pattern
+   */
+  static boolean like(String value, int pos, String pattern, int patternPos) {
+    while (patternPos < pattern.length()) {
+      char car = pattern.charAt(patternPos);
+      if (car == '%') {
+        for (int i = pos; i <= value.length(); i++) {
+          if (like(value, i, pattern, patternPos + 1)) {
+            return true;
+          }
+        }
+        return false;
+      }
+      if (pos >= value.length()) {
+        return false;
+      }
+      if (car == '\\' && patternPos + 1 < pattern.length()) {
+        car = pattern.charAt(++patternPos);
+      } else if (car == '_') {
+        pos++;
+        patternPos++;
+        continue;
+      }
+      if (car != value.charAt(pos)) {
+        return false;
+      }
+      pos++;
+      patternPos++;
+    }
+    return pos == value.length();
+  }
+
+  /**
+   * Clear DatabaseMetaData cache shared by connections with the same configuration, when option
+   * useMetadataCache is set.
+   */
+  public void clearCache() {
+    if (metadataCache != null) {
+      metadataCache.clear();
+    }
+  }
+
   private String escapeQuote(String value) {
     if (value == null) {
       return "NULL";
@@ -594,21 +836,25 @@ public class MariaDbDatabaseMetaData implements DatabaseMetaData {
    * @throws SQLException if a database access error occurs
    */
   public ResultSet getPrimaryKeys(String catalog, String schema, String table) throws SQLException {
-    // MySQL 8 now use 'PRI' in place of 'pri'
-    String sql =
-        "SELECT A.TABLE_SCHEMA TABLE_CAT, NULL TABLE_SCHEM, A.TABLE_NAME, A.COLUMN_NAME, B.SEQ_IN_INDEX KEY_SEQ, B.INDEX_NAME PK_NAME "
-            + " FROM INFORMATION_SCHEMA.COLUMNS A, INFORMATION_SCHEMA.STATISTICS B"
-            + " WHERE A.COLUMN_KEY in ('PRI','pri') AND B.INDEX_NAME='PRIMARY' "
-            + " AND "
-            + catalogCond("A.TABLE_SCHEMA", catalog)
-            + " AND "
-            + catalogCond("B.TABLE_SCHEMA", catalog)
-            + patternCond("A.TABLE_NAME", table)
-            + patternCond("B.TABLE_NAME", table)
-            + " AND A.TABLE_SCHEMA = B.TABLE_SCHEMA AND A.TABLE_NAME = B.TABLE_NAME AND A.COLUMN_NAME = B.COLUMN_NAME "
-            + " ORDER BY A.COLUMN_NAME";
+    return executeQuery(primaryKeysQuery(catalog, table));
+  }
 
-    return executeQuery(sql);
+  // table null means all tables, ordered by table name
+  private String primaryKeysQuery(String catalog, String table) {
+    // MySQL 8 now use 'PRI' in place of 'pri'
+    return "SELECT A.TABLE_SCHEMA TABLE_CAT, NULL TABLE_SCHEM, A.TABLE_NAME, A.COLUMN_NAME, B.SEQ_IN_INDEX KEY_SEQ, B.INDEX_NAME PK_NAME "
+        + " FROM INFORMATION_SCHEMA.COLUMNS A, INFORMATION_SCHEMA.STATISTICS B"
+        + " WHERE A.COLUMN_KEY in ('PRI','pri') AND B.INDEX_NAME='PRIMARY' "
+        + " AND "
+        + catalogCond("A.TABLE_SCHEMA", catalog)
+        + " AND "
+        + catalogCond("B.TABLE_SCHEMA", catalog)
+        + patternCond("A.TABLE_NAME", table)
+        + patternCond("B.TABLE_NAME", table)
+        + " AND A.TABLE_SCHEMA = B.TABLE_SCHEMA AND A.TABLE_NAME = B.TABLE_NAME AND A.COLUMN_NAME = B.COLUMN_NAME "
+        + " ORDER BY "
+        + (table == null ? "A.TABLE_NAME, " : "")
+        + "A.COLUMN_NAME";
   }
 
   /**
@@ -776,56 +1022,8 @@ public class MariaDbDatabaseMetaData implements DatabaseMetaData {
   public ResultSet getColumns(
       String catalog, String schemaPattern, String tableNamePattern, String columnNamePattern)
       throws SQLException {
-    Options options = urlParser.getOptions();
-    String sql =
-        "SELECT TABLE_SCHEMA TABLE_CAT, NULL TABLE_SCHEM, TABLE_NAME, COLUMN_NAME,"
-            + dataTypeClause("COLUMN_TYPE")
-            + " DATA_TYPE,"
-            + columnTypeClause(options)
-            + " TYPE_NAME, "
-            + " CASE DATA_TYPE"
-            + "  WHEN 'time' THEN "
-            + (datePrecisionColumnExist
-                ? "IF(DATETIME_PRECISION = 0, 10, CAST(11 + DATETIME_PRECISION as signed integer))"
-                : "10")
-            + "  WHEN 'date' THEN 10"
-            + "  WHEN 'datetime' THEN "
-            + (datePrecisionColumnExist
-                ? "IF(DATETIME_PRECISION = 0, 19, CAST(20 + DATETIME_PRECISION as signed integer))"
-                : "19")
-            + "  WHEN 'timestamp' THEN "
-            + (datePrecisionColumnExist
-                ? "IF(DATETIME_PRECISION = 0, 19, CAST(20 + DATETIME_PRECISION as signed integer))"
-                : "19")
-            + (options.yearIsDateType ? "" : " WHEN 'year' THEN 5")
-            + "  ELSE "
-            + "  IF(NUMERIC_PRECISION IS NULL, LEAST(CHARACTER_MAXIMUM_LENGTH,"
-            + Integer.MAX_VALUE
-            + "), NUMERIC_PRECISION) "
-            + " END"
-            + " COLUMN_SIZE, 65535 BUFFER_LENGTH, "
-            + " CONVERT (CASE DATA_TYPE"
-            + " WHEN 'year' THEN "
-            + (options.yearIsDateType ? "NUMERIC_SCALE" : "0")
-            + " WHEN 'tinyint' THEN "
-            + (options.tinyInt1isBit ? "0" : "NUMERIC_SCALE")
-            + " ELSE NUMERIC_SCALE END, UNSIGNED INTEGER) DECIMAL_DIGITS,"
-            + " 10 NUM_PREC_RADIX, IF(IS_NULLABLE = 'yes',1,0) NULLABLE,COLUMN_COMMENT REMARKS,"
-            + " COLUMN_DEFAULT COLUMN_DEF, 0 SQL_DATA_TYPE, 0 SQL_DATETIME_SUB,  "
-            + " LEAST(CHARACTER_OCTET_LENGTH,"
-            + Integer.MAX_VALUE
-            + ") CHAR_OCTET_LENGTH,"
-            + " ORDINAL_POSITION, IS_NULLABLE, NULL SCOPE_CATALOG, NULL SCOPE_SCHEMA, NULL SCOPE_TABLE, NULL SOURCE_DATA_TYPE,"
-            + " IF(EXTRA = 'auto_increment','YES','NO') IS_AUTOINCREMENT, "
-            + " IF(EXTRA in ('VIRTUAL', 'PERSISTENT', 'VIRTUAL GENERATED', 'STORED GENERATED') ,'YES','NO') IS_GENERATEDCOLUMN "
-            + " FROM INFORMATION_SCHEMA.COLUMNS  WHERE "
-            + catalogCond("TABLE_SCHEMA", catalog)
-            + patternCond("TABLE_NAME", tableNamePattern)
-            + patternCond("COLUMN_NAME", columnNamePattern)
-            + " ORDER BY TABLE_CAT, TABLE_SCHEM, TABLE_NAME, ORDINAL_POSITION";
-
     try {
-      return executeQuery(sql);
+      return executeQuery(columnsQuery(catalog, tableNamePattern, columnNamePattern));
     } catch (SQLException sqlException) {
       if (sqlException.getMessage().contains("Unknown column 'DATETIME_PRECISION'")) {
         datePrecisionColumnExist = false;
@@ -835,6 +1033,55 @@ public class MariaDbDatabaseMetaData implements DatabaseMetaData {
     }
   }
 
+  private String columnsQuery(String catalog, String tableNamePattern, String columnNamePattern) {
+    Options options = urlParser.getOptions();
+    return "SELECT TABLE_SCHEMA TABLE_CAT, NULL TABLE_SCHEM, TABLE_NAME, COLUMN_NAME,"
+        + dataTypeClause("COLUMN_TYPE")
+        + " DATA_TYPE,"
+        + columnTypeClause(options)
+        + " TYPE_NAME, "
+        + " CASE DATA_TYPE"
+        + "  WHEN 'time' THEN "
+        + (datePrecisionColumnExist
+            ? "IF(DATETIME_PRECISION = 0, 10, CAST(11 + DATETIME_PRECISION as signed integer))"
+            : "10")
+        + "  WHEN 'date' THEN 10"
+        + "  WHEN 'datetime' THEN "
+        + (datePrecisionColumnExist
+            ? "IF(DATETIME_PRECISION = 0, 19, CAST(20 + DATETIME_PRECISION as signed integer))"
+            : "19")
+        + "  WHEN 'timestamp' THEN "
+        + (datePrecisionColumnExist
+            ? "IF(DATETIME_PRECISION = 0, 19, CAST(20 + DATETIME_PRECISION as signed integer))"
+            : "19")
+        + (options.yearIsDateType ? "" : " WHEN 'year' THEN 5")
+        + "  ELSE "
+        + "  IF(NUMERIC_PRECISION IS NULL, LEAST(CHARACTER_MAXIMUM_LENGTH,"
+        + Integer.MAX_VALUE
+        + "), NUMERIC_PRECISION) "
+        + " END"
+        + " COLUMN_SIZE, 65535 BUFFER_LENGTH, "
+        + " CONVERT (CASE DATA_TYPE"
+        + " WHEN 'year' THEN "
+        + (options.yearIsDateType ? "NUMERIC_SCALE" : "0")
+        + " WHEN 'tinyint' THEN "
+        + (options.tinyInt1isBit ? "0" : "NUMERIC_SCALE")
+        + " ELSE NUMERIC_SCALE END, UNSIGNED INTEGER) DECIMAL_DIGITS,"
+        + " 10 NUM_PREC_RADIX, IF(IS_NULLABLE = 'yes',1,0) NULLABLE,COLUMN_COMMENT REMARKS,"
+        + " COLUMN_DEFAULT COLUMN_DEF, 0 SQL_DATA_TYPE, 0 SQL_DATETIME_SUB,  "
+        + " LEAST(CHARACTER_OCTET_LENGTH,"
+        + Integer.MAX_VALUE
+        + ") CHAR_OCTET_LENGTH,"
+        + " ORDINAL_POSITION, IS_NULLABLE, NULL SCOPE_CATALOG, NULL SCOPE_SCHEMA, NULL SCOPE_TABLE, NULL SOURCE_DATA_TYPE,"
+        + " IF(EXTRA = 'auto_increment','YES','NO') IS_AUTOINCREMENT, "
+        + " IF(EXTRA in ('VIRTUAL', 'PERSISTENT', 'VIRTUAL GENERATED', 'STORED GENERATED') ,'YES','NO') IS_GENERATEDCOLUMN "
+        + " FROM INFORMATION_SCHEMA.COLUMNS  WHERE "
+        + catalogCond("TABLE_SCHEMA", catalog)
+        + patternCond("TABLE_NAME", tableNamePattern)
+        + patternCond("COLUMN_NAME", columnNamePattern)
+        + " ORDER BY TABLE_CAT, TABLE_SCHEM, TABLE_NAME, ORDINAL_POSITION";
+  }
+
   /**
    * Retrieves a description of the foreign key columns that reference the given table's primary key
    * columns (the foreign keys exported by a table). They are ordered by FKTABLE_CAT, FKTABLE_SCHEM,
@@ -949,40 +1196,42 @@ public class MariaDbDatabaseMetaData implements DatabaseMetaData {
     if (table == null) {
       throw new SQLException("'table' parameter in getImportedKeys cannot be null");
     }
-    String sql =
-        "SELECT KCU.REFERENCED_TABLE_SCHEMA PKTABLE_CAT, NULL PKTABLE_SCHEM,  KCU.REFERENCED_TABLE_NAME PKTABLE_NAME,"
-            + " KCU.REFERENCED_COLUMN_NAME PKCOLUMN_NAME, KCU.TABLE_SCHEMA FKTABLE_CAT, NULL FKTABLE_SCHEM, "
-            + " KCU.TABLE_NAME FKTABLE_NAME, KCU.COLUMN_NAME FKCOLUMN_NAME, KCU.POSITION_IN_UNIQUE_CONSTRAINT KEY_SEQ,"
-            + " CASE update_rule "
-            + "   WHEN 'RESTRICT' THEN 1"
-            + "   WHEN 'NO ACTION' THEN 3"
-            + "   WHEN 'CASCADE' THEN 0"
-            + "   WHEN 'SET NULL' THEN 2"
-            + "   WHEN 'SET DEFAULT' THEN 4"
-            + " END UPDATE_RULE,"
-            + " CASE DELETE_RULE"
-            + "  WHEN 'RESTRICT' THEN 1"
-            + "  WHEN 'NO ACTION' THEN 3"
-            + "  WHEN 'CASCADE' THEN 0"
-            + "  WHEN 'SET NULL' THEN 2"
-            + "  WHEN 'SET DEFAULT' THEN 4"
-            + " END DELETE_RULE,"
-            + " RC.CONSTRAINT_NAME FK_NAME,"
-            + " NULL PK_NAME,"
-            + importedKeyNotDeferrable
-            + " DEFERRABILITY"
-            + " FROM INFORMATION_SCHEMA.KEY_COLUMN_USAGE KCU"
-            + " INNER JOIN INFORMATION_SCHEMA.REFERENTIAL_CONSTRAINTS RC"
-            + " ON KCU.CONSTRAINT_SCHEMA = RC.CONSTRAINT_SCHEMA"
-            + " AND KCU.CONSTRAINT_NAME = RC.CONSTRAINT_NAME"
-            + " WHERE "
-            + catalogCond("KCU.TABLE_SCHEMA", catalog)
-            + " AND "
-            + " KCU.TABLE_NAME = "
-            + escapeQuote(table)
-            + " ORDER BY PKTABLE_CAT, PKTABLE_SCHEM, PKTABLE_NAME, KEY_SEQ";
-
-    return executeQuery(sql);
+    return executeQuery(importedKeysQuery(catalog, table));
+  }
+
+  // table null means all tables, ordered by table name
+  private String importedKeysQuery(String catalog, String table) {
+    return "SELECT KCU.REFERENCED_TABLE_SCHEMA PKTABLE_CAT, NULL PKTABLE_SCHEM,  KCU.REFERENCED_TABLE_NAME PKTABLE_NAME,"
+        + " KCU.REFERENCED_COLUMN_NAME PKCOLUMN_NAME, KCU.TABLE_SCHEMA FKTABLE_CAT, NULL FKTABLE_SCHEM, "
+        + " KCU.TABLE_NAME FKTABLE_NAME, KCU.COLUMN_NAME FKCOLUMN_NAME, KCU.POSITION_IN_UNIQUE_CONSTRAINT KEY_SEQ,"
+        + " CASE update_rule "
+        + "   WHEN 'RESTRICT' THEN 1"
+        + "   WHEN 'NO ACTION' THEN 3"
+        + "   WHEN 'CASCADE' THEN 0"
+        + "   WHEN 'SET NULL' THEN 2"
+        + "   WHEN 'SET DEFAULT' THEN 4"
+        + " END UPDATE_RULE,"
+        + " CASE DELETE_RULE"
+        + "  WHEN 'RESTRICT' THEN 1"
+        + "  WHEN 'NO ACTION' THEN 3"
+        + "  WHEN 'CASCADE' THEN 0"
+        + "  WHEN 'SET NULL' THEN 2"
+        + "  WHEN 'SET DEFAULT' THEN 4"
+        + " END DELETE_RULE,"
+        + " RC.CONSTRAINT_NAME FK_NAME,"
+        + " NULL PK_NAME,"
+        + importedKeyNotDeferrable
+        + " DEFERRABILITY"
+        + " FROM INFORMATION_SCHEMA.KEY_COLUMN_USAGE KCU"
+        + " INNER JOIN INFORMATION_SCHEMA.REFERENTIAL_CONSTRAINTS RC"
+        + " ON KCU.CONSTRAINT_SCHEMA = RC.CONSTRAINT_SCHEMA"
+        + " AND KCU.CONSTRAINT_NAME = RC.CONSTRAINT_NAME"
+        + " WHERE "
+        + catalogCond("KCU.TABLE_SCHEMA", catalog)
+        + (table == null ? "" : " AND  KCU.TABLE_NAME = " + escapeQuote(table))
+        + " ORDER BY "
+        + (table == null ? "FKTABLE_NAME, " : "")
+        + "PKTABLE_CAT, PKTABLE_SCHEM, PKTABLE_NAME, KEY_SEQ";
   }
 
   /**
@@ -3370,21 +3619,23 @@ public class MariaDbDatabaseMetaData implements DatabaseMetaData {
   public ResultSet getIndexInfo(
       String catalog, String schema, String table, boolean unique, boolean approximate)
       throws SQLException {
-
-    String sql =
-        "SELECT TABLE_SCHEMA TABLE_CAT, NULL TABLE_SCHEM, TABLE_NAME, NON_UNIQUE, "
-            + " TABLE_SCHEMA INDEX_QUALIFIER, INDEX_NAME, 3 TYPE,"
-            + " SEQ_IN_INDEX ORDINAL_POSITION, COLUMN_NAME, COLLATION ASC_OR_DESC,"
-            + " CARDINALITY, NULL PAGES, NULL FILTER_CONDITION"
-            + " FROM INFORMATION_SCHEMA.STATISTICS"
-            + " WHERE TABLE_NAME = "
-            + escapeQuote(table)
-            + " AND "
-            + catalogCond("TABLE_SCHEMA", catalog)
-            + ((unique) ? " AND NON_UNIQUE = 0" : "")
-            + " ORDER BY NON_UNIQUE, TYPE, INDEX_NAME, ORDINAL_POSITION";
-
-    return executeQuery(sql);
+    return executeQuery(indexInfoQuery(catalog, table, unique));
+  }
+
+  // table null means all tables, ordered by table name
+  private String indexInfoQuery(String catalog, String table, boolean unique) {
+    return "SELECT TABLE_SCHEMA TABLE_CAT, NULL TABLE_SCHEM, TABLE_NAME, NON_UNIQUE, "
+        + " TABLE_SCHEMA INDEX_QUALIFIER, INDEX_NAME, 3 TYPE,"
+        + " SEQ_IN_INDEX ORDINAL_POSITION, COLUMN_NAME, COLLATION ASC_OR_DESC,"
+        + " CARDINALITY, NULL PAGES, NULL FILTER_CONDITION"
+        + " FROM INFORMATION_SCHEMA.STATISTICS"
+        + " WHERE "
+        + (table == null ? "" : "TABLE_NAME = " + escapeQuote(table) + " AND ")
+        + catalogCond("TABLE_SCHEMA", catalog)
+        + ((unique) ? " AND NON_UNIQUE = 0" : "")
+        + " ORDER BY "
+        + (table == null ? "TABLE_NAME, " : "")
+        + "NON_UNIQUE, TYPE, INDEX_NAME, ORDINAL_POSITION";
   }
 
   /**
@@ -55,6 +55,7 @@ package org.mariadb.jdbc;
 import java.sql.ResultSet;
 import java.sql.SQLException;
 import org.mariadb.jdbc.internal.com.read.resultset.SelectResultSet;
+import org.mariadb.jdbc.internal.com.send.parameters.ParameterBatch;
 import org.mariadb.jdbc.internal.com.send.parameters.ParameterHolder;
 import org.mariadb.jdbc.internal.util.dao.CloneableCallableStatement;
 import org.mariadb.jdbc.internal.util.exceptions.ExceptionFactory;
@@ -155,6 +156,12 @@ public class MariaDbFunctionStatement extends CallableFunctionStatement
     super.setParameter(parameterIndex - 1, holder);
   }
 
+  @Override
+  protected ParameterBatch directParameters(int parameterIndex) {
+    // parameter index is shifted in setParameter
+    return null;
+  }
+
   @Override
   public ResultSet executeQuery() throws SQLException {
     connection.lock.lock();
@@ -56,6 +56,7 @@ import java.sql.SQLException;
 import java.util.ArrayList;
 import org.mariadb.jdbc.internal.com.read.resultset.SelectResultSet;
 import org.mariadb.jdbc.internal.com.send.parameters.NullParameter;
+import org.mariadb.jdbc.internal.com.send.parameters.ParameterBatch;
 import org.mariadb.jdbc.internal.com.send.parameters.ParameterHolder;
 import org.mariadb.jdbc.internal.util.dao.CloneableCallableStatement;
 import org.mariadb.jdbc.internal.util.exceptions.ExceptionFactory;
@@ -157,6 +158,12 @@ public class MariaDbProcedureStatement extends CallableProcedureStatement
     super.setParameter(parameterIndex, holder);
   }
 
+  @Override
+  protected ParameterBatch directParameters(int parameterIndex) {
+    // parameters are flagged as input in setParameter
+    return null;
+  }
+
   @Override
   public boolean execute() throws SQLException {
     connection.lock.lock();
@@ -63,6 +63,7 @@ import java.util.concurrent.TimeUnit;
 import java.util.concurrent.locks.ReentrantLock;
 import java.util.regex.Matcher;
 import java.util.regex.Pattern;
+import java.util.stream.Stream;
 import org.mariadb.jdbc.internal.com.read.dao.Results;
 import org.mariadb.jdbc.internal.com.read.resultset.SelectResultSet;
 import org.mariadb.jdbc.internal.logging.Logger;
@@ -70,6 +71,7 @@ import org.mariadb.jdbc.internal.logging.LoggerFactory;
 import org.mariadb.jdbc.internal.protocol.Protocol;
 import org.mariadb.jdbc.internal.util.Utils;
 import org.mariadb.jdbc.internal.util.exceptions.ExceptionFactory;
+import org.mariadb.jdbc.internal.util.scheduler.HashedWheelTimer;
 import org.mariadb.jdbc.internal.util.scheduler.SchedulerServiceProviderHolder;
 import org.mariadb.jdbc.util.Options;
 
@@ -99,6 +101,7 @@ public class MariaDbStatement implements Statement, Cloneable {
   protected final int resultSetConcurrency;
   protected final Options options;
   protected final boolean canUseServerTimeout;
+  protected final boolean canUseServerSelectTimeout;
   /** the protocol used to talk to the server. */
   protected Protocol protocol;
   /** the Connection object. */
@@ -112,6 +115,7 @@ public class MariaDbStatement implements Statement, Cloneable {
   protected volatile boolean executing;
   protected ExceptionFactory exceptionFactory;
   private ScheduledExecutorService timeoutScheduler;
+  private HashedWheelTimer timeoutWheel;
   // are warnings cleared?
   private boolean warningsCleared;
   private boolean mustCloseOnCompletion = false;
@@ -139,6 +143,7 @@ public class MariaDbStatement implements Statement, Cloneable {
     this.protocol = connection.getProtocol();
     this.connection = connection;
     this.canUseServerTimeout = connection.canUseServerTimeout();
+    this.canUseServerSelectTimeout = connection.canUseServerSelectTimeout();
     this.resultSetScrollType = resultSetScrollType;
     this.resultSetConcurrency = resultSetConcurrency;
     this.lock = this.connection.lock;
@@ -173,24 +178,28 @@ public class MariaDbStatement implements Statement, Cloneable {
   // Part of query prolog - setup timeout timer
   protected void setTimerTask(boolean isBatch) {
     assert (timerTaskFuture == null);
-    if (timeoutScheduler == null) {
-      timeoutScheduler = SchedulerServiceProviderHolder.getTimeoutScheduler();
+    if (timeoutWheel == null && timeoutScheduler == null) {
+      timeoutWheel = SchedulerServiceProviderHolder.getTimeoutWheel();
+      if (timeoutWheel == null) {
+        timeoutScheduler = SchedulerServiceProviderHolder.getTimeoutScheduler();
+      }
     }
+    Runnable task =
+        () -> {
+          try {
+            isTimedout = true;
+            if (!isBatch) {
+              protocol.cancelCurrentQuery();
+            }
+            protocol.interrupt();
+          } catch (Throwable e) {
+            // eat
+          }
+        };
     timerTaskFuture =
-        timeoutScheduler.schedule(
-            () -> {
-              try {
-                isTimedout = true;
-                if (!isBatch) {
-                  protocol.cancelCurrentQuery();
-                }
-                protocol.interrupt();
-              } catch (Throwable e) {
-                // eat
-              }
-            },
-            queryTimeout,
-            TimeUnit.SECONDS);
+        timeoutWheel != null
+            ? timeoutWheel.schedule(task, queryTimeout, TimeUnit.SECONDS)
+            : timeoutScheduler.schedule(task, queryTimeout, TimeUnit.SECONDS);
   }
 
   /**
@@ -202,9 +211,10 @@ public class MariaDbStatement implements Statement, Cloneable {
    * </ol>
    *
    * @param isBatch is batch
+   * @param serverTimeout query is sent with a per-statement server timeout, timer is not needed
    * @throws SQLException if statement is closed
    */
-  protected void executeQueryPrologue(boolean isBatch) throws SQLException {
+  protected void executeQueryPrologue(boolean isBatch, boolean serverTimeout) throws SQLException {
     executing = true;
     if (closed) {
       throw exceptionFactory
@@ -212,7 +222,7 @@ public class MariaDbStatement implements Statement, Cloneable {
           .create("execute() is called on closed statement");
     }
     protocol.prolog(maxRows, protocol.getProxy() != null, connection, this);
-    if (queryTimeout != 0 && (!canUseServerTimeout || isBatch)) {
+    if (queryTimeout != 0 && !serverTimeout) {
       setTimerTask(isBatch);
     }
   }
@@ -339,7 +349,10 @@ public class MariaDbStatement implements Statement, Cloneable {
     lock.lock();
     try {
 
-      executeQueryPrologue(false);
+      String nativeSql = Utils.nativeSql(sql, protocol);
+      String timeoutSql = getTimeoutSql(nativeSql);
+      executeQueryPrologue(false, timeoutSql != null);
+      connection.invalidateTableMetadata(sql);
       results =
           new Results(
               this,
@@ -354,7 +367,7 @@ public class MariaDbStatement implements Statement, Cloneable {
               sql,
               null);
       protocol.executeQuery(
-          protocol.isMasterConnection(), results, getTimeoutSql(Utils.nativeSql(sql, protocol)));
+          protocol.isMasterConnection(), results, timeoutSql != null ? timeoutSql : nativeSql);
       results.commandEnd();
       return results.getResultSet() != null;
 
@@ -439,11 +452,24 @@ public class MariaDbStatement implements Statement, Cloneable {
     return "N'" + val.replace("'", "''") + "'";
   }
 
+  /**
+   * Query with a per-statement server timeout : SET STATEMENT max_statement_time prefix for
+   * MariaDB, MAX_EXECUTION_TIME hint for MySQL (SELECT only). Session variables are never changed,
+   * so timeout doesn't apply to other commands.
+   *
+   * @param sql query
+   * @return query with timeout, or null if server cannot enforce timeout for this query
+   */
   private String getTimeoutSql(String sql) {
-    if (queryTimeout != 0 && canUseServerTimeout) {
-      return "SET STATEMENT max_statement_time=" + queryTimeout + " FOR " + sql;
+    if (queryTimeout != 0) {
+      if (canUseServerTimeout) {
+        return "SET STATEMENT max_statement_time=" + queryTimeout + " FOR " + sql;
+      }
+      if (canUseServerSelectTimeout) {
+        return Utils.addMaxExecutionTimeHint(sql, queryTimeout * 1000L);
+      }
     }
-    return sql;
+    return null;
   }
 
   /**
@@ -458,7 +484,9 @@ public class MariaDbStatement implements Statement, Cloneable {
     lock.lock();
     try {
 
-      executeQueryPrologue(false);
+      String nativeSql = Utils.nativeSql(sql, protocol);
+      String timeoutSql = getTimeoutSql(nativeSql);
+      executeQueryPrologue(false, timeoutSql != null);
       results =
           new Results(
               this,
@@ -475,7 +503,7 @@ public class MariaDbStatement implements Statement, Cloneable {
       protocol.executeQuery(
           protocol.isMasterConnection(),
           results,
-          getTimeoutSql(Utils.nativeSql(sql, protocol)),
+          timeoutSql != null ? timeoutSql : nativeSql,
           charset);
       results.commandEnd();
       return results.getResultSet() != null;
@@ -950,6 +978,47 @@ public class MariaDbStatement implements Statement, Cloneable {
     protocol.setLocalInfileInputStream(inputStream);
   }
 
+  /**
+   * Sets the rows that will be sent as file content for the next execute that uses "LOAD DATA LOCAL
+   * INFILE", without intermediate file. The name specified as local file/URL will be ignored.
+   *
+   * <p>Rows are encoded using LOAD DATA default format (fields terminated by tab, lines terminated
+   * by new line, escaped by backslash), so command must not redefine FIELDS or LINES options.
+   * Strings are encoded in UTF-8: command should then indicate <code>CHARACTER SET utf8mb4</code>.
+   *
+   * <p>Rows are written directly to socket while producer runs. If producer fails, rows already
+   * sent are loaded and execution throws an exception.
+   *
+   * @param producer rows producer
+   * @throws SQLException if statement is closed
+   */
+  public void setLocalInfileRows(LocalInfileRowProducer producer) throws SQLException {
+    checkClose();
+    protocol.setLocalInfileRows(producer);
+  }
+
+  /**
+   * Sets the rows that will be sent as file content for the next execute that uses "LOAD DATA LOCAL
+   * INFILE". See {@link #setLocalInfileRows(LocalInfileRowProducer)}.
+   *
+   * <p>Stream is closed when rows have been sent, even if sending fails. If server never requests
+   * file content (command failing before for example), stream remains owned by caller.
+   *
+   * @param rows rows, consumed during execution
+   * @throws SQLException if statement is closed
+   */
+  public void setLocalInfileRows(Stream<Object[]> rows) throws SQLException {
+    setLocalInfileRows(
+        writer -> {
+          try (Stream<Object[]> stream = rows) {
+            Iterator<Object[]> iterator = stream.iterator();
+            while (iterator.hasNext()) {
+              writer.writeRow(iterator.next());
+            }
+          }
+        });
+  }
+
   /**
    * Cancels this <code>Statement</code> object if both the DBMS and driver support aborting an SQL
    * statement. This method can be used by one thread to cancel a statement that is being executed
@@ -1435,7 +1504,12 @@ public class MariaDbStatement implements Statement, Cloneable {
    */
   private void internalBatchExecution(int size) throws SQLException {
 
-    executeQueryPrologue(true);
+    // each batch query gets a SET STATEMENT prefix when server permits it
+    boolean serverTimeout = queryTimeout != 0 && canUseServerTimeout;
+    executeQueryPrologue(true, serverTimeout);
+    for (String sql : batchQueries) {
+      connection.invalidateTableMetadata(sql);
+    }
     results =
         new Results(
             this,
@@ -1449,7 +1523,15 @@ public class MariaDbStatement implements Statement, Cloneable {
             protocol.getAutoIncrementIncrement(),
             null,
             null);
-    protocol.executeBatchStmt(protocol.isMasterConnection(), results, batchQueries);
+    if (serverTimeout) {
+      List<String> timeoutQueries = new ArrayList<>(batchQueries.size());
+      for (String sql : batchQueries) {
+        timeoutQueries.add(getTimeoutSql(sql));
+      }
+      protocol.executeBatchStmt(protocol.isMasterConnection(), results, timeoutQueries);
+    } else {
+      protocol.executeBatchStmt(protocol.isMasterConnection(), results, batchQueries);
+    }
     results.commandEnd();
   }
 
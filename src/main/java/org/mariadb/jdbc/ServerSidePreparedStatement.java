@@ -23,9 +23,9 @@
 package org.mariadb.jdbc;
 
 import java.sql.*;
-import java.util.*;
 import org.mariadb.jdbc.internal.com.read.dao.Results;
 import org.mariadb.jdbc.internal.com.read.resultset.SelectResultSet;
+import org.mariadb.jdbc.internal.com.send.parameters.ParameterBatch;
 import org.mariadb.jdbc.internal.com.send.parameters.ParameterHolder;
 import org.mariadb.jdbc.internal.logging.Logger;
 import org.mariadb.jdbc.internal.logging.LoggerFactory;
@@ -41,8 +41,7 @@ public class ServerSidePreparedStatement extends BasePrepareStatement implements
   private ServerPrepareResult serverPrepareResult = null;
   private MariaDbResultSetMetaData metadata;
   private MariaDbParameterMetaData parameterMetaData;
-  private Map<Integer, ParameterHolder> currentParameterHolder;
-  private List<ParameterHolder[]> queryParameters = new ArrayList<>();
+  private ParameterBatch parameters;
   private boolean mustExecuteOnMaster;
 
   /**
@@ -71,9 +70,9 @@ public class ServerSidePreparedStatement extends BasePrepareStatement implements
     super(
         connection, resultSetScrollType, resultSetConcurrency, autoGeneratedKeys, exceptionFactory);
     this.sql = sql;
-    currentParameterHolder = Collections.synchronizedMap(new TreeMap<Integer, ParameterHolder>());
     mustExecuteOnMaster = protocol.isMasterConnection();
     prepare(this.sql);
+    parameters = new ParameterBatch(parameterCount);
   }
 
   /**
@@ -88,7 +87,6 @@ public class ServerSidePreparedStatement extends BasePrepareStatement implements
     ServerSidePreparedStatement clone = (ServerSidePreparedStatement) super.clone(connection);
     clone.metadata = metadata;
     clone.parameterMetaData = parameterMetaData;
-    clone.queryParameters = new ArrayList<>();
     clone.mustExecuteOnMaster = mustExecuteOnMaster;
     // force prepare
     try {
@@ -96,6 +94,7 @@ public class ServerSidePreparedStatement extends BasePrepareStatement implements
     } catch (SQLException e) {
       throw new CloneNotSupportedException("PrepareStatement not ");
     }
+    clone.parameters = new ParameterBatch(clone.parameterCount);
     return clone;
   }
 
@@ -124,13 +123,28 @@ public class ServerSidePreparedStatement extends BasePrepareStatement implements
 
   public void setParameter(final int parameterIndex, final ParameterHolder holder)
       throws SQLException {
-    currentParameterHolder.put(parameterIndex - 1, holder);
+    if (parameterIndex < 1 || parameterIndex > parameters.getColumnCount()) {
+      String error =
+          "Could not set parameter at position "
+              + parameterIndex
+              + " (values was "
+              + holder.toString()
+              + ")";
+      logger.error(error);
+      throw exceptionFactory.raiseStatementError(connection, this).create(error);
+    }
+    parameters.set(parameterIndex - 1, holder);
+  }
+
+  @Override
+  protected ParameterBatch directParameters(int parameterIndex) {
+    return parameterIndex >= 1 && parameterIndex <= parameters.getColumnCount() ? parameters : null;
   }
 
   @Override
   public void addBatch() throws SQLException {
     validParameters();
-    queryParameters.add(currentParameterHolder.values().toArray(new ParameterHolder[0]));
+    parameters.addRow();
   }
 
   /**
@@ -147,7 +161,7 @@ public class ServerSidePreparedStatement extends BasePrepareStatement implements
   }
 
   public void clearBatch() {
-    queryParameters.clear();
+    parameters.clear();
     hasLongData = false;
   }
 
@@ -203,7 +217,7 @@ public class ServerSidePreparedStatement extends BasePrepareStatement implements
   @Override
   public int[] executeBatch() throws SQLException {
     checkClose();
-    int queryParameterSize = queryParameters.size();
+    int queryParameterSize = parameters.size();
     if (queryParameterSize == 0) {
       return new int[0];
     }
@@ -221,7 +235,7 @@ public class ServerSidePreparedStatement extends BasePrepareStatement implements
   @Override
   public long[] executeLargeBatch() throws SQLException {
     checkClose();
-    int queryParameterSize = queryParameters.size();
+    int queryParameterSize = parameters.size();
     if (queryParameterSize == 0) {
       return new long[0];
     }
@@ -255,12 +269,7 @@ public class ServerSidePreparedStatement extends BasePrepareStatement implements
       // if  multi send capacity
       if ((options.useBatchMultiSend || options.useBulkStmts)
           && (protocol.executeBatchServer(
-              mustExecuteOnMaster,
-              serverPrepareResult,
-              results,
-              sql,
-              queryParameters,
-              hasLongData))) {
+              mustExecuteOnMaster, serverPrepareResult, results, sql, parameters, hasLongData))) {
         if (metadata == null) {
           setMetaFromResult(); // first prepare
         }
@@ -272,7 +281,7 @@ public class ServerSidePreparedStatement extends BasePrepareStatement implements
       SQLException exception = null;
       if (queryTimeout > 0) {
         for (int counter = 0; counter < queryParameterSize; counter++) {
-          ParameterHolder[] parameterHolder = queryParameters.get(counter);
+          ParameterHolder[] parameterHolder = parameters.get(counter);
           try {
             protocol.stopIfInterrupted();
             serverPrepareResult.resetParameterTypeHeader();
@@ -292,7 +301,7 @@ public class ServerSidePreparedStatement extends BasePrepareStatement implements
         }
       } else {
         for (int counter = 0; counter < queryParameterSize; counter++) {
-          ParameterHolder[] parameterHolder = queryParameters.get(counter);
+          ParameterHolder[] parameterHolder = parameters.get(counter);
           try {
             serverPrepareResult.resetParameterTypeHeader();
             protocol.executePreparedQuery(
@@ -362,7 +371,7 @@ public class ServerSidePreparedStatement extends BasePrepareStatement implements
 
   @Override
   public void clearParameters() {
-    currentParameterHolder.clear();
+    parameters.clearParameters();
   }
 
   @Override
@@ -371,13 +380,12 @@ public class ServerSidePreparedStatement extends BasePrepareStatement implements
   }
 
   protected void validParameters() throws SQLException {
-    for (int i = 0; i < parameterCount; i++) {
-      if (currentParameterHolder.get(i) == null) {
-        logger.error("Parameter at position {} is not set", (i + 1));
-        throw exceptionFactory
-            .raiseStatementError(connection, this)
-            .create("Parameter at position " + (i + 1) + " is not set", "07004");
-      }
+    int unsetParameter = parameters.firstUnsetParameter();
+    if (unsetParameter != -1) {
+      logger.error("Parameter at position {} is not set", (unsetParameter + 1));
+      throw exceptionFactory
+          .raiseStatementError(connection, this)
+          .create("Parameter at position " + (unsetParameter + 1) + " is not set", "07004");
     }
   }
 
@@ -391,8 +399,7 @@ public class ServerSidePreparedStatement extends BasePrepareStatement implements
         setTimerTask(false);
       }
 
-      ParameterHolder[] parameterHolders =
-          currentParameterHolder.values().toArray(new ParameterHolder[0]);
+      ParameterHolder[] parameterHolders = parameters.current();
 
       results =
           new Results(
@@ -486,7 +493,7 @@ public class ServerSidePreparedStatement extends BasePrepareStatement implements
     if (parameterCount > 0) {
       sb.append(", parameters : [");
       for (int i = 0; i < parameterCount; i++) {
-        ParameterHolder holder = currentParameterHolder.get(i);
+        ParameterHolder holder = parameters.getParameter(i);
         if (holder == null) {
           sb.append("null");
         } else {
@@ -25,6 +25,7 @@ package org.mariadb.jdbc.authentication;
 import java.io.IOException;
 import java.sql.SQLException;
 import java.util.concurrent.atomic.AtomicInteger;
+import org.mariadb.jdbc.HostAddress;
 import org.mariadb.jdbc.internal.com.read.Buffer;
 import org.mariadb.jdbc.internal.io.input.PacketInputStream;
 import org.mariadb.jdbc.internal.io.output.PacketOutputStream;
@@ -63,6 +64,20 @@ public interface AuthenticationPlugin {
    */
   void initialize(String authenticationData, byte[] seed, Options options);
 
+  /**
+   * Plugin initialization, with the address of the server being authenticated to, permitting to
+   * cache server data between connections.
+   *
+   * @param authenticationData authentication data (password/token)
+   * @param seed server provided seed
+   * @param options Connection string options
+   * @param hostAddress server address, null if unknown
+   */
+  default void initialize(
+      String authenticationData, byte[] seed, Options options, HostAddress hostAddress) {
+    initialize(authenticationData, seed, options);
+  }
+
   /**
    * Process plugin authentication.
    *
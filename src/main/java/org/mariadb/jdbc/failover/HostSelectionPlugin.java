@@ -0,0 +1,58 @@
+/*
+ *
+ * MariaDB Client for Java
+ *
+ * Copyright (c) 2012-2014 Monty Program Ab.
+ * Copyright (c) 2015-2020 MariaDB Corporation Ab.
+ *
+ * This library is free software; you can redistribute it and/or modify it under
+ * the terms of the GNU Lesser General Public License as published by the Free
+ * Software Foundation; either version 2.1 of the License, or (at your option)
+ * any later version.
+ *
+ * This library is distributed in the hope that it will be useful, but
+ * WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE.  See the GNU Lesser General Public License
+ * for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License along
+ * with this library; if not, write to Monty Program Ab info@montyprogram.com.
+ *
+ */
+
+package org.mariadb.jdbc.failover;
+
+import java.util.List;
+import org.mariadb.jdbc.HostAddress;
+import org.mariadb.jdbc.util.Options;
+
+/**
+ * Strategy choosing in which order hosts are connected to when using replication or failover.
+ * Custom strategies can be added implementing this interface and registering the implementation in
+ * resources services, then selected with option hostSelectionType.
+ */
+public interface HostSelectionPlugin {
+
+  /**
+   * plugin name.
+   *
+   * @return plugin name.
+   */
+  String name();
+
+  /**
+   * plugin type.
+   *
+   * @return plugin type
+   */
+  String type();
+
+  /**
+   * Order candidate hosts. First host is connected to first.
+   *
+   * @param hosts candidate hosts, to reorder in place
+   * @param statistics response time and replication lag of hosts
+   * @param options connection options
+   */
+  void order(List<HostAddress> hosts, HostStatistics statistics, Options options);
+}
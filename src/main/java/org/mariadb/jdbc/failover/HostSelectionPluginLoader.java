@@ -0,0 +1,55 @@
+/*
+ *
+ * MariaDB Client for Java
+ *
+ * Copyright (c) 2012-2014 Monty Program Ab.
+ * Copyright (c) 2015-2020 MariaDB Corporation Ab.
+ *
+ * This library is free software; you can redistribute it and/or modify it under
+ * the terms of the GNU Lesser General Public License as published by the Free
+ * Software Foundation; either version 2.1 of the License, or (at your option)
+ * any later version.
+ *
+ * This library is distributed in the hope that it will be useful, but
+ * WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE.  See the GNU Lesser General Public License
+ * for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License along
+ * with this library; if not, write to Monty Program Ab info@montyprogram.com.
+ *
+ */
+
+package org.mariadb.jdbc.failover;
+
+import java.sql.SQLException;
+import java.util.ServiceLoader;
+import org.mariadb.jdbc.Driver;
+import org.mariadb.jdbc.internal.failover.impl.LatencyAwareHostSelectionPlugin;
+
+public class HostSelectionPluginLoader {
+
+  private static ServiceLoader<HostSelectionPlugin> loader =
+      ServiceLoader.load(HostSelectionPlugin.class, Driver.class.getClassLoader());
+
+  /**
+   * Get host selection plugin from type String. Customs plugin can be added implementing
+   * HostSelectionPlugin and registering new type in resources services.
+   *
+   * @param type host selection plugin type
+   * @return host selection plugin corresponding to type
+   * @throws SQLException if no host selection plugin in classpath have indicated type
+   */
+  public static HostSelectionPlugin get(String type) throws SQLException {
+    if (type == null || type.isEmpty()) {
+      return new LatencyAwareHostSelectionPlugin();
+    }
+    for (HostSelectionPlugin implClass : loader) {
+      if (type.equals(implClass.type())) {
+        return implClass;
+      }
+    }
+    throw new SQLException(
+        "Client has not found any host selection plugin with name '" + type + "'.", "08004");
+  }
+}
@@ -0,0 +1,144 @@
+/*
+ *
+ * MariaDB Client for Java
+ *
+ * Copyright (c) 2012-2014 Monty Program Ab.
+ * Copyright (c) 2015-2020 MariaDB Corporation Ab.
+ *
+ * This library is free software; you can redistribute it and/or modify it under
+ * the terms of the GNU Lesser General Public License as published by the Free
+ * Software Foundation; either version 2.1 of the License, or (at your option)
+ * any later version.
+ *
+ * This library is distributed in the hope that it will be useful, but
+ * WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE.  See the GNU Lesser General Public License
+ * for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License along
+ * with this library; if not, write to Monty Program Ab info@montyprogram.com.
+ *
+ */
+
+package org.mariadb.jdbc.failover;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import org.mariadb.jdbc.HostAddress;
+import org.mariadb.jdbc.UrlParser;
+
+/**
+ * Response time and replication lag of hosts, shared by connections with the same configuration.
+ *
+ * <p>Response time is an exponentially weighted moving average of ping round-trip times (connection
+ * validation and replica pings). Query durations are not used, since they measure workload rather
+ * than host latency. Values not updated for {@link #STALE_NANOS} are considered unknown, so that a
+ * host once slow is tried again.
+ */
+public class HostStatistics {
+
+  static final double ALPHA = 0.2;
+  static final long STALE_NANOS = TimeUnit.SECONDS.toNanos(60);
+
+  private static final Map<UrlParser, HostStatistics> statistics = new ConcurrentHashMap<>();
+
+  private final Map<HostAddress, Stat> stats = new ConcurrentHashMap<>();
+
+  /**
+   * Get statistics for a configuration. Create it if doesn't exists.
+   *
+   * @param urlParser configuration parser
+   * @return statistics
+   */
+  public static HostStatistics retrieve(UrlParser urlParser) {
+    return statistics.computeIfAbsent(urlParser, key -> new HostStatistics());
+  }
+
+  /** Remove all statistics. */
+  public static void close() {
+    statistics.clear();
+  }
+
+  private Stat stat(HostAddress host) {
+    return stats.computeIfAbsent(host, key -> new Stat());
+  }
+
+  /**
+   * Record a response time.
+   *
+   * @param host host
+   * @param nanos response time in nanoseconds
+   */
+  public void recordResponseTime(HostAddress host, long nanos) {
+    if (host != null) {
+      stat(host).record(nanos);
+    }
+  }
+
+  /**
+   * Record replication lag (Seconds_Behind_Master).
+   *
+   * @param host host
+   * @param seconds lag in seconds, -1 if unknown
+   */
+  public void recordReplicationLag(HostAddress host, long seconds) {
+    if (host != null) {
+      Stat stat = stat(host);
+      stat.lag = seconds;
+      stat.lagTime = System.nanoTime();
+    }
+  }
+
+  /**
+   * Average response time of host.
+   *
+   * @param host host
+   * @return response time in nanoseconds, -1 if unknown
+   */
+  public long getResponseTime(HostAddress host) {
+    Stat stat = stats.get(host);
+    if (stat == null || System.nanoTime() - stat.responseTime > STALE_NANOS) {
+      return -1;
+    }
+    double average = Double.longBitsToDouble(stat.average.get());
+    return average == 0 ? -1 : (long) average;
+  }
+
+  /**
+   * Last replication lag of host.
+   *
+   * @param host host
+   * @return lag in seconds, -1 if unknown
+   */
+  public long getReplicationLag(HostAddress host) {
+    Stat stat = stats.get(host);
+    if (stat == null || System.nanoTime() - stat.lagTime > STALE_NANOS) {
+      return -1;
+    }
+    return stat.lag;
+  }
+
+  private static final class Stat {
+    private final AtomicLong average = new AtomicLong(Double.doubleToRawLongBits(0));
+    private volatile long responseTime;
+    private volatile long lag = -1;
+    private volatile long lagTime;
+
+    private void record(long nanos) {
+      long now = System.nanoTime();
+      boolean stale = now - responseTime > STALE_NANOS;
+      long prev;
+      long next;
+      do {
+        prev = average.get();
+        double previous = Double.longBitsToDouble(prev);
+        next =
+            Double.doubleToRawLongBits(
+                previous == 0 || stale ? nanos : previous + ALPHA * (nanos - previous));
+      } while (!average.compareAndSet(prev, next));
+      responseTime = now;
+    }
+  }
+}
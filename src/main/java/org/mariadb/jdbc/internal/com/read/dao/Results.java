@@ -61,6 +61,7 @@ import org.mariadb.jdbc.MariaDbStatement;
 import org.mariadb.jdbc.internal.com.read.resultset.SelectResultSet;
 import org.mariadb.jdbc.internal.com.send.parameters.ParameterHolder;
 import org.mariadb.jdbc.internal.protocol.Protocol;
+import org.mariadb.jdbc.internal.util.dao.ServerPrepareResult;
 import org.mariadb.jdbc.internal.util.exceptions.ExceptionFactory;
 
 public class Results {
@@ -82,6 +83,7 @@ public class Results {
   private boolean rewritten;
   private String sql;
   private ParameterHolder[] parameters;
+  private ServerPrepareResult serverPrepareResult;
 
   /**
    * Single Text query. /! use internally, because autoincrement value is not right for
@@ -471,4 +473,18 @@ public class Results {
   public void setRewritten(boolean rewritten) {
     this.rewritten = rewritten;
   }
+
+  public ServerPrepareResult getServerPrepareResult() {
+    return serverPrepareResult;
+  }
+
+  /**
+   * Set executed server prepare result, permitting to reuse its columns information when server
+   * doesn't send resultset metadata.
+   *
+   * @param serverPrepareResult server prepare result
+   */
+  public void setServerPrepareResult(ServerPrepareResult serverPrepareResult) {
+    this.serverPrepareResult = serverPrepareResult;
+  }
 }
@@ -100,7 +100,9 @@ public class ColumnDefinition {
     0, 0, 0, 0, 0, 0, 0, 0
   };
 
-  private final Buffer buffer;
+  private final byte[] data;
+  private final int offset;
+  private final int end;
   private final short charsetNumber;
   private final long length;
   private final ColumnType type;
@@ -113,7 +115,9 @@ public class ColumnDefinition {
    * @param other other columnInformation
    */
   public ColumnDefinition(ColumnDefinition other) {
-    this.buffer = other.buffer;
+    this.data = other.data;
+    this.offset = other.offset;
+    this.end = other.end;
     this.charsetNumber = other.charsetNumber;
     this.length = other.length;
     this.type = other.type;
@@ -127,7 +131,21 @@ public class ColumnDefinition {
    * @param buffer buffer
    */
   public ColumnDefinition(Buffer buffer) {
-    this.buffer = buffer;
+    this(buffer.buf, 0, buffer.limit);
+  }
+
+  /**
+   * Read column information from a column definition packet stored in an array, possibly containing
+   * other packets.
+   *
+   * @param data array containing packet
+   * @param offset packet offset in array
+   * @param packetLength packet length
+   */
+  public ColumnDefinition(byte[] data, int offset, int packetLength) {
+    this.data = data;
+    this.offset = offset;
+    this.end = offset + packetLength;
 
     /*
     lenenc_str     catalog
@@ -146,13 +164,17 @@ public class ColumnDefinition {
     */
 
     // set position after length encoded value, not read most of the time
-    buffer.position = buffer.limit - 12;
-
-    charsetNumber = buffer.readShort();
-    length = buffer.readInt();
-    type = ColumnType.fromServer(buffer.readByte() & 0xff, charsetNumber);
-    flags = buffer.readShort();
-    decimals = buffer.readByte();
+    int pos = end - 12;
+
+    charsetNumber = (short) ((data[pos] & 0xff) + ((data[pos + 1] & 0xff) << 8));
+    length =
+        (data[pos + 2] & 0xff)
+            + ((data[pos + 3] & 0xff) << 8)
+            + ((data[pos + 4] & 0xff) << 16)
+            + ((data[pos + 5] & 0xff) << 24);
+    type = ColumnType.fromServer(data[pos + 6] & 0xff, charsetNumber);
+    flags = (short) ((data[pos + 7] & 0xff) + ((data[pos + 8] & 0xff) << 8));
+    decimals = data[pos + 9];
   }
 
   /**
@@ -220,7 +242,9 @@ public class ColumnDefinition {
   }
 
   private String getString(int idx) {
-    buffer.position = 0;
+    // use a local buffer, column definition being possibly shared between result-sets
+    Buffer buffer = new Buffer(data, end);
+    buffer.position = offset;
     for (int i = 0; i < idx; i++) {
       buffer.skipLengthEncodedBytes();
     }
@@ -0,0 +1,133 @@
+/*
+ *
+ * MariaDB Client for Java
+ *
+ * Copyright (c) 2012-2014 Monty Program Ab.
+ * Copyright (c) 2015-2020 MariaDB Corporation Ab.
+ *
+ * This library is free software; you can redistribute it and/or modify it under
+ * the terms of the GNU Lesser General Public License as published by the Free
+ * Software Foundation; either version 2.1 of the License, or (at your option)
+ * any later version.
+ *
+ * This library is distributed in the hope that it will be useful, but
+ * WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE.  See the GNU Lesser General Public License
+ * for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License along
+ * with this library; if not, write to Monty Program Ab info@montyprogram.com.
+ *
+ */
+
+package org.mariadb.jdbc.internal.com.read.resultset;
+
+import java.io.IOException;
+import java.util.Arrays;
+import java.util.zip.CRC32;
+import org.mariadb.jdbc.internal.io.input.PacketInputStream;
+
+/**
+ * Connection column definition reader.
+ *
+ * <p>Column definition packets of a result-set are read into a reusable array. Result-sets having
+ * exactly the same column definitions as a recent one (same checksum and same content) reuse the
+ * same {@link ColumnDefinition} array, so repeated queries don't allocate any metadata. New
+ * definitions are stored in a single compact array, decoded lazily by {@link ColumnDefinition}.
+ *
+ * <p>Not thread-safe: must be used with connection lock.
+ */
+public class ColumnDefinitionArena {
+
+  private static final int SLOTS = 64;
+  private static final int MAX_CACHED_BLOCK_SIZE = 16384;
+
+  private final Block[] blocks = new Block[SLOTS];
+  private final CRC32 crc = new CRC32();
+  private byte[] arena = new byte[1024];
+  private int[] offsets = new int[17];
+
+  /**
+   * Read column definition packets.
+   *
+   * @param reader packet reader
+   * @param fieldCount number of columns
+   * @return column definitions
+   * @throws IOException if any socket error occur
+   */
+  public ColumnDefinition[] read(PacketInputStream reader, int fieldCount) throws IOException {
+    if (offsets.length < fieldCount + 1) {
+      offsets = new int[fieldCount + 1];
+    }
+
+    int pos = 0;
+    for (int i = 0; i < fieldCount; i++) {
+      byte[] packet = reader.getPacketArray(true);
+      int length = reader.getLastPacketLength();
+      if (pos + length > arena.length) {
+        arena = Arrays.copyOf(arena, Math.max(pos + length, arena.length << 1));
+      }
+      System.arraycopy(packet, 0, arena, pos, length);
+      offsets[i] = pos;
+      pos += length;
+    }
+    offsets[fieldCount] = pos;
+
+    crc.reset();
+    crc.update(arena, 0, pos);
+    long checksum = crc.getValue();
+    int slot = (int) ((checksum ^ fieldCount) & (SLOTS - 1));
+
+    Block block = blocks[slot];
+    if (block != null
+        && block.checksum == checksum
+        && block.columns.length == fieldCount
+        && block.data.length == pos
+        && equals(block.data, arena, pos)) {
+      return block.columns;
+    }
+
+    // store definitions in a compact array
+    byte[] data = Arrays.copyOf(arena, pos);
+    ColumnDefinition[] columns = new ColumnDefinition[fieldCount];
+    for (int i = 0; i < fieldCount; i++) {
+      columns[i] = new ColumnDefinition(data, offsets[i], offsets[i + 1] - offsets[i]);
+    }
+
+    if (pos <= MAX_CACHED_BLOCK_SIZE) {
+      blocks[slot] = new Block(checksum, data, columns);
+    }
+
+    // don't keep big array
+    if (arena.length > MAX_CACHED_BLOCK_SIZE) {
+      arena = new byte[1024];
+    }
+    return columns;
+  }
+
+  private static boolean equals(byte[] data, byte[] arena, int length) {
+    for (int i = 0; i < length; i++) {
+      if (data[i] != arena[i]) {
+        return false;
+      }
+    }
+    return true;
+  }
+
+  /** Clear cached definitions. */
+  public void clear() {
+    Arrays.fill(blocks, null);
+  }
+
+  private static final class Block {
+    private final long checksum;
+    private final byte[] data;
+    private final ColumnDefinition[] columns;
+
+    private Block(long checksum, byte[] data, ColumnDefinition[] columns) {
+      this.checksum = checksum;
+      this.data = data;
+      this.columns = columns;
+    }
+  }
+}
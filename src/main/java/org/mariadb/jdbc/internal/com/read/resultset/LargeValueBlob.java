@@ -0,0 +1,164 @@
+/*
+ *
+ * MariaDB Client for Java
+ *
+ * Copyright (c) 2012-2014 Monty Program Ab.
+ * Copyright (c) 2015-2020 MariaDB Corporation Ab.
+ *
+ * This library is free software; you can redistribute it and/or modify it under
+ * the terms of the GNU Lesser General Public License as published by the Free
+ * Software Foundation; either version 2.1 of the License, or (at your option)
+ * any later version.
+ *
+ * This library is distributed in the hope that it will be useful, but
+ * WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE.  See the GNU Lesser General Public License
+ * for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License along
+ * with this library; if not, write to Monty Program Ab info@montyprogram.com.
+ *
+ */
+
+package org.mariadb.jdbc.internal.com.read.resultset;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.sql.Blob;
+import java.sql.SQLException;
+import org.mariadb.jdbc.internal.util.exceptions.ExceptionFactory;
+
+/**
+ * Blob of a streaming result-set value more than 16M, content being read from socket on demand.
+ * Content can only be read forward, once.
+ */
+class LargeValueBlob implements Blob {
+
+  private static final String FORWARD_ONLY_ERROR =
+      "Blob content is streamed from server and can only be read forward";
+
+  private final LargeValueInputStream stream;
+
+  LargeValueBlob(LargeValueInputStream stream) {
+    this.stream = stream;
+  }
+
+  @Override
+  public long length() {
+    return stream.getLength();
+  }
+
+  @Override
+  public byte[] getBytes(long pos, int length) throws SQLException {
+    if (pos < 1) {
+      throw ExceptionFactory.INSTANCE.create("position must be >= 1");
+    }
+    if (length < 0) {
+      throw ExceptionFactory.INSTANCE.create("length must be > 0");
+    }
+    try {
+      skipTo(pos);
+      int len = (int) Math.min(length, stream.getLength() - stream.getPosition());
+      byte[] bytes = new byte[len];
+      int off = 0;
+      while (off < len) {
+        int count = stream.read(bytes, off, len - off);
+        if (count < 0) {
+          break;
+        }
+        off += count;
+      }
+      return bytes;
+    } catch (IOException ioe) {
+      throw ExceptionFactory.INSTANCE.create(ioe.getMessage(), "HY000", ioe);
+    }
+  }
+
+  @Override
+  public InputStream getBinaryStream() throws SQLException {
+    if (stream.getPosition() > 0) {
+      throw ExceptionFactory.INSTANCE.create(FORWARD_ONLY_ERROR);
+    }
+    return stream;
+  }
+
+  @Override
+  public InputStream getBinaryStream(long pos, long length) throws SQLException {
+    if (pos < 1 || pos + length - 1 > stream.getLength()) {
+      throw ExceptionFactory.INSTANCE.create("Out of range (position should be > 0 and < length)");
+    }
+    try {
+      skipTo(pos);
+    } catch (IOException ioe) {
+      throw ExceptionFactory.INSTANCE.create(ioe.getMessage(), "HY000", ioe);
+    }
+    return new InputStream() {
+      private long remaining = length;
+
+      @Override
+      public int read() throws IOException {
+        if (remaining <= 0) {
+          return -1;
+        }
+        int value = stream.read();
+        remaining--;
+        return value;
+      }
+
+      @Override
+      public int read(byte[] buf, int off, int len) throws IOException {
+        if (remaining <= 0) {
+          return -1;
+        }
+        int count = stream.read(buf, off, (int) Math.min(len, remaining));
+        if (count > 0) {
+          remaining -= count;
+        }
+        return count;
+      }
+    };
+  }
+
+  private void skipTo(long pos) throws IOException, SQLException {
+    if (pos - 1 < stream.getPosition()) {
+      throw ExceptionFactory.INSTANCE.create(FORWARD_ONLY_ERROR);
+    }
+    stream.skip(pos - 1 - stream.getPosition());
+  }
+
+  @Override
+  public long position(byte[] pattern, long start) throws SQLException {
+    throw ExceptionFactory.INSTANCE.notSupported(FORWARD_ONLY_ERROR);
+  }
+
+  @Override
+  public long position(Blob pattern, long start) throws SQLException {
+    throw ExceptionFactory.INSTANCE.notSupported(FORWARD_ONLY_ERROR);
+  }
+
+  @Override
+  public int setBytes(long pos, byte[] bytes) throws SQLException {
+    throw ExceptionFactory.INSTANCE.notSupported(FORWARD_ONLY_ERROR);
+  }
+
+  @Override
+  public int setBytes(long pos, byte[] bytes, int offset, int len) throws SQLException {
+    throw ExceptionFactory.INSTANCE.notSupported(FORWARD_ONLY_ERROR);
+  }
+
+  @Override
+  public OutputStream setBinaryStream(long pos) throws SQLException {
+    throw ExceptionFactory.INSTANCE.notSupported(FORWARD_ONLY_ERROR);
+  }
+
+  @Override
+  public void truncate(long len) throws SQLException {
+    throw ExceptionFactory.INSTANCE.notSupported(FORWARD_ONLY_ERROR);
+  }
+
+  @Override
+  public void free() {
+    stream.close();
+  }
+}
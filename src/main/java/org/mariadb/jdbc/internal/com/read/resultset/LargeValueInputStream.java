@@ -0,0 +1,161 @@
+/*
+ *
+ * MariaDB Client for Java
+ *
+ * Copyright (c) 2012-2014 Monty Program Ab.
+ * Copyright (c) 2015-2020 MariaDB Corporation Ab.
+ *
+ * This library is free software; you can redistribute it and/or modify it under
+ * the terms of the GNU Lesser General Public License as published by the Free
+ * Software Foundation; either version 2.1 of the License, or (at your option)
+ * any later version.
+ *
+ * This library is distributed in the hope that it will be useful, but
+ * WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE.  See the GNU Lesser General Public License
+ * for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License along
+ * with this library; if not, write to Monty Program Ab info@montyprogram.com.
+ *
+ */
+
+package org.mariadb.jdbc.internal.com.read.resultset;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.concurrent.locks.ReentrantLock;
+import org.mariadb.jdbc.internal.io.input.PacketInputStream;
+
+/**
+ * Value of a streaming result-set row that is more than 16M, read from socket on demand.
+ *
+ * <p>First part of the value is already in row first packet, the remaining being read from the
+ * following packets. Stream is only valid while result-set cursor stays on that row.
+ */
+class LargeValueInputStream extends InputStream {
+
+  private final byte[] head;
+  private final int offset;
+  private final long length;
+  private final PacketInputStream reader;
+  private final ReentrantLock lock;
+  private long position;
+  private boolean closed;
+  private boolean invalid;
+
+  /**
+   * Constructor.
+   *
+   * @param head row first packet
+   * @param offset value offset in first packet
+   * @param length value total length
+   * @param reader packet reader, positioned at value remaining content
+   * @param lock connection lock
+   */
+  LargeValueInputStream(
+      byte[] head, int offset, long length, PacketInputStream reader, ReentrantLock lock) {
+    this.head = head;
+    this.offset = offset;
+    this.length = length;
+    this.reader = reader;
+    this.lock = lock;
+  }
+
+  /**
+   * Indicate if value content has already been (partially) consumed, meaning that it cannot be
+   * loaded anymore.
+   *
+   * @return true if value has been consumed
+   */
+  boolean isStarted() {
+    return position > 0 || closed;
+  }
+
+  long getLength() {
+    return length;
+  }
+
+  long getPosition() {
+    return position;
+  }
+
+  /** Result-set cursor has moved, value is not available anymore. */
+  void invalidate() {
+    invalid = true;
+  }
+
+  @Override
+  public int read() throws IOException {
+    byte[] single = new byte[1];
+    int count = read(single, 0, 1);
+    return count < 0 ? -1 : single[0] & 0xff;
+  }
+
+  @Override
+  public int read(byte[] buf, int off, int len) throws IOException {
+    if (closed || invalid) {
+      throw new IOException(
+          closed
+              ? "Stream has been closed"
+              : "Stream is not available anymore, result-set cursor has moved");
+    }
+    if (position >= length) {
+      return -1;
+    }
+    if (len == 0) {
+      return 0;
+    }
+    int toRead = (int) Math.min(len, length - position);
+
+    // part of the value in row first packet
+    long headRemaining = head.length - offset - position;
+    if (headRemaining > 0) {
+      int count = (int) Math.min(toRead, headRemaining);
+      System.arraycopy(head, offset + (int) position, buf, off, count);
+      position += count;
+      return count;
+    }
+
+    lock.lock();
+    try {
+      int count = reader.readRemainingPacketContent(buf, off, toRead);
+      if (count < 0) {
+        throw new IOException(
+            "unexpected end of packet, read " + position + " bytes from " + length);
+      }
+      position += count;
+      return count;
+    } finally {
+      lock.unlock();
+    }
+  }
+
+  @Override
+  public long skip(long n) throws IOException {
+    long skipped = 0;
+    byte[] buf = new byte[8192];
+    while (skipped < n) {
+      int count = read(buf, 0, (int) Math.min(buf.length, n - skipped));
+      if (count < 0) {
+        break;
+      }
+      skipped += count;
+    }
+    return skipped;
+  }
+
+  @Override
+  public int available() {
+    if (closed || invalid) {
+      return 0;
+    }
+    return (int) Math.max(0, Math.min(head.length - offset - position, length - position));
+  }
+
+  /** Close stream. Remaining value content will be skipped when result-set cursor moves. */
+  @Override
+  public void close() {
+    closed = true;
+  }
+}
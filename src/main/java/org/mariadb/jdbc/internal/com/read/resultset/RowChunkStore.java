@@ -0,0 +1,161 @@
+/*
+ *
+ * MariaDB Client for Java
+ *
+ * Copyright (c) 2012-2014 Monty Program Ab.
+ * Copyright (c) 2015-2020 MariaDB Corporation Ab.
+ *
+ * This library is free software; you can redistribute it and/or modify it under
+ * the terms of the GNU Lesser General Public License as published by the Free
+ * Software Foundation; either version 2.1 of the License, or (at your option)
+ * any later version.
+ *
+ * This library is distributed in the hope that it will be useful, but
+ * WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE.  See the GNU Lesser General Public License
+ * for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License along
+ * with this library; if not, write to Monty Program Ab info@montyprogram.com.
+ *
+ */
+
+package org.mariadb.jdbc.internal.com.read.resultset;
+
+import java.util.Arrays;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Row storage packing rows contiguously in large chunks, with an offset index, to avoid one array
+ * per row for big result-sets. Chunks are given back to a shared pool when result-set is closed.
+ *
+ * <p>Rows are read-only: storage is only used for read-only result-sets.
+ */
+final class RowChunkStore {
+
+  static final int CHUNK_SIZE = 1024 * 1024;
+  private static final int MAX_POOLED_CHUNKS = 32;
+  private static final int MAX_ARRAY_SIZE = Integer.MAX_VALUE - 8;
+
+  private static final ConcurrentLinkedQueue<byte[]> pool = new ConcurrentLinkedQueue<>();
+  private static final AtomicInteger pooledChunks = new AtomicInteger();
+
+  private byte[][] chunks = new byte[4][];
+  private int chunkNumber;
+  private byte[] current;
+  private int currentChunk;
+  private int currentPos;
+
+  // row index : chunk number in high 32 bits, offset in chunk in low 32 bits
+  private long[] index = new long[16];
+  private int[] lengths = new int[16];
+  private int size;
+
+  private static byte[] acquireChunk() {
+    byte[] chunk = pool.poll();
+    if (chunk != null) {
+      pooledChunks.decrementAndGet();
+      return chunk;
+    }
+    return new byte[CHUNK_SIZE];
+  }
+
+  private static void releaseChunk(byte[] chunk) {
+    if (chunk.length == CHUNK_SIZE && pooledChunks.incrementAndGet() <= MAX_POOLED_CHUNKS) {
+      pool.offer(chunk);
+    } else if (chunk.length == CHUNK_SIZE) {
+      pooledChunks.decrementAndGet();
+    }
+  }
+
+  /**
+   * Add row.
+   *
+   * @param row array containing row
+   * @param length row length
+   */
+  void add(byte[] row, int length) {
+    if (size == index.length) {
+      int newCapacity = index.length + (index.length >> 1);
+      if (newCapacity - MAX_ARRAY_SIZE > 0) {
+        newCapacity = MAX_ARRAY_SIZE;
+      }
+      index = Arrays.copyOf(index, newCapacity);
+      lengths = Arrays.copyOf(lengths, newCapacity);
+    }
+    lengths[size] = length;
+
+    byte[] chunk;
+    if (length > CHUNK_SIZE) {
+      // big row has its own chunk
+      chunk = Arrays.copyOf(row, length);
+      addChunk(chunk);
+      index[size++] = (long) (chunkNumber - 1) << 32;
+      return;
+    }
+
+    if (current == null || currentPos + length > CHUNK_SIZE) {
+      current = acquireChunk();
+      currentPos = 0;
+      addChunk(current);
+      currentChunk = chunkNumber - 1;
+    }
+    System.arraycopy(row, 0, current, currentPos, length);
+    index[size++] = ((long) currentChunk << 32) | currentPos;
+    currentPos += length;
+  }
+
+  private void addChunk(byte[] chunk) {
+    if (chunkNumber == chunks.length) {
+      chunks = Arrays.copyOf(chunks, chunks.length << 1);
+    }
+    chunks[chunkNumber++] = chunk;
+  }
+
+  /**
+   * Array containing row.
+   *
+   * @param row row index
+   * @return array containing row, at {@link #offset(int)}
+   */
+  byte[] chunk(int row) {
+    return chunks[(int) (index[row] >>> 32)];
+  }
+
+  /**
+   * Row offset in its array.
+   *
+   * @param row row index
+   * @return row offset
+   */
+  int offset(int row) {
+    return (int) index[row];
+  }
+
+  /**
+   * Copy of row, independent of chunk lifecycle.
+   *
+   * @param row row index
+   * @return row bytes
+   */
+  byte[] copy(int row) {
+    int offset = offset(row);
+    return Arrays.copyOfRange(chunk(row), offset, offset + lengths[row]);
+  }
+
+  int size() {
+    return size;
+  }
+
+  /** Give chunks back to pool. Store must not be used afterward. */
+  void release() {
+    for (int i = 0; i < chunkNumber; i++) {
+      releaseChunk(chunks[i]);
+      chunks[i] = null;
+    }
+    chunkNumber = 0;
+    current = null;
+    size = 0;
+  }
+}
@@ -101,6 +101,11 @@ public class SelectResultSet implements ResultSet {
   private boolean eofDeprecated;
   private ReentrantLock lock;
   private boolean forceAlias;
+  private boolean streamLargeValues;
+  private LargeValueInputStream largeValue;
+  private int largeValueRow = -1;
+  private int largeValueColumn;
+  private RowChunkStore rowStore;
 
   /**
    * Create Streaming resultSet.
@@ -151,10 +156,19 @@ public class SelectResultSet implements ResultSet {
 
     if (fetchSize == 0 || callableResult) {
       this.data = new byte[10][];
+      if (options.useRowChunkStorage && results.getResultSetConcurrency() == CONCUR_READ_ONLY) {
+        rowStore = new RowChunkStore();
+      }
       fetchAllResults();
       streaming = false;
     } else {
       this.lock = protocol.getLock();
+      // values more than 16M of forward-only streaming result-set are read from socket on demand
+      this.streamLargeValues =
+          !results.isBinaryFormat()
+              && results.getMaxFieldSize() == 0
+              && resultSetScrollType == TYPE_FORWARD_ONLY
+              && results.getResultSetConcurrency() == CONCUR_READ_ONLY;
       protocol.setActiveStreamingResult(results);
       protocol.removeHasMoreResults();
       data = new byte[Math.max(10, fetchSize)][];
@@ -341,10 +355,12 @@ public class SelectResultSet implements ResultSet {
    */
   private void nextStreamingValue() throws IOException, SQLException {
     lastRowPointer = -1;
+    releaseLargeValue(resultSetScrollType != TYPE_FORWARD_ONLY);
 
     // if resultSet can be back to some previous value
     if (resultSetScrollType == TYPE_FORWARD_ONLY) {
       dataSize = 0;
+      largeValueRow = -1;
     }
 
     addStreamingValue();
@@ -357,14 +373,101 @@ public class SelectResultSet implements ResultSet {
    * @throws SQLException if server return an unexpected error
    */
   private void addStreamingValue() throws IOException, SQLException {
+    // rows already read stay available
+    releaseLargeValue(true);
+
     // read only fetchSize values
     int fetchSizeTmp = fetchSize;
     while (fetchSizeTmp > 0 && readNextValue()) {
       fetchSizeTmp--;
+      if (largeValue != null) {
+        // row remaining content is still to be read from socket
+        break;
+      }
     }
     dataFetchTime++;
   }
 
+  /**
+   * Remaining content of current large value row has to be read from socket, before reading next
+   * packets.
+   *
+   * @param keepRow must row content stay available
+   * @throws IOException if socket exception occur
+   */
+  private void releaseLargeValue(boolean keepRow) throws IOException {
+    if (largeValue != null) {
+      LargeValueInputStream value = largeValue;
+      largeValue = null;
+      value.invalidate();
+      lastRowPointer = -1;
+      if (keepRow && !value.isStarted()) {
+        data[largeValueRow] = reader.completePacketArray(data[largeValueRow]);
+        largeValueRow = -1;
+      } else {
+        reader.skipRemainingPacketContent();
+        if (!keepRow) {
+          largeValueRow = -1;
+        }
+        // else row content from streamed value is not available anymore
+      }
+    }
+  }
+
+  /**
+   * Row first packet has been read, but row content continues in following packets. If the value
+   * crossing first packet limit can be located, it will be read from socket on demand, otherwise
+   * the whole row is read.
+   *
+   * @param head row first packet
+   * @return row data
+   * @throws IOException if socket exception occur
+   */
+  private byte[] prepareLargeValue(byte[] head) throws IOException {
+    int pos = 0;
+    for (int i = 0; i < columnInformationLength && pos < head.length; i++) {
+      int type = head[pos] & 0xff;
+      int headerLength;
+      switch (type) {
+        case 252:
+          headerLength = 3;
+          break;
+        case 253:
+          headerLength = 4;
+          break;
+        case 254:
+          headerLength = 9;
+          break;
+        default:
+          headerLength = 1;
+          break;
+      }
+      if (pos + headerLength > head.length) {
+        // length header is itself split
+        break;
+      }
+      long length =
+          type < 251 ? type : type == 251 ? 0 : readLength(head, pos + 1, headerLength - 1);
+      pos += headerLength;
+      if (pos + length > head.length) {
+        largeValue = new LargeValueInputStream(head, pos, length, reader, lock);
+        largeValueRow = dataSize;
+        largeValueColumn = i;
+        return head;
+      }
+      pos += length;
+    }
+    return reader.completePacketArray(head);
+  }
+
+  private static long readLength(byte[] buf, int pos, int size) {
+    long value = 0;
+    for (int i = 0; i < size; i++) {
+      value += (long) (buf[pos + i] & 0xff) << (8 * i);
+    }
+    return value;
+  }
+
   /**
    * Read next value.
    *
@@ -373,22 +476,26 @@ public class SelectResultSet implements ResultSet {
    * @throws SQLException exception
    */
   private boolean readNextValue() throws IOException, SQLException {
-    byte[] buf = reader.getPacketArray(false);
+    // when rows are copied to chunks, packet array can be reused
+    byte[] buf =
+        streamLargeValues
+            ? reader.getStreamablePacketArray()
+            : reader.getPacketArray(rowStore != null);
+    int length = reader.getLastPacketLength();
 
     // is error Packet
     if (buf[0] == ERROR) {
       protocol.removeActiveStreamingResult();
       protocol.removeHasMoreResults();
       protocol.setHasWarnings(false);
-      ErrorPacket errorPacket = new ErrorPacket(new Buffer(buf));
+      ErrorPacket errorPacket = new ErrorPacket(new Buffer(buf, length));
       resetVariables();
       throw ExceptionFactory.INSTANCE.create(
           errorPacket.getMessage(), errorPacket.getSqlState(), errorPacket.getErrorCode());
     }
 
     // is end of stream
-    if (buf[0] == EOF
-        && ((eofDeprecated && buf.length < 0xffffff) || (!eofDeprecated && buf.length < 8))) {
+    if (buf[0] == EOF && ((eofDeprecated && length < 0xffffff) || (!eofDeprecated && length < 8))) {
       int serverStatus;
       int warnings;
 
@@ -429,9 +536,17 @@ public class SelectResultSet implements ResultSet {
     }
 
     // this is a result-set row, save it
+    if (rowStore != null) {
+      rowStore.add(buf, length);
+      dataSize++;
+      return true;
+    }
     if (dataSize + 1 >= data.length) {
       growDataArray();
     }
+    if (reader.hasRemainingPacketContent()) {
+      buf = prepareLargeValue(buf);
+    }
     data[dataSize++] = buf;
     return true;
   }
@@ -442,6 +557,9 @@ public class SelectResultSet implements ResultSet {
    * @return row's raw bytes
    */
   protected byte[] getCurrentRowData() {
+    if (rowStore != null) {
+      return rowStore.copy(rowPointer);
+    }
     return data[rowPointer];
   }
 
@@ -545,9 +663,11 @@ public class SelectResultSet implements ResultSet {
     if (!isEof) {
       lock.lock();
       try {
+        releaseLargeValue(false);
         while (!isEof) {
           dataSize = 0; // to avoid storing data
           readNextValue();
+          releaseLargeValue(false);
         }
 
       } catch (SQLException queryException) {
@@ -565,6 +685,9 @@ public class SelectResultSet implements ResultSet {
     for (int i = 0; i < data.length; i++) {
       data[i] = null;
     }
+    if (rowStore != null) {
+      rowStore.release();
+    }
 
     if (statement != null) {
       statement.checkCloseOnCompletion(this);
@@ -630,8 +753,16 @@ public class SelectResultSet implements ResultSet {
       throw new SQLDataException("No such column: " + position, "22023");
     }
 
+    if (rowPointer == largeValueRow && position > largeValueColumn) {
+      loadLargeValue(position);
+    }
+
     if (lastRowPointer != rowPointer) {
-      row.resetRow(data[rowPointer]);
+      if (rowStore != null) {
+        row.resetRow(rowStore.chunk(rowPointer), rowStore.offset(rowPointer));
+      } else {
+        row.resetRow(data[rowPointer]);
+      }
       lastRowPointer = rowPointer;
     }
     row.setPosition(position - 1);
@@ -924,6 +1055,48 @@ public class SelectResultSet implements ResultSet {
     return row.wasNull();
   }
 
+  /**
+   * Load current row remaining content, when current row has a value more than 16M that is read
+   * from socket on demand.
+   *
+   * @param position column position
+   * @throws SQLException if value has already been read as a stream, or if a connection error occur
+   */
+  private void loadLargeValue(int position) throws SQLException {
+    if (largeValue == null || largeValue.isStarted()) {
+      throw new SQLException(
+          "Column "
+              + position
+              + " cannot be read, column "
+              + (largeValueColumn + 1)
+              + " having been read as a stream. Columns must be read in order",
+          "HY000");
+    }
+    lock.lock();
+    try {
+      releaseLargeValue(true);
+    } catch (IOException ioe) {
+      throw handleIoException(ioe);
+    } finally {
+      lock.unlock();
+    }
+  }
+
+  /**
+   * Current value stream, if column value is more than 16M and read from socket on demand.
+   *
+   * @param columnIndex column index
+   * @return value stream, or null if value is already in memory
+   * @throws SQLException if column index is out of range
+   */
+  private LargeValueInputStream getLargeValueStream(int columnIndex) throws SQLException {
+    if (largeValue != null && rowPointer == largeValueRow && columnIndex == largeValueColumn + 1) {
+      checkClose();
+      return largeValue;
+    }
+    return null;
+  }
+
   /** {inheritDoc}. */
   public InputStream getAsciiStream(String columnLabel) throws SQLException {
     return getAsciiStream(findColumn(columnLabel));
@@ -965,10 +1138,19 @@ public class SelectResultSet implements ResultSet {
 
   /** {inheritDoc}. */
   public InputStream getBinaryStream(int columnIndex) throws SQLException {
+    LargeValueInputStream stream = getLargeValueStream(columnIndex);
+    if (stream != null) {
+      return stream;
+    }
     checkObjectRange(columnIndex);
     if (row.lastValueWasNull()) {
       return null;
     }
+    if (rowStore != null) {
+      // chunk will be reused when result-set is closed
+      return new ByteArrayInputStream(
+          Arrays.copyOfRange(row.buf, row.pos, row.pos + row.getLengthMaxFieldSize()));
+    }
     return new ByteArrayInputStream(row.buf, row.pos, row.getLengthMaxFieldSize());
   }
 
@@ -1234,9 +1416,21 @@ public class SelectResultSet implements ResultSet {
       return type.cast(calendar);
 
     } else if (type.equals(Clob.class) || type.equals(NClob.class)) {
+      if (rowStore != null) {
+        // chunk will be reused when result-set is closed
+        return (T)
+            new MariaDbClob(
+                Arrays.copyOfRange(row.buf, row.pos, row.pos + row.getLengthMaxFieldSize()));
+      }
       return (T) new MariaDbClob(row.buf, row.pos, row.getLengthMaxFieldSize());
 
     } else if (type.equals(InputStream.class)) {
+      if (rowStore != null) {
+        // chunk will be reused when result-set is closed
+        return (T)
+            new ByteArrayInputStream(
+                Arrays.copyOfRange(row.buf, row.pos, row.pos + row.getLengthMaxFieldSize()));
+      }
       return (T) new ByteArrayInputStream(row.buf, row.pos, row.getLengthMaxFieldSize());
 
     } else if (type.equals(Reader.class)) {
@@ -1255,11 +1449,7 @@ public class SelectResultSet implements ResultSet {
       return (T) row.getInternalBigDecimal(col);
 
     } else if (type.equals(LocalDateTime.class)) {
-      ZonedDateTime zonedDateTime =
-          row.getInternalZonedDateTime(col, LocalDateTime.class, timeZone);
-      return zonedDateTime == null
-          ? null
-          : type.cast(zonedDateTime.withZoneSameInstant(ZoneId.systemDefault()).toLocalDateTime());
+      return type.cast(row.getInternalLocalDateTime(col, timeZone));
 
     } else if (type.equals(ZonedDateTime.class)) {
       ZonedDateTime zonedDateTime =
@@ -1323,6 +1513,10 @@ public class SelectResultSet implements ResultSet {
 
   /** {inheritDoc}. */
   public Reader getCharacterStream(int columnIndex) throws SQLException {
+    LargeValueInputStream stream = getLargeValueStream(columnIndex);
+    if (stream != null) {
+      return new InputStreamReader(stream, StandardCharsets.UTF_8);
+    }
     checkObjectRange(columnIndex);
     String value = row.getInternalString(columnsInformation[columnIndex - 1], null, timeZone);
     if (value == null) {
@@ -1353,10 +1547,18 @@ public class SelectResultSet implements ResultSet {
 
   /** {inheritDoc}. */
   public Blob getBlob(int columnIndex) throws SQLException {
+    LargeValueInputStream stream = getLargeValueStream(columnIndex);
+    if (stream != null) {
+      return new LargeValueBlob(stream);
+    }
     checkObjectRange(columnIndex);
     if (row.lastValueWasNull()) {
       return null;
     }
+    if (rowStore != null) {
+      // chunk will be reused when result-set is closed
+      return new MariaDbBlob(Arrays.copyOfRange(row.buf, row.pos, row.pos + row.length));
+    }
     return new MariaDbBlob(row.buf, row.pos, row.length);
   }
 
@@ -1371,6 +1573,10 @@ public class SelectResultSet implements ResultSet {
     if (row.lastValueWasNull()) {
       return null;
     }
+    if (rowStore != null) {
+      // chunk will be reused when result-set is closed
+      return new MariaDbClob(Arrays.copyOfRange(row.buf, row.pos, row.pos + row.length));
+    }
     return new MariaDbClob(row.buf, row.pos, row.length);
   }
 
@@ -1425,6 +1631,10 @@ public class SelectResultSet implements ResultSet {
     if (row.lastValueWasNull()) {
       return null;
     }
+    if (rowStore != null) {
+      // chunk will be reused when result-set is closed
+      return new MariaDbClob(Arrays.copyOfRange(row.buf, row.pos, row.pos + row.length));
+    }
     return new MariaDbClob(row.buf, row.pos, row.length);
   }
 
@@ -1993,6 +2203,10 @@ public class SelectResultSet implements ResultSet {
     return iface.isInstance(this);
   }
 
+  public ColumnDefinition[] getColumnsInformation() {
+    return columnsInformation;
+  }
+
   /** Force metadata getTableName to return table alias, not original table name. */
   public void setForceTableAlias() {
     this.forceAlias = true;
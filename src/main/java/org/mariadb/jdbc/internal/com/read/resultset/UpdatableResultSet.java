@@ -58,7 +58,11 @@ import java.io.Reader;
 import java.math.BigDecimal;
 import java.sql.*;
 import java.time.*;
+import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
 import java.util.TimeZone;
 import org.mariadb.jdbc.BasePrepareStatement;
 import org.mariadb.jdbc.ClientSidePreparedStatement;
@@ -69,6 +73,8 @@ import org.mariadb.jdbc.internal.com.read.dao.Results;
 import org.mariadb.jdbc.internal.com.send.parameters.*;
 import org.mariadb.jdbc.internal.io.input.PacketInputStream;
 import org.mariadb.jdbc.internal.protocol.Protocol;
+import org.mariadb.jdbc.internal.util.TableMetadataCache;
+import org.mariadb.jdbc.internal.util.constant.ColumnFlags;
 import org.mariadb.jdbc.internal.util.exceptions.ExceptionFactory;
 
 public class UpdatableResultSet extends SelectResultSet {
@@ -77,6 +83,7 @@ public class UpdatableResultSet extends SelectResultSet {
   private static final int STATE_UPDATE = 1;
   private static final int STATE_UPDATED = 2;
   private static final int STATE_INSERT = 3;
+  private static final int MAX_UPDATE_STATEMENTS = 16;
   private String database;
   private String table;
 
@@ -92,7 +99,9 @@ public class UpdatableResultSet extends SelectResultSet {
   private MariaDbConnection connection;
   private PreparedStatement refreshPreparedStatement = null;
   private ClientSidePreparedStatement insertPreparedStatement = null;
-  private ClientSidePreparedStatement deletePreparedStatement = null;
+  private BasePrepareStatement deletePreparedStatement = null;
+  // UPDATE statements, by query, since query depends on updated columns
+  private Map<String, BasePrepareStatement> updatePreparedStatements = null;
 
   /**
    * Constructor.
@@ -184,24 +193,28 @@ public class UpdatableResultSet extends SelectResultSet {
       if (results.getStatement() != null && results.getStatement().getConnection() != null) {
 
         connection = results.getStatement().getConnection();
-        Statement stmt =
-            connection.createStatement(
-                ResultSet.TYPE_SCROLL_INSENSITIVE, ResultSet.CONCUR_READ_ONLY);
-        ResultSet rs = stmt.executeQuery("SHOW COLUMNS FROM `" + database + "`.`" + table + "`");
+        TableMetadataCache cache = connection.getTableMetadataCache();
+        String cacheKey = TableMetadataCache.key(database, table);
+        TableMetadataCache.Column[] tableColumns = cache == null ? null : cache.get(cacheKey);
+        if (tableColumns == null || !matchColumns(tableColumns)) {
+          // not cached, or table has changed since
+          tableColumns = readTableColumns();
+          if (cache != null) {
+            cache.put(cacheKey, tableColumns);
+          }
+        }
 
         UpdatableColumnDefinition[] updatableColumns =
             new UpdatableColumnDefinition[columnInformationLength];
 
         boolean primaryFound = false;
-        while (rs.next()) {
-          // read SHOW COLUMNS informations
-          String fieldName = rs.getString("Field");
-          boolean canBeNull = "YES".equals(rs.getString("Null"));
-          boolean hasDefault = rs.getString("Default") == null;
-          String extra = rs.getString("Extra");
-          boolean generated = extra != null && !extra.isEmpty();
-          boolean autoIncrement = extra != null && "auto_increment".equals(extra);
-          boolean primary = "PRI".equals(rs.getString("Key"));
+        for (TableMetadataCache.Column tableColumn : tableColumns) {
+          String fieldName = tableColumn.getName();
+          boolean canBeNull = tableColumn.canBeNull();
+          boolean hasDefault = tableColumn.hasDefault();
+          boolean generated = tableColumn.isGenerated();
+          boolean autoIncrement = tableColumn.isAutoIncrement();
+          boolean primary = tableColumn.isPrimary();
 
           boolean found = false;
 
@@ -276,6 +289,54 @@ public class UpdatableResultSet extends SelectResultSet {
     }
   }
 
+  /**
+   * Check that cached table columns still correspond to result-set columns: all columns must exist,
+   * with same primary key, nullability and auto-increment flags as sent by server.
+   *
+   * @param tableColumns cached table columns
+   * @return true if cached columns can be used
+   */
+  private boolean matchColumns(TableMetadataCache.Column[] tableColumns) {
+    for (ColumnDefinition columnDefinition : columnsInformation) {
+      TableMetadataCache.Column column = null;
+      for (TableMetadataCache.Column tableColumn : tableColumns) {
+        if (tableColumn.getName().equals(columnDefinition.getOriginalName())) {
+          column = tableColumn;
+          break;
+        }
+      }
+      if (column == null
+          || column.isPrimary() != columnDefinition.isPrimaryKey()
+          || column.canBeNull() == columnDefinition.isNotNull()
+          || column.isAutoIncrement()
+              != ((columnDefinition.getFlags() & ColumnFlags.AUTO_INCREMENT) != 0)) {
+        return false;
+      }
+    }
+    return true;
+  }
+
+  private TableMetadataCache.Column[] readTableColumns() throws SQLException {
+    List<TableMetadataCache.Column> tableColumns = new ArrayList<>();
+    try (Statement stmt =
+        connection.createStatement(ResultSet.TYPE_FORWARD_ONLY, ResultSet.CONCUR_READ_ONLY)) {
+      ResultSet rs = stmt.executeQuery("SHOW COLUMNS FROM `" + database + "`.`" + table + "`");
+      while (rs.next()) {
+        // read SHOW COLUMNS informations
+        String extra = rs.getString("Extra");
+        tableColumns.add(
+            new TableMetadataCache.Column(
+                rs.getString("Field"),
+                "YES".equals(rs.getString("Null")),
+                rs.getString("Default") == null,
+                extra != null && !extra.isEmpty(),
+                "PRI".equals(rs.getString("Key")),
+                "auto_increment".equals(extra)));
+      }
+    }
+    return tableColumns.toArray(new TableMetadataCache.Column[0]);
+  }
+
   private UpdatableColumnDefinition[] getUpdatableColumns() {
     return (UpdatableColumnDefinition[]) columnsInformation;
   }
@@ -1155,8 +1216,7 @@ public class UpdatableResultSet extends SelectResultSet {
       }
       updateSql.append(whereClause.toString());
 
-      ClientSidePreparedStatement preparedStatement =
-          connection.clientPrepareStatement(updateSql.toString());
+      BasePrepareStatement preparedStatement = getUpdatePreparedStatement(updateSql.toString());
       int fieldsIndex = 0;
       int fieldsPrimaryIndex = 0;
       for (int pos = 0; pos < columnInformationLength; pos++) {
@@ -1220,7 +1280,7 @@ public class UpdatableResultSet extends SelectResultSet {
           deleteSql.append("`").append(colInfo.getOriginalName()).append("` = ? ");
         }
       }
-      deletePreparedStatement = connection.clientPrepareStatement(deleteSql.toString());
+      deletePreparedStatement = prepareStatement(deleteSql.toString());
     }
 
     int fieldsPrimaryIndex = 1;
@@ -1238,6 +1298,74 @@ public class UpdatableResultSet extends SelectResultSet {
     deleteCurrentRowData();
   }
 
+  private BasePrepareStatement getUpdatePreparedStatement(String sql) throws SQLException {
+    if (updatePreparedStatements == null) {
+      updatePreparedStatements =
+          new LinkedHashMap<String, BasePrepareStatement>(MAX_UPDATE_STATEMENTS, .75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, BasePrepareStatement> eldest) {
+              if (size() > MAX_UPDATE_STATEMENTS) {
+                closeQuietly(eldest.getValue());
+                return true;
+              }
+              return false;
+            }
+          };
+    }
+    BasePrepareStatement preparedStatement = updatePreparedStatements.get(sql);
+    if (preparedStatement == null) {
+      preparedStatement = prepareStatement(sql);
+      updatePreparedStatements.put(sql, preparedStatement);
+    }
+    return preparedStatement;
+  }
+
+  /**
+   * Prepare a generated UPDATE/DELETE query. Server prepared statement is used when result-set
+   * comes from a server prepared statement, so the command is prepared only once on server.
+   *
+   * @param sql generated query
+   * @return prepared statement
+   * @throws SQLException if preparation fails
+   */
+  private BasePrepareStatement prepareStatement(String sql) throws SQLException {
+    if (isBinaryEncoded()) {
+      return connection.serverPrepareStatement(sql);
+    }
+    return connection.clientPrepareStatement(sql);
+  }
+
+  private static void closeQuietly(Statement statement) {
+    if (statement != null) {
+      try {
+        statement.close();
+      } catch (SQLException sqle) {
+        // eat
+      }
+    }
+  }
+
+  /** Close resultSet and the generated statements. */
+  @Override
+  public void close() throws SQLException {
+    try {
+      super.close();
+    } finally {
+      closeQuietly(insertPreparedStatement);
+      closeQuietly(deletePreparedStatement);
+      closeQuietly(refreshPreparedStatement);
+      insertPreparedStatement = null;
+      deletePreparedStatement = null;
+      refreshPreparedStatement = null;
+      if (updatePreparedStatements != null) {
+        for (BasePrepareStatement preparedStatement : updatePreparedStatements.values()) {
+          closeQuietly(preparedStatement);
+        }
+        updatePreparedStatements = null;
+      }
+    }
+  }
+
   private void prepareRefreshStmt() throws SQLException {
     if (refreshPreparedStatement == null) {
       // Construct SELECT query according to column metadata, with WHERE part containing primary
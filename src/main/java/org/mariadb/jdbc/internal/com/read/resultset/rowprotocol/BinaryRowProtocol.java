@@ -98,7 +98,7 @@ public class BinaryRowProtocol extends RowProtocol {
   public void setPosition(int newIndex) {
 
     // check NULL-Bitmap that indicate if field is null
-    if ((buf[1 + (newIndex + 2) / 8] & (1 << ((newIndex + 2) % 8))) != 0) {
+    if ((buf[rowOffset + 1 + (newIndex + 2) / 8] & (1 << ((newIndex + 2) % 8))) != 0) {
       this.lastValueNull = BIT_LAST_FIELD_NULL;
       return;
     }
@@ -110,7 +110,8 @@ public class BinaryRowProtocol extends RowProtocol {
         // if there wasn't previous non-null read field, or if last field was after searched index,
         // position is set on first field position.
         index = 0;
-        internalPos = 1 + (columnInformationLength + 9) / 8; // 0x00 header + NULL-Bitmap length
+        // 0x00 header + NULL-Bitmap length
+        internalPos = rowOffset + 1 + (columnInformationLength + 9) / 8;
       } else {
         // start at previous non-null field position if was before searched index
         index++;
@@ -118,7 +119,7 @@ public class BinaryRowProtocol extends RowProtocol {
       }
 
       for (; index <= newIndex; index++) {
-        if ((buf[1 + (index + 2) / 8] & (1 << ((index + 2) % 8))) == 0) {
+        if ((buf[rowOffset + 1 + (index + 2) / 8] & (1 << ((index + 2) % 8))) == 0) {
           if (index != newIndex) {
             // skip bytes
             switch (columnDefinition[index].getColumnType()) {
@@ -845,17 +846,7 @@ public class BinaryRowProtocol extends RowProtocol {
           day = buf[pos + 3];
         }
 
-        Calendar calendar = Calendar.getInstance();
-        calendar.clear();
-        calendar.set(Calendar.YEAR, year);
-        calendar.set(Calendar.MONTH, month - 1);
-        calendar.set(Calendar.DAY_OF_MONTH, day);
-        calendar.set(Calendar.HOUR_OF_DAY, 0);
-        calendar.set(Calendar.MINUTE, 0);
-        calendar.set(Calendar.SECOND, 0);
-        calendar.set(Calendar.MILLISECOND, 0);
-        Date dt = new Date(calendar.getTimeInMillis());
-        return dt;
+        return new Date(epochMillis(null, TimeZone.getDefault(), year, month, day, 0, 0, 0, 0));
     }
   }
 
@@ -881,8 +872,6 @@ public class BinaryRowProtocol extends RowProtocol {
       case DATE:
         throw new SQLException("Cannot read Time using a Types.DATE field");
       default:
-        Calendar calendar = cal != null ? cal : Calendar.getInstance();
-        calendar.clear();
         int day = 0;
         int hour = 0;
         int minutes = 0;
@@ -903,14 +892,6 @@ public class BinaryRowProtocol extends RowProtocol {
           minutes = buf[pos + 6];
           seconds = buf[pos + 7];
         }
-        calendar.set(
-            1970,
-            Calendar.JANUARY,
-            ((negate ? -1 : 1) * day) + 1,
-            (negate ? -1 : 1) * hour,
-            minutes,
-            seconds);
-
         int nanoseconds = 0;
         if (length > 8) {
           nanoseconds =
@@ -920,9 +901,17 @@ public class BinaryRowProtocol extends RowProtocol {
                   + ((buf[pos + 11] & 0xff) << 24));
         }
 
-        calendar.set(Calendar.MILLISECOND, nanoseconds / 1000);
-
-        return new Time(calendar.getTimeInMillis());
+        return new Time(
+            epochMillis(
+                cal,
+                TimeZone.getDefault(),
+                1970,
+                1,
+                ((negate ? -1 : 1) * day) + 1,
+                (negate ? -1 : 1) * hour,
+                minutes,
+                seconds,
+                nanoseconds / 1000));
     }
   }
 
@@ -955,8 +944,6 @@ public class BinaryRowProtocol extends RowProtocol {
 
     switch (columnInfo.getColumnType()) {
       case TIME:
-        Calendar calendar = userCalendar != null ? userCalendar : Calendar.getInstance();
-
         boolean negate = false;
         if (length > 0) {
           negate = (buf[pos] & 0xff) == 0x01;
@@ -1031,23 +1018,17 @@ public class BinaryRowProtocol extends RowProtocol {
         }
     }
 
-    Calendar calendar;
-    if (userCalendar != null) {
-      calendar = userCalendar;
-    } else if (columnInfo.getColumnType().getSqlType() == Types.TIMESTAMP) {
-      calendar = Calendar.getInstance(timeZone);
-    } else {
-      calendar = Calendar.getInstance();
-    }
-
-    Timestamp tt;
-    synchronized (calendar) {
-      calendar.clear();
-      calendar.set(year, month - 1, day, hour, minutes, seconds);
-      tt = new Timestamp(calendar.getTimeInMillis());
-    }
-    tt.setNanos(microseconds * 1000);
-    return tt;
+    return timestamp(
+        columnInfo,
+        userCalendar,
+        timeZone,
+        year,
+        month,
+        day,
+        hour,
+        minutes,
+        seconds,
+        microseconds * 1000);
   }
 
   /**
@@ -1519,6 +1500,59 @@ public class BinaryRowProtocol extends RowProtocol {
     }
   }
 
+  /**
+   * Get LocalDateTime from raw binary format, in client default time zone.
+   *
+   * @param columnInfo column information
+   * @param timeZone time zone
+   * @return LocalDateTime value
+   * @throws SQLException if column type doesn't permit conversion
+   */
+  public LocalDateTime getInternalLocalDateTime(ColumnDefinition columnInfo, TimeZone timeZone)
+      throws SQLException {
+    if (lastValueWasNull()) {
+      return null;
+    }
+    if (length == 0) {
+      lastValueNull |= BIT_LAST_FIELD_NULL;
+      return null;
+    }
+
+    if (columnInfo.getColumnType().getSqlType() == Types.TIMESTAMP) {
+      int year = ((buf[pos] & 0xff) | (buf[pos + 1] & 0xff) << 8);
+      int month = buf[pos + 2];
+      int day = buf[pos + 3];
+      int hour = 0;
+      int minutes = 0;
+      int seconds = 0;
+      int microseconds = 0;
+
+      if (length > 4) {
+        hour = buf[pos + 4];
+        minutes = buf[pos + 5];
+        seconds = buf[pos + 6];
+
+        if (length > 7) {
+          microseconds =
+              ((buf[pos + 7] & 0xff)
+                  + ((buf[pos + 8] & 0xff) << 8)
+                  + ((buf[pos + 9] & 0xff) << 16)
+                  + ((buf[pos + 10] & 0xff) << 24));
+        }
+      }
+
+      return TemporalCodec.toDefaultZone(
+          LocalDateTime.of(year, month, day, hour, minutes, seconds, microseconds * 1000),
+          timeZone);
+    }
+
+    ZonedDateTime zonedDateTime =
+        getInternalZonedDateTime(columnInfo, LocalDateTime.class, timeZone);
+    return zonedDateTime == null
+        ? null
+        : zonedDateTime.withZoneSameInstant(ZoneId.systemDefault()).toLocalDateTime();
+  }
+
   /**
    * Get OffsetTime from raw binary format.
    *
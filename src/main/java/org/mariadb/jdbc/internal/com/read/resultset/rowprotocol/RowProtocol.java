@@ -58,9 +58,12 @@ import java.sql.Date;
 import java.sql.SQLException;
 import java.sql.Time;
 import java.sql.Timestamp;
+import java.sql.Types;
 import java.time.LocalDate;
+import java.time.LocalDateTime;
 import java.time.LocalTime;
 import java.time.OffsetTime;
+import java.time.ZoneId;
 import java.time.ZonedDateTime;
 import java.time.format.DateTimeFormatter;
 import java.time.format.DateTimeFormatterBuilder;
@@ -120,6 +123,7 @@ public abstract class RowProtocol {
   public int pos;
   public int length;
   protected int index;
+  protected int rowOffset;
 
   public RowProtocol(int maxFieldSize, Options options) {
     this.maxFieldSize = maxFieldSize;
@@ -127,7 +131,18 @@ public abstract class RowProtocol {
   }
 
   public void resetRow(byte[] buf) {
+    resetRow(buf, 0);
+  }
+
+  /**
+   * Set current row, when row is stored in an array containing other rows.
+   *
+   * @param buf array containing row
+   * @param offset row offset in array
+   */
+  public void resetRow(byte[] buf, int offset) {
     this.buf = buf;
+    this.rowOffset = offset;
     index = -1;
   }
 
@@ -188,8 +203,89 @@ public abstract class RowProtocol {
   public abstract LocalDate getInternalLocalDate(ColumnDefinition columnInfo, TimeZone timeZone)
       throws SQLException;
 
+  public abstract LocalDateTime getInternalLocalDateTime(
+      ColumnDefinition columnInfo, TimeZone timeZone) throws SQLException;
+
   public abstract boolean isBinaryEncoded();
 
+  /**
+   * Convert date/time fields to epoch milliseconds, using user calendar if set, or else indicated
+   * time zone. Calendar is only used when {@link TemporalCodec} cannot convert those fields.
+   *
+   * @param userCalendar user calendar, can be null
+   * @param timeZone time zone used when no calendar is set
+   * @param year year
+   * @param month month (1-12)
+   * @param day day of month
+   * @param hour hour of day
+   * @param minutes minutes
+   * @param seconds seconds
+   * @param millis milliseconds
+   * @return epoch milliseconds
+   */
+  protected static long epochMillis(
+      Calendar userCalendar,
+      TimeZone timeZone,
+      int year,
+      int month,
+      int day,
+      int hour,
+      int minutes,
+      int seconds,
+      int millis) {
+    ZoneId zoneId =
+        userCalendar != null ? TemporalCodec.zoneId(userCalendar) : TemporalCodec.zoneId(timeZone);
+    if (zoneId != null && TemporalCodec.supports(year, month)) {
+      return TemporalCodec.epochMillis(
+          zoneId, TemporalCodec.localMillis(year, month, day, hour, minutes, seconds, millis));
+    }
+
+    Calendar calendar = userCalendar != null ? userCalendar : Calendar.getInstance(timeZone);
+    synchronized (calendar) {
+      calendar.clear();
+      calendar.set(year, month - 1, day, hour, minutes, seconds);
+      calendar.set(Calendar.MILLISECOND, millis);
+      return calendar.getTimeInMillis();
+    }
+  }
+
+  /**
+   * Create timestamp from date/time fields. Server time zone is used for TIMESTAMP/DATETIME
+   * columns, default time zone for others, unless a user calendar is set.
+   *
+   * @param columnInfo column information
+   * @param userCalendar user calendar, can be null
+   * @param timeZone server time zone
+   * @param year year
+   * @param month month (1-12)
+   * @param day day of month
+   * @param hour hour of day
+   * @param minutes minutes
+   * @param seconds seconds
+   * @param nanos nanoseconds
+   * @return timestamp
+   */
+  protected static Timestamp timestamp(
+      ColumnDefinition columnInfo,
+      Calendar userCalendar,
+      TimeZone timeZone,
+      int year,
+      int month,
+      int day,
+      int hour,
+      int minutes,
+      int seconds,
+      int nanos) {
+    TimeZone zone =
+        columnInfo.getColumnType().getSqlType() == Types.TIMESTAMP
+            ? timeZone
+            : TimeZone.getDefault();
+    Timestamp timestamp =
+        new Timestamp(epochMillis(userCalendar, zone, year, month, day, hour, minutes, seconds, 0));
+    timestamp.setNanos(nanos);
+    return timestamp;
+  }
+
   public boolean lastValueWasNull() {
     return (lastValueNull & BIT_LAST_FIELD_NULL) != 0;
   }
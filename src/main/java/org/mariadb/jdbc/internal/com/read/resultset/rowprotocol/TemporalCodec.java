@@ -0,0 +1,214 @@
+/*
+ *
+ * MariaDB Client for Java
+ *
+ * Copyright (c) 2012-2014 Monty Program Ab.
+ * Copyright (c) 2015-2020 MariaDB Corporation Ab.
+ *
+ * This library is free software; you can redistribute it and/or modify it under
+ * the terms of the GNU Lesser General Public License as published by the Free
+ * Software Foundation; either version 2.1 of the License, or (at your option)
+ * any later version.
+ *
+ * This library is distributed in the hope that it will be useful, but
+ * WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE.  See the GNU Lesser General Public License
+ * for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License along
+ * with this library; if not, write to Monty Program Ab info@montyprogram.com.
+ *
+ */
+
+package org.mariadb.jdbc.internal.com.read.resultset.rowprotocol;
+
+import java.time.DateTimeException;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+import java.time.ZonedDateTime;
+import java.time.zone.ZoneOffsetTransition;
+import java.time.zone.ZoneRules;
+import java.util.Calendar;
+import java.util.GregorianCalendar;
+import java.util.TimeZone;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Conversion of decoded date/time fields to epoch values without going through {@link Calendar}.
+ *
+ * <p>Local fields are converted with proleptic gregorian arithmetic, and zone offsets are resolved
+ * with cached {@link ZoneRules}, giving the same result than a lenient {@link GregorianCalendar}
+ * (during a DST gap, the offset before transition is used, during an overlap, the offset after
+ * transition). Dates outside of the range where calendar time zone data is tabulated (1901-2036),
+ * custom time zones and custom calendars are not supported: callers must then use the Calendar
+ * implementation.
+ */
+public final class TemporalCodec {
+
+  private static final long MILLIS_PER_DAY = 86_400_000L;
+  private static final long DAYS_0000_TO_1970 = 719_528L;
+  private static final long DEFAULT_GREGORIAN_CHANGE = -12_219_292_800_000L;
+  private static final Class<? extends TimeZone> ZONE_INFO_CLASS =
+      TimeZone.getTimeZone("UTC").getClass();
+  private static final ConcurrentHashMap<String, ZoneId> zoneIds = new ConcurrentHashMap<>();
+
+  private TemporalCodec() {}
+
+  /**
+   * Get cached zone corresponding to time zone.
+   *
+   * @param timeZone time zone
+   * @return zone, or null if time zone is a custom implementation
+   */
+  public static ZoneId zoneId(TimeZone timeZone) {
+    if (timeZone.getClass() != ZONE_INFO_CLASS) {
+      return null;
+    }
+    String id = timeZone.getID();
+    ZoneId zoneId = zoneIds.get(id);
+    if (zoneId == null) {
+      try {
+        zoneId = timeZone.toZoneId();
+      } catch (DateTimeException e) {
+        return null;
+      }
+      zoneIds.putIfAbsent(id, zoneId);
+    }
+    return zoneId;
+  }
+
+  /**
+   * Get cached zone corresponding to calendar time zone.
+   *
+   * @param calendar calendar
+   * @return zone, or null if calendar resolution may differ from gregorian arithmetic
+   */
+  public static ZoneId zoneId(Calendar calendar) {
+    if (calendar.getClass() != GregorianCalendar.class
+        || !calendar.isLenient()
+        || ((GregorianCalendar) calendar).getGregorianChange().getTime()
+            != DEFAULT_GREGORIAN_CHANGE) {
+      return null;
+    }
+    return zoneId(calendar.getTimeZone());
+  }
+
+  /**
+   * Indicate if date can be converted without calendar. Calendar time zones use local mean time
+   * approximations before 1901 and recurring rules from 2037, so those years are left to calendar.
+   *
+   * @param year year
+   * @param month month (1-12, normalized like a lenient calendar if out of range)
+   * @return true if date is supported
+   */
+  public static boolean supports(int year, int month) {
+    int normalizedYear = year + Math.floorDiv(month - 1, 12);
+    return normalizedYear > 1900 && normalizedYear < 2037;
+  }
+
+  /**
+   * Local time in milliseconds since 1970-01-01T00:00. Out of range fields are normalized like a
+   * lenient calendar would.
+   *
+   * @param year year
+   * @param month month (1-12)
+   * @param day day of month (1-31)
+   * @param hour hour of day
+   * @param minutes minutes
+   * @param seconds seconds
+   * @param millis milliseconds
+   * @return local milliseconds
+   */
+  public static long localMillis(
+      int year, int month, int day, int hour, int minutes, int seconds, int millis) {
+    long y = year + Math.floorDiv(month - 1, 12);
+    int m = Math.floorMod(month - 1, 12) + 1;
+
+    long days = 365 * y;
+    if (y >= 0) {
+      days += (y + 3) / 4 - (y + 99) / 100 + (y + 399) / 400;
+    } else {
+      days -= y / -4 - y / -100 + y / -400;
+    }
+    days += (367 * m - 362) / 12;
+    if (m > 2) {
+      days--;
+      if ((y & 3) != 0 || (y % 100 == 0 && y % 400 != 0)) {
+        days--;
+      }
+    }
+    days += day - 1 - DAYS_0000_TO_1970;
+
+    return days * MILLIS_PER_DAY
+        + hour * 3_600_000L
+        + minutes * 60_000L
+        + seconds * 1_000L
+        + millis;
+  }
+
+  /**
+   * Convert local time to epoch milliseconds.
+   *
+   * @param zoneId zone
+   * @param localMillis local milliseconds, as returned by {@link #localMillis}
+   * @return epoch milliseconds
+   */
+  public static long epochMillis(ZoneId zoneId, long localMillis) {
+    if (zoneId instanceof ZoneOffset) {
+      return localMillis - ((ZoneOffset) zoneId).getTotalSeconds() * 1_000L;
+    }
+    ZoneRules rules = zoneId.getRules();
+    long before = offsetMillis(rules, localMillis - MILLIS_PER_DAY);
+    if (rules.isFixedOffset()) {
+      return localMillis - before;
+    }
+    long after = offsetMillis(rules, localMillis + MILLIS_PER_DAY);
+    if (before == after) {
+      return localMillis - offsetMillis(rules, localMillis - before);
+    }
+    // near a transition : offset after transition is used when consistent
+    if (offsetMillis(rules, localMillis - after) == after) {
+      return localMillis - after;
+    }
+    return localMillis - before;
+  }
+
+  private static long offsetMillis(ZoneRules rules, long epochMillis) {
+    return rules.getOffset(Instant.ofEpochMilli(epochMillis)).getTotalSeconds() * 1_000L;
+  }
+
+  /**
+   * Convert server local date-time to client default zone local date-time. When both zone are
+   * identical, no zone conversion is done.
+   *
+   * @param value server local date-time
+   * @param serverZone server time zone
+   * @return local date-time in client default zone
+   */
+  public static LocalDateTime toDefaultZone(LocalDateTime value, TimeZone serverZone) {
+    ZoneId server = zoneId(serverZone);
+    if (server == null) {
+      server = serverZone.toZoneId();
+    }
+    TimeZone defaultTimeZone = TimeZone.getDefault();
+    ZoneId client = zoneId(defaultTimeZone);
+    if (client == null) {
+      client = defaultTimeZone.toZoneId();
+    }
+
+    if (server.equals(client)) {
+      if (server instanceof ZoneOffset) {
+        return value;
+      }
+      ZoneOffsetTransition transition = server.getRules().getTransition(value);
+      if (transition == null || transition.isOverlap()) {
+        return value;
+      }
+      // value in DST gap is moved like ZonedDateTime does
+      return value.plusSeconds(transition.getDuration().getSeconds());
+    }
+    return ZonedDateTime.of(value, server).withZoneSameInstant(client).toLocalDateTime();
+  }
+}
@@ -89,7 +89,7 @@ public class TextRowProtocol extends RowProtocol {
   public void setPosition(int newIndex) {
     if (index != newIndex) {
       if (index == -1 || index > newIndex) {
-        pos = 0;
+        pos = rowOffset;
         index = 0;
       } else {
         index++;
@@ -508,7 +508,9 @@ public class TextRowProtocol extends RowProtocol {
           return null;
         }
 
-        return new Date(datePart[0] - 1900, datePart[1] - 1, datePart[2]);
+        return new Date(
+            epochMillis(
+                null, TimeZone.getDefault(), datePart[0], datePart[1], datePart[2], 0, 0, 0, 0));
 
       case TIMESTAMP:
       case DATETIME:
@@ -588,16 +590,21 @@ public class TextRowProtocol extends RowProtocol {
         int hour = Integer.parseInt(rawPart[0]);
         int minutes = Integer.parseInt(rawPart[1]);
         int seconds = Integer.parseInt(rawPart[2].substring(0, 2));
-        Calendar calendar = cal != null ? cal : Calendar.getInstance();
-        if (options.useLegacyDatetimeCode) {
-          calendar.setLenient(true);
+        if (cal != null && options.useLegacyDatetimeCode) {
+          cal.setLenient(true);
         }
-        calendar.clear();
-        calendar.set(1970, Calendar.JANUARY, 1, (negate ? -1 : 1) * hour, minutes, seconds);
         int nanoseconds = extractNanos(raw);
-        calendar.set(Calendar.MILLISECOND, nanoseconds / 1000000);
-
-        return new Time(calendar.getTimeInMillis());
+        return new Time(
+            epochMillis(
+                cal,
+                TimeZone.getDefault(),
+                1970,
+                1,
+                1,
+                (negate ? -1 : 1) * hour,
+                minutes,
+                seconds,
+                nanoseconds / 1000000));
       } else {
         throw new SQLException(
             raw + " cannot be parse as time. time must have \"99:99:99\" format");
@@ -628,7 +635,13 @@ public class TextRowProtocol extends RowProtocol {
       case VARSTRING:
       case STRING:
         int nanoBegin = -1;
-        int[] timestampsPart = new int[] {0, 0, 0, 0, 0, 0, 0};
+        int year = 0;
+        int month = 0;
+        int day = 0;
+        int hour = 0;
+        int minutes = 0;
+        int seconds = 0;
+        int nanos = 0;
         int partIdx = 0;
         for (int begin = pos; begin < pos + length; begin++) {
           byte b = buf[begin];
@@ -648,15 +661,43 @@ public class TextRowProtocol extends RowProtocol {
                     + "'");
           }
 
-          timestampsPart[partIdx] = timestampsPart[partIdx] * 10 + b - 48;
+          int digit = b - 48;
+          switch (partIdx) {
+            case 0:
+              year = year * 10 + digit;
+              break;
+            case 1:
+              month = month * 10 + digit;
+              break;
+            case 2:
+              day = day * 10 + digit;
+              break;
+            case 3:
+              hour = hour * 10 + digit;
+              break;
+            case 4:
+              minutes = minutes * 10 + digit;
+              break;
+            case 5:
+              seconds = seconds * 10 + digit;
+              break;
+            case 6:
+              nanos = nanos * 10 + digit;
+              break;
+            default:
+              throw new SQLException(
+                  "cannot parse data in timestamp string '"
+                      + new String(buf, pos, length, StandardCharsets.UTF_8)
+                      + "'");
+          }
         }
-        if (timestampsPart[0] == 0
-            && timestampsPart[1] == 0
-            && timestampsPart[2] == 0
-            && timestampsPart[3] == 0
-            && timestampsPart[4] == 0
-            && timestampsPart[5] == 0
-            && timestampsPart[6] == 0) {
+        if (year == 0
+            && month == 0
+            && day == 0
+            && hour == 0
+            && minutes == 0
+            && seconds == 0
+            && nanos == 0) {
           lastValueNull |= BIT_LAST_ZERO_DATE;
           return null;
         }
@@ -664,34 +705,21 @@ public class TextRowProtocol extends RowProtocol {
         // fix non leading tray for nanoseconds
         if (nanoBegin > 0) {
           for (int begin = 0; begin < 6 - (pos + length - nanoBegin - 1); begin++) {
-            timestampsPart[6] = timestampsPart[6] * 10;
+            nanos = nanos * 10;
           }
         }
 
-        Timestamp timestamp;
-
-        Calendar calendar;
-        if (userCalendar != null) {
-          calendar = userCalendar;
-        } else if (columnInfo.getColumnType().getSqlType() == Types.TIMESTAMP) {
-          calendar = Calendar.getInstance(timeZone);
-        } else {
-          calendar = Calendar.getInstance();
-        }
-
-        synchronized (calendar) {
-          calendar.clear();
-          calendar.set(Calendar.YEAR, timestampsPart[0]);
-          calendar.set(Calendar.MONTH, timestampsPart[1] - 1);
-          calendar.set(Calendar.DAY_OF_MONTH, timestampsPart[2]);
-          calendar.set(Calendar.HOUR_OF_DAY, timestampsPart[3]);
-          calendar.set(Calendar.MINUTE, timestampsPart[4]);
-          calendar.set(Calendar.SECOND, timestampsPart[5]);
-          calendar.set(Calendar.MILLISECOND, timestampsPart[6] / 1000000);
-          timestamp = new Timestamp(calendar.getTime().getTime());
-        }
-        timestamp.setNanos(timestampsPart[6] * 1000);
-        return timestamp;
+        return timestamp(
+            columnInfo,
+            userCalendar,
+            timeZone,
+            year,
+            month,
+            day,
+            hour,
+            minutes,
+            seconds,
+            nanos * 1000);
 
       case TIME:
         // time does not go after millisecond
@@ -955,6 +983,88 @@ public class TextRowProtocol extends RowProtocol {
     }
   }
 
+  /**
+   * Get LocalDateTime format from raw text format, in client default time zone.
+   *
+   * @param columnInfo column information
+   * @param timeZone time zone
+   * @return LocalDateTime value
+   * @throws SQLException if column type doesn't permit conversion
+   */
+  public LocalDateTime getInternalLocalDateTime(ColumnDefinition columnInfo, TimeZone timeZone)
+      throws SQLException {
+    if (lastValueWasNull()) {
+      return null;
+    }
+    if (length == 0) {
+      lastValueNull |= BIT_LAST_FIELD_NULL;
+      return null;
+    }
+
+    if (columnInfo.getColumnType().getSqlType() == Types.TIMESTAMP
+        && length >= 19
+        && buf[pos + 4] == '-'
+        && buf[pos + 7] == '-'
+        && buf[pos + 10] == ' '
+        && buf[pos + 13] == ':'
+        && buf[pos + 16] == ':') {
+      int year = parseDigits(pos, 4);
+      int month = parseDigits(pos + 5, 2);
+      int day = parseDigits(pos + 8, 2);
+      int hour = parseDigits(pos + 11, 2);
+      int minutes = parseDigits(pos + 14, 2);
+      int seconds = parseDigits(pos + 17, 2);
+      int nanos = 0;
+      if (length > 19) {
+        int fractionLength = length - 20;
+        nanos = -1;
+        if (buf[pos + 19] == '.' && fractionLength > 0 && fractionLength <= 9) {
+          nanos = parseDigits(pos + 20, fractionLength);
+          for (int i = fractionLength; nanos > 0 && i < 9; i++) {
+            nanos *= 10;
+          }
+        }
+      }
+
+      if (year == 0 && month == 0 && day == 0 && hour == 0 && minutes == 0 && seconds == 0) {
+        return null;
+      }
+      if (year >= 0
+          && month >= 1
+          && month <= 12
+          && day >= 1
+          && day <= Month.of(month).length(Year.isLeap(year))
+          && hour >= 0
+          && hour <= 23
+          && minutes >= 0
+          && minutes <= 59
+          && seconds >= 0
+          && seconds <= 59
+          && nanos >= 0) {
+        return TemporalCodec.toDefaultZone(
+            LocalDateTime.of(year, month, day, hour, minutes, seconds, nanos), timeZone);
+      }
+    }
+
+    ZonedDateTime zonedDateTime =
+        getInternalZonedDateTime(columnInfo, LocalDateTime.class, timeZone);
+    return zonedDateTime == null
+        ? null
+        : zonedDateTime.withZoneSameInstant(ZoneId.systemDefault()).toLocalDateTime();
+  }
+
+  private int parseDigits(int offset, int digits) {
+    int value = 0;
+    for (int i = offset; i < offset + digits; i++) {
+      byte b = buf[i];
+      if (b < '0' || b > '9') {
+        return -1;
+      }
+      value = value * 10 + b - 48;
+    }
+    return value;
+  }
+
   /**
    * Get OffsetTime format from raw text format.
    *
@@ -56,6 +56,7 @@ import java.io.IOException;
 import java.nio.charset.StandardCharsets;
 import java.util.List;
 import org.mariadb.jdbc.internal.com.Packet;
+import org.mariadb.jdbc.internal.com.send.parameters.ParameterBatch;
 import org.mariadb.jdbc.internal.com.send.parameters.ParameterHolder;
 import org.mariadb.jdbc.internal.io.output.PacketOutputStream;
 import org.mariadb.jdbc.internal.util.dao.ClientPrepareResult;
@@ -111,6 +112,7 @@ public class ComQuery {
    * @param paramCount parameter pos
    * @param parameterList parameter list
    * @param rewriteValues is query rewritable by adding values
+   * @param queryTimeout timeout using max_statement_time, applied to each query
    * @return current index
    * @throws IOException if connection fail
    */
@@ -119,42 +121,46 @@ public class ComQuery {
       final List<byte[]> queryParts,
       int currentIndex,
       int paramCount,
-      List<ParameterHolder[]> parameterList,
-      boolean rewriteValues)
+      ParameterBatch parameterList,
+      boolean rewriteValues,
+      int queryTimeout)
       throws IOException {
     pos.startPacket(0);
     pos.write(Packet.COM_QUERY);
     int index = currentIndex;
-    ParameterHolder[] parameters = parameterList.get(index++);
+    int row = index++;
 
+    byte[] timeoutPrefix =
+        queryTimeout > 0
+            ? ("SET STATEMENT max_statement_time=" + queryTimeout + " FOR ").getBytes()
+            : new byte[0];
     byte[] firstPart = queryParts.get(0);
     byte[] secondPart = queryParts.get(1);
+    pos.write(timeoutPrefix, 0, timeoutPrefix.length);
 
     if (!rewriteValues) {
       // write first
       pos.write(firstPart, 0, firstPart.length);
       pos.write(secondPart, 0, secondPart.length);
 
-      int staticLength = 1;
+      int staticLength = 1 + timeoutPrefix.length;
       for (byte[] queryPart : queryParts) {
         staticLength += queryPart.length;
       }
 
       for (int i = 0; i < paramCount; i++) {
-        parameters[i].writeTo(pos);
+        parameterList.writeTo(row, i, pos);
         pos.write(queryParts.get(i + 2));
       }
       pos.write(queryParts.get(paramCount + 2));
 
       // write other, separate by ";"
       while (index < parameterList.size()) {
-        parameters = parameterList.get(index);
-
         // check packet length so to separate in multiple packet
         int parameterLength = 0;
         boolean knownParameterSize = true;
-        for (ParameterHolder parameter : parameters) {
-          int paramSize = parameter.getApproximateTextProtocolLength();
+        for (int i = 0; i < paramCount; i++) {
+          int paramSize = parameterList.getApproximateTextProtocolLength(index, i);
           if (paramSize == -1) {
             knownParameterSize = false;
             break;
@@ -168,10 +174,11 @@ public class ComQuery {
           // - if this query will be separated in a new packet.
           if (pos.checkRemainingSize(staticLength + parameterLength)) {
             pos.write((byte) ';');
+            pos.write(timeoutPrefix, 0, timeoutPrefix.length);
             pos.write(firstPart, 0, firstPart.length);
             pos.write(secondPart, 0, secondPart.length);
             for (int i = 0; i < paramCount; i++) {
-              parameters[i].writeTo(pos);
+              parameterList.writeTo(index, i, pos);
               pos.write(queryParts.get(i + 2));
             }
             pos.write(queryParts.get(paramCount + 2));
@@ -182,10 +189,11 @@ public class ComQuery {
         } else {
           // we cannot know the additional query part size.
           pos.write(';');
+          pos.write(timeoutPrefix, 0, timeoutPrefix.length);
           pos.write(firstPart, 0, firstPart.length);
           pos.write(secondPart, 0, secondPart.length);
           for (int i = 0; i < paramCount; i++) {
-            parameters[i].writeTo(pos);
+            parameterList.writeTo(index, i, pos);
             pos.write(queryParts.get(i + 2));
           }
           pos.write(queryParts.get(paramCount + 2));
@@ -201,19 +209,17 @@ public class ComQuery {
       int intermediatePartLength = queryParts.get(1).length;
 
       for (int i = 0; i < paramCount; i++) {
-        parameters[i].writeTo(pos);
+        parameterList.writeTo(row, i, pos);
         pos.write(queryParts.get(i + 2));
         intermediatePartLength += queryParts.get(i + 2).length;
       }
 
       while (index < parameterList.size()) {
-        parameters = parameterList.get(index);
-
         // check packet length so to separate in multiple packet
         int parameterLength = 0;
         boolean knownParameterSize = true;
-        for (ParameterHolder parameter : parameters) {
-          int paramSize = parameter.getApproximateTextProtocolLength();
+        for (int i = 0; i < paramCount; i++) {
+          int paramSize = parameterList.getApproximateTextProtocolLength(index, i);
           if (paramSize == -1) {
             knownParameterSize = false;
             break;
@@ -231,7 +237,7 @@ public class ComQuery {
             pos.write(secondPart, 0, secondPart.length);
 
             for (int i = 0; i < paramCount; i++) {
-              parameters[i].writeTo(pos);
+              parameterList.writeTo(index, i, pos);
               byte[] addPart = queryParts.get(i + 2);
               pos.write(addPart, 0, addPart.length);
             }
@@ -244,7 +250,7 @@ public class ComQuery {
           pos.write(secondPart, 0, secondPart.length);
 
           for (int i = 0; i < paramCount; i++) {
-            parameters[i].writeTo(pos);
+            parameterList.writeTo(index, i, pos);
             pos.write(queryParts.get(i + 2));
           }
           index++;
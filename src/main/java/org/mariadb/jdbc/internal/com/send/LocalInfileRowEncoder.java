@@ -0,0 +1,281 @@
+/*
+ *
+ * MariaDB Client for Java
+ *
+ * Copyright (c) 2012-2014 Monty Program Ab.
+ * Copyright (c) 2015-2020 MariaDB Corporation Ab.
+ *
+ * This library is free software; you can redistribute it and/or modify it under
+ * the terms of the GNU Lesser General Public License as published by the Free
+ * Software Foundation; either version 2.1 of the License, or (at your option)
+ * any later version.
+ *
+ * This library is distributed in the hope that it will be useful, but
+ * WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE.  See the GNU Lesser General Public License
+ * for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License along
+ * with this library; if not, write to Monty Program Ab info@montyprogram.com.
+ *
+ */
+
+package org.mariadb.jdbc.internal.com.send;
+
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.time.OffsetDateTime;
+import java.time.ZoneId;
+import java.time.ZonedDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.Calendar;
+import java.util.Date;
+import java.util.Locale;
+import java.util.TimeZone;
+import org.mariadb.jdbc.LocalInfileRowWriter;
+import org.mariadb.jdbc.internal.io.output.PacketOutputStream;
+
+/**
+ * Encode rows directly into LOAD DATA LOCAL INFILE packets, using LOAD DATA default format (fields
+ * terminated by tab, lines by new line, escaped by backslash). Strings are encoded in UTF-8.
+ *
+ * <p>Rows are accumulated in writer buffer, and a packet is sent each time buffer exceed packet
+ * size, so producer is slowed down by socket. A row bigger than max packet length is split by
+ * writer, so next packet sequence number is always taken from writer.
+ *
+ * <p>Temporal values are written in SQL text format. Values representing an instant (<code>
+ * java.util.Date</code>, <code>Calendar</code>, <code>Instant</code>, <code>OffsetDateTime</code>,
+ * <code>ZonedDateTime</code>) are converted to connection time zone, local values are written
+ * unchanged.
+ */
+public class LocalInfileRowEncoder implements LocalInfileRowWriter {
+
+  private static final int PACKET_SIZE = 1024 * 1024;
+  private static final byte[] NULL_VALUE = new byte[] {'\\', 'N'};
+  private static final DateTimeFormatter DATE_FORMAT =
+      DateTimeFormatter.ofPattern("yyyy-MM-dd", Locale.ENGLISH);
+  private static final DateTimeFormatter TIME_FORMAT =
+      DateTimeFormatter.ofPattern("HH:mm:ss", Locale.ENGLISH);
+  private static final DateTimeFormatter DATETIME_FORMAT =
+      DateTimeFormatter.ofPattern("yyyy-MM-dd HH:mm:ss", Locale.ENGLISH);
+
+  private final PacketOutputStream writer;
+  private final int packetSize;
+  private final ZoneId zoneId;
+  private int packetLength;
+  private boolean socketError;
+  private byte[] escapeBuf = new byte[64];
+
+  /**
+   * Constructor.
+   *
+   * @param writer packet writer
+   * @param seqNo sequence number of first packet
+   * @param timeZone connection time zone
+   */
+  public LocalInfileRowEncoder(PacketOutputStream writer, int seqNo, TimeZone timeZone) {
+    this.writer = writer;
+    this.zoneId = timeZone.toZoneId();
+    this.packetSize = Math.max(1024, Math.min(PACKET_SIZE, writer.getMaxAllowedPacket() / 2));
+    writer.startPacket(seqNo);
+  }
+
+  @Override
+  public void writeRow(Object... values) throws IOException {
+    try {
+      int initialPos = packetLength;
+      for (int i = 0; i < values.length; i++) {
+        if (i > 0) {
+          write('\t');
+        }
+        writeValue(values[i]);
+      }
+      write('\n');
+
+      if (packetLength >= packetSize && packetLength > initialPos) {
+        nextPacket();
+      }
+    } catch (IOException ioe) {
+      socketError = true;
+      throw ioe;
+    }
+  }
+
+  private void nextPacket() throws IOException {
+    writer.flush();
+    writer.startPacket(writer.getNextSeqNo());
+    packetLength = 0;
+  }
+
+  /**
+   * Indicate if a socket error occurs while writing rows, distinguishing it from producer errors.
+   *
+   * @return true if writing to socket failed
+   */
+  public boolean isSocketError() {
+    return socketError;
+  }
+
+  /**
+   * Send remaining rows and ending empty packet.
+   *
+   * @throws IOException if a socket error occurs
+   */
+  public void finish() throws IOException {
+    if (packetLength > 0) {
+      nextPacket();
+    }
+    writer.writeEmptyPacket();
+    writer.flush();
+  }
+
+  private void writeValue(Object value) throws IOException {
+    if (value == null) {
+      writer.write(NULL_VALUE);
+      packetLength += 2;
+    } else if (value instanceof byte[]) {
+      writeEscaped((byte[]) value);
+    } else if (value instanceof String) {
+      writeEscaped(((String) value).getBytes(StandardCharsets.UTF_8));
+    } else if (value instanceof Number) {
+      writeAscii(
+          value instanceof BigDecimal ? ((BigDecimal) value).toPlainString() : value.toString());
+    } else if (value instanceof Boolean) {
+      write((Boolean) value ? '1' : '0');
+    } else if (value instanceof Date) {
+      writeDate((Date) value);
+    } else if (value instanceof Calendar) {
+      writeDateTime(
+          Instant.ofEpochMilli(((Calendar) value).getTimeInMillis())
+              .atZone(zoneId)
+              .toLocalDateTime());
+    } else if (value instanceof Instant) {
+      writeDateTime(((Instant) value).atZone(zoneId).toLocalDateTime());
+    } else if (value instanceof LocalDateTime) {
+      writeDateTime((LocalDateTime) value);
+    } else if (value instanceof LocalDate) {
+      writeAscii(DATE_FORMAT.format((LocalDate) value));
+    } else if (value instanceof LocalTime) {
+      writeTime((LocalTime) value);
+    } else if (value instanceof OffsetDateTime) {
+      writeDateTime(((OffsetDateTime) value).atZoneSameInstant(zoneId).toLocalDateTime());
+    } else if (value instanceof ZonedDateTime) {
+      writeDateTime(((ZonedDateTime) value).withZoneSameInstant(zoneId).toLocalDateTime());
+    } else {
+      writeEscaped(value.toString().getBytes(StandardCharsets.UTF_8));
+    }
+  }
+
+  private void writeDate(Date value) throws IOException {
+    // java.sql.Date and java.sql.Time doesn't support toInstant()
+    Instant instant =
+        value instanceof java.sql.Timestamp
+            ? ((java.sql.Timestamp) value).toInstant()
+            : Instant.ofEpochMilli(value.getTime());
+    LocalDateTime dateTime = instant.atZone(zoneId).toLocalDateTime();
+    if (value instanceof java.sql.Date) {
+      writeAscii(DATE_FORMAT.format(dateTime));
+    } else if (value instanceof java.sql.Time) {
+      writeTime(dateTime.toLocalTime());
+    } else {
+      writeDateTime(dateTime);
+    }
+  }
+
+  private void writeDateTime(LocalDateTime value) throws IOException {
+    writeAscii(DATETIME_FORMAT.format(value));
+    writeMicroseconds(value.getNano());
+  }
+
+  private void writeTime(LocalTime value) throws IOException {
+    writeAscii(TIME_FORMAT.format(value));
+    writeMicroseconds(value.getNano());
+  }
+
+  private void writeMicroseconds(int nanos) throws IOException {
+    int microseconds = nanos / 1000;
+    if (microseconds > 0) {
+      write('.');
+      int factor = 100000;
+      while (microseconds > 0) {
+        int dig = microseconds / factor;
+        write('0' + dig);
+        microseconds -= dig * factor;
+        factor /= 10;
+      }
+    }
+  }
+
+  private void write(int value) throws IOException {
+    writer.write(value);
+    packetLength++;
+  }
+
+  private void writeAscii(String value) throws IOException {
+    // numbers don't need escaping
+    writer.write(value.getBytes(StandardCharsets.US_ASCII));
+    packetLength += value.length();
+  }
+
+  /**
+   * Write value escaped. Quotes, backslash and NUL bytes are escaped by writer, field and line
+   * terminators must additionally be escaped in LOAD DATA format.
+   *
+   * @param bytes value
+   * @throws IOException if a socket error occurs
+   */
+  private void writeEscaped(byte[] bytes) throws IOException {
+    int escaped = 0;
+    boolean terminator = false;
+    for (byte b : bytes) {
+      if (b == '\t' || b == '\n') {
+        terminator = true;
+        break;
+      }
+      if (b == '\\' || b == '\'' || b == '"' || b == 0) {
+        escaped++;
+      }
+    }
+    if (!terminator) {
+      writer.writeBytesEscaped(bytes, bytes.length, false);
+      packetLength += bytes.length + escaped;
+      return;
+    }
+
+    if (escapeBuf.length < 2 * bytes.length) {
+      escapeBuf = new byte[2 * bytes.length];
+    }
+    int len = 0;
+    for (byte b : bytes) {
+      switch (b) {
+        case '\t':
+          escapeBuf[len++] = '\\';
+          escapeBuf[len++] = 't';
+          break;
+        case '\n':
+          escapeBuf[len++] = '\\';
+          escapeBuf[len++] = 'n';
+          break;
+        case '\\':
+        case '\'':
+        case '"':
+          escapeBuf[len++] = '\\';
+          escapeBuf[len++] = b;
+          break;
+        case 0:
+          escapeBuf[len++] = '\\';
+          escapeBuf[len++] = '0';
+          break;
+        default:
+          escapeBuf[len++] = b;
+      }
+    }
+    writer.write(escapeBuf, 0, len);
+    packetLength += len;
+  }
+}
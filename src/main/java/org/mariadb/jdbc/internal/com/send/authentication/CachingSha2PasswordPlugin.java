@@ -30,6 +30,7 @@ import java.security.PublicKey;
 import java.sql.SQLException;
 import java.util.Arrays;
 import java.util.concurrent.atomic.AtomicInteger;
+import org.mariadb.jdbc.HostAddress;
 import org.mariadb.jdbc.authentication.AuthenticationPlugin;
 import org.mariadb.jdbc.internal.com.read.Buffer;
 import org.mariadb.jdbc.internal.io.input.PacketInputStream;
@@ -43,6 +44,7 @@ public class CachingSha2PasswordPlugin implements AuthenticationPlugin {
   private String authenticationData;
   private byte[] seed;
   private Options options;
+  private HostAddress hostAddress;
 
   /**
    * Send a SHA-2 encrypted password. encryption XOR(SHA256(password), SHA256(seed,
@@ -109,6 +111,14 @@ public class CachingSha2PasswordPlugin implements AuthenticationPlugin {
     this.seed = seed;
     this.authenticationData = authenticationData;
     this.options = options;
+    this.hostAddress = null;
+  }
+
+  @Override
+  public void initialize(
+      String authenticationData, byte[] seed, Options options, HostAddress hostAddress) {
+    initialize(authenticationData, seed, options);
+    this.hostAddress = hostAddress;
   }
 
   /**
@@ -182,8 +192,7 @@ public class CachingSha2PasswordPlugin implements AuthenticationPlugin {
               PublicKey publicKey;
               if (options.serverRsaPublicKeyFile != null
                   && !options.serverRsaPublicKeyFile.isEmpty()) {
-                publicKey =
-                    Sha256PasswordPlugin.readPublicKeyFromFile(options.serverRsaPublicKeyFile);
+                publicKey = RsaPublicKeyCache.fromFile(options.serverRsaPublicKeyFile);
               } else {
                 if (!options.allowPublicKeyRetrieval) {
                   throw new SQLException(
@@ -192,11 +201,15 @@ public class CachingSha2PasswordPlugin implements AuthenticationPlugin {
                       "S1009");
                 }
 
-                // ask public Key Retrieval
-                out.startPacket(sequence.incrementAndGet());
-                out.write((byte) 2);
-                out.flush();
-                publicKey = Sha256PasswordPlugin.readPublicKeyFromSocket(in, sequence);
+                publicKey = RsaPublicKeyCache.get(hostAddress);
+                if (publicKey == null) {
+                  // ask public Key Retrieval
+                  out.startPacket(sequence.incrementAndGet());
+                  out.write((byte) 2);
+                  out.flush();
+                  publicKey = Sha256PasswordPlugin.readPublicKeyFromSocket(in, sequence);
+                  RsaPublicKeyCache.put(hostAddress, publicKey);
+                }
               }
 
               try {
@@ -214,6 +227,10 @@ public class CachingSha2PasswordPlugin implements AuthenticationPlugin {
 
             buffer = in.getPacket(true);
             sequence.set(in.getLastPacketSeq());
+            if (!Boolean.TRUE.equals(options.useSsl) && buffer.getByteAt(0) == (byte) 0xFF) {
+              // key may have changed server side
+              RsaPublicKeyCache.invalidate(options, hostAddress);
+            }
             return buffer;
 
           default:
@@ -0,0 +1,119 @@
+/*
+ *
+ * MariaDB Client for Java
+ *
+ * Copyright (c) 2012-2014 Monty Program Ab.
+ * Copyright (c) 2015-2020 MariaDB Corporation Ab.
+ *
+ * This library is free software; you can redistribute it and/or modify it under
+ * the terms of the GNU Lesser General Public License as published by the Free
+ * Software Foundation; either version 2.1 of the License, or (at your option)
+ * any later version.
+ *
+ * This library is distributed in the hope that it will be useful, but
+ * WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE.  See the GNU Lesser General Public License
+ * for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License along
+ * with this library; if not, write to Monty Program Ab info@montyprogram.com.
+ *
+ */
+
+package org.mariadb.jdbc.internal.com.send.authentication;
+
+import java.io.File;
+import java.security.PublicKey;
+import java.sql.SQLException;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import org.mariadb.jdbc.HostAddress;
+import org.mariadb.jdbc.util.Options;
+
+/**
+ * Process wide cache of server RSA public keys, used by sha256_password and caching_sha2_password
+ * authentication without SSL. Avoid reading and parsing key file, or the public key request round
+ * trip, on each connection.
+ *
+ * <p>Keys are cached by file path and modification time when using option serverRsaPublicKeyFile,
+ * or by server address when retrieved from server. Keys are removed when authentication fails.
+ */
+public final class RsaPublicKeyCache {
+
+  private static final Map<String, FileKey> fileKeys = new ConcurrentHashMap<>();
+  private static final Map<HostAddress, PublicKey> serverKeys = new ConcurrentHashMap<>();
+
+  private RsaPublicKeyCache() {}
+
+  /**
+   * Get public key from file, reading file only if not cached or modified since.
+   *
+   * @param serverRsaPublicKeyFile RSA public key file
+   * @return public key
+   * @throws SQLException if cannot read file or file content is not a public key.
+   */
+  public static PublicKey fromFile(String serverRsaPublicKeyFile) throws SQLException {
+    long lastModified = new File(serverRsaPublicKeyFile).lastModified();
+    FileKey fileKey = fileKeys.get(serverRsaPublicKeyFile);
+    if (fileKey == null || fileKey.lastModified != lastModified || lastModified == 0) {
+      fileKey =
+          new FileKey(
+              Sha256PasswordPlugin.readPublicKeyFromFile(serverRsaPublicKeyFile), lastModified);
+      fileKeys.put(serverRsaPublicKeyFile, fileKey);
+    }
+    return fileKey.publicKey;
+  }
+
+  /**
+   * Get public key previously retrieved from server.
+   *
+   * @param hostAddress server address
+   * @return public key, null if not cached
+   */
+  public static PublicKey get(HostAddress hostAddress) {
+    return hostAddress == null ? null : serverKeys.get(hostAddress);
+  }
+
+  /**
+   * Cache public key retrieved from server.
+   *
+   * @param hostAddress server address
+   * @param publicKey public key
+   */
+  public static void put(HostAddress hostAddress, PublicKey publicKey) {
+    if (hostAddress != null) {
+      serverKeys.put(hostAddress, publicKey);
+    }
+  }
+
+  /**
+   * Remove cached keys used for a failed authentication.
+   *
+   * @param options connection options
+   * @param hostAddress server address
+   */
+  public static void invalidate(Options options, HostAddress hostAddress) {
+    if (options.serverRsaPublicKeyFile != null) {
+      fileKeys.remove(options.serverRsaPublicKeyFile);
+    }
+    if (hostAddress != null) {
+      serverKeys.remove(hostAddress);
+    }
+  }
+
+  /** Remove all cached keys. */
+  public static void clear() {
+    fileKeys.clear();
+    serverKeys.clear();
+  }
+
+  private static final class FileKey {
+    private final PublicKey publicKey;
+    private final long lastModified;
+
+    private FileKey(PublicKey publicKey, long lastModified) {
+      this.publicKey = publicKey;
+      this.lastModified = lastModified;
+    }
+  }
+}
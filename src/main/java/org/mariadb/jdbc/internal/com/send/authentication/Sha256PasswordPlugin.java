@@ -34,6 +34,7 @@ import java.util.Arrays;
 import java.util.Base64;
 import java.util.concurrent.atomic.AtomicInteger;
 import javax.crypto.Cipher;
+import org.mariadb.jdbc.HostAddress;
 import org.mariadb.jdbc.authentication.AuthenticationPlugin;
 import org.mariadb.jdbc.internal.com.read.Buffer;
 import org.mariadb.jdbc.internal.com.read.ErrorPacket;
@@ -46,6 +47,7 @@ public class Sha256PasswordPlugin implements AuthenticationPlugin {
   private String authenticationData;
   private Options options;
   private byte[] seed;
+  private HostAddress hostAddress;
 
   /**
    * Read public Key from file.
@@ -191,6 +193,14 @@ public class Sha256PasswordPlugin implements AuthenticationPlugin {
     this.seed = seed;
     this.authenticationData = authenticationData;
     this.options = options;
+    this.hostAddress = null;
+  }
+
+  @Override
+  public void initialize(
+      String authenticationData, byte[] seed, Options options, HostAddress hostAddress) {
+    initialize(authenticationData, seed, options);
+    this.hostAddress = hostAddress;
   }
 
   /**
@@ -205,6 +215,7 @@ public class Sha256PasswordPlugin implements AuthenticationPlugin {
    */
   public Buffer process(PacketOutputStream out, PacketInputStream in, AtomicInteger sequence)
       throws IOException, SQLException {
+    boolean rsaEncrypted = false;
     if (authenticationData == null || authenticationData.isEmpty()) {
       out.writeEmptyPacket(sequence.incrementAndGet());
     } else if (Boolean.TRUE.equals(options.useSsl)) {
@@ -225,7 +236,7 @@ public class Sha256PasswordPlugin implements AuthenticationPlugin {
       // retrieve public key from configuration or from server
       PublicKey publicKey;
       if (options.serverRsaPublicKeyFile != null && !options.serverRsaPublicKeyFile.isEmpty()) {
-        publicKey = readPublicKeyFromFile(options.serverRsaPublicKeyFile);
+        publicKey = RsaPublicKeyCache.fromFile(options.serverRsaPublicKeyFile);
       } else {
         if (!options.allowPublicKeyRetrieval) {
           throw new SQLException(
@@ -233,12 +244,17 @@ public class Sha256PasswordPlugin implements AuthenticationPlugin {
               "S1009");
         }
 
-        // ask public Key Retrieval
-        out.startPacket(sequence.incrementAndGet());
-        out.write((byte) 1);
-        out.flush();
-        publicKey = readPublicKeyFromSocket(in, sequence);
+        publicKey = RsaPublicKeyCache.get(hostAddress);
+        if (publicKey == null) {
+          // ask public Key Retrieval
+          out.startPacket(sequence.incrementAndGet());
+          out.write((byte) 1);
+          out.flush();
+          publicKey = readPublicKeyFromSocket(in, sequence);
+          RsaPublicKeyCache.put(hostAddress, publicKey);
+        }
       }
+      rsaEncrypted = true;
 
       try {
         byte[] cipherBytes =
@@ -254,6 +270,10 @@ public class Sha256PasswordPlugin implements AuthenticationPlugin {
 
     Buffer buffer = in.getPacket(true);
     sequence.set(in.getLastPacketSeq());
+    if (rsaEncrypted && buffer.getByteAt(0) == (byte) 0xFF) {
+      // key may have changed server side
+      RsaPublicKeyCache.invalidate(options, hostAddress);
+    }
     return buffer;
   }
 }
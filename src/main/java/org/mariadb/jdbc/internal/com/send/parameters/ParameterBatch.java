@@ -0,0 +1,477 @@
+/*
+ *
+ * MariaDB Client for Java
+ *
+ * Copyright (c) 2012-2014 Monty Program Ab.
+ * Copyright (c) 2015-2020 MariaDB Corporation Ab.
+ *
+ * This library is free software; you can redistribute it and/or modify it under
+ * the terms of the GNU Lesser General Public License as published by the Free
+ * Software Foundation; either version 2.1 of the License, or (at your option)
+ * any later version.
+ *
+ * This library is distributed in the hope that it will be useful, but
+ * WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE.  See the GNU Lesser General Public License
+ * for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License along
+ * with this library; if not, write to Monty Program Ab info@montyprogram.com.
+ *
+ */
+
+package org.mariadb.jdbc.internal.com.send.parameters;
+
+import java.io.IOException;
+import java.util.AbstractList;
+import java.util.Arrays;
+import java.util.RandomAccess;
+import org.mariadb.jdbc.internal.ColumnType;
+import org.mariadb.jdbc.internal.io.output.PacketOutputStream;
+
+/**
+ * Columnar storage of PreparedStatement parameters : current parameters and added batch rows.
+ *
+ * <p>Primitive values (and NULL) are stored in a per-column <code>long[]</code> with a kind marker,
+ * without any {@link ParameterHolder} object. Other values (strings, streams, dates, ...) keep
+ * their {@link ParameterHolder}. Batch rows can be serialized directly using {@link
+ * #writeBinary(int, int, PacketOutputStream)} / {@link #writeTo(int, int, PacketOutputStream)}, or
+ * read as a list of <code>ParameterHolder[]</code>, holders of primitive values being then created
+ * on demand.
+ *
+ * <p>Current parameters are stored at row index {@link #size()}, and are kept when adding row to
+ * batch, like JDBC requires.
+ */
+public class ParameterBatch extends AbstractList<ParameterHolder[]> implements RandomAccess {
+
+  private static final int INITIAL_CAPACITY = 16;
+
+  private static final byte UNSET = 0;
+  private static final byte OBJECT = 1;
+  private static final byte NULL = 2;
+  private static final byte BOOLEAN = 3;
+  private static final byte BYTE = 4;
+  private static final byte SHORT = 5;
+  private static final byte INT = 6;
+  private static final byte LONG = 7;
+  private static final byte FLOAT = 8;
+  private static final byte DOUBLE = 9;
+
+  private static final ColumnType[] COLUMN_TYPES = ColumnType.values();
+  private static final byte[] NULL_VALUE = {'N', 'U', 'L', 'L'};
+
+  private final int columnCount;
+  private final byte[][] kinds;
+  private final long[][] values;
+  private final ParameterHolder[][] objects;
+  private final byte[] digits = new byte[20];
+  private int capacity;
+  private int size;
+
+  /**
+   * Constructor.
+   *
+   * @param columnCount number of parameters
+   */
+  public ParameterBatch(int columnCount) {
+    this.columnCount = columnCount;
+    this.kinds = new byte[columnCount][];
+    this.values = new long[columnCount][];
+    this.objects = new ParameterHolder[columnCount][];
+    allocate(INITIAL_CAPACITY);
+  }
+
+  private void allocate(int newCapacity) {
+    for (int i = 0; i < columnCount; i++) {
+      kinds[i] = new byte[newCapacity];
+      values[i] = new long[newCapacity];
+      objects[i] = null;
+    }
+    capacity = newCapacity;
+  }
+
+  private void grow() {
+    int newCapacity = capacity << 1;
+    for (int i = 0; i < columnCount; i++) {
+      kinds[i] = Arrays.copyOf(kinds[i], newCapacity);
+      values[i] = Arrays.copyOf(values[i], newCapacity);
+      if (objects[i] != null) {
+        objects[i] = Arrays.copyOf(objects[i], newCapacity);
+      }
+    }
+    capacity = newCapacity;
+  }
+
+  public int getColumnCount() {
+    return columnCount;
+  }
+
+  /**
+   * Number of rows added to batch.
+   *
+   * @return batch size
+   */
+  @Override
+  public int size() {
+    return size;
+  }
+
+  private void setPrimitive(int column, byte kind, long value) {
+    kinds[column][size] = kind;
+    values[column][size] = value;
+    if (objects[column] != null) {
+      objects[column][size] = null;
+    }
+  }
+
+  /**
+   * Set current parameter.
+   *
+   * @param column parameter index (0-based)
+   * @param holder parameter
+   */
+  public void set(int column, ParameterHolder holder) {
+    if (objects[column] == null) {
+      objects[column] = new ParameterHolder[capacity];
+    }
+    kinds[column][size] = OBJECT;
+    objects[column][size] = holder;
+  }
+
+  public void setNull(int column, ColumnType type) {
+    setPrimitive(column, NULL, type.ordinal());
+  }
+
+  public void setBoolean(int column, boolean value) {
+    setPrimitive(column, BOOLEAN, value ? 1 : 0);
+  }
+
+  public void setByte(int column, byte value) {
+    setPrimitive(column, BYTE, value);
+  }
+
+  public void setShort(int column, short value) {
+    setPrimitive(column, SHORT, value);
+  }
+
+  public void setInt(int column, int value) {
+    setPrimitive(column, INT, value);
+  }
+
+  public void setLong(int column, long value) {
+    setPrimitive(column, LONG, value);
+  }
+
+  public void setFloat(int column, float value) {
+    setPrimitive(column, FLOAT, Float.floatToIntBits(value));
+  }
+
+  public void setDouble(int column, double value) {
+    setPrimitive(column, DOUBLE, Double.doubleToLongBits(value));
+  }
+
+  /**
+   * Get current parameter.
+   *
+   * @param column parameter index (0-based)
+   * @return parameter, or null if not set
+   */
+  public ParameterHolder getParameter(int column) {
+    return holder(size, column);
+  }
+
+  /**
+   * Indicate first current parameter not set.
+   *
+   * @return parameter index (0-based), or -1 if all parameters are set
+   */
+  public int firstUnsetParameter() {
+    for (int i = 0; i < columnCount; i++) {
+      if (kinds[i][size] == UNSET) {
+        return i;
+      }
+    }
+    return -1;
+  }
+
+  /**
+   * Get current parameters.
+   *
+   * @return current parameters
+   */
+  public ParameterHolder[] current() {
+    return row(size);
+  }
+
+  /** Unset current parameters. */
+  public void clearParameters() {
+    for (int i = 0; i < columnCount; i++) {
+      kinds[i][size] = UNSET;
+      if (objects[i] != null) {
+        objects[i][size] = null;
+      }
+    }
+  }
+
+  /** Add current parameters to batch. Current parameters are kept. */
+  public void addRow() {
+    if (size + 1 == capacity) {
+      grow();
+    }
+    for (int i = 0; i < columnCount; i++) {
+      kinds[i][size + 1] = kinds[i][size];
+      values[i][size + 1] = values[i][size];
+      if (objects[i] != null) {
+        objects[i][size + 1] = objects[i][size];
+      }
+    }
+    size++;
+  }
+
+  /** Remove batch rows, keeping current parameters. Memory used by a big batch is released. */
+  @Override
+  public void clear() {
+    byte[] currentKinds = new byte[columnCount];
+    long[] currentValues = new long[columnCount];
+    ParameterHolder[] currentObjects = new ParameterHolder[columnCount];
+    for (int i = 0; i < columnCount; i++) {
+      currentKinds[i] = kinds[i][size];
+      currentValues[i] = values[i][size];
+      currentObjects[i] = objects[i] == null ? null : objects[i][size];
+    }
+
+    if (capacity > INITIAL_CAPACITY) {
+      allocate(INITIAL_CAPACITY);
+    } else {
+      for (int i = 0; i < columnCount; i++) {
+        Arrays.fill(kinds[i], 0, size + 1, UNSET);
+        if (objects[i] != null) {
+          Arrays.fill(objects[i], 0, size + 1, null);
+        }
+      }
+    }
+    size = 0;
+
+    for (int i = 0; i < columnCount; i++) {
+      if (currentObjects[i] != null) {
+        set(i, currentObjects[i]);
+      } else {
+        setPrimitive(i, currentKinds[i], currentValues[i]);
+      }
+    }
+  }
+
+  /**
+   * Get batch row parameters. Holders of primitive values are created on each call.
+   *
+   * @param row row index
+   * @return row parameters
+   */
+  @Override
+  public ParameterHolder[] get(int row) {
+    if (row < 0 || row >= size) {
+      throw new IndexOutOfBoundsException("Index: " + row + ", Size: " + size);
+    }
+    return row(row);
+  }
+
+  private ParameterHolder[] row(int row) {
+    ParameterHolder[] holders = new ParameterHolder[columnCount];
+    for (int i = 0; i < columnCount; i++) {
+      holders[i] = holder(row, i);
+    }
+    return holders;
+  }
+
+  private ParameterHolder holder(int row, int column) {
+    long value = values[column][row];
+    switch (kinds[column][row]) {
+      case OBJECT:
+        return objects[column][row];
+      case NULL:
+        return new NullParameter(COLUMN_TYPES[(int) value]);
+      case BOOLEAN:
+        return new BooleanParameter(value != 0);
+      case BYTE:
+        return new ByteParameter((byte) value);
+      case SHORT:
+        return new ShortParameter((short) value);
+      case INT:
+        return new IntParameter((int) value);
+      case LONG:
+        return new LongParameter(value);
+      case FLOAT:
+        return new FloatParameter(Float.intBitsToFloat((int) value));
+      case DOUBLE:
+        return new DoubleParameter(Double.longBitsToDouble(value));
+      default:
+        return null;
+    }
+  }
+
+  /**
+   * Get batch parameter type.
+   *
+   * @param row row index
+   * @param column parameter index
+   * @return parameter type
+   */
+  public ColumnType getColumnType(int row, int column) {
+    switch (kinds[column][row]) {
+      case OBJECT:
+        return objects[column][row].getColumnType();
+      case NULL:
+        return COLUMN_TYPES[(int) values[column][row]];
+      case BOOLEAN:
+      case BYTE:
+        return ColumnType.TINYINT;
+      case SHORT:
+        return ColumnType.SMALLINT;
+      case INT:
+        return ColumnType.INTEGER;
+      case LONG:
+        return ColumnType.BIGINT;
+      case FLOAT:
+        return ColumnType.FLOAT;
+      default:
+        return ColumnType.DOUBLE;
+    }
+  }
+
+  /**
+   * Indicate if batch parameter is NULL.
+   *
+   * @param row row index
+   * @param column parameter index
+   * @return true if NULL
+   */
+  public boolean isNullData(int row, int column) {
+    byte kind = kinds[column][row];
+    return kind == NULL || (kind == OBJECT && objects[column][row].isNullData());
+  }
+
+  /**
+   * Text protocol parameter length, -1 if unknown.
+   *
+   * @param row row index
+   * @param column parameter index
+   * @return parameter length
+   * @throws IOException if parameter fail to be read
+   */
+  public int getApproximateTextProtocolLength(int row, int column) throws IOException {
+    long value = values[column][row];
+    switch (kinds[column][row]) {
+      case OBJECT:
+        return objects[column][row].getApproximateTextProtocolLength();
+      case NULL:
+        return 4;
+      case BOOLEAN:
+        return 1;
+      case BYTE:
+      case SHORT:
+      case INT:
+      case LONG:
+        return decimalLength(value);
+      case FLOAT:
+        return String.valueOf(Float.intBitsToFloat((int) value)).length();
+      default:
+        return String.valueOf(Double.longBitsToDouble(value)).length();
+    }
+  }
+
+  /**
+   * Write batch parameter in text format.
+   *
+   * @param row row index
+   * @param column parameter index
+   * @param pos output stream
+   * @throws IOException if socket error occur
+   */
+  public void writeTo(int row, int column, PacketOutputStream pos) throws IOException {
+    long value = values[column][row];
+    switch (kinds[column][row]) {
+      case OBJECT:
+        objects[column][row].writeTo(pos);
+        break;
+      case NULL:
+        pos.write(NULL_VALUE);
+        break;
+      case BOOLEAN:
+        pos.write(value != 0 ? '1' : '0');
+        break;
+      case BYTE:
+      case SHORT:
+      case INT:
+      case LONG:
+        writeDecimal(pos, value);
+        break;
+      case FLOAT:
+        pos.write(String.valueOf(Float.intBitsToFloat((int) value)).getBytes());
+        break;
+      default:
+        pos.write(String.valueOf(Double.longBitsToDouble(value)).getBytes());
+    }
+  }
+
+  /**
+   * Write batch parameter in binary format. NULL values are not written.
+   *
+   * @param row row index
+   * @param column parameter index
+   * @param pos output stream
+   * @throws IOException if socket error occur
+   */
+  public void writeBinary(int row, int column, PacketOutputStream pos) throws IOException {
+    long value = values[column][row];
+    switch (kinds[column][row]) {
+      case OBJECT:
+        objects[column][row].writeBinary(pos);
+        break;
+      case NULL:
+        break;
+      case BOOLEAN:
+      case BYTE:
+        pos.write((int) value);
+        break;
+      case SHORT:
+        pos.writeShort((short) value);
+        break;
+      case INT:
+      case FLOAT:
+        pos.writeInt((int) value);
+        break;
+      default:
+        pos.writeLong(value);
+    }
+  }
+
+  private static int decimalLength(long value) {
+    if (value == Long.MIN_VALUE) {
+      return 20;
+    }
+    int length = value < 0 ? 2 : 1;
+    long abs = Math.abs(value);
+    while (abs >= 10) {
+      abs /= 10;
+      length++;
+    }
+    return length;
+  }
+
+  private void writeDecimal(PacketOutputStream pos, long value) throws IOException {
+    if (value == Long.MIN_VALUE) {
+      pos.write(String.valueOf(value).getBytes());
+      return;
+    }
+    int idx = digits.length;
+    long abs = Math.abs(value);
+    do {
+      digits[--idx] = (byte) ('0' + abs % 10);
+      abs /= 10;
+    } while (abs != 0);
+    if (value < 0) {
+      digits[--idx] = '-';
+    }
+    pos.write(digits, idx, digits.length - idx);
+  }
+}
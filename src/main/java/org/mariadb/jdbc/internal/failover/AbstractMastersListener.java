@@ -59,6 +59,7 @@ import java.lang.reflect.Method;
 import java.net.SocketException;
 import java.sql.SQLException;
 import java.sql.SQLNonTransientConnectionException;
+import java.util.List;
 import java.util.Locale;
 import java.util.Map;
 import java.util.Set;
@@ -71,6 +72,9 @@ import org.mariadb.jdbc.HostAddress;
 import org.mariadb.jdbc.MariaDbConnection;
 import org.mariadb.jdbc.MariaDbStatement;
 import org.mariadb.jdbc.UrlParser;
+import org.mariadb.jdbc.failover.HostSelectionPlugin;
+import org.mariadb.jdbc.failover.HostSelectionPluginLoader;
+import org.mariadb.jdbc.failover.HostStatistics;
 import org.mariadb.jdbc.internal.failover.thread.ConnectionValidator;
 import org.mariadb.jdbc.internal.failover.tools.SearchFilter;
 import org.mariadb.jdbc.internal.logging.Logger;
@@ -93,6 +97,7 @@ public abstract class AbstractMastersListener implements Listener {
   protected final AtomicInteger currentConnectionAttempts = new AtomicInteger();
   protected final AtomicBoolean explicitClosed = new AtomicBoolean(false);
   protected final GlobalStateInfo globalInfo;
+  protected final HostStatistics hostStatistics;
   private final AtomicBoolean masterHostFail = new AtomicBoolean();
   // currentReadOnlyAsked is volatile so can be queried without lock, but can only be updated when
   // proxy.lock is locked
@@ -102,10 +107,12 @@ public abstract class AbstractMastersListener implements Listener {
   protected long lastRetry = 0;
   protected long lastQueryNanos = 0;
   private volatile long masterHostFailNanos = 0;
+  private volatile HostSelectionPlugin hostSelectionPlugin;
 
   protected AbstractMastersListener(UrlParser urlParser, final GlobalStateInfo globalInfo) {
     this.urlParser = urlParser;
     this.globalInfo = globalInfo;
+    this.hostStatistics = HostStatistics.retrieve(urlParser);
     this.masterHostFail.set(true);
     this.lastQueryNanos = System.nanoTime();
   }
@@ -115,6 +122,23 @@ public abstract class AbstractMastersListener implements Listener {
     blacklist.clear();
   }
 
+  public HostStatistics getHostStatistics() {
+    return hostStatistics;
+  }
+
+  /**
+   * Order candidate hosts according to host selection plugin (option hostSelectionType).
+   *
+   * @param hosts hosts to order, in place
+   * @throws SQLException if host selection plugin cannot be found
+   */
+  public void orderHosts(List<HostAddress> hosts) throws SQLException {
+    if (hostSelectionPlugin == null) {
+      hostSelectionPlugin = HostSelectionPluginLoader.get(urlParser.getOptions().hostSelectionType);
+    }
+    hostSelectionPlugin.order(hosts, hostStatistics, urlParser.getOptions());
+  }
+
   /**
    * Initialize Listener. This listener will be added to the connection validation loop according to
    * option value so the connection will be verified periodically. (Important for aurora, for other,
@@ -264,6 +288,16 @@ public abstract class AbstractMastersListener implements Listener {
     return currentProtocol;
   }
 
+  /**
+   * Protocol on which a proxied method has to be executed.
+   *
+   * @return current protocol
+   * @throws SQLException if no protocol is available for execution
+   */
+  public Protocol getExecutionProtocol() throws SQLException {
+    return currentProtocol;
+  }
+
   public long getMasterHostFailNanos() {
     return masterHostFailNanos;
   }
@@ -458,7 +492,25 @@ public abstract class AbstractMastersListener implements Listener {
   }
 
   public boolean isValid(int timeout) throws SQLException {
-    return currentProtocol.isValid(timeout);
+    return isValid(currentProtocol, timeout);
+  }
+
+  /**
+   * Validate connection, recording ping round-trip time in host statistics. Query durations are not
+   * used, since they depend on workload, not on host.
+   *
+   * @param protocol connection to validate
+   * @param timeout timeout in milliseconds
+   * @return true if connection is valid
+   * @throws SQLException if validation fails
+   */
+  protected boolean isValid(Protocol protocol, int timeout) throws SQLException {
+    long start = System.nanoTime();
+    if (protocol.isValid(timeout)) {
+      hostStatistics.recordResponseTime(protocol.getHostAddress(), System.nanoTime() - start);
+      return true;
+    }
+    return false;
   }
 
   public boolean isReadOnly() {
@@ -590,7 +642,7 @@ public abstract class AbstractMastersListener implements Listener {
 
   protected boolean pingMasterProtocol(Protocol protocol) {
     try {
-      if (protocol.isValid(1000)) {
+      if (isValid(protocol, 1000)) {
         return true;
       }
     } catch (SQLException e) {
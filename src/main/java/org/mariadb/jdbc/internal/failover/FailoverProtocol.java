@@ -0,0 +1,1162 @@
+/*
+ *
+ * MariaDB Client for Java
+ *
+ * Copyright (c) 2012-2014 Monty Program Ab.
+ * Copyright (c) 2015-2020 MariaDB Corporation Ab.
+ *
+ * This library is free software; you can redistribute it and/or modify it under
+ * the terms of the GNU Lesser General Public License as published by the Free
+ * Software Foundation; either version 2.1 of the License, or (at your option)
+ * any later version.
+ *
+ * This library is distributed in the hope that it will be useful, but
+ * WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE.  See the GNU Lesser General Public License
+ * for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License along
+ * with this library; if not, write to Monty Program Ab info@montyprogram.com.
+ *
+ */
+
+package org.mariadb.jdbc.internal.failover;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.lang.reflect.Method;
+import java.lang.reflect.UndeclaredThrowableException;
+import java.net.Socket;
+import java.net.SocketException;
+import java.nio.charset.Charset;
+import java.sql.SQLException;
+import java.sql.SQLTimeoutException;
+import java.util.List;
+import java.util.TimeZone;
+import java.util.concurrent.FutureTask;
+import java.util.concurrent.locks.ReentrantLock;
+import org.mariadb.jdbc.HostAddress;
+import org.mariadb.jdbc.LocalInfileRowProducer;
+import org.mariadb.jdbc.MariaDbConnection;
+import org.mariadb.jdbc.MariaDbStatement;
+import org.mariadb.jdbc.UrlParser;
+import org.mariadb.jdbc.internal.com.read.dao.Results;
+import org.mariadb.jdbc.internal.com.send.parameters.ParameterBatch;
+import org.mariadb.jdbc.internal.com.send.parameters.ParameterHolder;
+import org.mariadb.jdbc.internal.io.input.PacketInputStream;
+import org.mariadb.jdbc.internal.io.output.PacketOutputStream;
+import org.mariadb.jdbc.internal.logging.Logger;
+import org.mariadb.jdbc.internal.logging.LoggerFactory;
+import org.mariadb.jdbc.internal.protocol.Protocol;
+import org.mariadb.jdbc.internal.util.ServerPrepareStatementCache;
+import org.mariadb.jdbc.internal.util.dao.ClientPrepareResult;
+import org.mariadb.jdbc.internal.util.dao.ServerPrepareResult;
+import org.mariadb.jdbc.util.Options;
+
+/**
+ * Protocol implementation for multi-host connections, dispatching calls directly to the listener
+ * current protocol. Behave like a {@link java.lang.reflect.Proxy} using {@link FailoverProxy} as
+ * handler, without reflection cost : only when an error occurs, method and parameters are given to
+ * the listener, in order to handle failover and relaunch the operation.
+ */
+public class FailoverProtocol implements Protocol {
+
+  private static final Logger logger = LoggerFactory.getLogger(FailoverProtocol.class);
+
+  private static final Method PREPARE = method("prepare", String.class, boolean.class);
+  private static final Method GET_AUTOCOMMIT = method("getAutocommit");
+  private static final Method CONNECT = method("connect");
+  private static final Method RESET_DATABASE = method("resetDatabase");
+  private static final Method SET_CATALOG = method("setCatalog", String.class);
+  private static final Method ROLLBACK = method("rollback");
+  private static final Method PING = method("ping");
+  private static final Method EXECUTE_QUERY = method("executeQuery", String.class);
+  private static final Method EXECUTE_QUERY_SQL =
+      method("executeQuery", boolean.class, Results.class, String.class);
+  private static final Method EXECUTE_QUERY_CHARSET =
+      method("executeQuery", boolean.class, Results.class, String.class, Charset.class);
+  private static final Method EXECUTE_QUERY_CLIENT_PREPARE =
+      method(
+          "executeQuery",
+          boolean.class,
+          Results.class,
+          ClientPrepareResult.class,
+          ParameterHolder[].class);
+  private static final Method EXECUTE_QUERY_CLIENT_PREPARE_TIMEOUT =
+      method(
+          "executeQuery",
+          boolean.class,
+          Results.class,
+          ClientPrepareResult.class,
+          ParameterHolder[].class,
+          int.class);
+  private static final Method EXECUTE_BATCH_CLIENT =
+      method(
+          "executeBatchClient",
+          boolean.class,
+          Results.class,
+          ClientPrepareResult.class,
+          ParameterBatch.class,
+          boolean.class,
+          int.class);
+  private static final Method EXECUTE_BATCH_STMT =
+      method("executeBatchStmt", boolean.class, Results.class, List.class);
+  private static final Method EXECUTE_PREPARED_QUERY =
+      method(
+          "executePreparedQuery",
+          boolean.class,
+          ServerPrepareResult.class,
+          Results.class,
+          ParameterHolder[].class);
+  private static final Method EXECUTE_BATCH_SERVER =
+      method(
+          "executeBatchServer",
+          boolean.class,
+          ServerPrepareResult.class,
+          Results.class,
+          String.class,
+          ParameterBatch.class,
+          boolean.class);
+  private static final Method GET_RESULT = method("getResult", Results.class);
+  private static final Method CANCEL_CURRENT_QUERY = method("cancelCurrentQuery");
+  private static final Method SKIP = method("skip");
+  private static final Method CHECK_IF_MASTER = method("checkIfMaster");
+  private static final Method SET_MAX_ROWS = method("setMaxRows", long.class);
+  private static final Method SET_TRANSACTION_ISOLATION =
+      method("setTransactionIsolation", int.class);
+  private static final Method CONNECT_WITHOUT_PROXY = method("connectWithoutProxy");
+  private static final Method RELEASE_PREPARE_STATEMENT =
+      method("releasePrepareStatement", ServerPrepareResult.class);
+  private static final Method FORCE_RELEASE_PREPARE_STATEMENT =
+      method("forceReleasePrepareStatement", int.class);
+  private static final Method FORCE_RELEASE_WAITING_PREPARE_STATEMENT =
+      method("forceReleaseWaitingPrepareStatement");
+  private static final Method PROLOG_PROXY =
+      method(
+          "prologProxy",
+          ServerPrepareResult.class,
+          long.class,
+          boolean.class,
+          MariaDbConnection.class,
+          MariaDbStatement.class);
+  private static final Method READ_EOF_PACKET = method("readEofPacket");
+  private static final Method SKIP_EOF_PACKET = method("skipEofPacket");
+  private static final Method RESET_STATE_AFTER_FAILOVER =
+      method("resetStateAfterFailover", long.class, int.class, String.class, boolean.class);
+  private static final Method GET_AUTO_INCREMENT_INCREMENT = method("getAutoIncrementIncrement");
+
+  private final FailoverProxy proxy;
+  private final Listener listener;
+
+  /**
+   * Constructor.
+   *
+   * @param proxy failover handler, that has initialized listener connection.
+   */
+  public FailoverProtocol(FailoverProxy proxy) {
+    this.proxy = proxy;
+    this.listener = proxy.getListener();
+  }
+
+  private static Method method(String name, Class<?>... parameterTypes) {
+    try {
+      return Protocol.class.getMethod(name, parameterTypes);
+    } catch (NoSuchMethodException e) {
+      throw new IllegalStateException(e);
+    }
+  }
+
+  /**
+   * Rethrow failover error the same way a java Proxy would : checked exceptions that are not
+   * SQLException are wrapped into an {@link UndeclaredThrowableException}.
+   *
+   * @param throwable failover error
+   * @return SQLException to throw
+   */
+  private static SQLException rethrow(Throwable throwable) {
+    if (throwable instanceof SQLException) {
+      return (SQLException) throwable;
+    }
+    if (throwable instanceof RuntimeException) {
+      throw (RuntimeException) throwable;
+    }
+    if (throwable instanceof Error) {
+      throw (Error) throwable;
+    }
+    throw new UndeclaredThrowableException(throwable);
+  }
+
+  /**
+   * Current protocol, for methods that doesn't permit SQLException.
+   *
+   * @return current protocol
+   */
+  private Protocol protocol() {
+    Protocol protocol = listener.getCurrentProtocol();
+    if (protocol != null) {
+      return protocol;
+    }
+    try {
+      return listener.getExecutionProtocol();
+    } catch (SQLException e) {
+      throw new UndeclaredThrowableException(e);
+    }
+  }
+
+  /**
+   * Handle exception thrown by current protocol (failover, relaunching method).
+   *
+   * @param exception exception
+   * @param method called method
+   * @param args method parameters
+   * @param isClosed was connection closed before execution
+   * @return method result if relaunched
+   * @throws SQLException if error is not handled by failover, or failover fails
+   */
+  private Object handleException(
+      SQLException exception, Method method, Object[] args, boolean isClosed) throws SQLException {
+    try {
+      return proxy.handleInvocationException(exception, method, args, isClosed, false);
+    } catch (Throwable throwable) {
+      throw rethrow(throwable);
+    }
+  }
+
+  /**
+   * Before query execution, permit to listener to reconnect / switch to master if needed.
+   *
+   * @return connection exception that has to be handled by failover, if any.
+   */
+  private SQLException preExecute() {
+    try {
+      listener.preExecute();
+    } catch (SQLException e) {
+      // handle failover only if connection error
+      // normal error can be thrown upon reconnection if there was a transaction in progress.
+      if (proxy.hasToHandleFailover(e)) {
+        return e;
+      }
+    }
+    return null;
+  }
+
+  private void handleFailover(
+      SQLException exception, Method method, Object[] args, Protocol protocol, boolean isClosed)
+      throws SQLException {
+    try {
+      proxy.handleFailOver(exception, method, args, protocol, isClosed);
+    } catch (Throwable throwable) {
+      throw rethrow(throwable);
+    }
+  }
+
+  /**
+   * PrepareStatement was to be executed on slave, but since a failover was running on master
+   * connection. If slave connection is up again, statement has to be re-prepared on slave.
+   *
+   * @param mustBeOnMaster must statement be executed on master
+   * @param serverPrepareResult prepare result
+   */
+  private void rePrepareOnSlaveIfNeeded(
+      boolean mustBeOnMaster, ServerPrepareResult serverPrepareResult) {
+    if (!mustBeOnMaster
+        && serverPrepareResult.getUnProxiedProtocol().isMasterConnection()
+        && !listener.hasHostFail()) {
+      try {
+        logger.trace(
+            "re-prepare query \"{}\" on slave (was " + "temporary on master since failover)",
+            serverPrepareResult.getSql());
+        listener.rePrepareOnSlave(serverPrepareResult, false);
+      } catch (SQLException q) {
+        // error during re-prepare, will do executed on master.
+      }
+    }
+  }
+
+  @Override
+  public ServerPrepareResult prepare(String sql, boolean executeOnMaster) throws SQLException {
+    boolean isClosed = listener.isClosed();
+    try {
+      return listener.getExecutionProtocol().prepare(sql, executeOnMaster);
+    } catch (SQLException e) {
+      return (ServerPrepareResult)
+          handleException(e, PREPARE, new Object[] {sql, executeOnMaster}, isClosed);
+    }
+  }
+
+  @Override
+  public boolean getAutocommit() throws SQLException {
+    boolean isClosed = listener.isClosed();
+    try {
+      return listener.getExecutionProtocol().getAutocommit();
+    } catch (SQLException e) {
+      return (Boolean) handleException(e, GET_AUTOCOMMIT, null, isClosed);
+    }
+  }
+
+  @Override
+  public boolean noBackslashEscapes() {
+    return listener.noBackslashEscapes();
+  }
+
+  @Override
+  public void connect() throws SQLException {
+    boolean isClosed = listener.isClosed();
+    try {
+      listener.getExecutionProtocol().connect();
+    } catch (SQLException e) {
+      handleException(e, CONNECT, null, isClosed);
+    }
+  }
+
+  @Override
+  public UrlParser getUrlParser() {
+    return listener.getUrlParser();
+  }
+
+  @Override
+  public boolean inTransaction() {
+    return listener.inTransaction();
+  }
+
+  @Override
+  public FailoverProxy getProxy() {
+    return proxy;
+  }
+
+  @Override
+  public void setProxy(FailoverProxy proxy) {
+    protocol().setProxy(proxy);
+  }
+
+  @Override
+  public Options getOptions() {
+    return listener.getUrlParser().getOptions();
+  }
+
+  @Override
+  public boolean hasMoreResults() {
+    return protocol().hasMoreResults();
+  }
+
+  @Override
+  public void close() {
+    protocol().close();
+  }
+
+  @Override
+  public void abort() {
+    listener.preAbort();
+  }
+
+  @Override
+  public void reset() throws SQLException {
+    // listener will report reset on any active connections (Master/slave)
+    listener.reset();
+  }
+
+  @Override
+  public void closeExplicit() {
+    listener.preClose();
+  }
+
+  @Override
+  public boolean isClosed() {
+    return listener.isClosed();
+  }
+
+  @Override
+  public void resetDatabase() throws SQLException {
+    boolean isClosed = listener.isClosed();
+    try {
+      listener.getExecutionProtocol().resetDatabase();
+    } catch (SQLException e) {
+      handleException(e, RESET_DATABASE, null, isClosed);
+    }
+  }
+
+  @Override
+  public String getCatalog() throws SQLException {
+    return listener.getCatalog();
+  }
+
+  @Override
+  public void setCatalog(String database) throws SQLException {
+    boolean isClosed = listener.isClosed();
+    try {
+      listener.getExecutionProtocol().setCatalog(database);
+    } catch (SQLException e) {
+      handleException(e, SET_CATALOG, new Object[] {database}, isClosed);
+    }
+  }
+
+  @Override
+  public String getServerVersion() {
+    return protocol().getServerVersion();
+  }
+
+  @Override
+  public boolean isConnected() {
+    return protocol().isConnected();
+  }
+
+  @Override
+  public boolean getReadonly() {
+    return listener.isReadOnly();
+  }
+
+  @Override
+  public void setReadonly(boolean readOnly) throws SQLException {
+    listener.switchReadOnlyConnection(readOnly);
+  }
+
+  @Override
+  public boolean isMasterConnection() {
+    return listener.isMasterConnection();
+  }
+
+  @Override
+  public boolean mustBeMasterConnection() {
+    return protocol().mustBeMasterConnection();
+  }
+
+  @Override
+  public HostAddress getHostAddress() {
+    return protocol().getHostAddress();
+  }
+
+  @Override
+  public void setHostAddress(HostAddress hostAddress) {
+    protocol().setHostAddress(hostAddress);
+  }
+
+  @Override
+  public String getHost() {
+    return protocol().getHost();
+  }
+
+  @Override
+  public int getPort() {
+    return protocol().getPort();
+  }
+
+  @Override
+  public void rollback() throws SQLException {
+    boolean isClosed = listener.isClosed();
+    try {
+      listener.getExecutionProtocol().rollback();
+    } catch (SQLException e) {
+      handleException(e, ROLLBACK, null, isClosed);
+    }
+  }
+
+  @Override
+  public String getDatabase() {
+    return protocol().getDatabase();
+  }
+
+  @Override
+  public String getUsername() {
+    return protocol().getUsername();
+  }
+
+  @Override
+  public boolean ping() throws SQLException {
+    boolean isClosed = listener.isClosed();
+    try {
+      return listener.getExecutionProtocol().ping();
+    } catch (SQLException e) {
+      return (Boolean) handleException(e, PING, null, isClosed);
+    }
+  }
+
+  @Override
+  public boolean isValid(int timeout) throws SQLException {
+    return listener.isValid(timeout);
+  }
+
+  @Override
+  public void executeQuery(String sql) throws SQLException {
+    boolean isClosed = listener.isClosed();
+    SQLException preExecuteException = preExecute();
+    if (preExecuteException != null) {
+      handleFailover(
+          preExecuteException,
+          EXECUTE_QUERY,
+          new Object[] {sql},
+          listener.getCurrentProtocol(),
+          isClosed);
+      return;
+    }
+
+    isClosed = listener.isClosed();
+    try {
+      listener.getExecutionProtocol().executeQuery(sql);
+    } catch (SQLException e) {
+      handleException(e, EXECUTE_QUERY, new Object[] {sql}, isClosed);
+    }
+  }
+
+  /**
+   * Commands are not pipelined for multi-host connections, since current protocol may change
+   * between commands.
+   */
+  @Override
+  public void startPipeline() {
+    // no pipelining
+  }
+
+  @Override
+  public void endPipeline() {
+    // no pipelining
+  }
+
+  @Override
+  public void executeQuery(boolean mustExecuteOnMaster, Results results, final String sql)
+      throws SQLException {
+    boolean isClosed = listener.isClosed();
+    SQLException preExecuteException = preExecute();
+    if (preExecuteException != null) {
+      handleFailover(
+          preExecuteException,
+          EXECUTE_QUERY_SQL,
+          new Object[] {mustExecuteOnMaster, results, sql},
+          listener.getCurrentProtocol(),
+          isClosed);
+      return;
+    }
+
+    isClosed = listener.isClosed();
+    try {
+      listener.getExecutionProtocol().executeQuery(mustExecuteOnMaster, results, sql);
+    } catch (SQLException e) {
+      handleException(
+          e, EXECUTE_QUERY_SQL, new Object[] {mustExecuteOnMaster, results, sql}, isClosed);
+    }
+  }
+
+  @Override
+  public void executeQuery(
+      boolean mustExecuteOnMaster, Results results, final String sql, Charset charset)
+      throws SQLException {
+    boolean isClosed = listener.isClosed();
+    SQLException preExecuteException = preExecute();
+    if (preExecuteException != null) {
+      handleFailover(
+          preExecuteException,
+          EXECUTE_QUERY_CHARSET,
+          new Object[] {mustExecuteOnMaster, results, sql, charset},
+          listener.getCurrentProtocol(),
+          isClosed);
+      return;
+    }
+
+    isClosed = listener.isClosed();
+    try {
+      listener.getExecutionProtocol().executeQuery(mustExecuteOnMaster, results, sql, charset);
+    } catch (SQLException e) {
+      handleException(
+          e,
+          EXECUTE_QUERY_CHARSET,
+          new Object[] {mustExecuteOnMaster, results, sql, charset},
+          isClosed);
+    }
+  }
+
+  @Override
+  public void executeQuery(
+      boolean mustExecuteOnMaster,
+      Results results,
+      final ClientPrepareResult clientPrepareResult,
+      ParameterHolder[] parameters)
+      throws SQLException {
+    boolean isClosed = listener.isClosed();
+    SQLException preExecuteException = preExecute();
+    if (preExecuteException != null) {
+      handleFailover(
+          preExecuteException,
+          EXECUTE_QUERY_CLIENT_PREPARE,
+          new Object[] {mustExecuteOnMaster, results, clientPrepareResult, parameters},
+          listener.getCurrentProtocol(),
+          isClosed);
+      return;
+    }
+
+    isClosed = listener.isClosed();
+    try {
+      listener
+          .getExecutionProtocol()
+          .executeQuery(mustExecuteOnMaster, results, clientPrepareResult, parameters);
+    } catch (SQLException e) {
+      handleException(
+          e,
+          EXECUTE_QUERY_CLIENT_PREPARE,
+          new Object[] {mustExecuteOnMaster, results, clientPrepareResult, parameters},
+          isClosed);
+    }
+  }
+
+  @Override
+  public void executeQuery(
+      boolean mustExecuteOnMaster,
+      Results results,
+      final ClientPrepareResult clientPrepareResult,
+      ParameterHolder[] parameters,
+      int timeout)
+      throws SQLException {
+    boolean isClosed = listener.isClosed();
+    SQLException preExecuteException = preExecute();
+    if (preExecuteException != null) {
+      handleFailover(
+          preExecuteException,
+          EXECUTE_QUERY_CLIENT_PREPARE_TIMEOUT,
+          new Object[] {mustExecuteOnMaster, results, clientPrepareResult, parameters, timeout},
+          listener.getCurrentProtocol(),
+          isClosed);
+      return;
+    }
+
+    isClosed = listener.isClosed();
+    try {
+      listener
+          .getExecutionProtocol()
+          .executeQuery(mustExecuteOnMaster, results, clientPrepareResult, parameters, timeout);
+    } catch (SQLException e) {
+      handleException(
+          e,
+          EXECUTE_QUERY_CLIENT_PREPARE_TIMEOUT,
+          new Object[] {mustExecuteOnMaster, results, clientPrepareResult, parameters, timeout},
+          isClosed);
+    }
+  }
+
+  /**
+   * Execute queries one after the other, so each query benefits from failover handling.
+   *
+   * @param mustExecuteOnMaster was intended to be launched on master connection
+   * @param results results, one by query
+   * @param queries queries to execute
+   * @return query exceptions, one by query (null for successful queries)
+   * @throws SQLException if connection is closed
+   */
+  @Override
+  public SQLException[] executePipelineQueries(
+      boolean mustExecuteOnMaster, Results[] results, final String[] queries) throws SQLException {
+    SQLException[] exceptions = new SQLException[queries.length];
+    for (int i = 0; i < queries.length; i++) {
+      try {
+        executeQuery(mustExecuteOnMaster, results[i], queries[i]);
+      } catch (SQLException e) {
+        exceptions[i] = e;
+      }
+    }
+    return exceptions;
+  }
+
+  @Override
+  public boolean executeBatchClient(
+      boolean mustExecuteOnMaster,
+      Results results,
+      final ClientPrepareResult prepareResult,
+      final ParameterBatch parametersList,
+      boolean hasLongData,
+      int queryTimeout)
+      throws SQLException {
+    boolean isClosed = listener.isClosed();
+    try {
+      return listener
+          .getExecutionProtocol()
+          .executeBatchClient(
+              mustExecuteOnMaster,
+              results,
+              prepareResult,
+              parametersList,
+              hasLongData,
+              queryTimeout);
+    } catch (SQLException e) {
+      return (Boolean)
+          handleException(
+              e,
+              EXECUTE_BATCH_CLIENT,
+              new Object[] {
+                mustExecuteOnMaster,
+                results,
+                prepareResult,
+                parametersList,
+                hasLongData,
+                queryTimeout
+              },
+              isClosed);
+    }
+  }
+
+  @Override
+  public void executeBatchStmt(
+      boolean mustExecuteOnMaster, Results results, final List<String> queries)
+      throws SQLException {
+    boolean isClosed = listener.isClosed();
+    try {
+      listener.getExecutionProtocol().executeBatchStmt(mustExecuteOnMaster, results, queries);
+    } catch (SQLException e) {
+      handleException(
+          e, EXECUTE_BATCH_STMT, new Object[] {mustExecuteOnMaster, results, queries}, isClosed);
+    }
+  }
+
+  @Override
+  public void executePreparedQuery(
+      boolean mustExecuteOnMaster,
+      ServerPrepareResult serverPrepareResult,
+      Results results,
+      ParameterHolder[] parameters)
+      throws SQLException {
+    boolean isClosed;
+    if (serverPrepareResult != null) {
+      rePrepareOnSlaveIfNeeded(mustExecuteOnMaster, serverPrepareResult);
+      isClosed = listener.isClosed();
+      try {
+        serverPrepareResult
+            .getUnProxiedProtocol()
+            .executePreparedQuery(mustExecuteOnMaster, serverPrepareResult, results, parameters);
+      } catch (SQLException e) {
+        if (proxy.hasToHandleFailover(e)) {
+          handleFailover(
+              e,
+              EXECUTE_PREPARED_QUERY,
+              new Object[] {mustExecuteOnMaster, serverPrepareResult, results, parameters},
+              serverPrepareResult.getUnProxiedProtocol(),
+              isClosed);
+          return;
+        }
+        throw e;
+      }
+      return;
+    }
+
+    isClosed = listener.isClosed();
+    try {
+      listener
+          .getExecutionProtocol()
+          .executePreparedQuery(mustExecuteOnMaster, null, results, parameters);
+    } catch (SQLException e) {
+      handleException(
+          e,
+          EXECUTE_PREPARED_QUERY,
+          new Object[] {mustExecuteOnMaster, null, results, parameters},
+          isClosed);
+    }
+  }
+
+  @Override
+  public boolean executeBatchServer(
+      boolean mustExecuteOnMaster,
+      ServerPrepareResult serverPrepareResult,
+      Results results,
+      String sql,
+      ParameterBatch parameterList,
+      boolean hasLongData)
+      throws SQLException {
+    boolean isClosed = listener.isClosed();
+    try {
+      return listener
+          .getExecutionProtocol()
+          .executeBatchServer(
+              mustExecuteOnMaster, serverPrepareResult, results, sql, parameterList, hasLongData);
+    } catch (SQLException e) {
+      return (Boolean)
+          handleException(
+              e,
+              EXECUTE_BATCH_SERVER,
+              new Object[] {
+                mustExecuteOnMaster, serverPrepareResult, results, sql, parameterList, hasLongData
+              },
+              isClosed);
+    }
+  }
+
+  @Override
+  public void getResult(Results results) throws SQLException {
+    boolean isClosed = listener.isClosed();
+    try {
+      listener.getExecutionProtocol().getResult(results);
+    } catch (SQLException e) {
+      handleException(e, GET_RESULT, new Object[] {results}, isClosed);
+    }
+  }
+
+  @Override
+  public void cancelCurrentQuery() throws SQLException {
+    boolean isClosed = listener.isClosed();
+    try {
+      listener.getExecutionProtocol().cancelCurrentQuery();
+    } catch (SQLException e) {
+      handleException(e, CANCEL_CURRENT_QUERY, null, isClosed);
+    }
+  }
+
+  @Override
+  public void interrupt() {
+    protocol().interrupt();
+  }
+
+  @Override
+  public void skip() throws SQLException {
+    boolean isClosed = listener.isClosed();
+    try {
+      listener.getExecutionProtocol().skip();
+    } catch (SQLException e) {
+      handleException(e, SKIP, null, isClosed);
+    }
+  }
+
+  @Override
+  public boolean checkIfMaster() throws SQLException {
+    boolean isClosed = listener.isClosed();
+    try {
+      return listener.getExecutionProtocol().checkIfMaster();
+    } catch (SQLException e) {
+      return (Boolean) handleException(e, CHECK_IF_MASTER, null, isClosed);
+    }
+  }
+
+  @Override
+  public boolean hasWarnings() {
+    return protocol().hasWarnings();
+  }
+
+  @Override
+  public long getMaxRows() {
+    return protocol().getMaxRows();
+  }
+
+  @Override
+  public void setMaxRows(long max) throws SQLException {
+    boolean isClosed = listener.isClosed();
+    try {
+      listener.getExecutionProtocol().setMaxRows(max);
+    } catch (SQLException e) {
+      handleException(e, SET_MAX_ROWS, new Object[] {max}, isClosed);
+    }
+  }
+
+  @Override
+  public int getMajorServerVersion() {
+    return listener.getMajorServerVersion();
+  }
+
+  @Override
+  public int getMinorServerVersion() {
+    return protocol().getMinorServerVersion();
+  }
+
+  @Override
+  public boolean versionGreaterOrEqual(int major, int minor, int patch) {
+    return listener.versionGreaterOrEqual(major, minor, patch);
+  }
+
+  @Override
+  public void setLocalInfileInputStream(InputStream inputStream) {
+    protocol().setLocalInfileInputStream(inputStream);
+  }
+
+  @Override
+  public void setLocalInfileRows(LocalInfileRowProducer producer) {
+    protocol().setLocalInfileRows(producer);
+  }
+
+  @Override
+  public int getTimeout() {
+    try {
+      return listener.getTimeout();
+    } catch (SocketException e) {
+      throw new UndeclaredThrowableException(e);
+    }
+  }
+
+  @Override
+  public void setTimeout(int timeout) throws SocketException {
+    protocol().setTimeout(timeout);
+  }
+
+  @Override
+  public boolean getPinGlobalTxToPhysicalConnection() {
+    return protocol().getPinGlobalTxToPhysicalConnection();
+  }
+
+  @Override
+  public long getServerThreadId() {
+    return listener.getServerThreadId();
+  }
+
+  @Override
+  public Socket getSocket() {
+    return protocol().getSocket();
+  }
+
+  @Override
+  public void setTransactionIsolation(int level) throws SQLException {
+    boolean isClosed = listener.isClosed();
+    try {
+      listener.getExecutionProtocol().setTransactionIsolation(level);
+    } catch (SQLException e) {
+      handleException(e, SET_TRANSACTION_ISOLATION, new Object[] {level}, isClosed);
+    }
+  }
+
+  @Override
+  public int getTransactionIsolationLevel() {
+    return protocol().getTransactionIsolationLevel();
+  }
+
+  @Override
+  public boolean isExplicitClosed() {
+    return listener.isExplicitClosed();
+  }
+
+  @Override
+  public void connectWithoutProxy() throws SQLException {
+    boolean isClosed = listener.isClosed();
+    try {
+      listener.getExecutionProtocol().connectWithoutProxy();
+    } catch (SQLException e) {
+      handleException(e, CONNECT_WITHOUT_PROXY, null, isClosed);
+    }
+  }
+
+  @Override
+  public boolean shouldReconnectWithoutProxy() {
+    return protocol().shouldReconnectWithoutProxy();
+  }
+
+  @Override
+  public void setHostFailedWithoutProxy() {
+    protocol().setHostFailedWithoutProxy();
+  }
+
+  @Override
+  public void releasePrepareStatement(ServerPrepareResult serverPrepareResult) throws SQLException {
+    boolean isClosed = listener.isClosed();
+    try {
+      listener.getExecutionProtocol().releasePrepareStatement(serverPrepareResult);
+    } catch (SQLException e) {
+      handleException(e, RELEASE_PREPARE_STATEMENT, new Object[] {serverPrepareResult}, isClosed);
+    }
+  }
+
+  @Override
+  public boolean forceReleasePrepareStatement(int statementId) throws SQLException {
+    boolean isClosed = listener.isClosed();
+    try {
+      return listener.getExecutionProtocol().forceReleasePrepareStatement(statementId);
+    } catch (SQLException e) {
+      return (Boolean)
+          handleException(e, FORCE_RELEASE_PREPARE_STATEMENT, new Object[] {statementId}, isClosed);
+    }
+  }
+
+  @Override
+  public void forceReleaseWaitingPrepareStatement() throws SQLException {
+    boolean isClosed = listener.isClosed();
+    try {
+      listener.getExecutionProtocol().forceReleaseWaitingPrepareStatement();
+    } catch (SQLException e) {
+      handleException(e, FORCE_RELEASE_WAITING_PREPARE_STATEMENT, null, isClosed);
+    }
+  }
+
+  @Override
+  public ServerPrepareStatementCache prepareStatementCache() {
+    return protocol().prepareStatementCache();
+  }
+
+  @Override
+  public TimeZone getTimeZone() {
+    return protocol().getTimeZone();
+  }
+
+  @Override
+  public void prolog(
+      long maxRows, boolean hasProxy, MariaDbConnection connection, MariaDbStatement statement)
+      throws SQLException {
+    listener.prolog(maxRows, connection, statement);
+  }
+
+  @Override
+  public void prologProxy(
+      ServerPrepareResult serverPrepareResult,
+      long maxRows,
+      boolean hasProxy,
+      MariaDbConnection connection,
+      MariaDbStatement statement)
+      throws SQLException {
+    boolean isClosed = listener.isClosed();
+    if (serverPrepareResult == null) {
+      return;
+    }
+    try {
+      serverPrepareResult
+          .getUnProxiedProtocol()
+          .prologProxy(serverPrepareResult, maxRows, hasProxy, connection, statement);
+    } catch (SQLException e) {
+      if (proxy.hasToHandleFailover(e)) {
+        handleFailover(
+            e,
+            PROLOG_PROXY,
+            new Object[] {serverPrepareResult, maxRows, hasProxy, connection, statement},
+            serverPrepareResult.getUnProxiedProtocol(),
+            isClosed);
+        return;
+      }
+      throw e;
+    }
+  }
+
+  @Override
+  public Results getActiveStreamingResult() {
+    return protocol().getActiveStreamingResult();
+  }
+
+  @Override
+  public void setActiveStreamingResult(Results mariaSelectResultSet) {
+    protocol().setActiveStreamingResult(mariaSelectResultSet);
+  }
+
+  @Override
+  public ReentrantLock getLock() {
+    return proxy.lock;
+  }
+
+  @Override
+  public void setServerStatus(short serverStatus) {
+    protocol().setServerStatus(serverStatus);
+  }
+
+  @Override
+  public void removeHasMoreResults() {
+    protocol().removeHasMoreResults();
+  }
+
+  @Override
+  public void setHasWarnings(boolean hasWarnings) {
+    protocol().setHasWarnings(hasWarnings);
+  }
+
+  @Override
+  public ServerPrepareResult addPrepareInCache(
+      String key, ServerPrepareResult serverPrepareResult) {
+    return protocol().addPrepareInCache(key, serverPrepareResult);
+  }
+
+  @Override
+  public void readEofPacket() throws SQLException, IOException {
+    boolean isClosed = listener.isClosed();
+    try {
+      listener.getExecutionProtocol().readEofPacket();
+    } catch (SQLException e) {
+      handleException(e, READ_EOF_PACKET, null, isClosed);
+    }
+  }
+
+  @Override
+  public void skipEofPacket() throws SQLException, IOException {
+    boolean isClosed = listener.isClosed();
+    try {
+      listener.getExecutionProtocol().skipEofPacket();
+    } catch (SQLException e) {
+      handleException(e, SKIP_EOF_PACKET, null, isClosed);
+    }
+  }
+
+  @Override
+  public void changeSocketTcpNoDelay(boolean setTcpNoDelay) {
+    protocol().changeSocketTcpNoDelay(setTcpNoDelay);
+  }
+
+  @Override
+  public void changeSocketSoTimeout(int setSoTimeout) throws SocketException {
+    protocol().changeSocketSoTimeout(setSoTimeout);
+  }
+
+  @Override
+  public void removeActiveStreamingResult() {
+    protocol().removeActiveStreamingResult();
+  }
+
+  @Override
+  public void resetStateAfterFailover(
+      long maxRows, int transactionIsolationLevel, String database, boolean autocommit)
+      throws SQLException {
+    boolean isClosed = listener.isClosed();
+    try {
+      listener
+          .getExecutionProtocol()
+          .resetStateAfterFailover(maxRows, transactionIsolationLevel, database, autocommit);
+    } catch (SQLException e) {
+      handleException(
+          e,
+          RESET_STATE_AFTER_FAILOVER,
+          new Object[] {maxRows, transactionIsolationLevel, database, autocommit},
+          isClosed);
+    }
+  }
+
+  @Override
+  public void setActiveFutureTask(FutureTask activeFutureTask) {
+    protocol().setActiveFutureTask(activeFutureTask);
+  }
+
+  @Override
+  public boolean isServerMariaDb() {
+    return listener.isServerMariaDb();
+  }
+
+  @Override
+  public SQLException handleIoException(Exception initialException) {
+    return protocol().handleIoException(initialException);
+  }
+
+  @Override
+  public PacketInputStream getReader() {
+    return protocol().getReader();
+  }
+
+  @Override
+  public PacketOutputStream getWriter() {
+    return protocol().getWriter();
+  }
+
+  @Override
+  public boolean isEofDeprecated() {
+    return protocol().isEofDeprecated();
+  }
+
+  @Override
+  public int getAutoIncrementIncrement() throws SQLException {
+    boolean isClosed = listener.isClosed();
+    try {
+      return listener.getExecutionProtocol().getAutoIncrementIncrement();
+    } catch (SQLException e) {
+      return (Integer) handleException(e, GET_AUTO_INCREMENT_INCREMENT, null, isClosed);
+    }
+  }
+
+  @Override
+  public boolean sessionStateAware() {
+    return listener.sessionStateAware();
+  }
+
+  @Override
+  public String getTraces() {
+    return protocol().getTraces();
+  }
+
+  @Override
+  public boolean isInterrupted() {
+    return protocol().isInterrupted();
+  }
+
+  @Override
+  public void stopIfInterrupted() throws SQLTimeoutException {
+    protocol().stopIfInterrupted();
+  }
+}
@@ -55,6 +55,7 @@ package org.mariadb.jdbc.internal.failover;
 import java.lang.reflect.Method;
 import java.net.SocketException;
 import java.sql.SQLException;
+import java.util.List;
 import java.util.Set;
 import org.mariadb.jdbc.HostAddress;
 import org.mariadb.jdbc.MariaDbConnection;
@@ -99,6 +100,8 @@ public interface Listener {
 
   Set<HostAddress> getBlacklistKeys();
 
+  void orderHosts(List<HostAddress> hosts) throws SQLException;
+
   void addToBlacklist(HostAddress hostAddress);
 
   void removeFromBlacklist(HostAddress hostAddress);
@@ -151,6 +154,8 @@ public interface Listener {
 
   Protocol getCurrentProtocol();
 
+  Protocol getExecutionProtocol() throws SQLException;
+
   boolean hasHostFail();
 
   boolean canRetryFailLoop();
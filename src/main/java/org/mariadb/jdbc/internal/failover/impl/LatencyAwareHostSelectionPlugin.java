@@ -0,0 +1,97 @@
+/*
+ *
+ * MariaDB Client for Java
+ *
+ * Copyright (c) 2012-2014 Monty Program Ab.
+ * Copyright (c) 2015-2020 MariaDB Corporation Ab.
+ *
+ * This library is free software; you can redistribute it and/or modify it under
+ * the terms of the GNU Lesser General Public License as published by the Free
+ * Software Foundation; either version 2.1 of the License, or (at your option)
+ * any later version.
+ *
+ * This library is distributed in the hope that it will be useful, but
+ * WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE.  See the GNU Lesser General Public License
+ * for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License along
+ * with this library; if not, write to Monty Program Ab info@montyprogram.com.
+ *
+ */
+
+package org.mariadb.jdbc.internal.failover.impl;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ThreadLocalRandom;
+import org.mariadb.jdbc.HostAddress;
+import org.mariadb.jdbc.failover.HostSelectionPlugin;
+import org.mariadb.jdbc.failover.HostStatistics;
+import org.mariadb.jdbc.util.Options;
+
+/**
+ * Default host selection : hosts are ordered randomly, weighted by the inverse of their average
+ * response time, so that faster hosts get more connections without all connections going to the
+ * fastest one. Hosts slower than {@link #SLOW_FACTOR} times the fastest host come next, then
+ * replicas lagging more than option maxReplicaLag.
+ *
+ * <p>Hosts without statistics are considered as fast as the fastest host, so they get measured.
+ */
+public class LatencyAwareHostSelectionPlugin implements HostSelectionPlugin {
+
+  static final double SLOW_FACTOR = 3;
+
+  @Override
+  public String name() {
+    return "latency aware host selection";
+  }
+
+  @Override
+  public String type() {
+    return "latency";
+  }
+
+  @Override
+  public void order(List<HostAddress> hosts, HostStatistics statistics, Options options) {
+    long fastest = -1;
+    for (HostAddress host : hosts) {
+      long responseTime = statistics.getResponseTime(host);
+      if (responseTime > 0 && (fastest < 0 || responseTime < fastest)) {
+        fastest = responseTime;
+      }
+    }
+
+    ThreadLocalRandom random = ThreadLocalRandom.current();
+    Map<HostAddress, Double> fastKeys = new IdentityHashMap<>();
+    List<HostAddress> fast = new ArrayList<>();
+    List<HostAddress> slow = new ArrayList<>();
+    List<HostAddress> lagging = new ArrayList<>();
+
+    for (HostAddress host : hosts) {
+      long responseTime = statistics.getResponseTime(host);
+      if (options.maxReplicaLag > 0 && statistics.getReplicationLag(host) > options.maxReplicaLag) {
+        lagging.add(host);
+      } else if (fastest > 0 && responseTime > fastest * SLOW_FACTOR) {
+        slow.add(host);
+      } else {
+        // weighted random order : key = ln(u) / weight, weight relative to fastest host
+        double weight = responseTime > 0 ? (double) fastest / responseTime : 1d;
+        fastKeys.put(host, Math.log(random.nextDouble()) / weight);
+        fast.add(host);
+      }
+    }
+
+    fast.sort(Comparator.comparingDouble((HostAddress host) -> fastKeys.get(host)).reversed());
+    slow.sort(Comparator.comparingLong(statistics::getResponseTime));
+    lagging.sort(Comparator.comparingLong(statistics::getReplicationLag));
+
+    hosts.clear();
+    hosts.addAll(fast);
+    hosts.addAll(slow);
+    hosts.addAll(lagging);
+  }
+}
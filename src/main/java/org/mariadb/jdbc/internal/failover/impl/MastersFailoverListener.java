@@ -203,11 +203,11 @@ public class MastersFailoverListener extends AbstractMastersListener {
       List<HostAddress> loopAddress = new LinkedList<>(urlParser.getHostAddresses());
       if (HaMode.LOADBALANCE.equals(mode)) {
         // put the list in the following order
-        // - random order not connected host
+        // - not connected host, in host selection order
         // - random order blacklist host
         // - random order connected host
         loopAddress.removeAll(getBlacklistKeys());
-        Collections.shuffle(loopAddress);
+        orderHosts(loopAddress);
         List<HostAddress> blacklistShuffle = new LinkedList<>(getBlacklistKeys());
         blacklistShuffle.retainAll(urlParser.getHostAddresses());
         Collections.shuffle(blacklistShuffle);
@@ -60,6 +60,7 @@ import java.net.SocketException;
 import java.sql.SQLException;
 import java.sql.SQLNonTransientConnectionException;
 import java.util.*;
+import java.util.concurrent.Executor;
 import java.util.concurrent.TimeUnit;
 import java.util.concurrent.atomic.AtomicInteger;
 import org.mariadb.jdbc.HostAddress;
@@ -158,6 +159,28 @@ public class MastersSlavesListener extends AbstractMastersSlavesListener {
         TimeUnit.MINUTES);
   }
 
+  /**
+   * Executor used to connect to hosts concurrently when searching hosts.
+   *
+   * @return failover executor
+   */
+  public Executor getConnectionExecutor() {
+    return dynamicSizedScheduler;
+  }
+
+  /**
+   * Maximum number of hosts connected to concurrently when searching hosts. Connections are
+   * sequential when current thread holds connection lock, since connecting may require it.
+   *
+   * @return concurrency
+   */
+  public int getConnectConcurrency() {
+    if (proxy != null && proxy.lock.isHeldByCurrentThread()) {
+      return 1;
+    }
+    return urlParser.getOptions().failoverConnectConcurrency;
+  }
+
   protected void removeListenerFromSchedulers() {
     super.removeListenerFromSchedulers();
     FailoverLoop.removeListener(this);
@@ -193,6 +216,24 @@ public class MastersSlavesListener extends AbstractMastersSlavesListener {
 
   @Override
   public Object invoke(Method method, Object[] args) throws Throwable {
+    Protocol protocol;
+    try {
+      protocol = getExecutionProtocol();
+    } catch (SQLException e) {
+      throw new InvocationTargetException(e);
+    }
+    return method.invoke(protocol, args);
+  }
+
+  /**
+   * Protocol on which a proxied method has to be executed. If no master connection is available
+   * (possible with option "allowMasterDownConnection"), reconnection will be tried first.
+   *
+   * @return current protocol
+   * @throws SQLException if no master connection is available
+   */
+  @Override
+  public Protocol getExecutionProtocol() throws SQLException {
     if (currentProtocol == null) {
       // possible with option "allowMasterDownConnection" set and no master found.
       // must try to reconnect
@@ -203,11 +244,10 @@ public class MastersSlavesListener extends AbstractMastersSlavesListener {
       } catch (SQLException e) {
         // stop failover, since we will throw a connection exception that will close the connection.
         FailoverLoop.removeListener(this);
-        throw new InvocationTargetException(
-            new SQLNonTransientConnectionException(
-                "No master connection available (only read-only)\n"
-                    + "(Possible because option allowMasterDownConnection is set)",
-                CONNECTION_EXCEPTION.getSqlState()));
+        throw new SQLNonTransientConnectionException(
+            "No master connection available (only read-only)\n"
+                + "(Possible because option allowMasterDownConnection is set)",
+            CONNECTION_EXCEPTION.getSqlState());
       }
 
       if (!isMasterHostFail()) {
@@ -216,7 +256,7 @@ public class MastersSlavesListener extends AbstractMastersSlavesListener {
         try {
           syncConnection(this.secondaryProtocol, this.masterProtocol);
           currentProtocol = this.masterProtocol;
-          return method.invoke(currentProtocol, args);
+          return currentProtocol;
         } catch (SQLException e) {
           // switching to master connection failed
           if (setMasterHostFail()) {
@@ -224,13 +264,12 @@ public class MastersSlavesListener extends AbstractMastersSlavesListener {
           }
         }
       }
-      throw new InvocationTargetException(
-          new SQLNonTransientConnectionException(
-              "No master connection available (only read-only)\n"
-                  + "(Possible because option allowMasterDownConnection is set)",
-              CONNECTION_EXCEPTION.getSqlState()));
+      throw new SQLNonTransientConnectionException(
+          "No master connection available (only read-only)\n"
+              + "(Possible because option allowMasterDownConnection is set)",
+          CONNECTION_EXCEPTION.getSqlState());
     }
-    return method.invoke(currentProtocol, args);
+    return currentProtocol;
   }
 
   @Override
@@ -414,11 +453,11 @@ public class MastersSlavesListener extends AbstractMastersSlavesListener {
   public boolean isValid(int timeout) throws SQLException {
     if (currentProtocol != null) {
       if (currentProtocol.isMasterConnection()) {
-        boolean valid = currentProtocol.isValid(timeout);
+        boolean valid = isValid(currentProtocol, timeout);
         if (secondaryProtocol != null) {
           // ping secondary protocol too to avoid any server timeout
           try {
-            boolean secondValid = secondaryProtocol.isValid(timeout);
+            boolean secondValid = isValid(secondaryProtocol, timeout);
             if (!valid && urlParser.getOptions().allowMasterDownConnection && secondValid) {
               setMasterHostFail();
               return true;
@@ -429,11 +468,11 @@ public class MastersSlavesListener extends AbstractMastersSlavesListener {
         }
         return valid;
       } else {
-        boolean valid = currentProtocol.isValid(timeout);
+        boolean valid = isValid(currentProtocol, timeout);
         if (masterProtocol != null) {
           // ping secondary protocol too to avoid any server timeout
           try {
-            masterProtocol.isValid(timeout);
+            isValid(masterProtocol, timeout);
           } catch (SQLException sqle) {
             // eat
           }
@@ -506,12 +545,12 @@ public class MastersSlavesListener extends AbstractMastersSlavesListener {
     resetOldsBlackListHosts();
 
     // put the list in the following order
-    // - random order not blacklist and not connected host
+    // - not blacklist and not connected host, in host selection order
     // - random order blacklist host
     // - connected host
     List<HostAddress> loopAddress = new LinkedList<>(hostAddresses);
     loopAddress.removeAll(getBlacklistKeys());
-    Collections.shuffle(loopAddress);
+    orderHosts(loopAddress);
     List<HostAddress> blacklistShuffle = new LinkedList<>(getBlacklistKeys());
     blacklistShuffle.retainAll(hostAddresses);
     Collections.shuffle(blacklistShuffle);
@@ -911,7 +950,9 @@ public class MastersSlavesListener extends AbstractMastersSlavesListener {
    */
   private boolean pingSecondaryProtocol(Protocol protocol) {
     try {
+      long start = System.nanoTime();
       if (protocol != null && protocol.isConnected() && protocol.ping()) {
+        hostStatistics.recordResponseTime(protocol.getHostAddress(), System.nanoTime() - start);
         return true;
       }
     } catch (Exception e) {
@@ -948,7 +989,7 @@ public class MastersSlavesListener extends AbstractMastersSlavesListener {
     if (!isMasterHostFail()) {
       try {
         // check that master is on before switching to him
-        if (masterProtocol != null && masterProtocol.isValid(1000)) {
+        if (masterProtocol != null && isValid(masterProtocol, 1000)) {
           // switching to master connection
           syncConnection(secondaryProtocol, masterProtocol);
           proxy.lock.lock();
@@ -0,0 +1,49 @@
+/*
+ *
+ * MariaDB Client for Java
+ *
+ * Copyright (c) 2012-2014 Monty Program Ab.
+ * Copyright (c) 2015-2020 MariaDB Corporation Ab.
+ *
+ * This library is free software; you can redistribute it and/or modify it under
+ * the terms of the GNU Lesser General Public License as published by the Free
+ * Software Foundation; either version 2.1 of the License, or (at your option)
+ * any later version.
+ *
+ * This library is distributed in the hope that it will be useful, but
+ * WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE.  See the GNU Lesser General Public License
+ * for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License along
+ * with this library; if not, write to Monty Program Ab info@montyprogram.com.
+ *
+ */
+
+package org.mariadb.jdbc.internal.failover.impl;
+
+import java.util.Collections;
+import java.util.List;
+import org.mariadb.jdbc.HostAddress;
+import org.mariadb.jdbc.failover.HostSelectionPlugin;
+import org.mariadb.jdbc.failover.HostStatistics;
+import org.mariadb.jdbc.util.Options;
+
+/** Host selection in random order, without using statistics. */
+public class RandomHostSelectionPlugin implements HostSelectionPlugin {
+
+  @Override
+  public String name() {
+    return "random host selection";
+  }
+
+  @Override
+  public String type() {
+    return "random";
+  }
+
+  @Override
+  public void order(List<HostAddress> hosts, HostStatistics statistics, Options options) {
+    Collections.shuffle(hosts);
+  }
+}
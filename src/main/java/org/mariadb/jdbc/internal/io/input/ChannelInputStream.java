@@ -0,0 +1,195 @@
+/*
+ *
+ * MariaDB Client for Java
+ *
+ * Copyright (c) 2012-2014 Monty Program Ab.
+ * Copyright (c) 2015-2020 MariaDB Corporation Ab.
+ *
+ * This library is free software; you can redistribute it and/or modify it under
+ * the terms of the GNU Lesser General Public License as published by the Free
+ * Software Foundation; either version 2.1 of the License, or (at your option)
+ * any later version.
+ *
+ * This library is distributed in the hope that it will be useful, but
+ * WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE.  See the GNU Lesser General Public License
+ * for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License along
+ * with this library; if not, write to Monty Program Ab info@montyprogram.com.
+ *
+ */
+
+package org.mariadb.jdbc.internal.io.input;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.SocketException;
+import java.net.SocketTimeoutException;
+import java.nio.ByteBuffer;
+import java.nio.channels.ClosedSelectorException;
+import java.nio.channels.SelectionKey;
+import java.nio.channels.Selector;
+import java.nio.channels.SocketChannel;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Input stream reading a non-blocking socket channel into a pooled direct buffer. Compared to
+ * socket input stream, socket data is copied once into the direct buffer, without intermediate heap
+ * buffer.
+ *
+ * <p>Socket timeout (SO_TIMEOUT) is respected by waiting on a selector, since blocking channel
+ * reads ignore it.
+ */
+public class ChannelInputStream extends InputStream {
+
+  static final int BUFFER_SIZE = 65536;
+  private static final int MAX_POOLED_BUFFERS = 256;
+  private static final int CLOSED_CHECK_MILLIS = 1000;
+  private static final BlockingQueue<ByteBuffer> pool =
+      new ArrayBlockingQueue<>(MAX_POOLED_BUFFERS);
+
+  private static final int IDLE = 0;
+  private static final int READING = 1;
+  private static final int CLOSED = 2;
+
+  private final SocketChannel channel;
+  private final Selector selector;
+  private final AtomicInteger state = new AtomicInteger(IDLE);
+  private final ByteBuffer buffer;
+
+  /**
+   * Constructor.
+   *
+   * @param channel non-blocking socket channel
+   * @throws IOException if selector cannot be opened
+   */
+  public ChannelInputStream(SocketChannel channel) throws IOException {
+    this.channel = channel;
+    this.selector = Selector.open();
+    channel.register(selector, SelectionKey.OP_READ);
+    ByteBuffer pooled = pool.poll();
+    buffer = pooled != null ? pooled : ByteBuffer.allocateDirect(BUFFER_SIZE);
+    buffer.clear().flip();
+  }
+
+  @Override
+  public int read() throws IOException {
+    enter();
+    try {
+      if (!buffer.hasRemaining() && fill() < 0) {
+        return -1;
+      }
+      return buffer.get() & 0xff;
+    } finally {
+      exit();
+    }
+  }
+
+  @Override
+  public int read(byte[] externalBuf, int off, int len) throws IOException {
+    if (len == 0) {
+      return 0;
+    }
+    enter();
+    try {
+      if (!buffer.hasRemaining()) {
+        if (len >= BUFFER_SIZE) {
+          // big read : no need to use buffer
+          return readChannel(ByteBuffer.wrap(externalBuf, off, len));
+        }
+        if (fill() < 0) {
+          return -1;
+        }
+      }
+      int count = Math.min(len, buffer.remaining());
+      buffer.get(externalBuf, off, count);
+      return count;
+    } finally {
+      exit();
+    }
+  }
+
+  @Override
+  public int available() {
+    return state.get() == CLOSED ? 0 : buffer.remaining();
+  }
+
+  private int fill() throws IOException {
+    buffer.clear();
+    try {
+      return readChannel(buffer);
+    } finally {
+      // buffer stays empty if read timed out
+      buffer.flip();
+    }
+  }
+
+  private int readChannel(ByteBuffer dst) throws IOException {
+    int count;
+    while ((count = channel.read(dst)) == 0) {
+      waitReadable();
+    }
+    return count;
+  }
+
+  private void waitReadable() throws IOException {
+    int timeout = channel.socket().getSoTimeout();
+    long start = System.currentTimeMillis();
+    while (true) {
+      int wait = timeout == 0 ? CLOSED_CHECK_MILLIS : Math.min(timeout, CLOSED_CHECK_MILLIS);
+      int selected;
+      try {
+        selected = selector.select(wait);
+      } catch (ClosedSelectorException closed) {
+        throw new SocketException("Socket closed");
+      }
+      if (selected > 0) {
+        selector.selectedKeys().clear();
+        return;
+      }
+      if (!channel.isOpen()) {
+        throw new SocketException("Socket closed");
+      }
+      if (timeout > 0 && System.currentTimeMillis() - start >= timeout) {
+        throw new SocketTimeoutException("Read timed out");
+      }
+    }
+  }
+
+  private void enter() throws IOException {
+    if (!state.compareAndSet(IDLE, READING)) {
+      throw new SocketException("Socket closed");
+    }
+  }
+
+  private void exit() {
+    if (!state.compareAndSet(READING, IDLE)) {
+      // closed during read
+      release();
+    }
+  }
+
+  /**
+   * Close stream, releasing buffer. Channel is closed with socket. Buffer is returned to pool only
+   * when no read is in progress, a concurrent read releasing it when finished.
+   *
+   * @throws IOException if selector fail to close
+   */
+  @Override
+  public void close() throws IOException {
+    int previous = state.getAndSet(CLOSED);
+    if (previous == IDLE) {
+      release();
+    }
+    if (previous != CLOSED) {
+      selector.close();
+    }
+  }
+
+  private void release() {
+    pool.offer(buffer);
+  }
+}
@@ -72,16 +72,20 @@ public class DecompressPacketInputStream implements PacketInputStream {
 
   private static final int REUSABLE_BUFFER_LENGTH = 1024;
   private static final int MAX_PACKET_SIZE = 0xffffff;
+  private static final int MAX_REUSABLE_COMPRESSED_BUFFER_LENGTH = 1024 * 1024;
   private static final Logger logger = LoggerFactory.getLogger(DecompressPacketInputStream.class);
   private final byte[] header = new byte[7];
   private final byte[] reusableArray = new byte[REUSABLE_BUFFER_LENGTH];
   private final InputStream inputStream;
   private final int maxQuerySizeToLog;
+  private final Inflater inflater = new Inflater();
+  private byte[] compressedBuffer = new byte[REUSABLE_BUFFER_LENGTH];
   // compress packet can contain multiple standard packet
   private byte[] cacheData = new byte[0];
   private int cachePos;
   private int cacheEnd;
   private int packetSeq;
+  private int lastPacketLength;
   private int compressPacketSeq;
   private String serverThreadLog = "";
   private LruTraceCache traceCache = null;
@@ -109,6 +113,7 @@ public class DecompressPacketInputStream implements PacketInputStream {
 
     byte[] cachePacket = getNextCachePacket();
     if (cachePacket != null) {
+      lastPacketLength = cachePacket.length;
       return cachePacket;
     }
 
@@ -157,6 +162,7 @@ public class DecompressPacketInputStream implements PacketInputStream {
       cache(rawBytes, decompressedLength == 0 ? compressedLength : decompressedLength);
       byte[] packet = getNextCachePacket();
       if (packet != null) {
+        lastPacketLength = packet.length;
         return packet;
       }
 
@@ -167,14 +173,19 @@ public class DecompressPacketInputStream implements PacketInputStream {
       throws IOException {
     if (decompressedLength != 0) {
 
-      byte[] compressedBuffer = new byte[compressedLength];
+      byte[] compressed = compressedBuffer;
+      if (compressedLength > compressed.length) {
+        compressed = new byte[compressedLength];
+        if (compressedLength <= MAX_REUSABLE_COMPRESSED_BUFFER_LENGTH) {
+          compressedBuffer = compressed;
+        }
+      }
       // Read compress content
-      readBlocking(compressedBuffer, compressedLength);
+      readBlocking(compressed, compressedLength);
 
-      Inflater inflater = new Inflater();
-      inflater.setInput(compressedBuffer);
+      inflater.setInput(compressed, 0, compressedLength);
       try {
-        int actualUncompressBytes = inflater.inflate(arr);
+        int actualUncompressBytes = inflater.inflate(arr, 0, decompressedLength);
         if (actualUncompressBytes != decompressedLength) {
           throw new IOException(
               "Invalid exception length after decompression "
@@ -184,8 +195,9 @@ public class DecompressPacketInputStream implements PacketInputStream {
         }
       } catch (DataFormatException dfe) {
         throw new IOException(dfe);
+      } finally {
+        inflater.reset();
       }
-      inflater.end();
 
     } else {
       // Read standard content
@@ -295,6 +307,11 @@ public class DecompressPacketInputStream implements PacketInputStream {
     return null;
   }
 
+  @Override
+  public int getLastPacketLength() {
+    return lastPacketLength;
+  }
+
   @Override
   public int getLastPacketSeq() {
     return packetSeq;
@@ -307,7 +324,11 @@ public class DecompressPacketInputStream implements PacketInputStream {
 
   @Override
   public void close() throws IOException {
-    inputStream.close();
+    try {
+      inputStream.close();
+    } finally {
+      inflater.end();
+    }
   }
 
   /**
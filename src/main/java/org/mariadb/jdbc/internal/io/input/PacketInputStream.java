@@ -62,6 +62,70 @@ public interface PacketInputStream {
 
   byte[] getPacketArray(boolean reUsable) throws IOException;
 
+  /**
+   * Get next packet, permitting content of packets more than 16M to be read on demand. Default
+   * implementation read the whole packet.
+   *
+   * @return packet array, that may be only the first part of the packet if {@link
+   *     #hasRemainingPacketContent()}
+   * @throws IOException if socket exception occur.
+   */
+  default byte[] getStreamablePacketArray() throws IOException {
+    return getPacketArray(false);
+  }
+
+  /**
+   * Indicate if last packet returned by {@link #getStreamablePacketArray()} has content remaining
+   * to be read.
+   *
+   * @return true if content remains
+   */
+  default boolean hasRemainingPacketContent() {
+    return false;
+  }
+
+  /**
+   * Read remaining content of last packet.
+   *
+   * @param buf destination array
+   * @param off destination offset
+   * @param len maximum number of bytes to read
+   * @return number of bytes read, or -1 if packet content has been fully read.
+   * @throws IOException if socket exception occur.
+   */
+  default int readRemainingPacketContent(byte[] buf, int off, int len) throws IOException {
+    return -1;
+  }
+
+  /**
+   * Skip remaining content of last packet.
+   *
+   * @return number of bytes skipped
+   * @throws IOException if socket exception occur.
+   */
+  default long skipRemainingPacketContent() throws IOException {
+    return 0;
+  }
+
+  /**
+   * Read remaining content of last packet, returning whole packet content.
+   *
+   * @param head packet content already read
+   * @return whole packet content
+   * @throws IOException if socket exception occur.
+   */
+  default byte[] completePacketArray(byte[] head) throws IOException {
+    return head;
+  }
+
+  /**
+   * Length of last packet read, since array returned by {@link #getPacketArray(boolean)} when
+   * reusable can be bigger than packet.
+   *
+   * @return last packet length
+   */
+  int getLastPacketLength();
+
   int getLastPacketSeq();
 
   int getCompressLastPacketSeq();
@@ -72,6 +72,7 @@ public class StandardPacketInputStream implements PacketInputStream {
 
   private static final int REUSABLE_BUFFER_LENGTH = 1024;
   private static final int MAX_PACKET_SIZE = 0xffffff;
+  private static final int MAX_ARRAY_SIZE = Integer.MAX_VALUE - 8;
   private static final Logger logger = LoggerFactory.getLogger(StandardPacketInputStream.class);
   private final byte[] header = new byte[4];
   private final byte[] reusableArray = new byte[REUSABLE_BUFFER_LENGTH];
@@ -80,6 +81,8 @@ public class StandardPacketInputStream implements PacketInputStream {
   private final int maxQuerySizeToLog;
   private int packetSeq;
   private int lastPacketLength;
+  private boolean moreContent;
+  private int contentRemaining;
   private String serverThreadLog = "";
   private long threadId;
   private LruTraceCache traceCache = null;
@@ -92,10 +95,15 @@ public class StandardPacketInputStream implements PacketInputStream {
    * @param threadId thread id
    */
   public StandardPacketInputStream(InputStream in, Options options, long threadId) {
-    inputStream =
-        options.useReadAheadInput
-            ? new ReadAheadBufferedStream(in)
-            : new BufferedInputStream(in, 16384);
+    if (in instanceof ChannelInputStream) {
+      // already buffered
+      inputStream = in;
+    } else {
+      inputStream =
+          options.useReadAheadInput
+              ? new ReadAheadBufferedStream(in)
+              : new BufferedInputStream(in, 16384);
+    }
     this.maxQuerySizeToLog = options.maxQuerySizeToLog;
     this.threadId = threadId;
   }
@@ -237,24 +245,39 @@ public class StandardPacketInputStream implements PacketInputStream {
    * @throws IOException if socket exception occur.
    */
   public byte[] getPacketArray(boolean reUsable) throws IOException {
+    byte[] rawBytes = readPacket(reUsable);
 
     // ***************************************************
-    // Read 4 byte header
+    // In case content length is big, content will be separate in many 16Mb packets
     // ***************************************************
-    int remaining = 4;
-    int off = 0;
-    do {
-      int count = inputStream.read(header, off, remaining);
-      if (count < 0) {
-        throw new EOFException(
-            "unexpected end of stream, read "
-                + off
-                + " bytes from 4 (socket was closed by server)");
-      }
-      remaining -= count;
-      off += count;
-    } while (remaining > 0);
+    if (hasRemainingPacketContent()) {
+      rawBytes = completePacketArray(rawBytes);
+    }
+    return rawBytes;
+  }
+
+  /**
+   * Get next packet. If packet is more than 16M, only first 16M packet is read, remaining content
+   * being available using {@link #readRemainingPacketContent(byte[], int, int)} or {@link
+   * #completePacketArray(byte[])}.
+   *
+   * @return first packet array
+   * @throws IOException if socket exception occur.
+   */
+  @Override
+  public byte[] getStreamablePacketArray() throws IOException {
+    return readPacket(false);
+  }
 
+  private byte[] readPacket(boolean reUsable) throws IOException {
+    if (hasRemainingPacketContent()) {
+      throw new IOException("previous packet has not been fully read");
+    }
+
+    // ***************************************************
+    // Read 4 byte header
+    // ***************************************************
+    readHeader();
     lastPacketLength = (header[0] & 0xff) + ((header[1] & 0xff) << 8) + ((header[2] & 0xff) << 16);
     packetSeq = header[3];
 
@@ -269,22 +292,48 @@ public class StandardPacketInputStream implements PacketInputStream {
     // ***************************************************
     // Read content
     // ***************************************************
-    remaining = lastPacketLength;
-    off = 0;
+    readFully(rawBytes, 0, lastPacketLength);
+    logPacket(rawBytes, 0, lastPacketLength);
+
+    moreContent = lastPacketLength == MAX_PACKET_SIZE;
+    return rawBytes;
+  }
+
+  private void readHeader() throws IOException {
+    int remaining = 4;
+    int off = 0;
     do {
+      int count = inputStream.read(header, off, remaining);
+      if (count < 0) {
+        throw new EOFException(
+            "unexpected end of stream, read "
+                + off
+                + " bytes from 4 (socket was closed by server)");
+      }
+      remaining -= count;
+      off += count;
+    } while (remaining > 0);
+  }
+
+  private void readFully(byte[] rawBytes, int offset, int length) throws IOException {
+    int remaining = length;
+    int off = offset;
+    while (remaining > 0) {
       int count = inputStream.read(rawBytes, off, remaining);
       if (count < 0) {
         throw new EOFException(
             "unexpected end of stream, read "
-                + (lastPacketLength - remaining)
+                + (length - remaining)
                 + " bytes from "
-                + lastPacketLength
+                + length
                 + " (socket was closed by server)");
       }
       remaining -= count;
       off += count;
-    } while (remaining > 0);
+    }
+  }
 
+  private void logPacket(byte[] rawBytes, int offset, int length) {
     if (traceCache != null) {
       traceCache.put(
           new TraceObject(
@@ -292,82 +341,104 @@ public class StandardPacketInputStream implements PacketInputStream {
               NOT_COMPRESSED,
               threadId,
               Arrays.copyOfRange(header, 0, 4),
-              Arrays.copyOfRange(rawBytes, 0, off > 1000 ? 1000 : off)));
+              Arrays.copyOfRange(rawBytes, offset, offset + Math.min(length, 1000))));
     }
 
     if (logger.isTraceEnabled()) {
       logger.trace(
           "read: {}{}",
           serverThreadLog,
-          Utils.hexdump(maxQuerySizeToLog - 4, 0, lastPacketLength, header, rawBytes));
+          Utils.hexdump(maxQuerySizeToLog - 4, offset, length, header, rawBytes));
     }
+  }
 
-    // ***************************************************
-    // In case content length is big, content will be separate in many 16Mb packets
-    // ***************************************************
-    if (lastPacketLength == MAX_PACKET_SIZE) {
-      int packetLength;
-      do {
-        remaining = 4;
-        off = 0;
-        do {
-          int count = inputStream.read(header, off, remaining);
-          if (count < 0) {
-            throw new EOFException("unexpected end of stream, read " + off + " bytes from 4");
-          }
-          remaining -= count;
-          off += count;
-        } while (remaining > 0);
-
-        packetLength = (header[0] & 0xff) + ((header[1] & 0xff) << 8) + ((header[2] & 0xff) << 16);
-        packetSeq = header[3];
-
-        int currentBufferLength = rawBytes.length;
-        byte[] newRawBytes = new byte[currentBufferLength + packetLength];
-        System.arraycopy(rawBytes, 0, newRawBytes, 0, currentBufferLength);
-        rawBytes = newRawBytes;
-
-        // ***************************************************
-        // Read content
-        // ***************************************************
-        remaining = packetLength;
-        off = currentBufferLength;
-        do {
-          int count = inputStream.read(rawBytes, off, remaining);
-          if (count < 0) {
-            throw new EOFException(
-                "unexpected end of stream, read "
-                    + (packetLength - remaining)
-                    + " bytes from "
-                    + packetLength);
-          }
-          remaining -= count;
-          off += count;
-        } while (remaining > 0);
-
-        if (traceCache != null) {
-          traceCache.put(
-              new TraceObject(
-                  false,
-                  NOT_COMPRESSED,
-                  threadId,
-                  Arrays.copyOfRange(header, 0, 4),
-                  Arrays.copyOfRange(rawBytes, 0, off > 1000 ? 1000 : off)));
-        }
+  /**
+   * Read next 16M packet header continuing current packet, if any.
+   *
+   * @return true if there is content to read
+   * @throws IOException if socket exception occur.
+   */
+  private boolean nextContinuationPacket() throws IOException {
+    while (contentRemaining == 0) {
+      if (!moreContent) {
+        return false;
+      }
+      readHeader();
+      int packetLength =
+          (header[0] & 0xff) + ((header[1] & 0xff) << 8) + ((header[2] & 0xff) << 16);
+      packetSeq = header[3];
+      lastPacketLength += packetLength;
+      contentRemaining = packetLength;
+      moreContent = packetLength == MAX_PACKET_SIZE;
+    }
+    return true;
+  }
 
-        if (logger.isTraceEnabled()) {
-          logger.trace(
-              "read: {}{}",
-              serverThreadLog,
-              Utils.hexdump(
-                  maxQuerySizeToLog - 4, currentBufferLength, packetLength, header, rawBytes));
-        }
+  @Override
+  public boolean hasRemainingPacketContent() {
+    return moreContent || contentRemaining > 0;
+  }
 
-        lastPacketLength += packetLength;
-      } while (packetLength == MAX_PACKET_SIZE);
+  @Override
+  public int readRemainingPacketContent(byte[] buf, int off, int len) throws IOException {
+    if (len == 0) {
+      return 0;
+    }
+    if (!nextContinuationPacket()) {
+      return -1;
     }
+    int count = inputStream.read(buf, off, Math.min(len, contentRemaining));
+    if (count < 0) {
+      throw new EOFException(
+          "unexpected end of stream, "
+              + contentRemaining
+              + " remaining bytes of packet (socket was closed by server)");
+    }
+    contentRemaining -= count;
+    return count;
+  }
 
-    return rawBytes;
+  @Override
+  public long skipRemainingPacketContent() throws IOException {
+    long skipped = 0;
+    int count;
+    while ((count = readRemainingPacketContent(reusableArray, 0, REUSABLE_BUFFER_LENGTH)) > 0) {
+      skipped += count;
+    }
+    return skipped;
+  }
+
+  @Override
+  public byte[] completePacketArray(byte[] head) throws IOException {
+    byte[] rawBytes = head;
+    int length = head.length;
+    while (nextContinuationPacket()) {
+      int packetLength = contentRemaining;
+      if (length + packetLength > rawBytes.length) {
+        // grow geometrically, not to copy content each time a 16M packet is read
+        long newCapacity = Math.max((long) length + packetLength, (long) rawBytes.length << 1);
+        if (newCapacity > MAX_ARRAY_SIZE) {
+          if ((long) length + packetLength > MAX_ARRAY_SIZE) {
+            throw new IOException(
+                "packet is too big to be loaded in memory (more than "
+                    + MAX_ARRAY_SIZE
+                    + " bytes). Use streaming to read it");
+          }
+          newCapacity = MAX_ARRAY_SIZE;
+        }
+        rawBytes = Arrays.copyOf(rawBytes, (int) newCapacity);
+      }
+      readFully(rawBytes, length, packetLength);
+      contentRemaining = 0;
+      logPacket(rawBytes, length, packetLength);
+      length += packetLength;
+    }
+    return length == rawBytes.length ? rawBytes : Arrays.copyOf(rawBytes, length);
+  }
+
+  @Override
+  public int getLastPacketLength() {
+    return lastPacketLength;
   }
 
   @Override
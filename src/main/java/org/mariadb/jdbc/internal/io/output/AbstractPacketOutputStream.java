@@ -199,6 +199,43 @@ public abstract class AbstractPacketOutputStream extends FilterOutputStream
     }
   }
 
+  /**
+   * Send LOAD DATA LOCAL INFILE content.
+   *
+   * <p>Each packet is a distinct command, so packets must stay smaller than max packet length
+   * (content would else be read by server as a single packet with the next one) and smaller than
+   * max_allowed_packet. Content is read directly in packet buffer.
+   *
+   * @param seqNo sequence number of first packet
+   * @param is file content
+   * @throws IOException if any error occur reading content or writing to socket
+   */
+  public void writeLocalInfile(int seqNo, InputStream is) throws IOException {
+    final int packetLength = Math.max(SMALL_BUFFER_SIZE, getMaxPacketLength() - 16);
+    int len;
+    do {
+      startLocalInfilePacket(seqNo++, packetLength);
+      int limit = pos + packetLength;
+      while (pos < limit && (len = is.read(buf, pos, limit - pos)) != -1) {
+        pos += len;
+      }
+      len = pos - initialPacketPos();
+      if (len > 0) {
+        flush();
+      }
+    } while (len == packetLength);
+    writeEmptyPacket();
+    out.flush();
+  }
+
+  private void startLocalInfilePacket(int seqNo, int packetLength) {
+    startPacket(seqNo);
+    // buffer might have been reduced by flush
+    if (buf.length < pos + packetLength) {
+      buf = new byte[pos + packetLength];
+    }
+  }
+
   public boolean checkRemainingSize(int len) {
     return getMaxPacketLength() - pos > len;
   }
@@ -0,0 +1,96 @@
+/*
+ *
+ * MariaDB Client for Java
+ *
+ * Copyright (c) 2012-2014 Monty Program Ab.
+ * Copyright (c) 2015-2020 MariaDB Corporation Ab.
+ *
+ * This library is free software; you can redistribute it and/or modify it under
+ * the terms of the GNU Lesser General Public License as published by the Free
+ * Software Foundation; either version 2.1 of the License, or (at your option)
+ * any later version.
+ *
+ * This library is distributed in the hope that it will be useful, but
+ * WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE.  See the GNU Lesser General Public License
+ * for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License along
+ * with this library; if not, write to Monty Program Ab info@montyprogram.com.
+ *
+ */
+
+package org.mariadb.jdbc.internal.io.output;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.SocketException;
+import java.nio.ByteBuffer;
+import java.nio.channels.ClosedSelectorException;
+import java.nio.channels.SelectionKey;
+import java.nio.channels.Selector;
+import java.nio.channels.SocketChannel;
+
+/**
+ * Output stream writing to a non-blocking socket channel. Like socket output stream, writes are not
+ * buffered (packet output streams send a whole packet in one write) and wait until data is sent.
+ */
+public class ChannelOutputStream extends OutputStream {
+
+  private static final int CLOSED_CHECK_MILLIS = 1000;
+
+  private final SocketChannel channel;
+  private final Selector selector;
+  private final byte[] single = new byte[1];
+
+  /**
+   * Constructor.
+   *
+   * @param channel non-blocking socket channel
+   * @throws IOException if selector cannot be opened
+   */
+  public ChannelOutputStream(SocketChannel channel) throws IOException {
+    this.channel = channel;
+    this.selector = Selector.open();
+    channel.register(selector, SelectionKey.OP_WRITE);
+  }
+
+  @Override
+  public void write(int value) throws IOException {
+    single[0] = (byte) value;
+    write(single, 0, 1);
+  }
+
+  @Override
+  public void write(byte[] buf, int off, int len) throws IOException {
+    ByteBuffer src = ByteBuffer.wrap(buf, off, len);
+    while (src.hasRemaining()) {
+      if (channel.write(src) == 0) {
+        waitWritable();
+      }
+    }
+  }
+
+  private void waitWritable() throws IOException {
+    try {
+      while (selector.select(CLOSED_CHECK_MILLIS) == 0) {
+        if (!channel.isOpen()) {
+          throw new SocketException("Socket closed");
+        }
+      }
+      selector.selectedKeys().clear();
+    } catch (ClosedSelectorException closed) {
+      throw new SocketException("Socket closed");
+    }
+  }
+
+  /**
+   * Close stream. Channel is closed with socket.
+   *
+   * @throws IOException if selector fail to close
+   */
+  @Override
+  public void close() throws IOException {
+    selector.close();
+  }
+}
@@ -55,11 +55,10 @@ package org.mariadb.jdbc.internal.io.output;
 import static org.mariadb.jdbc.internal.io.TraceObject.COMPRESSED_PROTOCOL_COMPRESSED_PACKET;
 import static org.mariadb.jdbc.internal.io.TraceObject.COMPRESSED_PROTOCOL_NOT_COMPRESSED_PACKET;
 
-import java.io.ByteArrayOutputStream;
 import java.io.IOException;
 import java.io.OutputStream;
 import java.util.Arrays;
-import java.util.zip.DeflaterOutputStream;
+import java.util.zip.Deflater;
 import org.mariadb.jdbc.internal.io.TraceObject;
 import org.mariadb.jdbc.internal.logging.Logger;
 import org.mariadb.jdbc.internal.logging.LoggerFactory;
@@ -73,15 +72,45 @@ public class CompressPacketOutputStream extends AbstractPacketOutputStream {
   private static final byte[] EMPTY_ARRAY = new byte[0];
   private static final int MIN_COMPRESSION_SIZE = 100;
   private static final float MIN_COMPRESSION_RATIO = 0.9f;
+  private static final int COMPRESS_BUFFER_LENGTH = 8192;
+  private static final int MAX_REUSABLE_COMPRESS_BUFFER_LENGTH = 1024 * 1024;
+  private static final int ADAPTIVE_PROBE_INTERVAL = 32;
+  private static final float RATIO_ALPHA = 0.25f;
   private final byte[] header = new byte[7];
   private final byte[] subHeader = new byte[4];
   private int maxPacketLength = MAX_PACKET_LENGTH;
   private int compressSeqNo;
   private byte[] remainingData = new byte[0];
   private boolean lastPacketExactMaxPacketLength = false;
+  private final Deflater deflater;
+  private final boolean adaptiveCompression;
+  private byte[] compressBuf = new byte[COMPRESS_BUFFER_LENGTH];
+  private int compressPos;
+  private float compressionRatio;
+  private int skippedPackets;
 
   public CompressPacketOutputStream(OutputStream out, int maxQuerySizeToLog, long threadId) {
+    this(out, maxQuerySizeToLog, threadId, Deflater.DEFAULT_COMPRESSION, false);
+  }
+
+  /**
+   * Constructor.
+   *
+   * @param out socket output stream
+   * @param maxQuerySizeToLog maximum query size to log
+   * @param threadId server thread id
+   * @param compressionLevel deflate compression level, -1 (default) or 0 to 9
+   * @param adaptiveCompression stop compressing while recent packets don't compress well
+   */
+  public CompressPacketOutputStream(
+      OutputStream out,
+      int maxQuerySizeToLog,
+      long threadId,
+      int compressionLevel,
+      boolean adaptiveCompression) {
     super(out, maxQuerySizeToLog, threadId);
+    this.deflater = new Deflater(Math.min(compressionLevel, Deflater.BEST_COMPRESSION));
+    this.adaptiveCompression = adaptiveCompression;
   }
 
   public int getMaxPacketLength() {
@@ -94,6 +123,11 @@ public class CompressPacketOutputStream extends AbstractPacketOutputStream {
     maxPacketLength = Math.min(MAX_PACKET_LENGTH, maxAllowedPacket + 7);
   }
 
+  @Override
+  public int getNextSeqNo() {
+    return compressSeqNo;
+  }
+
   @Override
   public void startPacket(int compressSeqNo) {
     this.compressSeqNo = compressSeqNo;
@@ -146,190 +180,85 @@ public class CompressPacketOutputStream extends AbstractPacketOutputStream {
    */
   protected void flushBuffer(boolean commandEnd) throws IOException {
     if (pos > 0) {
-      if (pos + remainingData.length > MIN_COMPRESSION_SIZE) {
-
-        byte[] compressedBytes;
-        int uncompressSize = Math.min(MAX_PACKET_LENGTH, remainingData.length + 4 + pos);
-        checkMaxAllowedLength(uncompressSize);
-
-        try (ByteArrayOutputStream baos = new ByteArrayOutputStream()) {
-          try (DeflaterOutputStream deflater = new DeflaterOutputStream(baos)) {
-            if (remainingData.length != 0) {
-              deflater.write(remainingData);
-            }
-            subHeader[0] = (byte) pos;
-            subHeader[1] = (byte) (pos >>> 8);
-            subHeader[2] = (byte) (pos >>> 16);
-            subHeader[3] = (byte) this.seqNo++;
-            deflater.write(subHeader, 0, 4);
-            deflater.write(buf, 0, uncompressSize - (remainingData.length + 4));
-            deflater.finish();
-          }
-
-          compressedBytes = baos.toByteArray();
-
-          if (compressedBytes.length < (int) (MIN_COMPRESSION_RATIO * pos)) {
-            int compressedLength = compressedBytes.length;
-
-            header[0] = (byte) compressedLength;
-            header[1] = (byte) (compressedLength >>> 8);
-            header[2] = (byte) (compressedLength >>> 16);
-            header[3] = (byte) this.compressSeqNo++;
-            header[4] = (byte) uncompressSize;
-            header[5] = (byte) (uncompressSize >>> 8);
-            header[6] = (byte) (uncompressSize >>> 16);
-            out.write(header, 0, 7);
-            out.write(compressedBytes, 0, compressedLength);
-            cmdLength += uncompressSize;
-
-            if (traceCache != null) {
-              // trace last packets
-              if (remainingData.length != 0) {
-                traceCache.put(
-                    new TraceObject(
-                        true,
-                        COMPRESSED_PROTOCOL_COMPRESSED_PACKET,
-                        threadId,
-                        Arrays.copyOfRange(header, 0, 7),
-                        Arrays.copyOfRange(remainingData, 0, remainingData.length),
-                        Arrays.copyOfRange(subHeader, 0, 4),
-                        Arrays.copyOfRange(
-                            buf,
-                            0,
-                            (uncompressSize > 1000 ? 1000 : uncompressSize)
-                                - (remainingData.length + 4))));
-              } else {
-                traceCache.put(
-                    new TraceObject(
-                        true,
-                        COMPRESSED_PROTOCOL_COMPRESSED_PACKET,
-                        threadId,
-                        Arrays.copyOfRange(header, 0, 7),
-                        Arrays.copyOfRange(subHeader, 0, 4),
-                        Arrays.copyOfRange(
-                            buf,
-                            0,
-                            (uncompressSize > 1000 ? 1000 : uncompressSize)
-                                - (remainingData.length + 4))));
-              }
-            }
-
-            if (logger.isTraceEnabled()) {
-              if (remainingData.length != 0) {
-                logger.trace(
-                    "send compress: {}{}",
-                    serverThreadLog,
-                    Utils.hexdump(
-                        maxQuerySizeToLog - (remainingData.length + 11),
-                        0,
-                        compressedLength,
-                        header,
-                        remainingData,
-                        subHeader,
-                        buf));
-              } else {
-                logger.trace(
-                    "send compress: {}{}",
-                    serverThreadLog,
-                    Utils.hexdump(
-                        maxQuerySizeToLog - 11, 0, compressedLength, header, subHeader, buf));
-              }
-            }
-            if (pos + remainingData.length + 4 - uncompressSize > 0) {
-              remainingData =
-                  Arrays.copyOfRange(buf, uncompressSize - (remainingData.length + 4), pos);
-            } else {
-              remainingData = EMPTY_ARRAY;
-            }
-
-            // if last packet fill the max size, must send an empty packet to indicate command end.
-            lastPacketExactMaxPacketLength = pos == MAX_PACKET_LENGTH;
-            if (commandEnd && lastPacketExactMaxPacketLength) {
-              writeEmptyPacket();
-            }
-            pos = 0;
-            return;
-          }
-        }
-      }
-
       int uncompressSize = Math.min(MAX_PACKET_LENGTH, remainingData.length + 4 + pos);
       checkMaxAllowedLength(uncompressSize);
       cmdLength += uncompressSize;
 
-      // send packet without compression
-      header[0] = (byte) uncompressSize;
-      header[1] = (byte) (uncompressSize >>> 8);
-      header[2] = (byte) (uncompressSize >>> 16);
-      header[3] = (byte) this.compressSeqNo++;
-      header[4] = (byte) 0x00;
-      header[5] = (byte) 0x00;
-      header[6] = (byte) 0x00;
-      out.write(header, 0, 7);
-
-      cmdLength += uncompressSize;
-
-      if (remainingData.length != 0) {
-        out.write(remainingData);
-      }
       subHeader[0] = (byte) pos;
       subHeader[1] = (byte) (pos >>> 8);
       subHeader[2] = (byte) (pos >>> 16);
       subHeader[3] = (byte) this.seqNo++;
-      out.write(subHeader, 0, 4);
-      out.write(buf, 0, uncompressSize - (remainingData.length + 4));
-      cmdLength += remainingData.length;
+
+      int compressedLength = -1;
+      if (pos + remainingData.length > MIN_COMPRESSION_SIZE && mustCompress()) {
+        compressedLength =
+            compress(uncompressSize, subHeader, uncompressSize - (remainingData.length + 4));
+      }
+
+      if (compressedLength >= 0) {
+        writeHeader(compressedLength, uncompressSize);
+        out.write(compressBuf, 0, 7 + compressedLength);
+      } else {
+        // send packet without compression
+        writeHeader(uncompressSize, 0);
+        out.write(header, 0, 7);
+        if (remainingData.length != 0) {
+          out.write(remainingData);
+        }
+        out.write(subHeader, 0, 4);
+        out.write(buf, 0, uncompressSize - (remainingData.length + 4));
+        cmdLength += remainingData.length;
+      }
 
       if (traceCache != null) {
         // trace last packets
+        int traceLength = (uncompressSize > 1000 ? 1000 : uncompressSize);
         if (remainingData.length != 0) {
           traceCache.put(
               new TraceObject(
                   true,
-                  COMPRESSED_PROTOCOL_NOT_COMPRESSED_PACKET,
+                  compressedLength >= 0
+                      ? COMPRESSED_PROTOCOL_COMPRESSED_PACKET
+                      : COMPRESSED_PROTOCOL_NOT_COMPRESSED_PACKET,
                   threadId,
                   Arrays.copyOfRange(header, 0, 7),
                   Arrays.copyOfRange(remainingData, 0, remainingData.length),
                   Arrays.copyOfRange(subHeader, 0, 4),
-                  Arrays.copyOfRange(
-                      buf,
-                      0,
-                      (uncompressSize > 1000 ? 1000 : uncompressSize)
-                          - (remainingData.length + 4))));
+                  Arrays.copyOfRange(buf, 0, traceLength - (remainingData.length + 4))));
         } else {
           traceCache.put(
               new TraceObject(
                   true,
-                  COMPRESSED_PROTOCOL_NOT_COMPRESSED_PACKET,
+                  compressedLength >= 0
+                      ? COMPRESSED_PROTOCOL_COMPRESSED_PACKET
+                      : COMPRESSED_PROTOCOL_NOT_COMPRESSED_PACKET,
                   threadId,
                   Arrays.copyOfRange(header, 0, 7),
                   Arrays.copyOfRange(subHeader, 0, 4),
-                  Arrays.copyOfRange(
-                      buf,
-                      0,
-                      (uncompressSize > 1000 ? 1000 : uncompressSize)
-                          - (remainingData.length + 4))));
+                  Arrays.copyOfRange(buf, 0, traceLength - (remainingData.length + 4))));
         }
       }
 
       if (logger.isTraceEnabled()) {
+        String type = compressedLength >= 0 ? "send compress: {}{}" : "send uncompress: {}{}";
+        int logLength = compressedLength >= 0 ? compressedLength : pos;
         if (remainingData.length != 0) {
           logger.trace(
-              "send uncompress: {}{}",
+              type,
               serverThreadLog,
               Utils.hexdump(
                   maxQuerySizeToLog - (remainingData.length + 11),
                   0,
-                  pos,
+                  logLength,
                   header,
                   remainingData,
                   subHeader,
                   buf));
         } else {
           logger.trace(
-              "send uncompress: {}{}",
+              type,
               serverThreadLog,
-              Utils.hexdump(maxQuerySizeToLog - 11, 0, pos, header, subHeader, buf));
+              Utils.hexdump(maxQuerySizeToLog - 11, 0, logLength, header, subHeader, buf));
         }
       }
 
@@ -341,106 +270,157 @@ public class CompressPacketOutputStream extends AbstractPacketOutputStream {
 
       // if last packet fill the max size, must send an empty packet to indicate command end.
       lastPacketExactMaxPacketLength = pos == MAX_PACKET_LENGTH;
+      if (compressedLength >= 0 && commandEnd && lastPacketExactMaxPacketLength) {
+        writeEmptyPacket();
+      }
       pos = 0;
+      releaseCompressBuffer();
+      if (compressedLength >= 0) {
+        return;
+      }
     }
 
     if (remainingData.length > 0) {
-      if (remainingData.length > MIN_COMPRESSION_SIZE) {
-
-        byte[] compressedBytes;
-        int uncompressSize = Math.min(MAX_PACKET_LENGTH, remainingData.length);
-        checkMaxAllowedLength(uncompressSize);
-        cmdLength += uncompressSize;
-        try (ByteArrayOutputStream baos = new ByteArrayOutputStream()) {
-          try (DeflaterOutputStream deflater = new DeflaterOutputStream(baos)) {
-            deflater.write(remainingData);
-            deflater.finish();
-          }
-          compressedBytes = baos.toByteArray();
-          remainingData = EMPTY_ARRAY;
-        }
-
-        if (compressedBytes.length < (int) (MIN_COMPRESSION_RATIO * pos)) {
-          int compressedLength = compressedBytes.length;
-
-          header[0] = (byte) compressedLength;
-          header[1] = (byte) (compressedLength >>> 8);
-          header[2] = (byte) (compressedLength >>> 16);
-          header[3] = (byte) this.compressSeqNo++;
-          header[4] = (byte) uncompressSize;
-          header[5] = (byte) (uncompressSize >>> 8);
-          header[6] = (byte) (uncompressSize >>> 16);
-          out.write(header, 0, 7);
-          out.write(compressedBytes, 0, compressedLength);
-
-          if (traceCache != null) {
-            traceCache.put(
-                new TraceObject(
-                    true,
-                    COMPRESSED_PROTOCOL_COMPRESSED_PACKET,
-                    threadId,
-                    Arrays.copyOfRange(header, 0, 7),
-                    Arrays.copyOfRange(
-                        remainingData, 0, (uncompressSize > 1000 ? 1000 : uncompressSize))));
-          }
-
-          if (logger.isTraceEnabled()) {
-            logger.trace(
-                "send compress: {}{}",
-                serverThreadLog,
-                Utils.hexdump(maxQuerySizeToLog - 7, 0, uncompressSize, header, remainingData));
-          }
-
-          // if last packet fill the max size, must send an empty packet to indicate command end.
-          if (commandEnd && lastPacketExactMaxPacketLength) {
-            writeEmptyPacket();
-          }
-          return;
-        }
-      }
-
       int uncompressSize = Math.min(MAX_PACKET_LENGTH, remainingData.length);
       checkMaxAllowedLength(uncompressSize);
       cmdLength += uncompressSize;
 
-      // send packet without compression
-      header[0] = (byte) uncompressSize;
-      header[1] = (byte) (uncompressSize >>> 8);
-      header[2] = (byte) (uncompressSize >>> 16);
-      header[3] = (byte) this.compressSeqNo++;
-      header[4] = (byte) 0x00;
-      header[5] = (byte) 0x00;
-      header[6] = (byte) 0x00;
-      out.write(header, 0, 7);
-
-      out.write(remainingData);
-      remainingData = EMPTY_ARRAY;
+      int compressedLength = -1;
+      if (remainingData.length > MIN_COMPRESSION_SIZE && mustCompress()) {
+        compressedLength = compress(uncompressSize, null, 0);
+      }
+
+      if (compressedLength >= 0) {
+        writeHeader(compressedLength, uncompressSize);
+        out.write(compressBuf, 0, 7 + compressedLength);
+      } else {
+        // send packet without compression
+        writeHeader(uncompressSize, 0);
+        out.write(header, 0, 7);
+        out.write(remainingData);
+      }
 
       if (traceCache != null) {
         traceCache.put(
             new TraceObject(
                 true,
-                COMPRESSED_PROTOCOL_NOT_COMPRESSED_PACKET,
+                compressedLength >= 0
+                    ? COMPRESSED_PROTOCOL_COMPRESSED_PACKET
+                    : COMPRESSED_PROTOCOL_NOT_COMPRESSED_PACKET,
                 threadId,
                 Arrays.copyOfRange(header, 0, 7),
                 Arrays.copyOfRange(
-                    remainingData,
-                    0,
-                    (remainingData.length > 1000 ? 1000 : remainingData.length))));
+                    remainingData, 0, (uncompressSize > 1000 ? 1000 : uncompressSize))));
       }
 
       if (logger.isTraceEnabled()) {
         logger.trace(
-            "send uncompress: {}{}",
+            compressedLength >= 0 ? "send compress: {}{}" : "send uncompress: {}{}",
             serverThreadLog,
-            Utils.hexdump(maxQuerySizeToLog - 7, 0, remainingData.length, header, remainingData));
+            Utils.hexdump(maxQuerySizeToLog - 7, 0, uncompressSize, header, remainingData));
       }
+      remainingData = EMPTY_ARRAY;
+      releaseCompressBuffer();
+
+      // if last packet fill the max size, must send an empty packet to indicate command end.
       if (commandEnd && lastPacketExactMaxPacketLength) {
         writeEmptyPacket();
       }
     }
   }
 
+  private void writeHeader(int length, int uncompressSize) {
+    header[0] = (byte) length;
+    header[1] = (byte) (length >>> 8);
+    header[2] = (byte) (length >>> 16);
+    header[3] = (byte) this.compressSeqNo++;
+    header[4] = (byte) uncompressSize;
+    header[5] = (byte) (uncompressSize >>> 8);
+    header[6] = (byte) (uncompressSize >>> 16);
+    System.arraycopy(header, 0, compressBuf, 0, 7);
+  }
+
+  /**
+   * Indicate if packet must be compressed. With adaptive compression, when recent packets didn't
+   * compress well, only one packet every ADAPTIVE_PROBE_INTERVAL is compressed, to detect when data
+   * becomes compressible again.
+   *
+   * @return true if compression must be tried
+   */
+  private boolean mustCompress() {
+    if (!adaptiveCompression || compressionRatio < MIN_COMPRESSION_RATIO) {
+      return true;
+    }
+    return ++skippedPackets % ADAPTIVE_PROBE_INTERVAL == 0;
+  }
+
+  /**
+   * Compress remaining data, sub header and buffer into compressBuf, after a 7 bytes header space.
+   * Compression stops as soon as compressed data exceeds MIN_COMPRESSION_RATIO of the uncompressed
+   * size.
+   *
+   * @param uncompressSize uncompressed size
+   * @param subHeaderBytes standard packet header, null if none
+   * @param bufLength length of buffer to compress
+   * @return compressed length, -1 if data doesn't compress enough.
+   */
+  private int compress(int uncompressSize, byte[] subHeaderBytes, int bufLength) {
+    int limit = (int) (MIN_COMPRESSION_RATIO * uncompressSize);
+    compressPos = 7;
+    try {
+      if (deflate(remainingData, remainingData.length, limit)
+          && (subHeaderBytes == null || deflate(subHeaderBytes, 4, limit))
+          && deflate(buf, bufLength, limit)) {
+        deflater.finish();
+        while (!deflater.finished()) {
+          if (!deflateChunk(limit)) {
+            recordRatio(1f);
+            return -1;
+          }
+        }
+        int compressedLength = compressPos - 7;
+        recordRatio((float) compressedLength / uncompressSize);
+        return compressedLength;
+      }
+      recordRatio(1f);
+      return -1;
+    } finally {
+      deflater.reset();
+    }
+  }
+
+  private boolean deflate(byte[] data, int length, int limit) {
+    if (length > 0) {
+      deflater.setInput(data, 0, length);
+      while (!deflater.needsInput()) {
+        if (!deflateChunk(limit)) {
+          return false;
+        }
+      }
+    }
+    return true;
+  }
+
+  private boolean deflateChunk(int limit) {
+    if (compressPos == compressBuf.length) {
+      compressBuf = Arrays.copyOf(compressBuf, compressBuf.length * 2);
+    }
+    compressPos += deflater.deflate(compressBuf, compressPos, compressBuf.length - compressPos);
+    return compressPos - 7 < limit;
+  }
+
+  private void recordRatio(float ratio) {
+    if (adaptiveCompression) {
+      compressionRatio += RATIO_ALPHA * (ratio - compressionRatio);
+    }
+  }
+
+  private void releaseCompressBuffer() {
+    if (compressBuf.length > MAX_REUSABLE_COMPRESS_BUFFER_LENGTH) {
+      compressBuf = new byte[COMPRESS_BUFFER_LENGTH];
+    }
+  }
+
   /**
    * Write an empty packet.
    *
@@ -474,4 +454,13 @@ public class CompressPacketOutputStream extends AbstractPacketOutputStream {
           "send uncompress:{}{}", serverThreadLog, Utils.hexdump(maxQuerySizeToLog, 0, 11, buf));
     }
   }
+
+  @Override
+  public void close() throws IOException {
+    try {
+      super.close();
+    } finally {
+      deflater.end();
+    }
+  }
 }
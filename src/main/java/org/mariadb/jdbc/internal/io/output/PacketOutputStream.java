@@ -80,6 +80,16 @@ public interface PacketOutputStream {
 
   void write(InputStream is, boolean escape, boolean noBackslashEscapes) throws IOException;
 
+  /**
+   * Send LOAD DATA LOCAL INFILE content, using packets as big as max_allowed_packet permits,
+   * followed by the ending empty packet.
+   *
+   * @param seqNo sequence number of first packet
+   * @param is file content
+   * @throws IOException if any error occur reading content or writing to socket
+   */
+  void writeLocalInfile(int seqNo, InputStream is) throws IOException;
+
   void write(InputStream is, long length, boolean escape, boolean noBackslashEscapes)
       throws IOException;
 
@@ -112,6 +122,14 @@ public interface PacketOutputStream {
 
   int getMaxAllowedPacket();
 
+  /**
+   * Sequence number of next packet, taking into account packets already sent for current command,
+   * for commands that send multiple distinct packets (LOAD DATA LOCAL INFILE).
+   *
+   * @return next sequence number
+   */
+  int getNextSeqNo();
+
   void setMaxAllowedPacket(int maxAllowedPacket);
 
   void permitTrace(boolean permitTrace);
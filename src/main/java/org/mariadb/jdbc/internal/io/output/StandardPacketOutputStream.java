@@ -78,6 +78,11 @@ public class StandardPacketOutputStream extends AbstractPacketOutputStream {
     return maxPacketLength;
   }
 
+  @Override
+  public int getNextSeqNo() {
+    return seqNo;
+  }
+
   @Override
   public void startPacket(int seqNo) {
     this.seqNo = seqNo;
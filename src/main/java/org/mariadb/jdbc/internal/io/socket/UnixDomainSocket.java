@@ -54,6 +54,7 @@ package org.mariadb.jdbc.internal.io.socket;
 
 import com.sun.jna.LastErrorException;
 import com.sun.jna.Native;
+import com.sun.jna.NativeLong;
 import com.sun.jna.Platform;
 import com.sun.jna.Structure;
 import java.io.IOException;
@@ -61,6 +62,9 @@ import java.io.InputStream;
 import java.io.OutputStream;
 import java.net.Socket;
 import java.net.SocketAddress;
+import java.net.SocketException;
+import java.net.SocketTimeoutException;
+import java.nio.ByteBuffer;
 import java.util.Arrays;
 import java.util.concurrent.atomic.AtomicBoolean;
 
@@ -69,6 +73,12 @@ public class UnixDomainSocket extends Socket {
   private static final int AF_UNIX = 1;
   private static final int SOCK_STREAM = Platform.isSolaris() ? 2 : 1;
   private static final int PROTOCOL = 0;
+  private static final int SOL_SOCKET = Platform.isLinux() ? 1 : 0xffff;
+  private static final int SO_RCVTIMEO = Platform.isLinux() ? 20 : 0x1006;
+  private static final int SO_SNDTIMEO = Platform.isLinux() ? 21 : 0x1005;
+  private static final int EINTR = 4;
+  private static final int EAGAIN = 11;
+  private static final int EAGAIN_BSD = 35;
 
   static {
     if (Platform.isSolaris()) {
@@ -86,6 +96,7 @@ public class UnixDomainSocket extends Socket {
   private InputStream is;
   private OutputStream os;
   private boolean connected;
+  private int soTimeout;
 
   public UnixDomainSocket(String path) throws IOException {
     if (Platform.isWindows() || Platform.isWindowsCE()) {
@@ -111,6 +122,15 @@ public class UnixDomainSocket extends Socket {
   public static native int send(int fd, byte[] buffer, int count, int flags)
       throws LastErrorException;
 
+  public static native int recv(int fd, ByteBuffer buffer, int count, int flags)
+      throws LastErrorException;
+
+  public static native int send(int fd, ByteBuffer buffer, int count, int flags)
+      throws LastErrorException;
+
+  public static native int setsockopt(int fd, int level, int optname, Timeval optval, int optlen)
+      throws LastErrorException;
+
   public static native int close(int fd) throws LastErrorException;
 
   public static native String strerror(int errno);
@@ -123,6 +143,11 @@ public class UnixDomainSocket extends Socket {
     }
   }
 
+  private static boolean isTimeout(LastErrorException lee) {
+    int errno = lee.getErrorCode();
+    return errno == EAGAIN || (errno == EAGAIN_BSD && !Platform.isLinux());
+  }
+
   @Override
   public boolean isConnected() {
     return connected;
@@ -187,8 +212,31 @@ public class UnixDomainSocket extends Socket {
     // do nothing
   }
 
-  public void setSoTimeout(int timeout) {
-    // do nothing
+  /**
+   * Set receive and send timeout. Native recv/send then fail with EAGAIN when timeout is reached,
+   * reported as {@link SocketTimeoutException}.
+   *
+   * @param timeout timeout in milliseconds, 0 meaning infinite
+   * @throws SocketException if native setsockopt fails
+   */
+  @Override
+  public void setSoTimeout(int timeout) throws SocketException {
+    if (timeout < 0) {
+      throw new IllegalArgumentException("timeout can't be negative");
+    }
+    Timeval timeval = new Timeval(timeout);
+    try {
+      setsockopt(fd, SOL_SOCKET, SO_RCVTIMEO, timeval, timeval.size());
+      setsockopt(fd, SOL_SOCKET, SO_SNDTIMEO, timeval, timeval.size());
+    } catch (LastErrorException lee) {
+      throw new SocketException("native setsockopt() failed : " + formatError(lee));
+    }
+    soTimeout = timeout;
+  }
+
+  @Override
+  public int getSoTimeout() {
+    return soTimeout;
   }
 
   public void shutdownInput() {
@@ -223,42 +271,63 @@ public class UnixDomainSocket extends Socket {
     }
   }
 
+  public static class Timeval extends Structure {
+
+    public NativeLong tv_sec;
+    public NativeLong tv_usec;
+
+    /**
+     * Constructor.
+     *
+     * @param millis timeout in milliseconds
+     */
+    public Timeval(int millis) {
+      tv_sec = new NativeLong(millis / 1000);
+      tv_usec = new NativeLong((millis % 1000) * 1000L);
+      allocateMemory();
+      write();
+    }
+
+    @Override
+    protected java.util.List<String> getFieldOrder() {
+      return Arrays.asList("tv_sec", "tv_usec");
+    }
+  }
+
   class UnixSocketInputStream extends InputStream {
 
+    private final byte[] single = new byte[1];
+
     @Override
     public int read(byte[] bytesEntry, int off, int len) throws IOException {
-      try {
-        if (off > 0) {
-          int bytes = 0;
-          int remainingLength = len;
-          int size;
-          byte[] data = new byte[(len < 10240) ? len : 10240];
-          do {
-            size = recv(fd, data, (remainingLength < 10240) ? remainingLength : 10240, 0);
-            if (size > 0) {
-              System.arraycopy(data, 0, bytesEntry, off, size);
-              bytes += size;
-              off += size;
-              remainingLength -= size;
-            }
-          } while ((remainingLength > 0) && (size > 0));
-          return bytes;
-        } else {
-          return recv(fd, bytesEntry, len, 0);
+      if (len == 0) {
+        return 0;
+      }
+      // buffer wraps array without copy, native call receiving directly at position
+      ByteBuffer dst = ByteBuffer.wrap(bytesEntry, off, len);
+      while (true) {
+        try {
+          int size = recv(fd, dst, len, 0);
+          return size == 0 ? -1 : size;
+        } catch (LastErrorException lee) {
+          if (lee.getErrorCode() == EINTR) {
+            continue;
+          }
+          if (isTimeout(lee)) {
+            throw new SocketTimeoutException("Read timed out");
+          }
+          throw new IOException("native read() failed : " + formatError(lee));
         }
-      } catch (LastErrorException lee) {
-        throw new IOException("native read() failed : " + formatError(lee));
       }
     }
 
     @Override
     public int read() throws IOException {
-      byte[] bytes = new byte[1];
-      int bytesRead = read(bytes);
-      if (bytesRead == 0) {
+      int bytesRead = read(single, 0, 1);
+      if (bytesRead <= 0) {
         return -1;
       }
-      return bytes[0] & 0xff;
+      return single[0] & 0xff;
     }
 
     @Override
@@ -271,30 +340,23 @@ public class UnixDomainSocket extends Socket {
 
     @Override
     public void write(byte[] bytesEntry, int off, int len) throws IOException {
-      int bytes;
-      try {
-        if (off > 0) {
-          int size;
-          int remainingLength = len;
-          byte[] data = new byte[(len < 10240) ? len : 10240];
-          do {
-            size = (remainingLength < 10240) ? remainingLength : 10240;
-            System.arraycopy(bytesEntry, off, data, 0, size);
-            bytes = send(fd, data, size, 0);
-            if (bytes > 0) {
-              off += bytes;
-              remainingLength -= bytes;
-            }
-          } while ((remainingLength > 0) && (bytes > 0));
-        } else {
-          bytes = send(fd, bytesEntry, len, 0);
-        }
-
-        if (bytes != len) {
-          throw new IOException("can't write " + len + "bytes");
+      ByteBuffer src = ByteBuffer.wrap(bytesEntry, off, len);
+      while (src.hasRemaining()) {
+        try {
+          int bytes = send(fd, src, src.remaining(), 0);
+          if (bytes <= 0) {
+            throw new IOException("can't write " + len + " bytes");
+          }
+          src.position(src.position() + bytes);
+        } catch (LastErrorException lee) {
+          if (lee.getErrorCode() == EINTR) {
+            continue;
+          }
+          if (isTimeout(lee)) {
+            throw new SocketTimeoutException("Write timed out");
+          }
+          throw new IOException("native write() failed : " + formatError(lee));
         }
-      } catch (LastErrorException lee) {
-        throw new IOException("native write() failed : " + formatError(lee));
       }
     }
 
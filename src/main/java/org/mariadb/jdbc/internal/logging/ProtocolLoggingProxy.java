@@ -52,21 +52,42 @@
 
 package org.mariadb.jdbc.internal.logging;
 
-import java.lang.reflect.InvocationHandler;
-import java.lang.reflect.InvocationTargetException;
-import java.lang.reflect.Method;
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.Socket;
+import java.net.SocketException;
 import java.nio.charset.Charset;
+import java.sql.SQLException;
+import java.sql.SQLTimeoutException;
 import java.text.DecimalFormat;
 import java.text.NumberFormat;
 import java.util.List;
+import java.util.TimeZone;
+import java.util.concurrent.FutureTask;
+import java.util.concurrent.locks.ReentrantLock;
+import org.mariadb.jdbc.HostAddress;
+import org.mariadb.jdbc.LocalInfileRowProducer;
+import org.mariadb.jdbc.MariaDbConnection;
+import org.mariadb.jdbc.MariaDbStatement;
+import org.mariadb.jdbc.UrlParser;
+import org.mariadb.jdbc.internal.com.read.dao.Results;
+import org.mariadb.jdbc.internal.com.send.parameters.ParameterBatch;
 import org.mariadb.jdbc.internal.com.send.parameters.ParameterHolder;
+import org.mariadb.jdbc.internal.failover.FailoverProxy;
+import org.mariadb.jdbc.internal.io.input.PacketInputStream;
+import org.mariadb.jdbc.internal.io.output.PacketOutputStream;
 import org.mariadb.jdbc.internal.protocol.Protocol;
+import org.mariadb.jdbc.internal.util.ServerPrepareStatementCache;
 import org.mariadb.jdbc.internal.util.dao.ClientPrepareResult;
 import org.mariadb.jdbc.internal.util.dao.PrepareResult;
 import org.mariadb.jdbc.internal.util.dao.ServerPrepareResult;
 import org.mariadb.jdbc.util.Options;
 
-public class ProtocolLoggingProxy implements InvocationHandler {
+/**
+ * Protocol wrapper that log queries (option profileSql) or slow queries (option
+ * slowQueryThresholdNanos). Calls are directly delegated to the wrapped protocol.
+ */
+public class ProtocolLoggingProxy implements Protocol {
 
   private static final Logger logger = LoggerFactory.getLogger(ProtocolLoggingProxy.class);
   private final NumberFormat numberFormat;
@@ -76,9 +97,9 @@ public class ProtocolLoggingProxy implements InvocationHandler {
   private final Protocol protocol;
 
   /**
-   * Constructor. Will create a proxy around protocol to log queries.
+   * Constructor. Will create a wrapper around protocol to log queries.
    *
-   * @param protocol protocol to proxy
+   * @param protocol protocol to wrap
    * @param options options
    */
   public ProtocolLoggingProxy(Protocol protocol, Options options) {
@@ -89,115 +110,638 @@ public class ProtocolLoggingProxy implements InvocationHandler {
     this.numberFormat = DecimalFormat.getInstance();
   }
 
+  /**
+   * Must query be logged.
+   *
+   * @param startTime query start time in nanoseconds
+   * @return true if query must be logged
+   */
+  private boolean mustLog(long startTime) {
+    return logger.isInfoEnabled()
+        && (profileSql
+            || (slowQueryThresholdNanos != null
+                && System.nanoTime() - startTime > slowQueryThresholdNanos));
+  }
+
+  private void log(long startTime, String sql) {
+    logger.info(
+        "conn={}({}) - {} ms - Query: {}",
+        protocol.getServerThreadId(),
+        protocol.isMasterConnection() ? "M" : "S",
+        numberFormat.format(((double) System.nanoTime() - startTime) / 1000000),
+        subQuery(sql));
+  }
+
   @Override
-  public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
-    try {
-
-      switch (method.getName()) {
-        case "executeQuery":
-        case "executePreparedQuery":
-        case "executeBatchStmt":
-        case "executeBatchClient":
-        case "executeBatchServer":
-          final long startTime = System.nanoTime();
-          Object returnObj = method.invoke(protocol, args);
-          if (logger.isInfoEnabled()
-              && (profileSql
-                  || (slowQueryThresholdNanos != null
-                      && System.nanoTime() - startTime > slowQueryThresholdNanos))) {
-
-            String sql = logQuery(method.getName(), args);
-            logger.info(
-                "conn={}({}) - {} ms - Query: {}",
-                protocol.getServerThreadId(),
-                protocol.isMasterConnection() ? "M" : "S",
-                numberFormat.format(((double) System.nanoTime() - startTime) / 1000000),
-                subQuery(sql));
-          }
-          return returnObj;
+  public void executeQuery(String sql) throws SQLException {
+    final long startTime = System.nanoTime();
+    protocol.executeQuery(sql);
+    if (mustLog(startTime)) {
+      log(startTime, sql);
+    }
+  }
 
-        default:
-          return method.invoke(protocol, args);
-      }
+  @Override
+  public void startPipeline() {
+    protocol.startPipeline();
+  }
+
+  @Override
+  public void endPipeline() throws SQLException {
+    protocol.endPipeline();
+  }
 
-    } catch (InvocationTargetException e) {
-      throw e.getCause();
+  @Override
+  public void executeQuery(boolean mustExecuteOnMaster, Results results, final String sql)
+      throws SQLException {
+    final long startTime = System.nanoTime();
+    protocol.executeQuery(mustExecuteOnMaster, results, sql);
+    if (mustLog(startTime)) {
+      log(startTime, sql);
     }
   }
 
-  @SuppressWarnings("unchecked")
-  private String logQuery(String methodName, Object[] args) {
-    switch (methodName) {
-      case "executeQuery":
-        switch (args.length) {
-          case 1:
-            return (String) args[0];
-          case 3:
-            return (String) args[2];
-          case 4:
-          case 5:
-            if (args[3] instanceof Charset) {
-              return (String) args[2];
-            }
-            ClientPrepareResult clientPrepareResult = (ClientPrepareResult) args[2];
-            return getQueryFromPrepareParameters(
-                clientPrepareResult,
-                (ParameterHolder[]) args[3],
-                clientPrepareResult.getParamCount());
-          default:
-            // no default
-        }
-        break;
+  @Override
+  public void executeQuery(
+      boolean mustExecuteOnMaster, Results results, final String sql, Charset charset)
+      throws SQLException {
+    final long startTime = System.nanoTime();
+    protocol.executeQuery(mustExecuteOnMaster, results, sql, charset);
+    if (mustLog(startTime)) {
+      log(startTime, sql);
+    }
+  }
 
-      case "executeBatchClient":
-        ClientPrepareResult clientPrepareResult = (ClientPrepareResult) args[2];
-        return getQueryFromPrepareParameters(
-            clientPrepareResult.getSql(),
-            (List<ParameterHolder[]>) args[3],
-            clientPrepareResult.getParamCount());
-
-      case "executeBatchStmt":
-        List<String> multipleQueries = (List<String>) args[2];
-        if (multipleQueries.size() == 1) {
-          return multipleQueries.get(0);
-        } else {
-          StringBuilder sb = new StringBuilder();
-          for (String multipleQuery : multipleQueries) {
-            if (maxQuerySizeToLog > 0
-                && (sb.length() + multipleQuery.length() + 1) > maxQuerySizeToLog) {
-              sb.append(multipleQuery, 1, Math.max(1, maxQuerySizeToLog - sb.length()));
-              break;
-            }
-            sb.append(multipleQuery).append(";");
-            if (maxQuerySizeToLog > 0 && sb.length() >= maxQuerySizeToLog) {
-              break;
-            }
-          }
-          return sb.toString();
-        }
+  @Override
+  public void executeQuery(
+      boolean mustExecuteOnMaster,
+      Results results,
+      final ClientPrepareResult clientPrepareResult,
+      ParameterHolder[] parameters)
+      throws SQLException {
+    final long startTime = System.nanoTime();
+    protocol.executeQuery(mustExecuteOnMaster, results, clientPrepareResult, parameters);
+    if (mustLog(startTime)) {
+      log(
+          startTime,
+          getQueryFromPrepareParameters(
+              clientPrepareResult, parameters, clientPrepareResult.getParamCount()));
+    }
+  }
 
-      case "executeBatchServer":
-        List<ParameterHolder[]> parameterList = (List<ParameterHolder[]>) args[4];
-        ServerPrepareResult serverPrepareResult = (ServerPrepareResult) args[1];
-        return getQueryFromPrepareParameters(
-            serverPrepareResult.getSql(), parameterList, serverPrepareResult.getParamCount());
-
-      case "executePreparedQuery":
-        ServerPrepareResult prepareResult = (ServerPrepareResult) args[1];
-        if (args[3] instanceof ParameterHolder[]) {
-          return getQueryFromPrepareParameters(
-              prepareResult, (ParameterHolder[]) args[3], prepareResult.getParamCount());
-        } else {
-          return getQueryFromPrepareParameters(
-              prepareResult.getSql(),
-              (List<ParameterHolder[]>) args[3],
-              prepareResult.getParameters().length);
-        }
+  @Override
+  public void executeQuery(
+      boolean mustExecuteOnMaster,
+      Results results,
+      final ClientPrepareResult clientPrepareResult,
+      ParameterHolder[] parameters,
+      int timeout)
+      throws SQLException {
+    final long startTime = System.nanoTime();
+    protocol.executeQuery(mustExecuteOnMaster, results, clientPrepareResult, parameters, timeout);
+    if (mustLog(startTime)) {
+      log(
+          startTime,
+          getQueryFromPrepareParameters(
+              clientPrepareResult, parameters, clientPrepareResult.getParamCount()));
+    }
+  }
+
+  @Override
+  public SQLException[] executePipelineQueries(
+      boolean mustExecuteOnMaster, Results[] results, final String[] queries) throws SQLException {
+    final long startTime = System.nanoTime();
+    SQLException[] exceptions =
+        protocol.executePipelineQueries(mustExecuteOnMaster, results, queries);
+    if (mustLog(startTime)) {
+      for (String sql : queries) {
+        log(startTime, sql);
+      }
+    }
+    return exceptions;
+  }
 
-      default:
-        // no default
+  @Override
+  public boolean executeBatchClient(
+      boolean mustExecuteOnMaster,
+      Results results,
+      final ClientPrepareResult prepareResult,
+      final ParameterBatch parametersList,
+      boolean hasLongData,
+      int queryTimeout)
+      throws SQLException {
+    final long startTime = System.nanoTime();
+    boolean returnValue =
+        protocol.executeBatchClient(
+            mustExecuteOnMaster, results, prepareResult, parametersList, hasLongData, queryTimeout);
+    if (mustLog(startTime)) {
+      log(
+          startTime,
+          getQueryFromPrepareParameters(
+              prepareResult.getSql(), parametersList, prepareResult.getParamCount()));
     }
-    return "-unknown-";
+    return returnValue;
+  }
+
+  @Override
+  public void executeBatchStmt(
+      boolean mustExecuteOnMaster, Results results, final List<String> queries)
+      throws SQLException {
+    final long startTime = System.nanoTime();
+    protocol.executeBatchStmt(mustExecuteOnMaster, results, queries);
+    if (mustLog(startTime)) {
+      log(startTime, getQueryFromMultipleQueries(queries));
+    }
+  }
+
+  @Override
+  public void executePreparedQuery(
+      boolean mustExecuteOnMaster,
+      ServerPrepareResult serverPrepareResult,
+      Results results,
+      ParameterHolder[] parameters)
+      throws SQLException {
+    final long startTime = System.nanoTime();
+    protocol.executePreparedQuery(mustExecuteOnMaster, serverPrepareResult, results, parameters);
+    if (mustLog(startTime)) {
+      log(
+          startTime,
+          getQueryFromPrepareParameters(
+              serverPrepareResult, parameters, serverPrepareResult.getParamCount()));
+    }
+  }
+
+  @Override
+  public boolean executeBatchServer(
+      boolean mustExecuteOnMaster,
+      ServerPrepareResult serverPrepareResult,
+      Results results,
+      String sql,
+      ParameterBatch parameterList,
+      boolean hasLongData)
+      throws SQLException {
+    final long startTime = System.nanoTime();
+    boolean returnValue =
+        protocol.executeBatchServer(
+            mustExecuteOnMaster, serverPrepareResult, results, sql, parameterList, hasLongData);
+    if (mustLog(startTime)) {
+      log(
+          startTime,
+          getQueryFromPrepareParameters(
+              serverPrepareResult.getSql(), parameterList, serverPrepareResult.getParamCount()));
+    }
+    return returnValue;
+  }
+
+  @Override
+  public ServerPrepareResult prepare(String sql, boolean executeOnMaster) throws SQLException {
+    return protocol.prepare(sql, executeOnMaster);
+  }
+
+  @Override
+  public boolean getAutocommit() throws SQLException {
+    return protocol.getAutocommit();
+  }
+
+  @Override
+  public boolean noBackslashEscapes() {
+    return protocol.noBackslashEscapes();
+  }
+
+  @Override
+  public void connect() throws SQLException {
+    protocol.connect();
+  }
+
+  @Override
+  public UrlParser getUrlParser() {
+    return protocol.getUrlParser();
+  }
+
+  @Override
+  public boolean inTransaction() {
+    return protocol.inTransaction();
+  }
+
+  @Override
+  public FailoverProxy getProxy() {
+    return protocol.getProxy();
+  }
+
+  @Override
+  public void setProxy(FailoverProxy proxy) {
+    protocol.setProxy(proxy);
+  }
+
+  @Override
+  public Options getOptions() {
+    return protocol.getOptions();
+  }
+
+  @Override
+  public boolean hasMoreResults() {
+    return protocol.hasMoreResults();
+  }
+
+  @Override
+  public void close() {
+    protocol.close();
+  }
+
+  @Override
+  public void abort() {
+    protocol.abort();
+  }
+
+  @Override
+  public void reset() throws SQLException {
+    protocol.reset();
+  }
+
+  @Override
+  public void closeExplicit() {
+    protocol.closeExplicit();
+  }
+
+  @Override
+  public boolean isClosed() {
+    return protocol.isClosed();
+  }
+
+  @Override
+  public void resetDatabase() throws SQLException {
+    protocol.resetDatabase();
+  }
+
+  @Override
+  public String getCatalog() throws SQLException {
+    return protocol.getCatalog();
+  }
+
+  @Override
+  public void setCatalog(String database) throws SQLException {
+    protocol.setCatalog(database);
+  }
+
+  @Override
+  public String getServerVersion() {
+    return protocol.getServerVersion();
+  }
+
+  @Override
+  public boolean isConnected() {
+    return protocol.isConnected();
+  }
+
+  @Override
+  public boolean getReadonly() throws SQLException {
+    return protocol.getReadonly();
+  }
+
+  @Override
+  public void setReadonly(boolean readOnly) throws SQLException {
+    protocol.setReadonly(readOnly);
+  }
+
+  @Override
+  public boolean isMasterConnection() {
+    return protocol.isMasterConnection();
+  }
+
+  @Override
+  public boolean mustBeMasterConnection() {
+    return protocol.mustBeMasterConnection();
+  }
+
+  @Override
+  public HostAddress getHostAddress() {
+    return protocol.getHostAddress();
+  }
+
+  @Override
+  public void setHostAddress(HostAddress hostAddress) {
+    protocol.setHostAddress(hostAddress);
+  }
+
+  @Override
+  public String getHost() {
+    return protocol.getHost();
+  }
+
+  @Override
+  public int getPort() {
+    return protocol.getPort();
+  }
+
+  @Override
+  public void rollback() throws SQLException {
+    protocol.rollback();
+  }
+
+  @Override
+  public String getDatabase() {
+    return protocol.getDatabase();
+  }
+
+  @Override
+  public String getUsername() {
+    return protocol.getUsername();
+  }
+
+  @Override
+  public boolean ping() throws SQLException {
+    return protocol.ping();
+  }
+
+  @Override
+  public boolean isValid(int timeout) throws SQLException {
+    return protocol.isValid(timeout);
+  }
+
+  @Override
+  public void getResult(Results results) throws SQLException {
+    protocol.getResult(results);
+  }
+
+  @Override
+  public void cancelCurrentQuery() throws SQLException {
+    protocol.cancelCurrentQuery();
+  }
+
+  @Override
+  public void interrupt() {
+    protocol.interrupt();
+  }
+
+  @Override
+  public void skip() throws SQLException {
+    protocol.skip();
+  }
+
+  @Override
+  public boolean checkIfMaster() throws SQLException {
+    return protocol.checkIfMaster();
+  }
+
+  @Override
+  public boolean hasWarnings() {
+    return protocol.hasWarnings();
+  }
+
+  @Override
+  public long getMaxRows() {
+    return protocol.getMaxRows();
+  }
+
+  @Override
+  public void setMaxRows(long max) throws SQLException {
+    protocol.setMaxRows(max);
+  }
+
+  @Override
+  public int getMajorServerVersion() {
+    return protocol.getMajorServerVersion();
+  }
+
+  @Override
+  public int getMinorServerVersion() {
+    return protocol.getMinorServerVersion();
+  }
+
+  @Override
+  public boolean versionGreaterOrEqual(int major, int minor, int patch) {
+    return protocol.versionGreaterOrEqual(major, minor, patch);
+  }
+
+  @Override
+  public void setLocalInfileInputStream(InputStream inputStream) {
+    protocol.setLocalInfileInputStream(inputStream);
+  }
+
+  @Override
+  public void setLocalInfileRows(LocalInfileRowProducer producer) {
+    protocol.setLocalInfileRows(producer);
+  }
+
+  @Override
+  public int getTimeout() {
+    return protocol.getTimeout();
+  }
+
+  @Override
+  public void setTimeout(int timeout) throws SocketException {
+    protocol.setTimeout(timeout);
+  }
+
+  @Override
+  public boolean getPinGlobalTxToPhysicalConnection() {
+    return protocol.getPinGlobalTxToPhysicalConnection();
+  }
+
+  @Override
+  public long getServerThreadId() {
+    return protocol.getServerThreadId();
+  }
+
+  @Override
+  public Socket getSocket() {
+    return protocol.getSocket();
+  }
+
+  @Override
+  public void setTransactionIsolation(int level) throws SQLException {
+    protocol.setTransactionIsolation(level);
+  }
+
+  @Override
+  public int getTransactionIsolationLevel() {
+    return protocol.getTransactionIsolationLevel();
+  }
+
+  @Override
+  public boolean isExplicitClosed() {
+    return protocol.isExplicitClosed();
+  }
+
+  @Override
+  public void connectWithoutProxy() throws SQLException {
+    protocol.connectWithoutProxy();
+  }
+
+  @Override
+  public boolean shouldReconnectWithoutProxy() {
+    return protocol.shouldReconnectWithoutProxy();
+  }
+
+  @Override
+  public void setHostFailedWithoutProxy() {
+    protocol.setHostFailedWithoutProxy();
+  }
+
+  @Override
+  public void releasePrepareStatement(ServerPrepareResult serverPrepareResult) throws SQLException {
+    protocol.releasePrepareStatement(serverPrepareResult);
+  }
+
+  @Override
+  public boolean forceReleasePrepareStatement(int statementId) throws SQLException {
+    return protocol.forceReleasePrepareStatement(statementId);
+  }
+
+  @Override
+  public void forceReleaseWaitingPrepareStatement() throws SQLException {
+    protocol.forceReleaseWaitingPrepareStatement();
+  }
+
+  @Override
+  public ServerPrepareStatementCache prepareStatementCache() {
+    return protocol.prepareStatementCache();
+  }
+
+  @Override
+  public TimeZone getTimeZone() {
+    return protocol.getTimeZone();
+  }
+
+  @Override
+  public void prolog(
+      long maxRows, boolean hasProxy, MariaDbConnection connection, MariaDbStatement statement)
+      throws SQLException {
+    protocol.prolog(maxRows, hasProxy, connection, statement);
+  }
+
+  @Override
+  public void prologProxy(
+      ServerPrepareResult serverPrepareResult,
+      long maxRows,
+      boolean hasProxy,
+      MariaDbConnection connection,
+      MariaDbStatement statement)
+      throws SQLException {
+    protocol.prologProxy(serverPrepareResult, maxRows, hasProxy, connection, statement);
+  }
+
+  @Override
+  public Results getActiveStreamingResult() {
+    return protocol.getActiveStreamingResult();
+  }
+
+  @Override
+  public void setActiveStreamingResult(Results mariaSelectResultSet) {
+    protocol.setActiveStreamingResult(mariaSelectResultSet);
+  }
+
+  @Override
+  public ReentrantLock getLock() {
+    return protocol.getLock();
+  }
+
+  @Override
+  public void setServerStatus(short serverStatus) {
+    protocol.setServerStatus(serverStatus);
+  }
+
+  @Override
+  public void removeHasMoreResults() {
+    protocol.removeHasMoreResults();
+  }
+
+  @Override
+  public void setHasWarnings(boolean hasWarnings) {
+    protocol.setHasWarnings(hasWarnings);
+  }
+
+  @Override
+  public ServerPrepareResult addPrepareInCache(
+      String key, ServerPrepareResult serverPrepareResult) {
+    return protocol.addPrepareInCache(key, serverPrepareResult);
+  }
+
+  @Override
+  public void readEofPacket() throws SQLException, IOException {
+    protocol.readEofPacket();
+  }
+
+  @Override
+  public void skipEofPacket() throws SQLException, IOException {
+    protocol.skipEofPacket();
+  }
+
+  @Override
+  public void changeSocketTcpNoDelay(boolean setTcpNoDelay) {
+    protocol.changeSocketTcpNoDelay(setTcpNoDelay);
+  }
+
+  @Override
+  public void changeSocketSoTimeout(int setSoTimeout) throws SocketException {
+    protocol.changeSocketSoTimeout(setSoTimeout);
+  }
+
+  @Override
+  public void removeActiveStreamingResult() {
+    protocol.removeActiveStreamingResult();
+  }
+
+  @Override
+  public void resetStateAfterFailover(
+      long maxRows, int transactionIsolationLevel, String database, boolean autocommit)
+      throws SQLException {
+    protocol.resetStateAfterFailover(maxRows, transactionIsolationLevel, database, autocommit);
+  }
+
+  @Override
+  public void setActiveFutureTask(FutureTask activeFutureTask) {
+    protocol.setActiveFutureTask(activeFutureTask);
+  }
+
+  @Override
+  public boolean isServerMariaDb() {
+    return protocol.isServerMariaDb();
+  }
+
+  @Override
+  public SQLException handleIoException(Exception initialException) {
+    return protocol.handleIoException(initialException);
+  }
+
+  @Override
+  public PacketInputStream getReader() {
+    return protocol.getReader();
+  }
+
+  @Override
+  public PacketOutputStream getWriter() {
+    return protocol.getWriter();
+  }
+
+  @Override
+  public boolean isEofDeprecated() {
+    return protocol.isEofDeprecated();
+  }
+
+  @Override
+  public int getAutoIncrementIncrement() throws SQLException {
+    return protocol.getAutoIncrementIncrement();
+  }
+
+  @Override
+  public boolean sessionStateAware() {
+    return protocol.sessionStateAware();
+  }
+
+  @Override
+  public String getTraces() {
+    return protocol.getTraces();
+  }
+
+  @Override
+  public boolean isInterrupted() {
+    return protocol.isInterrupted();
+  }
+
+  @Override
+  public void stopIfInterrupted() throws SQLTimeoutException {
+    protocol.stopIfInterrupted();
   }
 
   /**
@@ -213,6 +757,24 @@ public class ProtocolLoggingProxy implements InvocationHandler {
     return sql;
   }
 
+  private String getQueryFromMultipleQueries(List<String> multipleQueries) {
+    if (multipleQueries.size() == 1) {
+      return multipleQueries.get(0);
+    }
+    StringBuilder sb = new StringBuilder();
+    for (String multipleQuery : multipleQueries) {
+      if (maxQuerySizeToLog > 0 && (sb.length() + multipleQuery.length() + 1) > maxQuerySizeToLog) {
+        sb.append(multipleQuery, 1, Math.max(1, maxQuerySizeToLog - sb.length()));
+        break;
+      }
+      sb.append(multipleQuery).append(";");
+      if (maxQuerySizeToLog > 0 && sb.length() >= maxQuerySizeToLog) {
+        break;
+      }
+    }
+    return sb.toString();
+  }
+
   private String getQueryFromPrepareParameters(
       String sql, List<ParameterHolder[]> parameterList, int parameterLength) {
 
@@ -60,6 +60,7 @@ import java.net.InetSocketAddress;
 import java.net.Socket;
 import java.net.SocketException;
 import java.net.SocketTimeoutException;
+import java.nio.channels.SocketChannel;
 import java.nio.charset.Charset;
 import java.nio.charset.StandardCharsets;
 import java.sql.ResultSet;
@@ -89,20 +90,24 @@ import org.mariadb.jdbc.internal.com.send.SendSslConnectionRequestPacket;
 import org.mariadb.jdbc.internal.com.send.authentication.OldPasswordPlugin;
 import org.mariadb.jdbc.internal.failover.FailoverProxy;
 import org.mariadb.jdbc.internal.io.LruTraceCache;
+import org.mariadb.jdbc.internal.io.input.ChannelInputStream;
 import org.mariadb.jdbc.internal.io.input.DecompressPacketInputStream;
 import org.mariadb.jdbc.internal.io.input.PacketInputStream;
 import org.mariadb.jdbc.internal.io.input.StandardPacketInputStream;
+import org.mariadb.jdbc.internal.io.output.ChannelOutputStream;
 import org.mariadb.jdbc.internal.io.output.CompressPacketOutputStream;
 import org.mariadb.jdbc.internal.io.output.PacketOutputStream;
 import org.mariadb.jdbc.internal.io.output.StandardPacketOutputStream;
 import org.mariadb.jdbc.internal.logging.Logger;
 import org.mariadb.jdbc.internal.logging.LoggerFactory;
+import org.mariadb.jdbc.internal.protocol.tls.SslContextCache;
 import org.mariadb.jdbc.internal.util.ServerPrepareStatementCache;
 import org.mariadb.jdbc.internal.util.Utils;
 import org.mariadb.jdbc.internal.util.constant.HaMode;
 import org.mariadb.jdbc.internal.util.constant.ParameterConstant;
 import org.mariadb.jdbc.internal.util.constant.ServerStatus;
 import org.mariadb.jdbc.internal.util.exceptions.ExceptionFactory;
+import org.mariadb.jdbc.internal.util.pool.ControlConnectionPool;
 import org.mariadb.jdbc.internal.util.pool.GlobalStateInfo;
 import org.mariadb.jdbc.tls.TlsSocketPlugin;
 import org.mariadb.jdbc.tls.TlsSocketPluginLoader;
@@ -142,6 +147,7 @@ public abstract class AbstractConnectProtocol implements Protocol {
   protected long serverThreadId;
   protected ServerPrepareStatementCache serverPrepareStatementCache;
   protected boolean eofDeprecated = false;
+  protected boolean cacheMetadata = false;
   protected long serverCapabilities;
   protected int socketTimeout;
   protected ExceptionFactory exceptionFactory;
@@ -293,6 +299,10 @@ public abstract class AbstractConnectProtocol implements Protocol {
       capabilities |= MariaDbServerCapabilities.CLIENT_DEPRECATE_EOF;
     }
 
+    if ((serverCapabilities & MariaDbServerCapabilities.MARIADB_CLIENT_CACHE_METADATA) != 0) {
+      capabilities |= MariaDbServerCapabilities.MARIADB_CLIENT_CACHE_METADATA;
+    }
+
     if (options.useCompression) {
       if ((serverCapabilities & MariaDbServerCapabilities.COMPRESS) == 0) {
         // ensure that server has compress capacity - MaxScale doesn't
@@ -421,12 +431,9 @@ public abstract class AbstractConnectProtocol implements Protocol {
   }
 
   private void forceAbort() {
-    try (MasterProtocol copiedProtocol =
-        new MasterProtocol(urlParser, new GlobalStateInfo(), new ReentrantLock(), traceCache)) {
-      copiedProtocol.setHostAddress(getHostAddress());
-      copiedProtocol.connect();
-      // no lock, because there is already a query running that possessed the lock.
-      copiedProtocol.executeQuery("KILL " + serverThreadId);
+    try {
+      ControlConnectionPool.retrievePool(urlParser, getHostAddress())
+          .killConnection(serverThreadId);
     } catch (SQLException sqle) {
       // eat
     }
@@ -551,7 +558,7 @@ public abstract class AbstractConnectProtocol implements Protocol {
           options,
           database,
           credential,
-          host);
+          hostAddress);
 
       compressionHandler(options);
     } catch (IOException ioException) {
@@ -584,6 +591,8 @@ public abstract class AbstractConnectProtocol implements Protocol {
     if ((serverCapabilities & MariaDbServerCapabilities.CLIENT_DEPRECATE_EOF) != 0) {
       eofDeprecated = true;
     }
+    cacheMetadata =
+        (serverCapabilities & MariaDbServerCapabilities.MARIADB_CLIENT_CACHE_METADATA) != 0;
 
     postConnectionQueries();
 
@@ -646,7 +655,9 @@ public abstract class AbstractConnectProtocol implements Protocol {
       enabledSslCipherSuites(sslSocket, options);
 
       sslSocket.setUseClientMode(true);
+      long handshakeStart = System.currentTimeMillis();
       sslSocket.startHandshake();
+      SslContextCache.recordHandshake(sslSocket.getSession(), handshakeStart);
 
       // perform hostname verification
       // (rfc2818 indicate that if "client has external information as to the expected identity of
@@ -677,8 +688,9 @@ public abstract class AbstractConnectProtocol implements Protocol {
       Options options,
       String database,
       Credential credential,
-      String host)
+      HostAddress hostAddress)
       throws SQLException, IOException {
+    String host = hostAddress != null ? hostAddress.host : null;
 
     // send Client Handshake Response
     SendHandshakeResponsePacket.send(
@@ -741,7 +753,7 @@ public abstract class AbstractConnectProtocol implements Protocol {
                 1251);
           }
 
-          authenticationPlugin.initialize(credential.getPassword(), seed, options);
+          authenticationPlugin.initialize(credential.getPassword(), seed, options, hostAddress);
           buffer = authenticationPlugin.process(writer, reader, sequence);
           break;
 
@@ -793,7 +805,11 @@ public abstract class AbstractConnectProtocol implements Protocol {
     if (options.useCompression) {
       writer =
           new CompressPacketOutputStream(
-              writer.getOutputStream(), options.maxQuerySizeToLog, serverThreadId);
+              writer.getOutputStream(),
+              options.maxQuerySizeToLog,
+              serverThreadId,
+              options.compressionLevel,
+              options.adaptiveCompression);
       reader =
           new DecompressPacketInputStream(
               ((StandardPacketInputStream) reader).getInputStream(),
@@ -808,9 +824,21 @@ public abstract class AbstractConnectProtocol implements Protocol {
 
   private void assignStream(Socket socket, Options options) throws SQLException {
     try {
-      this.writer =
-          new StandardPacketOutputStream(socket.getOutputStream(), options, serverThreadId);
-      this.reader = new StandardPacketInputStream(socket.getInputStream(), options, serverThreadId);
+      SocketChannel channel = socket instanceof SSLSocket ? null : socket.getChannel();
+      if (channel != null) {
+        // option useSocketChannel
+        channel.configureBlocking(false);
+        this.writer =
+            new StandardPacketOutputStream(
+                new ChannelOutputStream(channel), options, serverThreadId);
+        this.reader =
+            new StandardPacketInputStream(new ChannelInputStream(channel), options, serverThreadId);
+      } else {
+        this.writer =
+            new StandardPacketOutputStream(socket.getOutputStream(), options, serverThreadId);
+        this.reader =
+            new StandardPacketInputStream(socket.getInputStream(), options, serverThreadId);
+      }
 
       if (options.enablePacketDebug) {
         writer.setTraceCache(traceCache);
@@ -248,6 +248,9 @@ public abstract class AbstractMultiSend {
 
     int requestNumberByBulk;
     int paramCount = estimatedParameterCount;
+    if (binaryProtocol && prepareResult != null) {
+      results.setServerPrepareResult((ServerPrepareResult) prepareResult);
+    }
     try {
       do {
         status.sendEnded = false;
@@ -267,6 +270,7 @@ public abstract class AbstractMultiSend {
           // read prepare result
           prepareResult = comStmtPrepare.read(protocol.getReader(), protocol.isEofDeprecated());
           statementId = ((ServerPrepareResult) prepareResult).getStatementId();
+          results.setServerPrepareResult((ServerPrepareResult) prepareResult);
           paramCount = getParamCount();
         }
 
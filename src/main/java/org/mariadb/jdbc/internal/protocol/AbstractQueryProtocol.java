@@ -68,9 +68,11 @@ import java.sql.*;
 import java.util.*;
 import java.util.concurrent.ExecutionException;
 import java.util.concurrent.FutureTask;
+import java.util.concurrent.RejectedExecutionException;
 import java.util.concurrent.ThreadPoolExecutor;
 import java.util.concurrent.locks.ReentrantLock;
 import org.mariadb.jdbc.LocalInfileInterceptor;
+import org.mariadb.jdbc.LocalInfileRowProducer;
 import org.mariadb.jdbc.MariaDbConnection;
 import org.mariadb.jdbc.MariaDbStatement;
 import org.mariadb.jdbc.UrlParser;
@@ -79,12 +81,15 @@ import org.mariadb.jdbc.internal.com.read.Buffer;
 import org.mariadb.jdbc.internal.com.read.ErrorPacket;
 import org.mariadb.jdbc.internal.com.read.dao.Results;
 import org.mariadb.jdbc.internal.com.read.resultset.ColumnDefinition;
+import org.mariadb.jdbc.internal.com.read.resultset.ColumnDefinitionArena;
 import org.mariadb.jdbc.internal.com.read.resultset.SelectResultSet;
 import org.mariadb.jdbc.internal.com.read.resultset.UpdatableResultSet;
 import org.mariadb.jdbc.internal.com.send.ComQuery;
 import org.mariadb.jdbc.internal.com.send.ComStmtExecute;
 import org.mariadb.jdbc.internal.com.send.ComStmtPrepare;
+import org.mariadb.jdbc.internal.com.send.LocalInfileRowEncoder;
 import org.mariadb.jdbc.internal.com.send.SendChangeDbPacket;
+import org.mariadb.jdbc.internal.com.send.parameters.ParameterBatch;
 import org.mariadb.jdbc.internal.com.send.parameters.ParameterHolder;
 import org.mariadb.jdbc.internal.io.LruTraceCache;
 import org.mariadb.jdbc.internal.io.output.PacketOutputStream;
@@ -102,6 +107,7 @@ import org.mariadb.jdbc.internal.util.dao.ServerPrepareResult;
 import org.mariadb.jdbc.internal.util.exceptions.ExceptionFactory;
 import org.mariadb.jdbc.internal.util.exceptions.MariaDbSqlException;
 import org.mariadb.jdbc.internal.util.exceptions.MaxAllowedPacketException;
+import org.mariadb.jdbc.internal.util.pool.ControlConnectionPool;
 import org.mariadb.jdbc.internal.util.pool.GlobalStateInfo;
 import org.mariadb.jdbc.internal.util.scheduler.SchedulerServiceProviderHolder;
 
@@ -114,10 +120,14 @@ public class AbstractQueryProtocol extends AbstractConnectProtocol implements Pr
   private ThreadPoolExecutor readScheduler = null;
   private int transactionIsolationLevel = 0;
   private InputStream localInfileInputStream;
+  private LocalInfileRowProducer localInfileRows;
   private long maxRows; /* max rows returned by a statement */
   private volatile int statementIdToRelease = -1;
   private FutureTask activeFutureTask = null;
   private boolean interrupted;
+  private final ColumnDefinitionArena columnDefinitionArena = new ColumnDefinitionArena();
+  private final ArrayDeque<String> pipelinedCommands = new ArrayDeque<>();
+  private boolean pipelineCommands;
 
   /**
    * Get a protocol instance.
@@ -154,7 +164,11 @@ public class AbstractQueryProtocol extends AbstractConnectProtocol implements Pr
       writer.startPacket(0);
       writer.write(COM_RESET_CONNECTION);
       writer.flush();
-      getResult(new Results());
+      if (pipelineCommands) {
+        pipelinedCommands.add("COM_RESET_CONNECTION failed.");
+      } else {
+        getResult(new Results());
+      }
 
       // clear prepare statement cache
       if (options.cachePrepStmts && options.useServerPrepStmts) {
@@ -231,9 +245,74 @@ public class AbstractQueryProtocol extends AbstractConnectProtocol implements Pr
    * @throws SQLException in any exception occur
    */
   public void executeQuery(final String sql) throws SQLException {
+    if (pipelineCommands) {
+      cmdPrologue();
+      try {
+        writer.startPacket(0);
+        writer.write(COM_QUERY);
+        writer.write(sql);
+        writer.flush();
+        pipelinedCommands.add(sql);
+      } catch (IOException e) {
+        throw exceptionWithQuery(sql, handleIoException(e), explicitClosed);
+      }
+      return;
+    }
     executeQuery(isMasterConnection(), new Results(), sql);
   }
 
+  /**
+   * Start pipelining session commands : reset, catalog change and internal queries are sent without
+   * waiting for server response. Responses will be read, in order, before any other command result,
+   * or when calling {@link #endPipeline()}.
+   */
+  @Override
+  public void startPipeline() {
+    pipelineCommands = true;
+  }
+
+  /**
+   * Stop pipelining session commands, reading remaining pipelined responses.
+   *
+   * @throws SQLException first pipelined command error, if any
+   */
+  @Override
+  public void endPipeline() throws SQLException {
+    pipelineCommands = false;
+    SQLException exception = readPipelinedResults();
+    if (exception != null) {
+      throw exception;
+    }
+  }
+
+  /**
+   * Read all pipelined command responses.
+   *
+   * @return first command exception, if any
+   */
+  private SQLException readPipelinedResults() {
+    SQLException firstException = null;
+    String command;
+    while ((command = pipelinedCommands.poll()) != null) {
+      if (!connected) {
+        pipelinedCommands.clear();
+        break;
+      }
+      try {
+        Results results = new Results();
+        readPacket(results);
+        while (hasMoreResults()) {
+          readPacket(results);
+        }
+      } catch (SQLException sqlException) {
+        if (firstException == null) {
+          firstException = exceptionWithQuery(command, sqlException, explicitClosed);
+        }
+      }
+    }
+    return firstException;
+  }
+
   /**
    * Execute query directly to outputStream.
    *
@@ -285,6 +364,57 @@ public class AbstractQueryProtocol extends AbstractConnectProtocol implements Pr
     }
   }
 
+  /**
+   * Execute queries in pipeline: all queries are sent before reading any result. Each query has its
+   * own results, and a query error doesn't prevent reading next query results.
+   *
+   * @param mustExecuteOnMaster was intended to be launched on master connection
+   * @param results results, one by query
+   * @param queries queries to execute
+   * @return query exceptions, one by query (null for successful queries)
+   * @throws SQLException if connection is closed
+   */
+  @Override
+  public SQLException[] executePipelineQueries(
+      boolean mustExecuteOnMaster, Results[] results, final String[] queries) throws SQLException {
+    cmdPrologue();
+    SQLException[] exceptions = new SQLException[queries.length];
+
+    SQLException connectionException = null;
+    int sent = 0;
+    try {
+      for (; sent < queries.length; sent++) {
+        writer.startPacket(0);
+        writer.write(COM_QUERY);
+        writer.write(queries[sent]);
+        writer.flush();
+      }
+    } catch (IOException e) {
+      connectionException = handleIoException(e);
+      for (int i = sent; i < queries.length; i++) {
+        exceptions[i] = exceptionWithQuery(queries[i], connectionException, explicitClosed);
+      }
+    }
+
+    for (int i = 0; i < sent; i++) {
+      if (!connected) {
+        // connection has been closed, remaining results will never be received
+        exceptions[i] = exceptionWithQuery(queries[i], connectionException, explicitClosed);
+        continue;
+      }
+      try {
+        getResult(results[i]);
+      } catch (SQLException sqlException) {
+        if ("70100".equals(sqlException.getSQLState()) && 1927 == sqlException.getErrorCode()) {
+          sqlException = handleIoException(sqlException);
+        }
+        connectionException = sqlException;
+        exceptions[i] = exceptionWithQuery(queries[i], sqlException, explicitClosed);
+      }
+    }
+    return exceptions;
+  }
+
   /**
    * Execute a unique clientPrepareQuery.
    *
@@ -373,14 +503,16 @@ public class AbstractQueryProtocol extends AbstractConnectProtocol implements Pr
    * @param prepareResult ClientPrepareResult
    * @param parametersList List of parameters
    * @param hasLongData has parameter with long data (stream)
+   * @param queryTimeout timeout using max_statement_time for each query, 0 if none
    * @throws SQLException exception
    */
   public boolean executeBatchClient(
       boolean mustExecuteOnMaster,
       Results results,
       final ClientPrepareResult prepareResult,
-      final List<ParameterHolder[]> parametersList,
-      boolean hasLongData)
+      final ParameterBatch parametersList,
+      boolean hasLongData,
+      int queryTimeout)
       throws SQLException {
 
     // ***********************************************************************************************************
@@ -388,7 +520,7 @@ public class AbstractQueryProtocol extends AbstractConnectProtocol implements Pr
     // - rewrite as multi-values (only if generated keys are not needed and query can be rewritten)
     // - multiple INSERT separate by semi-columns
     // - use pipeline
-    // - use bulk
+    // - use bulk (not with timeout : binary protocol has no per-statement timeout)
     // - one after the other
     // ***********************************************************************************************************
 
@@ -398,13 +530,14 @@ public class AbstractQueryProtocol extends AbstractConnectProtocol implements Pr
 
         // values rewritten in one query :
         // INSERT INTO X(a,b) VALUES (1,2), (3,4), ...
-        executeBatchRewrite(results, prepareResult, parametersList, true);
+        executeBatchRewrite(results, prepareResult, parametersList, true, queryTimeout);
         return true;
 
       } else if (prepareResult.isQueryMultipleRewritable()) {
 
         if (options.useBulkStmts
             && !hasLongData
+            && queryTimeout == 0
             && prepareResult.isQueryMultipleRewritable() // INSERT FROM SELECT not allowed
             && results.getAutoGeneratedKeys() == Statement.NO_GENERATED_KEYS
             && versionGreaterOrEqual(10, 2, 7)
@@ -414,13 +547,14 @@ public class AbstractQueryProtocol extends AbstractConnectProtocol implements Pr
 
         // multi rewritten in one query :
         // INSERT INTO X(a,b) VALUES (1,2);INSERT INTO X(a,b) VALUES (3,4); ...
-        executeBatchRewrite(results, prepareResult, parametersList, false);
+        executeBatchRewrite(results, prepareResult, parametersList, false, queryTimeout);
         return true;
       }
     }
 
     if (options.useBulkStmts
         && !hasLongData
+        && queryTimeout == 0
         && results.getAutoGeneratedKeys() == Statement.NO_GENERATED_KEYS
         && versionGreaterOrEqual(10, 2, 7)
         && executeBulkBatch(results, prepareResult.getSql(), null, parametersList)) {
@@ -429,7 +563,7 @@ public class AbstractQueryProtocol extends AbstractConnectProtocol implements Pr
 
     if (options.useBatchMultiSend) {
       // send by bulk : send data by bulk before reading corresponding results
-      executeBatchMulti(results, prepareResult, parametersList);
+      executeBatchMulti(results, prepareResult, parametersList, queryTimeout);
       return true;
     }
 
@@ -450,7 +584,7 @@ public class AbstractQueryProtocol extends AbstractConnectProtocol implements Pr
       Results results,
       String sql,
       ServerPrepareResult serverPrepareResult,
-      final List<ParameterHolder[]> parametersList)
+      final ParameterBatch parametersList)
       throws SQLException {
 
     // **************************************************************************************
@@ -462,17 +596,17 @@ public class AbstractQueryProtocol extends AbstractConnectProtocol implements Pr
     // **************************************************************************************
 
     // ensure that there is no long data and type doesn't change
-    ParameterHolder[] initParameters = parametersList.get(0);
-    int parameterCount = initParameters.length;
+    int parameterCount = parametersList.getColumnCount();
+    int batchSize = parametersList.size();
     short[] types = new short[parameterCount];
     for (int i = 0; i < parameterCount; i++) {
-      types[i] = initParameters[i].getColumnType().getType();
+      types[i] = parametersList.getColumnType(0, i).getType();
     }
 
     // must ensure that data type doesn't change
-    for (ParameterHolder[] parameters : parametersList) {
+    for (int row = 1; row < batchSize; row++) {
       for (int i = 0; i < parameterCount; i++) {
-        if (parameters[i].getColumnType().getType() != types[i]) {
+        if (parametersList.getColumnType(row, i).getType() != types[i]) {
           return false;
         }
       }
@@ -484,8 +618,10 @@ public class AbstractQueryProtocol extends AbstractConnectProtocol implements Pr
     }
 
     cmdPrologue();
-    ParameterHolder[] parameters = null;
+    int index = 0;
     ServerPrepareResult tmpServerPrepareResult = serverPrepareResult;
+    BulkStatus status = new BulkStatus();
+    FutureTask<AsyncMultiReadResult> futureReadTask = null;
     try {
       SQLException exception = null;
 
@@ -503,8 +639,15 @@ public class AbstractQueryProtocol extends AbstractConnectProtocol implements Pr
           tmpServerPrepareResult != null ? tmpServerPrepareResult.getStatementId() : -1;
 
       byte[] lastCmdData = null;
-      int index = 0;
-      ParameterHolder[] firstParameters = parametersList.get(0);
+
+      // **************************************************************************************
+      // first BULK response is read before sending next packet, permitting to fall back to
+      // other batch implementation if server reply with 1295 (command not supported by BULK).
+      // Next responses are then read asynchronously (if useBatchMultiSend), by packs of
+      // useBatchMultiSendNumber packets, while following BULK packets are being sent.
+      // **************************************************************************************
+      boolean pipelineResults = false;
+      initializeBatchReader();
 
       do {
         writer.startPacket(0);
@@ -512,8 +655,8 @@ public class AbstractQueryProtocol extends AbstractConnectProtocol implements Pr
         writer.writeInt(statementId);
         writer.writeShort((short) 128); // always SEND_TYPES_TO_SERVER
 
-        for (ParameterHolder param : firstParameters) {
-          writer.writeShort(param.getColumnType().getType());
+        for (short type : types) {
+          writer.writeShort(type);
         }
 
         if (lastCmdData != null) {
@@ -524,15 +667,13 @@ public class AbstractQueryProtocol extends AbstractConnectProtocol implements Pr
           lastCmdData = null;
         }
 
-        for (; index < parametersList.size(); index++) {
-          parameters = parametersList.get(index);
+        for (; index < batchSize; index++) {
           for (int i = 0; i < parameterCount; i++) {
-            ParameterHolder holder = parameters[i];
-            if (holder.isNullData()) {
+            if (parametersList.isNullData(index, i)) {
               writer.write(1); // NULL
             } else {
               writer.write(0); // NONE
-              holder.writeBinary(writer);
+              parametersList.writeBinary(index, i, writer);
             }
           }
 
@@ -558,42 +699,40 @@ public class AbstractQueryProtocol extends AbstractConnectProtocol implements Pr
           writer.resetMark();
         }
 
-        try {
-          getResult(results);
-        } catch (SQLException sqle) {
-          if ("HY000".equals(sqle.getSQLState()) && sqle.getErrorCode() == 1295) {
-            // query contain commands that cannot be handled by BULK protocol
-            // clear error and special error code, so it won't leak anywhere
-            // and wouldn't be misinterpreted as an additional update count
-            results.getCmdInformation().reset();
-            return false;
+        if (pipelineResults) {
+          status.sendSubCmdCounter++;
+          if (futureReadTask == null) {
+            futureReadTask = new FutureTask<>(new AsyncMultiRead(status, this, results));
+            try {
+              readScheduler.execute(futureReadTask);
+            } catch (RejectedExecutionException r) {
+              // no reading thread available : continue reading synchronously
+              futureReadTask = null;
+              status.sendSubCmdCounter = 0;
+              pipelineResults = false;
+            }
           }
-          if (exception == null) {
-            exception = exceptionWithQuery(sql, sqle, explicitClosed);
-            if (!options.continueBatchOnError) {
-              throw exception;
+
+          if (pipelineResults) {
+            if (lastCmdData == null
+                || status.sendSubCmdCounter >= options.useBatchMultiSendNumber) {
+              exception = awaitBulkResults(futureReadTask, status, sql, exception);
+              futureReadTask = null;
+              status.sendSubCmdCounter = 0;
+              status.sendEnded = false;
             }
+            continue;
           }
         }
 
-      } while (index < parametersList.size() - 1);
-
-      if (lastCmdData != null) {
-        writer.startPacket(0);
-        writer.write(COM_STMT_BULK_EXECUTE);
-        writer.writeInt(statementId);
-        writer.writeShort((byte) 0x80); // always SEND_TYPES_TO_SERVER
-
-        for (ParameterHolder param : firstParameters) {
-          writer.writeShort(param.getColumnType().getType());
-        }
-        writer.write(lastCmdData);
-        writer.flush();
         try {
           getResult(results);
         } catch (SQLException sqle) {
           if ("HY000".equals(sqle.getSQLState()) && sqle.getErrorCode() == 1295) {
-            // query contain SELECT. cannot be handle by BULK protocol
+            // query contain commands that cannot be handled by BULK protocol
+            // clear error and special error code, so it won't leak anywhere
+            // and wouldn't be misinterpreted as an additional update count
+            results.getCmdInformation().reset();
             return false;
           }
           if (exception == null) {
@@ -603,7 +742,10 @@ public class AbstractQueryProtocol extends AbstractConnectProtocol implements Pr
             }
           }
         }
-      }
+        pipelineResults = readScheduler != null;
+
+        // data that has not fit in last BULK command must still be send
+      } while (lastCmdData != null);
 
       if (exception != null) {
         throw exception;
@@ -612,9 +754,22 @@ public class AbstractQueryProtocol extends AbstractConnectProtocol implements Pr
       return true;
 
     } catch (IOException e) {
+      status.sendEnded = true;
       throw exceptionWithQuery(
-          parameters, tmpServerPrepareResult, handleIoException(e), explicitClosed);
+          parametersList.get(Math.min(index, batchSize - 1)),
+          tmpServerPrepareResult,
+          handleIoException(e),
+          explicitClosed);
     } finally {
+      if (futureReadTask != null && !futureReadTask.isDone()) {
+        // ensure reading thread has ended before any other command is issued
+        status.sendEnded = true;
+        try {
+          futureReadTask.get();
+        } catch (ExecutionException | InterruptedException e) {
+          // eat, exception has already been thrown
+        }
+      }
       if (serverPrepareResult == null && tmpServerPrepareResult != null) {
         releasePrepareStatement(tmpServerPrepareResult);
       }
@@ -622,6 +777,52 @@ public class AbstractQueryProtocol extends AbstractConnectProtocol implements Pr
     }
   }
 
+  /**
+   * Wait for asynchronous reading of pipelined COM_STMT_BULK_EXECUTE results.
+   *
+   * @param futureReadTask reading task
+   * @param status bulk status
+   * @param sql sql command
+   * @param exception first batch exception if any
+   * @return first batch exception if any
+   * @throws SQLException if an error occur and batch must not continue
+   */
+  private SQLException awaitBulkResults(
+      FutureTask<AsyncMultiReadResult> futureReadTask,
+      BulkStatus status,
+      String sql,
+      SQLException exception)
+      throws SQLException {
+    status.sendEnded = true;
+    try {
+      SQLException readException = futureReadTask.get().getException();
+      if (readException != null && exception == null) {
+        exception = exceptionWithQuery(sql, readException, explicitClosed);
+        if (!options.continueBatchOnError) {
+          throw exception;
+        }
+      }
+    } catch (ExecutionException executionException) {
+      if (executionException.getCause() == null) {
+        throw new SQLException("Error reading results " + executionException.getMessage());
+      }
+      throw new SQLException("Error reading results " + executionException.getCause().getMessage());
+    } catch (InterruptedException interruptedException) {
+      setActiveFutureTask(futureReadTask);
+      Thread.currentThread().interrupt();
+      throw new SQLException(
+          "Interrupted awaiting response ",
+          INTERRUPTED_EXCEPTION.getSqlState(),
+          interruptedException);
+    }
+
+    if (isInterrupted()) {
+      // interrupted during read, must throw an exception manually
+      throw new SQLTimeoutException("Timeout during batch execution");
+    }
+    return exception;
+  }
+
   private void initializeBatchReader() {
     if (options.useBatchMultiSend) {
       readScheduler = SchedulerServiceProviderHolder.getBulkScheduler();
@@ -634,12 +835,14 @@ public class AbstractQueryProtocol extends AbstractConnectProtocol implements Pr
    * @param results results
    * @param clientPrepareResult ClientPrepareResult
    * @param parametersList List of parameters
+   * @param queryTimeout timeout using max_statement_time for each query, 0 if none
    * @throws SQLException exception
    */
   private void executeBatchMulti(
       Results results,
       final ClientPrepareResult clientPrepareResult,
-      final List<ParameterHolder[]> parametersList)
+      final List<ParameterHolder[]> parametersList,
+      int queryTimeout)
       throws SQLException {
 
     cmdPrologue();
@@ -660,7 +863,7 @@ public class AbstractQueryProtocol extends AbstractConnectProtocol implements Pr
 
         ParameterHolder[] parameters = parametersList.get(status.sendCmdCounter);
         writer.startPacket(0);
-        ComQuery.sendSubCmd(writer, clientPrepareResult, parameters, -1);
+        ComQuery.sendSubCmd(writer, clientPrepareResult, parameters, queryTimeout);
         writer.flush();
       }
 
@@ -937,13 +1140,15 @@ public class AbstractQueryProtocol extends AbstractConnectProtocol implements Pr
    * @param prepareResult prepareResult
    * @param parameterList parameters
    * @param rewriteValues is rewritable flag
+   * @param queryTimeout timeout using max_statement_time for each query, 0 if none
    * @throws SQLException exception
    */
   private void executeBatchRewrite(
       Results results,
       final ClientPrepareResult prepareResult,
-      List<ParameterHolder[]> parameterList,
-      boolean rewriteValues)
+      ParameterBatch parameterList,
+      boolean rewriteValues,
+      int queryTimeout)
       throws SQLException {
 
     cmdPrologue();
@@ -962,7 +1167,8 @@ public class AbstractQueryProtocol extends AbstractConnectProtocol implements Pr
                 currentIndex,
                 prepareResult.getParamCount(),
                 parameterList,
-                rewriteValues);
+                rewriteValues,
+                queryTimeout);
         getResult(results);
 
         if (Thread.currentThread().isInterrupted()) {
@@ -999,7 +1205,7 @@ public class AbstractQueryProtocol extends AbstractConnectProtocol implements Pr
       ServerPrepareResult serverPrepareResult,
       Results results,
       String sql,
-      final List<ParameterHolder[]> parametersList,
+      final ParameterBatch parametersList,
       boolean hasLongData)
       throws SQLException {
 
@@ -1125,6 +1331,7 @@ public class AbstractQueryProtocol extends AbstractConnectProtocol implements Pr
       }
 
       // send execute query
+      results.setServerPrepareResult(serverPrepareResult);
       ComStmtExecute.send(
           writer,
           serverPrepareResult.getStatementId(),
@@ -1320,6 +1527,11 @@ public class AbstractQueryProtocol extends AbstractConnectProtocol implements Pr
     try {
 
       SendChangeDbPacket.send(writer, database);
+      if (pipelineCommands) {
+        pipelinedCommands.add("COM_INIT_DB");
+        this.database = database;
+        return;
+      }
       final Buffer buffer = reader.getPacket(true);
 
       if (buffer.getByteAt(0) == ERROR) {
@@ -1347,20 +1559,14 @@ public class AbstractQueryProtocol extends AbstractConnectProtocol implements Pr
   }
 
   /**
-   * Cancels the current query - clones the current protocol and executes a query using the new
-   * connection.
+   * Cancels the current query - executes a KILL QUERY command using a pooled control connection to
+   * the same host.
    *
-   * @throws SQLException never thrown
+   * @throws SQLException if no control connection is available or if server rejects command
    */
   @Override
   public void cancelCurrentQuery() throws SQLException {
-    try (MasterProtocol copiedProtocol =
-        new MasterProtocol(urlParser, new GlobalStateInfo(), new ReentrantLock(), traceCache)) {
-      copiedProtocol.setHostAddress(getHostAddress());
-      copiedProtocol.connect();
-      // no lock, because there is already a query running that possessed the lock.
-      copiedProtocol.executeQuery("KILL QUERY " + serverThreadId);
-    }
+    ControlConnectionPool.retrievePool(urlParser, getHostAddress()).killQuery(serverThreadId);
     interrupted = true;
   }
 
@@ -1421,6 +1627,13 @@ public class AbstractQueryProtocol extends AbstractConnectProtocol implements Pr
   @Override
   public void setLocalInfileInputStream(InputStream inputStream) {
     this.localInfileInputStream = inputStream;
+    this.localInfileRows = null;
+  }
+
+  @Override
+  public void setLocalInfileRows(LocalInfileRowProducer producer) {
+    this.localInfileRows = producer;
+    this.localInfileInputStream = null;
   }
 
   /**
@@ -1496,12 +1709,19 @@ public class AbstractQueryProtocol extends AbstractConnectProtocol implements Pr
   @Override
   public void getResult(Results results) throws SQLException {
 
+    // pipelined command responses are received first
+    SQLException pipelineException = pipelinedCommands.isEmpty() ? null : readPipelinedResults();
+
     readPacket(results);
 
     // load additional results
     while (hasMoreResults()) {
       readPacket(results);
     }
+
+    if (pipelineException != null) {
+      throw pipelineException;
+    }
   }
 
   /**
@@ -1687,6 +1907,36 @@ public class AbstractQueryProtocol extends AbstractConnectProtocol implements Pr
     int seq = 2;
     buffer.getLengthEncodedNumeric(); // field pos
     String fileName = buffer.readStringNullEnd(StandardCharsets.UTF_8);
+
+    if (localInfileRows != null) {
+      LocalInfileRowProducer producer = localInfileRows;
+      localInfileRows = null;
+      SQLException producerException = null;
+      try {
+        LocalInfileRowEncoder encoder = new LocalInfileRowEncoder(writer, seq, getTimeZone());
+        try {
+          producer.produce(encoder);
+        } catch (SQLException | IOException | RuntimeException e) {
+          if (encoder.isSocketError()) {
+            throw e;
+          }
+          // content must be ended anyway, keeping connection usable. Rows already sent will be
+          // loaded
+          producerException =
+              new SQLException(
+                  "LOAD DATA LOCAL INFILE rows producer failed : " + e.getMessage(), "22000", e);
+        }
+        encoder.finish();
+      } catch (IOException ioe) {
+        throw handleIoException(ioe);
+      }
+      getResult(results);
+      if (producerException != null) {
+        throw producerException;
+      }
+      return;
+    }
+
     try {
       // Server request the local file (LOCAL DATA LOCAL INFILE)
       // We do accept general URLs, too. If the localInfileStream is
@@ -1759,16 +2009,7 @@ public class AbstractQueryProtocol extends AbstractConnectProtocol implements Pr
       }
 
       try {
-
-        byte[] buf = new byte[8192];
-        int len;
-        while ((len = is.read(buf)) > 0) {
-          writer.startPacket(seq++);
-          writer.write(buf, 0, len);
-          writer.flush();
-        }
-        writer.writeEmptyPacket();
-
+        writer.writeLocalInfile(seq, is);
       } catch (IOException ioe) {
         throw handleIoException(ioe);
       } finally {
@@ -1795,14 +2036,29 @@ public class AbstractQueryProtocol extends AbstractConnectProtocol implements Pr
 
     try {
 
-      // read columns information's
-      ColumnDefinition[] ci = new ColumnDefinition[(int) fieldCount];
-      for (int i = 0; i < fieldCount; i++) {
-        ci[i] = new ColumnDefinition(reader.getPacket(false));
+      // with metadata caching, server indicate if columns information are send.
+      // If not, columns information are the same than the last one send for this prepared statement
+      boolean metadataFollows = !cacheMetadata || buffer.readByte() == 1;
+      ServerPrepareResult serverPrepareResult = results.getServerPrepareResult();
+
+      ColumnDefinition[] ci;
+      if (metadataFollows) {
+        // read columns information's, reusing them if identical to a recent result-set
+        ci = columnDefinitionArena.read(reader, (int) fieldCount);
+        if (cacheMetadata && serverPrepareResult != null) {
+          serverPrepareResult.setResultColumns(ci);
+        }
+      } else {
+        ci = serverPrepareResult == null ? null : serverPrepareResult.getResultColumns();
+        if (ci == null || ci.length != fieldCount) {
+          // using IOException to close connection,
+          throw new IOException(
+              "Server skipped resultset metadata, but no corresponding metadata is cached");
+        }
       }
 
       boolean callableResult = false;
-      if (!eofDeprecated) {
+      if (!eofDeprecated && metadataFollows) {
         // read EOF packet
         // EOF status is mandatory because :
         // - Call query will have an callable resultSet for OUT parameters
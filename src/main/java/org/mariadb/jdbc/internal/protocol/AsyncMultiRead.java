@@ -117,6 +117,18 @@ public class AsyncMultiRead implements Callable<AsyncMultiReadResult> {
     this.asyncMultiReadResult = new AsyncMultiReadResult(prepareResult);
   }
 
+  /**
+   * Read COM_STMT_BULK_EXECUTE results async, while next bulk packets are being sent. Errors are
+   * returned unchanged, caller having the responsibility to add query information.
+   *
+   * @param status bulk status
+   * @param protocol protocol
+   * @param results execution result
+   */
+  public AsyncMultiRead(BulkStatus status, Protocol protocol, Results results) {
+    this(null, status, protocol, false, null, -1, results, null, null, null);
+  }
+
   @Override
   public AsyncMultiReadResult call() throws Exception {
     // avoid synchronisation of calls for write and read
@@ -156,15 +168,17 @@ public class AsyncMultiRead implements Callable<AsyncMultiReadResult> {
           }
           if (asyncMultiReadResult.getException() == null) {
             asyncMultiReadResult.setException(
-                bulkSend.handleResultException(
-                    qex,
-                    results,
-                    parametersList,
-                    queries,
-                    counter,
-                    sendCmdInitialCounter,
-                    paramCount,
-                    asyncMultiReadResult.getPrepareResult()));
+                bulkSend == null
+                    ? qex
+                    : bulkSend.handleResultException(
+                        qex,
+                        results,
+                        parametersList,
+                        queries,
+                        counter,
+                        sendCmdInitialCounter,
+                        paramCount,
+                        asyncMultiReadResult.getPrepareResult()));
           }
         }
         counter++;
@@ -140,18 +140,23 @@ public class AuroraProtocol extends MastersSlavesProtocol {
     SQLException lastQueryException = null;
     HostAddress probableMasterHost = null;
     boolean firstLoop = true;
-    while (!loopAddresses.isEmpty() || (!searchFilter.isFailoverLoop() && maxConnectionTry > 0)) {
-      protocol = getNewProtocol(listener.getProxy(), globalInfo, listener.getUrlParser());
-
-      if (listener.isExplicitClosed()
-          || (!listener.isSecondaryHostFailReconnect() && !listener.isMasterHostFailReconnect())) {
-        return;
-      }
-      maxConnectionTry--;
+    try (ConcurrentHostConnector<AuroraProtocol> connector =
+        new ConcurrentHostConnector<>(
+            listener.getConnectionExecutor(),
+            listener.getConnectConcurrency(),
+            () -> getNewProtocol(listener.getProxy(), globalInfo, listener.getUrlParser()))) {
+      while (!loopAddresses.isEmpty()
+          || connector.hasPending()
+          || (!searchFilter.isFailoverLoop() && maxConnectionTry > 0)) {
+
+        if (listener.isExplicitClosed()
+            || (!listener.isSecondaryHostFailReconnect()
+                && !listener.isMasterHostFailReconnect())) {
+          return;
+        }
+        maxConnectionTry--;
 
-      try {
-        HostAddress host = loopAddresses.pollFirst();
-        if (host == null) {
+        if (loopAddresses.isEmpty() && !connector.hasPending()) {
           for (HostAddress hostAddress : listener.getUrlParser().getHostAddresses()) {
             if (!hostAddress.equals(listener.getClusterHostAddress())) {
               loopAddresses.add(hostAddress);
@@ -163,42 +168,27 @@ public class AuroraProtocol extends MastersSlavesProtocol {
                   || loopAddresses.isEmpty())) {
             loopAddresses.add(listener.getClusterHostAddress());
           }
-
-          host = loopAddresses.pollFirst();
         }
-        protocol.setHostAddress(host);
-        protocol.connect();
-
-        if (listener.isExplicitClosed()) {
-          protocol.close();
-          return;
+        ConcurrentHostConnector.Attempt<AuroraProtocol> attempt = connector.next(loopAddresses);
+        if (attempt == null) {
+          break;
         }
+        protocol = attempt.getProtocol();
 
-        listener.removeFromBlacklist(protocol.getHostAddress());
-
-        if (listener.isMasterHostFailReconnect() && protocol.isMasterConnection()) {
-          // Look for secondary when only known endpoint is the cluster endpoint
-          if (searchFilter.isFineIfFoundOnlyMaster()
-              && listener.getUrlParser().getHostAddresses().size() <= 1
-              && protocol.getHostAddress().equals(listener.getClusterHostAddress())) {
-            listener.retrieveAllEndpointsAndSet(protocol);
+        try {
+          attempt.getConnected();
 
-            if (listener.getUrlParser().getHostAddresses().size() > 1) {
-              // add newly discovered end-point to loop
-              loopAddresses.addAll(listener.getUrlParser().getHostAddresses());
-              // since there is more than one end point, reactivate connection to a read-only host
-              searchFilter = new SearchFilter(false);
-            }
-          }
-
-          if (foundMaster(listener, protocol, searchFilter)) {
+          if (listener.isExplicitClosed()) {
+            protocol.close();
             return;
           }
 
-        } else if (!protocol.isMasterConnection()) {
-          if (listener.isSecondaryHostFailReconnect()) {
-            // in case cluster DNS is currently pointing to a slave host
-            if (listener.getUrlParser().getHostAddresses().size() <= 1
+          listener.removeFromBlacklist(protocol.getHostAddress());
+
+          if (listener.isMasterHostFailReconnect() && protocol.isMasterConnection()) {
+            // Look for secondary when only known endpoint is the cluster endpoint
+            if (searchFilter.isFineIfFoundOnlyMaster()
+                && listener.getUrlParser().getHostAddresses().size() <= 1
                 && protocol.getHostAddress().equals(listener.getClusterHostAddress())) {
               listener.retrieveAllEndpointsAndSet(protocol);
 
@@ -208,81 +198,105 @@ public class AuroraProtocol extends MastersSlavesProtocol {
                 // since there is more than one end point, reactivate connection to a read-only host
                 searchFilter = new SearchFilter(false);
               }
-            } else {
-              if (foundSecondary(listener, protocol, searchFilter)) {
-                return;
-              }
             }
 
-          } else {
-            try {
-              if (listener.isSecondaryHostFailReconnect()
-                  || (listener.isMasterHostFailReconnect() && probableMasterHost == null)) {
-                probableMasterHost =
-                    listener.searchByStartName(
-                        protocol, listener.getUrlParser().getHostAddresses());
-                if (probableMasterHost != null) {
-                  loopAddresses.remove(probableMasterHost);
-                  AuroraProtocol.searchProbableMaster(listener, globalInfo, probableMasterHost);
-                  if (listener.isMasterHostFailReconnect()
-                      && searchFilter.isFineIfFoundOnlySlave()) {
-                    return;
+            if (foundMaster(listener, protocol, searchFilter)) {
+              return;
+            }
+
+          } else if (!protocol.isMasterConnection()) {
+            if (listener.isSecondaryHostFailReconnect()) {
+              // in case cluster DNS is currently pointing to a slave host
+              if (listener.getUrlParser().getHostAddresses().size() <= 1
+                  && protocol.getHostAddress().equals(listener.getClusterHostAddress())) {
+                listener.retrieveAllEndpointsAndSet(protocol);
+
+                if (listener.getUrlParser().getHostAddresses().size() > 1) {
+                  // add newly discovered end-point to loop
+                  loopAddresses.addAll(listener.getUrlParser().getHostAddresses());
+                  // since there is more than one end point, reactivate connection to a read-only
+                  // host
+                  searchFilter = new SearchFilter(false);
+                }
+              } else {
+                if (foundSecondary(listener, protocol, searchFilter)) {
+                  return;
+                }
+              }
+
+            } else {
+              try {
+                if (listener.isSecondaryHostFailReconnect()
+                    || (listener.isMasterHostFailReconnect() && probableMasterHost == null)) {
+                  probableMasterHost =
+                      listener.searchByStartName(
+                          protocol, listener.getUrlParser().getHostAddresses());
+                  if (probableMasterHost != null) {
+                    loopAddresses.remove(probableMasterHost);
+                    AuroraProtocol.searchProbableMaster(listener, globalInfo, probableMasterHost);
+                    if (listener.isMasterHostFailReconnect()
+                        && searchFilter.isFineIfFoundOnlySlave()) {
+                      return;
+                    }
                   }
                 }
+              } finally {
+                protocol.close();
               }
-            } finally {
-              protocol.close();
             }
+          } else {
+            protocol.close();
           }
-        } else {
-          protocol.close();
+
+        } catch (SQLException e) {
+          lastQueryException = e;
+          listener.addToBlacklist(protocol.getHostAddress());
         }
 
-      } catch (SQLException e) {
-        lastQueryException = e;
-        listener.addToBlacklist(protocol.getHostAddress());
-      }
+        if (!listener.isMasterHostFailReconnect() && !listener.isSecondaryHostFailReconnect()) {
+          return;
+        }
 
-      if (!listener.isMasterHostFailReconnect() && !listener.isSecondaryHostFailReconnect()) {
-        return;
-      }
+        boolean allHostsTried = loopAddresses.isEmpty() && !connector.hasPending();
 
-      // in case master not found but slave is , and allowing master down
-      if (loopAddresses.isEmpty()
-          && (listener.isMasterHostFailReconnect()
-              && listener.urlParser.getOptions().allowMasterDownConnection
-              && !listener.isSecondaryHostFailReconnect())) {
-        return;
-      }
+        // in case master not found but slave is , and allowing master down
+        if (allHostsTried
+            && (listener.isMasterHostFailReconnect()
+                && listener.urlParser.getOptions().allowMasterDownConnection
+                && !listener.isSecondaryHostFailReconnect())) {
+          return;
+        }
 
-      // on connection and all slaves have been tested, use master if on
-      if (loopAddresses.isEmpty()
-          && searchFilter.isInitialConnection()
-          && !listener.isMasterHostFailReconnect()) {
-        return;
-      }
+        // on connection and all slaves have been tested, use master if on
+        if (allHostsTried
+            && searchFilter.isInitialConnection()
+            && !listener.isMasterHostFailReconnect()) {
+          return;
+        }
 
-      // if server has try to connect to all host, and there is remaining master or slave that fail
-      // add all servers back to continue looping until maxConnectionTry is reached
-      if (loopAddresses.isEmpty() && !searchFilter.isFailoverLoop() && maxConnectionTry > 0) {
-        resetHostList(listener, loopAddresses);
-        if (firstLoop) {
-          firstLoop = false;
-        } else {
-          try {
-            // wait 250ms before looping through all connection another time
-            Thread.sleep(250);
-          } catch (InterruptedException interrupted) {
-            // interrupted, continue
+        // if server has try to connect to all host, and there is remaining master or slave that
+        // fail
+        // add all servers back to continue looping until maxConnectionTry is reached
+        if (allHostsTried && !searchFilter.isFailoverLoop() && maxConnectionTry > 0) {
+          resetHostList(listener, loopAddresses);
+          if (firstLoop) {
+            firstLoop = false;
+          } else {
+            try {
+              // wait 250ms before looping through all connection another time
+              Thread.sleep(250);
+            } catch (InterruptedException interrupted) {
+              // interrupted, continue
+            }
           }
         }
-      }
 
-      // Try to connect to the cluster if no other connection is good
-      if (maxConnectionTry == 0
-          && !loopAddresses.contains(listener.getClusterHostAddress())
-          && listener.getClusterHostAddress() != null) {
-        loopAddresses.add(listener.getClusterHostAddress());
+        // Try to connect to the cluster if no other connection is good
+        if (maxConnectionTry == 0
+            && !loopAddresses.contains(listener.getClusterHostAddress())
+            && listener.getClusterHostAddress() != null) {
+          loopAddresses.add(listener.getClusterHostAddress());
+        }
       }
     }
 
@@ -0,0 +1,232 @@
+/*
+ *
+ * MariaDB Client for Java
+ *
+ * Copyright (c) 2012-2014 Monty Program Ab.
+ * Copyright (c) 2015-2020 MariaDB Corporation Ab.
+ *
+ * This library is free software; you can redistribute it and/or modify it under
+ * the terms of the GNU Lesser General Public License as published by the Free
+ * Software Foundation; either version 2.1 of the License, or (at your option)
+ * any later version.
+ *
+ * This library is distributed in the hope that it will be useful, but
+ * WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE.  See the GNU Lesser General Public License
+ * for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License along
+ * with this library; if not, write to Monty Program Ab info@montyprogram.com.
+ *
+ */
+
+package org.mariadb.jdbc.internal.protocol;
+
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.List;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.Executor;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.Supplier;
+import org.mariadb.jdbc.HostAddress;
+import org.mariadb.jdbc.internal.util.exceptions.ExceptionFactory;
+
+/**
+ * Connect to candidate hosts concurrently during failover ("happy eyeballs").
+ *
+ * <p>A first connection attempt is started. If no attempt has completed after {@link
+ * #STAGGER_MILLIS}, or when an attempt fails, a connection to the next host is started, up to
+ * <code>concurrency</code> attempts in progress. Attempts are returned in completion order, so a
+ * dead host that only fails after connectTimeout doesn't delay finding a live one.
+ *
+ * <p>Attempts run on the failover executor. When this executor has no thread available, the caller
+ * thread run pending attempts itself, so progress doesn't depend on executor availability.
+ * Connections that are not returned are closed by {@link #close()}, including those still in
+ * progress when they complete.
+ *
+ * @param <T> protocol type
+ */
+final class ConcurrentHostConnector<T extends AbstractConnectProtocol> implements AutoCloseable {
+
+  static final long STAGGER_MILLIS = 250;
+
+  private final Executor executor;
+  private final int concurrency;
+  private final Supplier<T> protocolFactory;
+  private final BlockingQueue<Attempt<T>> completed = new LinkedBlockingQueue<>();
+  private final List<Attempt<T>> started = new ArrayList<>();
+  private boolean closed;
+
+  /**
+   * Constructor.
+   *
+   * @param executor executor running connection attempts
+   * @param concurrency maximum number of attempts in progress. 1 means connecting sequentially, in
+   *     caller thread
+   * @param protocolFactory create a new protocol to connect
+   */
+  ConcurrentHostConnector(Executor executor, int concurrency, Supplier<T> protocolFactory) {
+    this.executor = executor;
+    this.concurrency = executor == null ? 1 : Math.max(1, concurrency);
+    this.protocolFactory = protocolFactory;
+  }
+
+  /**
+   * Indicate if some attempts have been started and not returned yet.
+   *
+   * @return true if some attempts are pending
+   */
+  boolean hasPending() {
+    return !started.isEmpty();
+  }
+
+  /**
+   * Get next completed connection attempt, starting new attempts to hosts from queue if needed.
+   *
+   * @param hosts hosts to connect to. Host are removed from queue when an attempt is started.
+   * @return completed attempt, null if there is no pending attempt and no host to connect to.
+   */
+  Attempt<T> next(Deque<HostAddress> hosts) {
+    if (started.isEmpty() && !startNext(hosts)) {
+      return null;
+    }
+
+    boolean interrupted = false;
+    while (true) {
+      Attempt<T> attempt;
+      try {
+        attempt = completed.poll(STAGGER_MILLIS, TimeUnit.MILLISECONDS);
+      } catch (InterruptedException interruptedException) {
+        interrupted = true;
+        attempt = completed.poll();
+      }
+
+      if (attempt != null) {
+        started.remove(attempt);
+        if (attempt.error != null && concurrency > 1 && started.size() < concurrency) {
+          // failed fast : try another host immediately
+          startNext(hosts);
+        }
+        if (interrupted) {
+          Thread.currentThread().interrupt();
+        }
+        return attempt;
+      }
+
+      // no attempt finished in time : start another one, or run one not picked by executor
+      if (started.size() >= concurrency || !startNext(hosts)) {
+        runUnclaimed();
+      }
+    }
+  }
+
+  private boolean startNext(Deque<HostAddress> hosts) {
+    HostAddress host = hosts.pollFirst();
+    if (host == null) {
+      return false;
+    }
+    T protocol = protocolFactory.get();
+    protocol.setHostAddress(host);
+    Attempt<T> attempt = new Attempt<>(this, protocol);
+    started.add(attempt);
+    if (concurrency == 1) {
+      attempt.run();
+    } else {
+      try {
+        executor.execute(attempt);
+      } catch (RejectedExecutionException rejected) {
+        attempt.run();
+      }
+    }
+    return true;
+  }
+
+  private void runUnclaimed() {
+    for (Attempt<T> attempt : new ArrayList<>(started)) {
+      if (!attempt.claimed.get()) {
+        attempt.run();
+        return;
+      }
+    }
+  }
+
+  private synchronized void complete(Attempt<T> attempt) {
+    if (closed) {
+      attempt.protocol.close();
+    } else {
+      completed.add(attempt);
+    }
+  }
+
+  /** Close all connections that have not been returned, when their attempt complete. */
+  @Override
+  public synchronized void close() {
+    closed = true;
+    Attempt<T> attempt;
+    while ((attempt = completed.poll()) != null) {
+      if (attempt.error == null) {
+        attempt.protocol.close();
+      }
+    }
+    started.clear();
+  }
+
+  /**
+   * A connection attempt to a host.
+   *
+   * @param <T> protocol type
+   */
+  static final class Attempt<T extends AbstractConnectProtocol> implements Runnable {
+
+    private final ConcurrentHostConnector<T> connector;
+    private final T protocol;
+    private final AtomicBoolean claimed = new AtomicBoolean();
+    private volatile SQLException error;
+
+    private Attempt(ConcurrentHostConnector<T> connector, T protocol) {
+      this.connector = connector;
+      this.protocol = protocol;
+    }
+
+    @Override
+    public void run() {
+      if (!claimed.compareAndSet(false, true)) {
+        return;
+      }
+      try {
+        protocol.connect();
+      } catch (SQLException sqle) {
+        error = sqle;
+      } catch (RuntimeException e) {
+        error =
+            ExceptionFactory.INSTANCE.create(
+                "Could not connect to " + protocol.getHostAddress() + " : " + e.getMessage(),
+                "08000",
+                e);
+      }
+      connector.complete(this);
+    }
+
+    T getProtocol() {
+      return protocol;
+    }
+
+    /**
+     * Get connected protocol.
+     *
+     * @return connected protocol
+     * @throws SQLException if connection failed
+     */
+    T getConnected() throws SQLException {
+      if (error != null) {
+        throw error;
+      }
+      return protocol;
+    }
+  }
+}
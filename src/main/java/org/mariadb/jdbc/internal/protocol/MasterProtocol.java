@@ -178,18 +178,20 @@ public class MasterProtocol extends AbstractQueryProtocol implements Closeable {
   }
 
   /**
-   * Reinitialize loopAddresses with all hosts : all servers in randomize order without connected
-   * host.
+   * Reinitialize loopAddresses with all hosts : all servers in host selection order without
+   * connected host.
    *
    * @param listener current listener
    * @param loopAddresses the list to reinitialize
+   * @throws SQLException if host selection plugin cannot be found
    */
-  private static void resetHostList(Listener listener, Deque<HostAddress> loopAddresses) {
+  private static void resetHostList(Listener listener, Deque<HostAddress> loopAddresses)
+      throws SQLException {
     // if all servers have been connected without result
     // add back all servers
     List<HostAddress> servers = new ArrayList<>();
     servers.addAll(listener.getUrlParser().getHostAddresses());
-    Collections.shuffle(servers);
+    listener.orderHosts(servers);
 
     loopAddresses.clear();
     loopAddresses.addAll(servers);
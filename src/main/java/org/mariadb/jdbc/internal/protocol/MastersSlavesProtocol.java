@@ -52,11 +52,13 @@
 
 package org.mariadb.jdbc.internal.protocol;
 
+import java.sql.ResultSet;
 import java.sql.SQLException;
 import java.util.*;
 import java.util.concurrent.locks.ReentrantLock;
 import org.mariadb.jdbc.HostAddress;
 import org.mariadb.jdbc.UrlParser;
+import org.mariadb.jdbc.internal.com.read.dao.Results;
 import org.mariadb.jdbc.internal.failover.FailoverProxy;
 import org.mariadb.jdbc.internal.failover.impl.MastersSlavesListener;
 import org.mariadb.jdbc.internal.failover.tools.SearchFilter;
@@ -101,80 +103,97 @@ public class MastersSlavesProtocol extends MasterProtocol {
     int maxConnectionTry = listener.getRetriesAllDown();
     SQLException lastQueryException = null;
     boolean firstLoop = true;
-    while (!loopAddresses.isEmpty() || (!searchFilter.isFailoverLoop() && maxConnectionTry > 0)) {
-      protocol = getNewProtocol(listener.getProxy(), globalInfo, listener.getUrlParser());
+    try (ConcurrentHostConnector<MastersSlavesProtocol> connector =
+        new ConcurrentHostConnector<>(
+            listener.getConnectionExecutor(),
+            listener.getConnectConcurrency(),
+            () -> getNewProtocol(listener.getProxy(), globalInfo, listener.getUrlParser()))) {
+      while (!loopAddresses.isEmpty()
+          || connector.hasPending()
+          || (!searchFilter.isFailoverLoop() && maxConnectionTry > 0)) {
 
-      if (listener.isExplicitClosed()
-          || (!listener.isSecondaryHostFailReconnect() && !listener.isMasterHostFailReconnect())) {
-        return;
-      }
-      maxConnectionTry--;
-      try {
-        HostAddress host = loopAddresses.pollFirst();
-        if (host == null) {
-          loopAddresses.addAll(listener.getUrlParser().getHostAddresses());
-          host = loopAddresses.pollFirst();
-        }
-
-        protocol.setHostAddress(host);
-
-        protocol.connect();
-        if (listener.isExplicitClosed()) {
-          protocol.close();
+        if (listener.isExplicitClosed()
+            || (!listener.isSecondaryHostFailReconnect()
+                && !listener.isMasterHostFailReconnect())) {
           return;
         }
+        maxConnectionTry--;
 
-        listener.removeFromBlacklist(protocol.getHostAddress());
+        if (loopAddresses.isEmpty() && !connector.hasPending()) {
+          loopAddresses.addAll(listener.getUrlParser().getHostAddresses());
+        }
+        ConcurrentHostConnector.Attempt<MastersSlavesProtocol> attempt =
+            connector.next(loopAddresses);
+        if (attempt == null) {
+          break;
+        }
+        protocol = attempt.getProtocol();
 
-        if (listener.isMasterHostFailReconnect() && protocol.isMasterConnection()) {
-          if (foundMaster(listener, protocol, searchFilter)) {
+        try {
+          attempt.getConnected();
+          if (listener.isExplicitClosed()) {
+            protocol.close();
             return;
           }
-        } else if (listener.isSecondaryHostFailReconnect() && !protocol.isMasterConnection()) {
-          if (foundSecondary(listener, protocol, searchFilter)) {
-            return;
+
+          listener.removeFromBlacklist(protocol.getHostAddress());
+
+          if (listener.isMasterHostFailReconnect() && protocol.isMasterConnection()) {
+            if (foundMaster(listener, protocol, searchFilter)) {
+              return;
+            }
+          } else if (listener.isSecondaryHostFailReconnect() && !protocol.isMasterConnection()) {
+            if (isLagging(listener, protocol)
+                && (!loopAddresses.isEmpty() || connector.hasPending())) {
+              // other replicas may be up to date
+              protocol.close();
+            } else if (foundSecondary(listener, protocol, searchFilter)) {
+              return;
+            }
+          } else {
+            protocol.close();
           }
-        } else {
-          protocol.close();
+
+        } catch (SQLException e) {
+          lastQueryException = e;
+          listener.addToBlacklist(protocol.getHostAddress());
         }
 
-      } catch (SQLException e) {
-        lastQueryException = e;
-        listener.addToBlacklist(protocol.getHostAddress());
-      }
+        if (!listener.isMasterHostFailReconnect() && !listener.isSecondaryHostFailReconnect()) {
+          return;
+        }
 
-      if (!listener.isMasterHostFailReconnect() && !listener.isSecondaryHostFailReconnect()) {
-        return;
-      }
+        boolean allHostsTried = loopAddresses.isEmpty() && !connector.hasPending();
 
-      // in case master not found but slave is , and allowing master down
-      if (loopAddresses.isEmpty()
-          && (listener.isMasterHostFailReconnect()
-              && listener.urlParser.getOptions().allowMasterDownConnection
-              && !listener.isSecondaryHostFailReconnect())) {
-        return;
-      }
+        // in case master not found but slave is , and allowing master down
+        if (allHostsTried
+            && (listener.isMasterHostFailReconnect()
+                && listener.urlParser.getOptions().allowMasterDownConnection
+                && !listener.isSecondaryHostFailReconnect())) {
+          return;
+        }
 
-      // on connection and all slaves have been tested, use master if on
-      if (loopAddresses.isEmpty()
-          && searchFilter.isInitialConnection()
-          && !listener.isMasterHostFailReconnect()) {
-        return;
-      }
+        // on connection and all slaves have been tested, use master if on
+        if (allHostsTried
+            && searchFilter.isInitialConnection()
+            && !listener.isMasterHostFailReconnect()) {
+          return;
+        }
 
-      // if server has try to connect to all host, and there is remaining master or slave that fail
-      // add all servers back to continue looping until maxConnectionTry is reached
-      if (loopAddresses.isEmpty() && !searchFilter.isFailoverLoop() && maxConnectionTry > 0) {
-        resetHostList(listener, loopAddresses);
-
-        if (firstLoop) {
-          firstLoop = false;
-        } else {
-          try {
-            // wait 250ms before looping through all connection another time
-            Thread.sleep(250);
-          } catch (InterruptedException interrupted) {
-            // interrupted, continue
+        // if server has try to connect to all host, and there is remaining master or slave that
+        // fail add all servers back to continue looping until maxConnectionTry is reached
+        if (allHostsTried && !searchFilter.isFailoverLoop() && maxConnectionTry > 0) {
+          resetHostList(listener, loopAddresses);
+
+          if (firstLoop) {
+            firstLoop = false;
+          } else {
+            try {
+              // wait 250ms before looping through all connection another time
+              Thread.sleep(250);
+            } catch (InterruptedException interrupted) {
+              // interrupted, continue
+            }
           }
         }
       }
@@ -197,18 +216,19 @@ public class MastersSlavesProtocol extends MasterProtocol {
   }
 
   /**
-   * Reinitialize loopAddresses with all servers in randomize order.
+   * Reinitialize loopAddresses with all servers in host selection order.
    *
    * @param listener current listener
    * @param loopAddresses the list to reinitialize
+   * @throws SQLException if host selection plugin cannot be found
    */
   private static void resetHostList(
-      MastersSlavesListener listener, Deque<HostAddress> loopAddresses) {
+      MastersSlavesListener listener, Deque<HostAddress> loopAddresses) throws SQLException {
     // if all servers have been connected without result
     // add back all servers
     List<HostAddress> servers = new ArrayList<>();
     servers.addAll(listener.getUrlParser().getHostAddresses());
-    Collections.shuffle(servers);
+    listener.orderHosts(servers);
 
     // remove current connected hosts to avoid reconnect them
     servers.removeAll(listener.connectedHosts());
@@ -235,6 +255,35 @@ public class MastersSlavesProtocol extends MasterProtocol {
     }
   }
 
+  /**
+   * Check replica lag (Seconds_Behind_Master) against option maxReplicaLag, recording it in host
+   * statistics. Replicas whose lag cannot be read are considered up to date.
+   *
+   * @param listener current listener
+   * @param protocol replica connection
+   * @return true if replica lag is more than option maxReplicaLag
+   */
+  private static boolean isLagging(MastersSlavesListener listener, MastersSlavesProtocol protocol) {
+    int maxReplicaLag = listener.getUrlParser().getOptions().maxReplicaLag;
+    if (maxReplicaLag <= 0) {
+      return false;
+    }
+    long lag = -1;
+    try {
+      Results results = new Results();
+      protocol.executeQuery(true, results, "SHOW SLAVE STATUS");
+      results.commandEnd();
+      ResultSet rs = results.getResultSet();
+      if (rs != null && rs.next() && rs.getString("Seconds_Behind_Master") != null) {
+        lag = rs.getLong("Seconds_Behind_Master");
+      }
+    } catch (SQLException e) {
+      // missing REPLICATION CLIENT privilege : lag is unknown
+    }
+    listener.getHostStatistics().recordReplicationLag(protocol.getHostAddress(), lag);
+    return lag > maxReplicaLag;
+  }
+
   protected static boolean foundSecondary(
       MastersSlavesListener listener, MastersSlavesProtocol protocol, SearchFilter searchFilter)
       throws SQLException {
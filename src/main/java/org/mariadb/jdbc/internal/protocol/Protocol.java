@@ -64,10 +64,12 @@ import java.util.TimeZone;
 import java.util.concurrent.FutureTask;
 import java.util.concurrent.locks.ReentrantLock;
 import org.mariadb.jdbc.HostAddress;
+import org.mariadb.jdbc.LocalInfileRowProducer;
 import org.mariadb.jdbc.MariaDbConnection;
 import org.mariadb.jdbc.MariaDbStatement;
 import org.mariadb.jdbc.UrlParser;
 import org.mariadb.jdbc.internal.com.read.dao.Results;
+import org.mariadb.jdbc.internal.com.send.parameters.ParameterBatch;
 import org.mariadb.jdbc.internal.com.send.parameters.ParameterHolder;
 import org.mariadb.jdbc.internal.failover.FailoverProxy;
 import org.mariadb.jdbc.internal.io.input.PacketInputStream;
@@ -148,6 +150,10 @@ public interface Protocol {
 
   void executeQuery(String sql) throws SQLException;
 
+  void startPipeline();
+
+  void endPipeline() throws SQLException;
+
   void executeQuery(boolean mustExecuteOnMaster, Results results, final String sql)
       throws SQLException;
 
@@ -169,12 +175,16 @@ public interface Protocol {
       int timeout)
       throws SQLException;
 
+  SQLException[] executePipelineQueries(
+      boolean mustExecuteOnMaster, Results[] results, final String[] queries) throws SQLException;
+
   boolean executeBatchClient(
       boolean mustExecuteOnMaster,
       Results results,
       final ClientPrepareResult prepareResult,
-      final List<ParameterHolder[]> parametersList,
-      boolean hasLongData)
+      final ParameterBatch parametersList,
+      boolean hasLongData,
+      int queryTimeout)
       throws SQLException;
 
   void executeBatchStmt(boolean mustExecuteOnMaster, Results results, final List<String> queries)
@@ -192,7 +202,7 @@ public interface Protocol {
       ServerPrepareResult serverPrepareResult,
       Results results,
       String sql,
-      List<ParameterHolder[]> parameterList,
+      ParameterBatch parameterList,
       boolean hasLongData)
       throws SQLException;
 
@@ -220,6 +230,8 @@ public interface Protocol {
 
   void setLocalInfileInputStream(InputStream inputStream);
 
+  void setLocalInfileRows(LocalInfileRowProducer producer);
+
   int getTimeout();
 
   void setTimeout(int timeout) throws SocketException;
@@ -34,6 +34,7 @@ import java.security.NoSuchAlgorithmException;
 import java.security.cert.Certificate;
 import java.security.cert.X509Certificate;
 import java.sql.SQLException;
+import java.util.List;
 import javax.net.ssl.*;
 import org.mariadb.jdbc.internal.logging.Logger;
 import org.mariadb.jdbc.internal.logging.LoggerFactory;
@@ -96,7 +97,16 @@ public class DefaultTlsSocketPlugin implements TlsSocketPlugin {
 
   @Override
   public SSLSocketFactory getSocketFactory(Options options) throws SQLException {
+    List<Object> key = SslContextCache.key(options);
+    SSLContext sslContext = SslContextCache.get(key);
+    if (sslContext == null) {
+      sslContext = createSslContext(options);
+      SslContextCache.put(key, sslContext);
+    }
+    return sslContext.getSocketFactory();
+  }
 
+  private static SSLContext createSslContext(Options options) throws SQLException {
     TrustManager[] trustManager = null;
     KeyManager[] keyManager = null;
 
@@ -134,7 +144,7 @@ public class DefaultTlsSocketPlugin implements TlsSocketPlugin {
     try {
       SSLContext sslContext = SSLContext.getInstance("TLS");
       sslContext.init(keyManager, trustManager, null);
-      return sslContext.getSocketFactory();
+      return sslContext;
     } catch (KeyManagementException keyManagementEx) {
       throw ExceptionFactory.INSTANCE.create(
           "Could not initialize SSL context", "08000", keyManagementEx);
@@ -0,0 +1,161 @@
+/*
+ *
+ * MariaDB Client for Java
+ *
+ * Copyright (c) 2012-2014 Monty Program Ab.
+ * Copyright (c) 2015-2020 MariaDB Corporation Ab.
+ *
+ * This library is free software; you can redistribute it and/or modify it under
+ * the terms of the GNU Lesser General Public License as published by the Free
+ * Software Foundation; either version 2.1 of the License, or (at your option)
+ * any later version.
+ *
+ * This library is distributed in the hope that it will be useful, but
+ * WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE.  See the GNU Lesser General Public License
+ * for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License along
+ * with this library; if not, write to Monty Program Ab info@montyprogram.com.
+ *
+ */
+
+package org.mariadb.jdbc.internal.protocol.tls;
+
+import java.io.File;
+import java.net.URI;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import javax.net.ssl.SSLContext;
+import javax.net.ssl.SSLSession;
+import org.mariadb.jdbc.util.Options;
+
+/**
+ * SSLContext cache, by TLS configuration. Reusing the same SSLContext permits JSSE client session
+ * cache to resume sessions (abbreviated handshake, or TLS 1.3 session tickets) when connecting
+ * again to the same server, instead of a full handshake.
+ *
+ * <p>Cached context is discarded when trust store, key store or server certificate file are
+ * modified.
+ */
+public final class SslContextCache {
+
+  private static final Map<List<Object>, Entry> cache = new ConcurrentHashMap<>();
+  private static final AtomicLong fullHandshakes = new AtomicLong();
+  private static final AtomicLong resumedHandshakes = new AtomicLong();
+
+  private SslContextCache() {}
+
+  /**
+   * Cache key of a TLS configuration.
+   *
+   * @param options connection options
+   * @return cache key
+   */
+  public static List<Object> key(Options options) {
+    String keyStore = options.keyStore;
+    String keyStorePassword = options.keyStorePassword;
+    String keyPassword = options.keyPassword;
+    if (keyStore == null) {
+      keyStore = System.getProperty("javax.net.ssl.keyStore");
+      keyStorePassword = System.getProperty("javax.net.ssl.keyStorePassword");
+      keyPassword = keyStorePassword;
+    }
+    return Arrays.asList(
+        options.trustServerCertificate,
+        options.serverSslCert,
+        options.trustStore,
+        options.trustStoreType,
+        options.trustStorePassword,
+        keyStore,
+        keyStorePassword,
+        keyPassword,
+        options.keyStoreType);
+  }
+
+  /**
+   * Get cached SSLContext.
+   *
+   * @param key TLS configuration key
+   * @return SSLContext, or null if not cached or if a configuration file has been modified.
+   */
+  public static SSLContext get(List<Object> key) {
+    Entry entry = cache.get(key);
+    if (entry != null && !Arrays.equals(entry.modified, modified(key))) {
+      cache.remove(key, entry);
+      return null;
+    }
+    return entry == null ? null : entry.sslContext;
+  }
+
+  /**
+   * Cache SSLContext.
+   *
+   * @param key TLS configuration key
+   * @param sslContext initialized SSLContext
+   */
+  public static void put(List<Object> key, SSLContext sslContext) {
+    cache.put(key, new Entry(sslContext, modified(key)));
+  }
+
+  /** Remove all cached contexts. */
+  public static void clear() {
+    cache.clear();
+  }
+
+  /**
+   * Count handshake, as full or resumed. A resumed session has been created before handshake began.
+   *
+   * @param session session after handshake
+   * @param handshakeStartMillis time when handshake began
+   */
+  public static void recordHandshake(SSLSession session, long handshakeStartMillis) {
+    if (session.getCreationTime() < handshakeStartMillis) {
+      resumedHandshakes.incrementAndGet();
+    } else {
+      fullHandshakes.incrementAndGet();
+    }
+  }
+
+  public static long getFullHandshakes() {
+    return fullHandshakes.get();
+  }
+
+  public static long getResumedHandshakes() {
+    return resumedHandshakes.get();
+  }
+
+  private static long[] modified(List<Object> key) {
+    return new long[] {
+      lastModified((String) key.get(1)),
+      lastModified((String) key.get(2)),
+      lastModified((String) key.get(5))
+    };
+  }
+
+  private static long lastModified(String path) {
+    if (path == null || path.startsWith("-----BEGIN") || path.startsWith("classpath:")) {
+      return 0;
+    }
+    try {
+      return (path.startsWith("file:") ? new File(URI.create(path)) : new File(path))
+          .lastModified();
+    } catch (IllegalArgumentException e) {
+      // other URL
+      return 0;
+    }
+  }
+
+  private static final class Entry {
+    private final SSLContext sslContext;
+    private final long[] modified;
+
+    private Entry(SSLContext sslContext, long[] modified) {
+      this.sslContext = sslContext;
+      this.modified = modified;
+    }
+  }
+}
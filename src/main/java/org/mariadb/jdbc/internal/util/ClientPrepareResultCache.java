@@ -0,0 +1,185 @@
+/*
+ *
+ * MariaDB Client for Java
+ *
+ * Copyright (c) 2012-2014 Monty Program Ab.
+ * Copyright (c) 2015-2020 MariaDB Corporation Ab.
+ *
+ * This library is free software; you can redistribute it and/or modify it under
+ * the terms of the GNU Lesser General Public License as published by the Free
+ * Software Foundation; either version 2.1 of the License, or (at your option)
+ * any later version.
+ *
+ * This library is distributed in the hope that it will be useful, but
+ * WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE.  See the GNU Lesser General Public License
+ * for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License along
+ * with this library; if not, write to Monty Program Ab info@montyprogram.com.
+ *
+ */
+
+package org.mariadb.jdbc.internal.util;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.LongAdder;
+import org.mariadb.jdbc.internal.util.dao.ClientPrepareResult;
+
+/**
+ * Process-wide cache of client-side query parsing results.
+ *
+ * <p>Parsing result only depends on the query, on the backslash escape mode and on the parsing type
+ * (rewritable or not), so {@link ClientPrepareResult} (immutable) can be shared by all connections.
+ * Cache is split in segments, each one being an LRU map with its own lock, to limit contention when
+ * many connections prepare statements concurrently.
+ */
+public final class ClientPrepareResultCache {
+
+  private static final int SEGMENT_NUMBER = 16;
+  private static final int SEGMENT_MAX_SIZE = 256;
+  private static final int MAX_SQL_LENGTH = 8192;
+  private static final ClientPrepareResultCache INSTANCE =
+      new ClientPrepareResultCache(SEGMENT_NUMBER, SEGMENT_MAX_SIZE);
+
+  private final Segment[] segments;
+  private final LongAdder hitCount = new LongAdder();
+  private final LongAdder missCount = new LongAdder();
+
+  ClientPrepareResultCache(int segmentNumber, int segmentMaxSize) {
+    segments = new Segment[segmentNumber];
+    for (int i = 0; i < segmentNumber; i++) {
+      segments[i] = new Segment(segmentMaxSize);
+    }
+  }
+
+  public static ClientPrepareResultCache getInstance() {
+    return INSTANCE;
+  }
+
+  /**
+   * Get query parsing result, parsing query only if not already in cache.
+   *
+   * @param sql query
+   * @param noBackslashEscapes escape mode
+   * @param rewriteType must parse query for rewrite
+   * @return ClientPrepareResult
+   */
+  public ClientPrepareResult get(String sql, boolean noBackslashEscapes, boolean rewriteType) {
+    if (sql.length() > MAX_SQL_LENGTH) {
+      // avoid keeping huge generated queries in memory
+      missCount.increment();
+      return parse(sql, noBackslashEscapes, rewriteType);
+    }
+
+    Key key = new Key(sql, noBackslashEscapes, rewriteType);
+    Segment segment = segments[(key.hash & 0x7fffffff) % segments.length];
+    ClientPrepareResult result;
+    synchronized (segment) {
+      result = segment.get(key);
+    }
+    if (result != null) {
+      hitCount.increment();
+      return result;
+    }
+
+    // parsing is done outside lock
+    missCount.increment();
+    result = parse(sql, noBackslashEscapes, rewriteType);
+    synchronized (segment) {
+      segment.put(key, result);
+    }
+    return result;
+  }
+
+  private static ClientPrepareResult parse(
+      String sql, boolean noBackslashEscapes, boolean rewriteType) {
+    return rewriteType
+        ? ClientPrepareResult.rewritableParts(sql, noBackslashEscapes)
+        : ClientPrepareResult.parameterParts(sql, noBackslashEscapes);
+  }
+
+  public long getHitCount() {
+    return hitCount.sum();
+  }
+
+  public long getMissCount() {
+    return missCount.sum();
+  }
+
+  /**
+   * Current number of cached parsing results.
+   *
+   * @return cache size
+   */
+  public int size() {
+    int size = 0;
+    for (Segment segment : segments) {
+      synchronized (segment) {
+        size += segment.size();
+      }
+    }
+    return size;
+  }
+
+  /** Remove all cached parsing results and reset counters. */
+  public void clear() {
+    for (Segment segment : segments) {
+      synchronized (segment) {
+        segment.clear();
+      }
+    }
+    hitCount.reset();
+    missCount.reset();
+  }
+
+  private static final class Key {
+
+    private final String sql;
+    private final boolean noBackslashEscapes;
+    private final boolean rewriteType;
+    private final int hash;
+
+    private Key(String sql, boolean noBackslashEscapes, boolean rewriteType) {
+      this.sql = sql;
+      this.noBackslashEscapes = noBackslashEscapes;
+      this.rewriteType = rewriteType;
+      this.hash = 31 * sql.hashCode() + (noBackslashEscapes ? 2 : 0) + (rewriteType ? 1 : 0);
+    }
+
+    @Override
+    public boolean equals(Object o) {
+      if (this == o) {
+        return true;
+      }
+      if (o == null || getClass() != o.getClass()) {
+        return false;
+      }
+      Key key = (Key) o;
+      return noBackslashEscapes == key.noBackslashEscapes
+          && rewriteType == key.rewriteType
+          && sql.equals(key.sql);
+    }
+
+    @Override
+    public int hashCode() {
+      return hash;
+    }
+  }
+
+  private static final class Segment extends LinkedHashMap<Key, ClientPrepareResult> {
+
+    private final int maxSize;
+
+    private Segment(int maxSize) {
+      super(maxSize, .75f, true);
+      this.maxSize = maxSize;
+    }
+
+    @Override
+    protected boolean removeEldestEntry(Map.Entry<Key, ClientPrepareResult> eldest) {
+      return this.size() > maxSize;
+    }
+  }
+}
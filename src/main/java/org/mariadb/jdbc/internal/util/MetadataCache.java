@@ -0,0 +1,154 @@
+/*
+ *
+ * MariaDB Client for Java
+ *
+ * Copyright (c) 2012-2014 Monty Program Ab.
+ * Copyright (c) 2015-2020 MariaDB Corporation Ab.
+ *
+ * This library is free software; you can redistribute it and/or modify it under
+ * the terms of the GNU Lesser General Public License as published by the Free
+ * Software Foundation; either version 2.1 of the License, or (at your option)
+ * any later version.
+ *
+ * This library is distributed in the hope that it will be useful, but
+ * WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE.  See the GNU Lesser General Public License
+ * for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License along
+ * with this library; if not, write to Monty Program Ab info@montyprogram.com.
+ *
+ */
+
+package org.mariadb.jdbc.internal.util;
+
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.mariadb.jdbc.UrlParser;
+import org.mariadb.jdbc.internal.com.read.resultset.ColumnDefinition;
+
+/**
+ * Cache of DatabaseMetaData query results, shared by all connections of the same configuration (and
+ * so of the same pool).
+ *
+ * <p>Results are kept in text row format, keyed by query, for option metadataCacheTtl seconds.
+ * Cache is cleared explicitly, or when a DDL command is executed by one of these connections.
+ */
+public class MetadataCache {
+
+  private static final int PURGE_INTERVAL = 1024;
+  private static final Map<UrlParser, MetadataCache> caches = new ConcurrentHashMap<>();
+
+  private final Map<String, Entry> entries = new ConcurrentHashMap<>();
+  private final AtomicInteger puts = new AtomicInteger();
+  private final long ttlNanos;
+
+  MetadataCache(long ttlNanos) {
+    this.ttlNanos = ttlNanos;
+  }
+
+  /**
+   * Get metadata cache for a configuration. Create it if doesn't exists.
+   *
+   * @param urlParser configuration parser
+   * @return cache
+   */
+  public static MetadataCache retrieve(UrlParser urlParser) {
+    return caches.computeIfAbsent(
+        urlParser,
+        key ->
+            new MetadataCache(TimeUnit.SECONDS.toNanos(urlParser.getOptions().metadataCacheTtl)));
+  }
+
+  /**
+   * Clear metadata cache of a configuration, if any.
+   *
+   * @param urlParser configuration parser
+   */
+  public static void clear(UrlParser urlParser) {
+    MetadataCache cache = caches.get(urlParser);
+    if (cache != null) {
+      cache.clear();
+    }
+  }
+
+  /** Remove all metadata caches. */
+  public static void close() {
+    caches.clear();
+  }
+
+  /**
+   * Get cached result.
+   *
+   * @param key query key
+   * @return cached result or null if not cached or expired
+   */
+  public Entry get(String key) {
+    Entry entry = entries.get(key);
+    if (entry != null && entry.expired(System.nanoTime())) {
+      entries.remove(key, entry);
+      return null;
+    }
+    return entry;
+  }
+
+  /**
+   * Cache result.
+   *
+   * @param key query key
+   * @param columns result columns
+   * @param rows rows in text format
+   * @return cached result
+   */
+  public Entry put(String key, ColumnDefinition[] columns, List<byte[]> rows) {
+    long now = System.nanoTime();
+    Entry entry = new Entry(columns, rows, now + ttlNanos);
+    entries.put(key, entry);
+    if (puts.incrementAndGet() % PURGE_INTERVAL == 0) {
+      Iterator<Entry> iterator = entries.values().iterator();
+      while (iterator.hasNext()) {
+        if (iterator.next().expired(now)) {
+          iterator.remove();
+        }
+      }
+    }
+    return entry;
+  }
+
+  public void clear() {
+    entries.clear();
+  }
+
+  public int size() {
+    return entries.size();
+  }
+
+  /** Cached result. Rows must not be modified. */
+  public static final class Entry {
+    private final ColumnDefinition[] columns;
+    private final List<byte[]> rows;
+    private final long expiration;
+
+    private Entry(ColumnDefinition[] columns, List<byte[]> rows, long expiration) {
+      this.columns = columns;
+      this.rows = rows;
+      this.expiration = expiration;
+    }
+
+    private boolean expired(long now) {
+      return now - expiration > 0;
+    }
+
+    public ColumnDefinition[] getColumns() {
+      return columns;
+    }
+
+    public List<byte[]> getRows() {
+      return rows;
+    }
+  }
+}
@@ -0,0 +1,175 @@
+/*
+ *
+ * MariaDB Client for Java
+ *
+ * Copyright (c) 2012-2014 Monty Program Ab.
+ * Copyright (c) 2015-2020 MariaDB Corporation Ab.
+ *
+ * This library is free software; you can redistribute it and/or modify it under
+ * the terms of the GNU Lesser General Public License as published by the Free
+ * Software Foundation; either version 2.1 of the License, or (at your option)
+ * any later version.
+ *
+ * This library is distributed in the hope that it will be useful, but
+ * WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE.  See the GNU Lesser General Public License
+ * for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License along
+ * with this library; if not, write to Monty Program Ab info@montyprogram.com.
+ *
+ */
+
+package org.mariadb.jdbc.internal.util;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Per connection LRU cache of table column metadata, as read by a SHOW COLUMNS query, used by
+ * updatable result-sets.
+ *
+ * <p>Server does not report DDL changes, so cache is cleared when a DDL command is executed on
+ * connection (see {@link #isDdl(String)}) and when connection is reset. DDL executed by other
+ * connections isn't detected : users of the cache must reload an entry when result-set columns are
+ * not all found in it, or when column flags sent by server differ from cached ones.
+ *
+ * <p>Map being access-ordered, even reads modify it : access is synchronized.
+ */
+public class TableMetadataCache extends LinkedHashMap<String, TableMetadataCache.Column[]> {
+
+  private final int maxSize;
+
+  public TableMetadataCache(int size) {
+    super(size, .75f, true);
+    maxSize = size;
+  }
+
+  @Override
+  public synchronized Column[] get(Object key) {
+    return super.get(key);
+  }
+
+  @Override
+  public synchronized Column[] put(String key, Column[] value) {
+    return super.put(key, value);
+  }
+
+  @Override
+  public synchronized void clear() {
+    super.clear();
+  }
+
+  @Override
+  public synchronized boolean isEmpty() {
+    return super.isEmpty();
+  }
+
+  public static String key(String database, String table) {
+    return database + "." + table;
+  }
+
+  /**
+   * Indicate if query is a DDL command that may change table definitions, checking first keyword
+   * only.
+   *
+   * @param sql query
+   * @return true if query begins with ALTER, CREATE, DROP or RENAME
+   */
+  public static boolean isDdl(String sql) {
+    if (sql == null) {
+      return false;
+    }
+    int len = sql.length();
+    int pos = 0;
+    while (pos < len) {
+      char car = sql.charAt(pos);
+      if (Character.isWhitespace(car) || car == '(') {
+        pos++;
+      } else if (car == '/' && pos + 1 < len && sql.charAt(pos + 1) == '*') {
+        int end = sql.indexOf("*/", pos + 2);
+        if (end < 0) {
+          return false;
+        }
+        pos = end + 2;
+      } else {
+        break;
+      }
+    }
+    return startsWithKeyword(sql, pos, "ALTER")
+        || startsWithKeyword(sql, pos, "CREATE")
+        || startsWithKeyword(sql, pos, "DROP")
+        || startsWithKeyword(sql, pos, "RENAME");
+  }
+
+  private static boolean startsWithKeyword(String sql, int pos, String keyword) {
+    int end = pos + keyword.length();
+    return sql.regionMatches(true, pos, keyword, 0, keyword.length())
+        && (end == sql.length() || !Character.isLetterOrDigit(sql.charAt(end)));
+  }
+
+  @Override
+  protected boolean removeEldestEntry(Map.Entry<String, Column[]> eldest) {
+    return this.size() > maxSize;
+  }
+
+  /** Column information of a SHOW COLUMNS result. */
+  public static final class Column {
+
+    private final String name;
+    private final boolean canBeNull;
+    private final boolean hasDefault;
+    private final boolean generated;
+    private final boolean primary;
+    private final boolean autoIncrement;
+
+    /**
+     * Constructor.
+     *
+     * @param name column name
+     * @param canBeNull can column be null
+     * @param hasDefault has column a default value
+     * @param generated is column generated
+     * @param primary is column part of primary key
+     * @param autoIncrement is column auto-increment
+     */
+    public Column(
+        String name,
+        boolean canBeNull,
+        boolean hasDefault,
+        boolean generated,
+        boolean primary,
+        boolean autoIncrement) {
+      this.name = name;
+      this.canBeNull = canBeNull;
+      this.hasDefault = hasDefault;
+      this.generated = generated;
+      this.primary = primary;
+      this.autoIncrement = autoIncrement;
+    }
+
+    public String getName() {
+      return name;
+    }
+
+    public boolean canBeNull() {
+      return canBeNull;
+    }
+
+    public boolean hasDefault() {
+      return hasDefault;
+    }
+
+    public boolean isGenerated() {
+      return generated;
+    }
+
+    public boolean isPrimary() {
+      return primary;
+    }
+
+    public boolean isAutoIncrement() {
+      return autoIncrement;
+    }
+  }
+}
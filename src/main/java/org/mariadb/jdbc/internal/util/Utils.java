@@ -56,8 +56,8 @@ import java.io.ByteArrayOutputStream;
 import java.io.IOException;
 import java.io.UnsupportedEncodingException;
 import java.lang.reflect.Constructor;
-import java.lang.reflect.Proxy;
 import java.net.Socket;
+import java.nio.channels.SocketChannel;
 import java.security.MessageDigest;
 import java.security.NoSuchAlgorithmException;
 import java.sql.Connection;
@@ -69,6 +69,7 @@ import java.util.regex.Pattern;
 import javax.net.SocketFactory;
 import org.mariadb.jdbc.UrlParser;
 import org.mariadb.jdbc.internal.com.send.parameters.ParameterHolder;
+import org.mariadb.jdbc.internal.failover.FailoverProtocol;
 import org.mariadb.jdbc.internal.failover.FailoverProxy;
 import org.mariadb.jdbc.internal.failover.impl.AuroraListener;
 import org.mariadb.jdbc.internal.failover.impl.MastersFailoverListener;
@@ -77,9 +78,7 @@ import org.mariadb.jdbc.internal.io.LruTraceCache;
 import org.mariadb.jdbc.internal.io.socket.SocketHandlerFunction;
 import org.mariadb.jdbc.internal.io.socket.SocketUtility;
 import org.mariadb.jdbc.internal.logging.ProtocolLoggingProxy;
-import org.mariadb.jdbc.internal.protocol.AuroraProtocol;
 import org.mariadb.jdbc.internal.protocol.MasterProtocol;
-import org.mariadb.jdbc.internal.protocol.MastersSlavesProtocol;
 import org.mariadb.jdbc.internal.protocol.Protocol;
 import org.mariadb.jdbc.internal.util.pool.GlobalStateInfo;
 import org.mariadb.jdbc.util.ConfigurableSocketFactory;
@@ -146,6 +145,9 @@ public class Utils {
             exp);
       }
     }
+    if (options.useSocketChannel && !Boolean.TRUE.equals(options.useSsl)) {
+      return SocketChannel.open().socket();
+    }
     socketFactory = SocketFactory.getDefault();
     return socketFactory.createSocket();
   }
@@ -465,6 +467,32 @@ public class Utils {
     throw new SQLException("unknown escape sequence " + escaped);
   }
 
+  /**
+   * Add a MySQL MAX_EXECUTION_TIME optimizer hint to a SELECT query. Server only accepts hint
+   * directly after the SELECT keyword.
+   *
+   * @param sql query
+   * @param timeoutMillis maximum execution time in milliseconds
+   * @return query with hint, or null if query is not a SELECT
+   */
+  public static String addMaxExecutionTimeHint(String sql, long timeoutMillis) {
+    int pos = 0;
+    int length = sql.length();
+    while (pos < length && (Character.isWhitespace(sql.charAt(pos)) || sql.charAt(pos) == '(')) {
+      pos++;
+    }
+    if (!sql.regionMatches(true, pos, "SELECT", 0, 6)
+        || (pos + 6 < length && Character.isJavaIdentifierPart(sql.charAt(pos + 6)))) {
+      return null;
+    }
+    pos += 6;
+    return sql.substring(0, pos)
+        + " /*+ MAX_EXECUTION_TIME("
+        + timeoutMillis
+        + ") */"
+        + sql.substring(pos);
+  }
+
   /**
    * Escape sql String.
    *
@@ -602,31 +630,21 @@ public class Utils {
       case AURORA:
         return getProxyLoggingIfNeeded(
             urlParser,
-            (Protocol)
-                Proxy.newProxyInstance(
-                    AuroraProtocol.class.getClassLoader(),
-                    new Class[] {Protocol.class},
-                    new FailoverProxy(
-                        new AuroraListener(urlParser, globalInfo), lock, traceCache)));
+            new FailoverProtocol(
+                new FailoverProxy(new AuroraListener(urlParser, globalInfo), lock, traceCache)));
       case REPLICATION:
         return getProxyLoggingIfNeeded(
             urlParser,
-            (Protocol)
-                Proxy.newProxyInstance(
-                    MastersSlavesProtocol.class.getClassLoader(),
-                    new Class[] {Protocol.class},
-                    new FailoverProxy(
-                        new MastersSlavesListener(urlParser, globalInfo), lock, traceCache)));
+            new FailoverProtocol(
+                new FailoverProxy(
+                    new MastersSlavesListener(urlParser, globalInfo), lock, traceCache)));
       case LOADBALANCE:
       case SEQUENTIAL:
         return getProxyLoggingIfNeeded(
             urlParser,
-            (Protocol)
-                Proxy.newProxyInstance(
-                    MasterProtocol.class.getClassLoader(),
-                    new Class[] {Protocol.class},
-                    new FailoverProxy(
-                        new MastersFailoverListener(urlParser, globalInfo), lock, traceCache)));
+            new FailoverProtocol(
+                new FailoverProxy(
+                    new MastersFailoverListener(urlParser, globalInfo), lock, traceCache)));
       default:
         protocol =
             getProxyLoggingIfNeeded(
@@ -639,11 +657,7 @@ public class Utils {
   private static Protocol getProxyLoggingIfNeeded(UrlParser urlParser, Protocol protocol) {
     if (urlParser.getOptions().profileSql
         || urlParser.getOptions().slowQueryThresholdNanos != null) {
-      return (Protocol)
-          Proxy.newProxyInstance(
-              MasterProtocol.class.getClassLoader(),
-              new Class[] {Protocol.class},
-              new ProtocolLoggingProxy(protocol, urlParser.getOptions()));
+      return new ProtocolLoggingProxy(protocol, urlParser.getOptions());
     }
     return protocol;
   }
@@ -60,6 +60,8 @@ import org.mariadb.jdbc.internal.protocol.Protocol;
 public class ServerPrepareResult implements PrepareResult {
 
   private final ColumnDefinition[] columns;
+  // last result-set metadata sent by server for this statement (metadata caching)
+  private volatile ColumnDefinition[] resultColumns;
   private final ColumnDefinition[] parameters;
   private final String sql;
   private final AtomicBoolean inCache = new AtomicBoolean();
@@ -88,6 +90,7 @@ public class ServerPrepareResult implements PrepareResult {
     this.sql = sql;
     this.statementId = statementId;
     this.columns = columns;
+    this.resultColumns = columns;
     this.parameters = parameters;
     this.unProxiedProtocol = unProxiedProtocol;
     this.parameterTypeHeader = new ColumnType[parameters.length];
@@ -107,6 +110,7 @@ public class ServerPrepareResult implements PrepareResult {
     this.statementId = statementId;
     this.unProxiedProtocol = unProxiedProtocol;
     this.parameterTypeHeader = new ColumnType[parameters.length];
+    this.resultColumns = columns;
     this.shareCounter = 1;
     this.isBeingDeallocate = false;
   }
@@ -172,6 +176,26 @@ public class ServerPrepareResult implements PrepareResult {
     return columns;
   }
 
+  /**
+   * Columns information of the last result-set metadata the server sent for this statement. When
+   * metadata caching is enabled, server skips metadata identical to this one.
+   *
+   * @return last result-set columns information
+   */
+  public ColumnDefinition[] getResultColumns() {
+    return resultColumns;
+  }
+
+  /**
+   * Update last result-set columns information, when server send new metadata for this statement
+   * (metadata caching). Prepare columns information are kept unchanged.
+   *
+   * @param resultColumns new result-set columns information
+   */
+  public void setResultColumns(ColumnDefinition[] resultColumns) {
+    this.resultColumns = resultColumns;
+  }
+
   public ColumnDefinition[] getParameters() {
     return parameters;
   }
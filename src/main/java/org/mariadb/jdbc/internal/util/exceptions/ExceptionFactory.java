@@ -43,7 +43,7 @@ public final class ExceptionFactory {
 
     String msg = buildMsgText(initialMessage, threadId, options, cause);
 
-    if ("70100".equals(sqlState)) { // ER_QUERY_INTERRUPTED
+    if ("70100".equals(sqlState) || errorCode == 3024) { // ER_QUERY_INTERRUPTED, ER_QUERY_TIMEOUT
       return new SQLTimeoutException(msg, sqlState, errorCode);
     }
 
@@ -0,0 +1,244 @@
+/*
+ *
+ * MariaDB Client for Java
+ *
+ * Copyright (c) 2012-2014 Monty Program Ab.
+ * Copyright (c) 2015-2020 MariaDB Corporation Ab.
+ *
+ * This library is free software; you can redistribute it and/or modify it under
+ * the terms of the GNU Lesser General Public License as published by the Free
+ * Software Foundation; either version 2.1 of the License, or (at your option)
+ * any later version.
+ *
+ * This library is distributed in the hope that it will be useful, but
+ * WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE.  See the GNU Lesser General Public License
+ * for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License along
+ * with this library; if not, write to Monty Program Ab info@montyprogram.com.
+ *
+ */
+
+package org.mariadb.jdbc.internal.util.pool;
+
+import java.lang.ref.WeakReference;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.SynchronousQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Lock-free container of pooled items.
+ *
+ * <p>Items are kept in a shared list, each with an atomic state. Borrowing an item is done by a CAS
+ * on that state, first on items recently released by the same thread (thread affinity), then on the
+ * shared list. Thread affinity only keeps weak references, so removed items aren't retained by
+ * borrowing threads. When no item is available, borrower waits on a hand-off queue, released items
+ * being given directly to waiting borrowers.
+ *
+ * @param <T> pooled item type
+ */
+final class ConnectionBag<T> {
+
+  static final int STATE_IDLE = 0;
+  static final int STATE_IN_USE = 1;
+  static final int STATE_RELEASING = 2;
+  static final int STATE_REMOVED = -1;
+
+  private static final int THREAD_LOCAL_MAX_SIZE = 16;
+
+  private final CopyOnWriteArrayList<Entry<T>> sharedList = new CopyOnWriteArrayList<>();
+  private final ThreadLocal<List<WeakReference<Entry<T>>>> threadList =
+      ThreadLocal.withInitial(ArrayList::new);
+  private final SynchronousQueue<Entry<T>> handoffQueue = new SynchronousQueue<>(true);
+  private final AtomicInteger waiters = new AtomicInteger();
+
+  /**
+   * Add a new idle entry.
+   *
+   * @param entry entry
+   */
+  void add(Entry<T> entry) {
+    sharedList.add(entry);
+
+    // give it directly to a waiting borrower if any
+    while (waiters.get() > 0 && entry.state.get() == STATE_IDLE && !handoffQueue.offer(entry)) {
+      Thread.yield();
+    }
+  }
+
+  /**
+   * Borrow an idle item.
+   *
+   * @param timeout maximum time to wait for an item, 0 meaning no wait
+   * @param timeUnit timeout unit
+   * @return an entry in use, or null if none has been available within timeout
+   * @throws InterruptedException if interrupted while waiting
+   */
+  Entry<T> borrow(long timeout, TimeUnit timeUnit) throws InterruptedException {
+    // try items last released by current thread first
+    List<WeakReference<Entry<T>>> list = threadList.get();
+    for (int i = list.size() - 1; i >= 0; i--) {
+      Entry<T> entry = list.get(i).get();
+      if (entry != null && entry.state.compareAndSet(STATE_IDLE, STATE_IN_USE)) {
+        list.remove(i);
+        return entry;
+      }
+      // entry being reset will be idle soon : keep it
+      if (entry == null || entry.state.get() != STATE_RELEASING) {
+        list.remove(i);
+      }
+    }
+
+    waiters.incrementAndGet();
+    try {
+      for (Entry<T> entry : sharedList) {
+        if (entry.state.compareAndSet(STATE_IDLE, STATE_IN_USE)) {
+          return entry;
+        }
+      }
+
+      long remainingNanos = timeUnit.toNanos(timeout);
+      while (remainingNanos > 0) {
+        long start = System.nanoTime();
+        Entry<T> entry = handoffQueue.poll(remainingNanos, TimeUnit.NANOSECONDS);
+        if (entry == null) {
+          return null;
+        }
+        if (entry.state.compareAndSet(STATE_IDLE, STATE_IN_USE)) {
+          return entry;
+        }
+        remainingNanos -= System.nanoTime() - start;
+      }
+      return null;
+
+    } finally {
+      waiters.decrementAndGet();
+    }
+  }
+
+  /**
+   * Indicate that current thread has released this entry, so will try it first on next borrow.
+   * Entry can be given back later, from another thread, using {@link #requite(Entry)}.
+   *
+   * @param entry borrowed entry
+   */
+  void registerAffinity(Entry<T> entry) {
+    List<WeakReference<Entry<T>>> list = threadList.get();
+    for (WeakReference<Entry<T>> reference : list) {
+      if (reference.get() == entry) {
+        return;
+      }
+    }
+    if (list.size() < THREAD_LOCAL_MAX_SIZE) {
+      list.add(new WeakReference<>(entry));
+    }
+  }
+
+  /**
+   * Mark a borrowed entry as being released. Entry is then neither idle nor in use, until given
+   * back using {@link #requite(Entry)}.
+   *
+   * @param entry borrowed entry
+   * @return true if entry was in use
+   */
+  boolean release(Entry<T> entry) {
+    return entry.state.compareAndSet(STATE_IN_USE, STATE_RELEASING);
+  }
+
+  /**
+   * Give back a borrowed item, handing it directly to a waiting borrower if any.
+   *
+   * @param entry borrowed or releasing entry
+   */
+  void requite(Entry<T> entry) {
+    if (!entry.state.compareAndSet(STATE_RELEASING, STATE_IDLE)
+        && !entry.state.compareAndSet(STATE_IN_USE, STATE_IDLE)) {
+      return;
+    }
+
+    for (int i = 0; waiters.get() > 0; i++) {
+      if (entry.state.get() != STATE_IDLE || handoffQueue.offer(entry)) {
+        return;
+      }
+      if ((i & 0xff) == 0xff) {
+        LockSupport.parkNanos(TimeUnit.MICROSECONDS.toNanos(10));
+      } else {
+        Thread.yield();
+      }
+    }
+  }
+
+  /**
+   * Reserve an idle entry for removal.
+   *
+   * @param entry entry
+   * @return true if entry was idle and has been removed
+   */
+  boolean removeIdle(Entry<T> entry) {
+    if (entry.state.compareAndSet(STATE_IDLE, STATE_REMOVED)) {
+      sharedList.remove(entry);
+      return true;
+    }
+    return false;
+  }
+
+  /**
+   * Remove an entry whatever its state.
+   *
+   * @param entry entry
+   * @return true if entry wasn't already removed
+   */
+  boolean remove(Entry<T> entry) {
+    if (entry.state.getAndSet(STATE_REMOVED) != STATE_REMOVED) {
+      sharedList.remove(entry);
+      return true;
+    }
+    return false;
+  }
+
+  /**
+   * Entries, least recently added first.
+   *
+   * @return snapshot of current entries
+   */
+  List<Entry<T>> values() {
+    return new ArrayList<>(sharedList);
+  }
+
+  int getIdleCount() {
+    int count = 0;
+    for (Entry<T> entry : sharedList) {
+      if (entry.state.get() == STATE_IDLE) {
+        count++;
+      }
+    }
+    return count;
+  }
+
+  int getWaitingBorrowers() {
+    return waiters.get();
+  }
+
+  static final class Entry<T> {
+
+    private final T item;
+    private final AtomicInteger state = new AtomicInteger(STATE_IDLE);
+
+    Entry(T item) {
+      this.item = item;
+    }
+
+    T getItem() {
+      return item;
+    }
+
+    int getState() {
+      return state.get();
+    }
+  }
+}
@@ -0,0 +1,390 @@
+/*
+ *
+ * MariaDB Client for Java
+ *
+ * Copyright (c) 2012-2014 Monty Program Ab.
+ * Copyright (c) 2015-2020 MariaDB Corporation Ab.
+ *
+ * This library is free software; you can redistribute it and/or modify it under
+ * the terms of the GNU Lesser General Public License as published by the Free
+ * Software Foundation; either version 2.1 of the License, or (at your option)
+ * any later version.
+ *
+ * This library is distributed in the hope that it will be useful, but
+ * WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE.  See the GNU Lesser General Public License
+ * for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License along
+ * with this library; if not, write to Monty Program Ab info@montyprogram.com.
+ *
+ */
+
+package org.mariadb.jdbc.internal.util.pool;
+
+import java.sql.SQLException;
+import java.util.Deque;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedDeque;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.ReentrantLock;
+import org.mariadb.jdbc.HostAddress;
+import org.mariadb.jdbc.UrlParser;
+import org.mariadb.jdbc.internal.io.LruTraceCache;
+import org.mariadb.jdbc.internal.protocol.MasterProtocol;
+import org.mariadb.jdbc.internal.util.exceptions.ExceptionFactory;
+import org.mariadb.jdbc.internal.util.scheduler.SchedulerServiceProviderHolder;
+
+/**
+ * Small per-host pool of control connections, used to send <code>KILL QUERY</code> / <code>KILL
+ * </code> commands when a query is cancelled or timed out.
+ *
+ * <p>Connections are created lazily, reused while idle, validated with a ping when they have been
+ * idle for a while, and discarded after {@link #IDLE_TIMEOUT_NANOS}, by {@link #reapIdle()} that
+ * runs periodically on the timeout scheduler while any pool exists, or on next borrow. Pools of a
+ * configuration are closed when the connection pool using this configuration is closed. The number
+ * of pooled control connections per host is bounded. When none is available within {@link
+ * #PERMIT_WAIT_MILLIS}, a one-off connection is used, so that the timer thread sending the command
+ * isn't blocked and other timeouts aren't delayed.
+ */
+public class ControlConnectionPool {
+
+  static final int MAX_CONNECTIONS = 4;
+  static final int MAX_IDLE = 2;
+  static final long VALIDATION_NANOS = TimeUnit.SECONDS.toNanos(5);
+  static final long IDLE_TIMEOUT_NANOS = TimeUnit.SECONDS.toNanos(60);
+  static final long PERMIT_WAIT_MILLIS = 100;
+
+  private static final Map<Key, ControlConnectionPool> pools = new ConcurrentHashMap<>();
+  private static volatile ScheduledFuture<?> reaper;
+
+  private final UrlParser urlParser;
+  private final HostAddress hostAddress;
+  private final Semaphore permits = new Semaphore(MAX_CONNECTIONS);
+  private final Deque<Entry> idle = new ConcurrentLinkedDeque<>();
+  private volatile boolean closed;
+
+  private final AtomicLong commandCount = new AtomicLong();
+  private final AtomicLong commandErrors = new AtomicLong();
+  private final AtomicLong connectionsCreated = new AtomicLong();
+  private final AtomicLong totalLatencyNanos = new AtomicLong();
+  private final AtomicLong maxLatencyNanos = new AtomicLong();
+
+  ControlConnectionPool(UrlParser urlParser, HostAddress hostAddress) {
+    this.urlParser = urlParser;
+    this.hostAddress = hostAddress;
+  }
+
+  /**
+   * Get control connection pool for a configuration and host. Create it if doesn't exists.
+   *
+   * @param urlParser configuration parser
+   * @param hostAddress host to connect to
+   * @return pool
+   */
+  public static ControlConnectionPool retrievePool(UrlParser urlParser, HostAddress hostAddress) {
+    ControlConnectionPool pool =
+        pools.computeIfAbsent(
+            new Key(urlParser, hostAddress),
+            key -> new ControlConnectionPool(urlParser, hostAddress));
+    ScheduledFuture<?> current = reaper;
+    if (current == null || current.isDone()) {
+      scheduleReaper();
+    }
+    return pool;
+  }
+
+  /**
+   * Schedule {@link #reapIdle()}, so that idle connections are closed even when no connection pool
+   * is used.
+   */
+  private static synchronized void scheduleReaper() {
+    if (reaper == null || reaper.isDone()) {
+      long period = IDLE_TIMEOUT_NANOS / 2;
+      try {
+        reaper =
+            SchedulerServiceProviderHolder.getTimeoutScheduler()
+                .scheduleAtFixedRate(
+                    ControlConnectionPool::reapIdle, period, period, TimeUnit.NANOSECONDS);
+      } catch (RejectedExecutionException rejected) {
+        // scheduler is shutting down, idle connections will be closed on next borrow
+        reaper = null;
+      }
+    }
+  }
+
+  private static synchronized void cancelReaper() {
+    if (reaper != null && pools.isEmpty()) {
+      reaper.cancel(false);
+      reaper = null;
+    }
+  }
+
+  static boolean isReaperScheduled() {
+    ScheduledFuture<?> current = reaper;
+    return current != null && !current.isDone();
+  }
+
+  /** Close all control connections. */
+  public static void close() {
+    for (ControlConnectionPool pool : pools.values()) {
+      pool.shutdown();
+    }
+    pools.clear();
+    cancelReaper();
+  }
+
+  /**
+   * Close control connections of a configuration.
+   *
+   * @param urlParser configuration parser
+   */
+  public static void close(UrlParser urlParser) {
+    for (Map.Entry<Key, ControlConnectionPool> entry : pools.entrySet()) {
+      if (entry.getKey().urlParser.equals(urlParser)
+          && pools.remove(entry.getKey(), entry.getValue())) {
+        entry.getValue().shutdown();
+      }
+    }
+    cancelReaper();
+  }
+
+  /**
+   * Close control connections idle for more than {@link #IDLE_TIMEOUT_NANOS}, and remove unused
+   * pools.
+   */
+  public static void reapIdle() {
+    long now = System.nanoTime();
+    for (Map.Entry<Key, ControlConnectionPool> entry : pools.entrySet()) {
+      ControlConnectionPool pool = entry.getValue();
+      pool.closeExpired(now);
+      if (pool.idle.isEmpty()
+          && pool.permits.availablePermits() == MAX_CONNECTIONS
+          && pools.remove(entry.getKey(), pool)) {
+        pool.shutdown();
+      }
+    }
+    cancelReaper();
+  }
+
+  /**
+   * Kill the current query of a connection.
+   *
+   * @param serverThreadId connection thread id
+   * @throws SQLException if no control connection could be obtained, or if server reject command
+   */
+  public void killQuery(long serverThreadId) throws SQLException {
+    execute("KILL QUERY " + serverThreadId);
+  }
+
+  /**
+   * Kill a connection.
+   *
+   * @param serverThreadId connection thread id
+   * @throws SQLException if no control connection could be obtained, or if server reject command
+   */
+  public void killConnection(long serverThreadId) throws SQLException {
+    execute("KILL " + serverThreadId);
+  }
+
+  private void execute(String command) throws SQLException {
+    final long startTime = System.nanoTime();
+    boolean pooled;
+    try {
+      // short wait : caller is usually a timer thread shared with other timeouts
+      pooled = permits.tryAcquire(PERMIT_WAIT_MILLIS, TimeUnit.MILLISECONDS);
+    } catch (InterruptedException interrupted) {
+      Thread.currentThread().interrupt();
+      commandErrors.incrementAndGet();
+      throw ExceptionFactory.INSTANCE.create(
+          "Interrupted waiting for control connection", "08000", interrupted);
+    }
+
+    MasterProtocol protocol = null;
+    try {
+      if (pooled) {
+        protocol = borrow();
+      } else {
+        // all pooled connections are busy : one-off connection
+        protocol = createProtocol();
+        connectionsCreated.incrementAndGet();
+      }
+      // no lock, because there is already a query running that possessed the lock.
+      protocol.executeQuery(command);
+      if (pooled) {
+        release(protocol);
+      } else {
+        protocol.close();
+      }
+    } catch (SQLException sqle) {
+      commandErrors.incrementAndGet();
+      if (protocol != null) {
+        if (pooled && !protocol.isClosed()) {
+          // command rejected (thread already ended for example), connection is still usable
+          release(protocol);
+        } else {
+          protocol.close();
+        }
+      }
+      throw sqle;
+    } finally {
+      if (pooled) {
+        permits.release();
+      }
+      long latency = System.nanoTime() - startTime;
+      commandCount.incrementAndGet();
+      totalLatencyNanos.addAndGet(latency);
+      maxLatencyNanos.accumulateAndGet(latency, Math::max);
+    }
+  }
+
+  private MasterProtocol borrow() throws SQLException {
+    Entry entry;
+    while ((entry = idle.pollFirst()) != null) {
+      long idleNanos = System.nanoTime() - entry.lastUsed;
+      if (idleNanos > IDLE_TIMEOUT_NANOS) {
+        entry.protocol.close();
+        continue;
+      }
+      if (idleNanos > VALIDATION_NANOS && !isValid(entry.protocol)) {
+        entry.protocol.close();
+        continue;
+      }
+      return entry.protocol;
+    }
+    MasterProtocol protocol = createProtocol();
+    connectionsCreated.incrementAndGet();
+    return protocol;
+  }
+
+  private static boolean isValid(MasterProtocol protocol) {
+    try {
+      return !protocol.isClosed() && protocol.ping();
+    } catch (SQLException sqle) {
+      return false;
+    }
+  }
+
+  private void release(MasterProtocol protocol) {
+    if (!closed && idle.size() < MAX_IDLE) {
+      idle.offerFirst(new Entry(protocol, System.nanoTime()));
+      if (closed) {
+        // pool closed concurrently
+        closeIdle();
+      }
+    } else {
+      protocol.close();
+    }
+  }
+
+  /**
+   * Create and connect a new control connection.
+   *
+   * @return connected protocol
+   * @throws SQLException if connection fails
+   */
+  protected MasterProtocol createProtocol() throws SQLException {
+    MasterProtocol protocol =
+        new MasterProtocol(
+            urlParser,
+            new GlobalStateInfo(),
+            new ReentrantLock(),
+            urlParser.getOptions().enablePacketDebug ? new LruTraceCache() : null);
+    protocol.setHostAddress(hostAddress);
+    protocol.connect();
+    return protocol;
+  }
+
+  /** Close idle connections. Connections in use are closed when released. */
+  void shutdown() {
+    closed = true;
+    closeIdle();
+  }
+
+  /**
+   * Close connections idle for more than {@link #IDLE_TIMEOUT_NANOS}.
+   *
+   * @param now current {@link System#nanoTime()} value
+   */
+  void closeExpired(long now) {
+    for (Entry entry : idle) {
+      if (now - entry.lastUsed > IDLE_TIMEOUT_NANOS && idle.remove(entry)) {
+        entry.protocol.close();
+      }
+    }
+  }
+
+  private void closeIdle() {
+    Entry entry;
+    while ((entry = idle.pollFirst()) != null) {
+      entry.protocol.close();
+    }
+  }
+
+  public long getCommandCount() {
+    return commandCount.get();
+  }
+
+  public long getCommandErrors() {
+    return commandErrors.get();
+  }
+
+  public long getConnectionsCreated() {
+    return connectionsCreated.get();
+  }
+
+  public int getIdleConnections() {
+    return idle.size();
+  }
+
+  public long getTotalLatencyNanos() {
+    return totalLatencyNanos.get();
+  }
+
+  public long getMaxLatencyNanos() {
+    return maxLatencyNanos.get();
+  }
+
+  private static final class Entry {
+    private final MasterProtocol protocol;
+    private final long lastUsed;
+
+    private Entry(MasterProtocol protocol, long lastUsed) {
+      this.protocol = protocol;
+      this.lastUsed = lastUsed;
+    }
+  }
+
+  private static final class Key {
+    private final UrlParser urlParser;
+    private final HostAddress hostAddress;
+
+    private Key(UrlParser urlParser, HostAddress hostAddress) {
+      this.urlParser = urlParser;
+      this.hostAddress = hostAddress;
+    }
+
+    @Override
+    public boolean equals(Object obj) {
+      if (this == obj) {
+        return true;
+      }
+      if (!(obj instanceof Key)) {
+        return false;
+      }
+      Key key = (Key) obj;
+      return urlParser.equals(key.urlParser) && Objects.equals(hostAddress, key.hostAddress);
+    }
+
+    @Override
+    public int hashCode() {
+      return 31 * urlParser.hashCode() + Objects.hashCode(hostAddress);
+    }
+  }
+}
@@ -28,8 +28,6 @@ import java.sql.SQLException;
 import java.sql.Statement;
 import java.text.NumberFormat;
 import java.util.ArrayList;
-import java.util.Collection;
-import java.util.Iterator;
 import java.util.List;
 import java.util.concurrent.*;
 import java.util.concurrent.atomic.AtomicInteger;
@@ -61,10 +59,11 @@ public class Pool implements AutoCloseable, PoolMBean {
   private final Options options;
   private final AtomicInteger pendingRequestNumber = new AtomicInteger();
   private final AtomicInteger totalConnection = new AtomicInteger();
+  private final AtomicInteger connectionInCreation = new AtomicInteger();
 
-  private final LinkedBlockingDeque<MariaDbPooledConnection> idleConnections;
+  private final ConnectionBag<MariaDbPooledConnection> connections = new ConnectionBag<>();
   private final ThreadPoolExecutor connectionAppender;
-  private final BlockingQueue<Runnable> connectionAppenderQueue;
+  private final ThreadPoolExecutor connectionResetter;
 
   private final String poolTag;
   private final ScheduledThreadPoolExecutor poolExecutor;
@@ -89,21 +88,28 @@ public class Pool implements AutoCloseable, PoolMBean {
     this.maxIdleTime = options.maxIdleTime;
     poolTag = generatePoolTag(poolIndex);
 
-    // one thread to add new connection to pool.
-    connectionAppenderQueue = new ArrayBlockingQueue<>(options.maxPoolSize);
+    // threads to add new connection to pool, up to poolCreationThreads in parallel.
+    int creationThreads = Math.min(options.poolCreationThreads, options.maxPoolSize);
     connectionAppender =
         new ThreadPoolExecutor(
-            1,
-            1,
+            creationThreads,
+            creationThreads,
             10,
             TimeUnit.SECONDS,
-            connectionAppenderQueue,
+            new ArrayBlockingQueue<>(options.maxPoolSize),
             new MariaDbThreadFactory(poolTag + "-appender"));
     connectionAppender.allowCoreThreadTimeOut(true);
-    // create workers, since driver only interact with queue after that (i.e. not using .execute() )
-    connectionAppender.prestartCoreThread();
 
-    idleConnections = new LinkedBlockingDeque<>();
+    // threads to reset connections given back to pool, not to delay application thread.
+    connectionResetter =
+        new ThreadPoolExecutor(
+            options.maxPoolSize,
+            options.maxPoolSize,
+            10,
+            TimeUnit.SECONDS,
+            new LinkedBlockingQueue<>(),
+            new MariaDbThreadFactory(poolTag + "-resetter"));
+    connectionResetter.allowCoreThreadTimeOut(true);
 
     int scheduleDelay = Math.min(30, maxIdleTime / 2);
     this.poolExecutor = poolExecutor;
@@ -130,25 +136,32 @@ public class Pool implements AutoCloseable, PoolMBean {
   }
 
   /**
-   * Add new connection if needed. Only one thread create new connection, so new connection request
-   * will wait to newly created connection or for a released connection.
+   * Add new connection if needed. Up to poolCreationThreads connections can be created in parallel,
+   * so new connection request will wait to a newly created connection or for a released connection.
    */
   private void addConnectionRequest() {
-    if (totalConnection.get() < options.maxPoolSize && poolState.get() == POOL_STATE_OK) {
-
-      // ensure to have one worker if was timeout
-      connectionAppender.prestartCoreThread();
-      connectionAppenderQueue.offer(
-          () -> {
-            if ((totalConnection.get() < options.minPoolSize || pendingRequestNumber.get() > 0)
-                && totalConnection.get() < options.maxPoolSize) {
-              try {
-                addConnection();
-              } catch (SQLException sqle) {
-                // eat
-              }
-            }
-          });
+    if (totalConnection.get() + connectionInCreation.get() < options.maxPoolSize
+        && poolState.get() == POOL_STATE_OK) {
+      try {
+        connectionAppender.execute(this::createRequestedConnection);
+      } catch (RejectedExecutionException rejected) {
+        // pool is closing, or there is already enough connection requests waiting
+      }
+    }
+  }
+
+  private void createRequestedConnection() {
+    int inCreation = connectionInCreation.incrementAndGet();
+    try {
+      int total = totalConnection.get() + inCreation;
+      if (total <= options.maxPoolSize
+          && (total <= options.minPoolSize || pendingRequestNumber.get() >= inCreation)) {
+        addConnection();
+      }
+    } catch (SQLException sqle) {
+      // eat
+    } finally {
+      connectionInCreation.decrementAndGet();
     }
   }
 
@@ -157,14 +170,11 @@ public class Pool implements AutoCloseable, PoolMBean {
    * connection.
    */
   private void removeIdleTimeoutConnection() {
-
-    // descending iterator since first from queue are the first to be used
-    Iterator<MariaDbPooledConnection> iterator = idleConnections.descendingIterator();
-
-    MariaDbPooledConnection item;
-
-    while (iterator.hasNext()) {
-      item = iterator.next();
+    for (ConnectionBag.Entry<MariaDbPooledConnection> entry : connections.values()) {
+      if (entry.getState() != ConnectionBag.STATE_IDLE) {
+        continue;
+      }
+      MariaDbPooledConnection item = entry.getItem();
 
       long idleTime = System.nanoTime() - item.getLastUsed().get();
       boolean timedOut = idleTime > TimeUnit.SECONDS.toNanos(maxIdleTime);
@@ -187,7 +197,7 @@ public class Pool implements AutoCloseable, PoolMBean {
         shouldBeReleased = true;
       }
 
-      if (shouldBeReleased && idleConnections.remove(item)) {
+      if (shouldBeReleased && connections.removeIdle(entry)) {
 
         totalConnection.decrementAndGet();
         silentCloseConnection(item);
@@ -214,7 +224,8 @@ public class Pool implements AutoCloseable, PoolMBean {
     // create new connection
     Protocol protocol = Utils.retrieveProxy(urlParser, globalInfo);
     MariaDbConnection connection = new MariaDbConnection(protocol);
-    MariaDbPooledConnection pooledConnection = createPoolConnection(connection);
+    ConnectionBag.Entry<MariaDbPooledConnection> entry = createPoolConnection(connection);
+    MariaDbPooledConnection pooledConnection = entry.getItem();
 
     if (options.staticGlobal) {
       // on first connection load initial state
@@ -228,9 +239,13 @@ public class Pool implements AutoCloseable, PoolMBean {
       connection.setDefaultTransactionIsolation(connection.getTransactionIsolation());
     }
 
-    if (poolState.get() == POOL_STATE_OK
-        && totalConnection.incrementAndGet() <= options.maxPoolSize) {
-      idleConnections.addFirst(pooledConnection);
+    if (poolState.get() == POOL_STATE_OK) {
+      if (totalConnection.incrementAndGet() > options.maxPoolSize) {
+        totalConnection.decrementAndGet();
+        silentCloseConnection(pooledConnection);
+        return;
+      }
+      connections.add(entry);
 
       if (logger.isDebugEnabled()) {
         logger.debug(
@@ -246,10 +261,6 @@ public class Pool implements AutoCloseable, PoolMBean {
     silentCloseConnection(pooledConnection);
   }
 
-  private MariaDbPooledConnection getIdleConnection() throws InterruptedException {
-    return getIdleConnection(0, TimeUnit.NANOSECONDS);
-  }
-
   /**
    * Get an existing idle connection in pool.
    *
@@ -259,12 +270,10 @@ public class Pool implements AutoCloseable, PoolMBean {
       throws InterruptedException {
 
     while (true) {
-      MariaDbPooledConnection item =
-          (timeout == 0)
-              ? idleConnections.pollFirst()
-              : idleConnections.pollFirst(timeout, timeUnit);
+      ConnectionBag.Entry<MariaDbPooledConnection> entry = connections.borrow(timeout, timeUnit);
 
-      if (item != null) {
+      if (entry != null) {
+        MariaDbPooledConnection item = entry.getItem();
         MariaDbConnection connection = item.getConnection();
         try {
           if (TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - item.getLastUsed().get())
@@ -287,7 +296,9 @@ public class Pool implements AutoCloseable, PoolMBean {
           // eat
         }
 
-        totalConnection.decrementAndGet();
+        if (connections.remove(entry)) {
+          totalConnection.decrementAndGet();
+        }
 
         // validation failed
         silentAbortConnection(item);
@@ -323,8 +334,11 @@ public class Pool implements AutoCloseable, PoolMBean {
     }
   }
 
-  private MariaDbPooledConnection createPoolConnection(MariaDbConnection connection) {
+  private ConnectionBag.Entry<MariaDbPooledConnection> createPoolConnection(
+      MariaDbConnection connection) {
     MariaDbPooledConnection pooledConnection = new MariaDbPooledConnection(connection);
+    ConnectionBag.Entry<MariaDbPooledConnection> entry =
+        new ConnectionBag.Entry<>(pooledConnection);
     pooledConnection.addConnectionEventListener(
         new ConnectionEventListener() {
 
@@ -332,17 +346,19 @@ public class Pool implements AutoCloseable, PoolMBean {
           public void connectionClosed(ConnectionEvent event) {
             MariaDbPooledConnection item = (MariaDbPooledConnection) event.getSource();
             if (poolState.get() == POOL_STATE_OK) {
-              try {
-                if (!idleConnections.contains(item)) {
-                  item.getConnection().reset();
-                  idleConnections.addFirst(item);
+              if (connections.release(entry)) {
+                connections.registerAffinity(entry);
+                if (!item.getConnection().isResetNeeded()) {
+                  // nothing to send to server : connection is idle immediately
+                  resetConnection(entry);
+                  return;
+                }
+                // reset is done asynchronously, connection being available when done
+                try {
+                  connectionResetter.execute(() -> resetConnection(entry));
+                } catch (RejectedExecutionException rejected) {
+                  resetConnection(entry);
                 }
-              } catch (SQLException sqle) {
-
-                // sql exception during reset, removing connection from pool
-                totalConnection.decrementAndGet();
-                silentCloseConnection(item);
-                logger.debug("connection removed from pool {} due to error during reset", poolTag);
               }
             } else {
               // pool is closed, should then not be render to pool, but closed.
@@ -351,7 +367,9 @@ public class Pool implements AutoCloseable, PoolMBean {
               } catch (SQLException sqle) {
                 // eat
               }
-              totalConnection.decrementAndGet();
+              if (connections.remove(entry)) {
+                totalConnection.decrementAndGet();
+              }
             }
           }
 
@@ -359,7 +377,7 @@ public class Pool implements AutoCloseable, PoolMBean {
           public void connectionErrorOccurred(ConnectionEvent event) {
 
             MariaDbPooledConnection item = ((MariaDbPooledConnection) event.getSource());
-            if (idleConnections.remove(item)) {
+            if (connections.remove(entry)) {
               totalConnection.decrementAndGet();
             }
             silentCloseConnection(item);
@@ -373,7 +391,31 @@ public class Pool implements AutoCloseable, PoolMBean {
                 pendingRequestNumber.get());
           }
         });
-    return pooledConnection;
+    return entry;
+  }
+
+  /**
+   * Reset connection state, before giving connection back to pool.
+   *
+   * @param entry released connection entry
+   */
+  private void resetConnection(ConnectionBag.Entry<MariaDbPooledConnection> entry) {
+    MariaDbPooledConnection item = entry.getItem();
+    if (poolState.get() == POOL_STATE_OK) {
+      try {
+        item.getConnection().reset();
+        connections.requite(entry);
+        return;
+      } catch (SQLException sqle) {
+        // sql exception during reset, removing connection from pool
+        logger.debug("connection removed from pool {} due to error during reset", poolTag);
+      }
+    }
+
+    if (connections.remove(entry)) {
+      totalConnection.decrementAndGet();
+    }
+    silentCloseConnection(item);
   }
 
   /**
@@ -481,9 +523,11 @@ public class Pool implements AutoCloseable, PoolMBean {
 
       scheduledFuture.cancel(false);
       connectionAppender.shutdown();
+      connectionResetter.shutdown();
 
       try {
         connectionAppender.awaitTermination(10, TimeUnit.SECONDS);
+        connectionResetter.awaitTermination(10, TimeUnit.SECONDS);
       } catch (InterruptedException i) {
         // eat
       }
@@ -509,7 +553,7 @@ public class Pool implements AutoCloseable, PoolMBean {
       // loop for up to 10 seconds to close not used connection
       long start = System.nanoTime();
       do {
-        closeAll(connectionRemover, idleConnections);
+        closeAll(connectionRemover, false);
         if (totalConnection.get() > 0) {
           Thread.sleep(0, 10_00);
         }
@@ -517,8 +561,8 @@ public class Pool implements AutoCloseable, PoolMBean {
           && TimeUnit.NANOSECONDS.toSeconds(System.nanoTime() - start) < 10);
 
       // after having wait for 10 seconds, force removal, even if used connections
-      if (totalConnection.get() > 0 || idleConnections.isEmpty()) {
-        closeAll(connectionRemover, idleConnections);
+      if (totalConnection.get() > 0) {
+        closeAll(connectionRemover, true);
       }
 
       connectionRemover.shutdown();
@@ -528,17 +572,18 @@ public class Pool implements AutoCloseable, PoolMBean {
         // eat
       }
       connectionRemover.awaitTermination(10, TimeUnit.SECONDS);
+
+      // after connections abort, that may have used control connections
+      ControlConnectionPool.close(urlParser);
     }
   }
 
-  private void closeAll(
-      ExecutorService connectionRemover, Collection<MariaDbPooledConnection> collection) {
-    synchronized (collection) { // synchronized mandatory to iterate Collections.synchronizedList()
-      for (MariaDbPooledConnection item : collection) {
-        collection.remove(item);
+  private void closeAll(ExecutorService connectionRemover, boolean force) {
+    for (ConnectionBag.Entry<MariaDbPooledConnection> entry : connections.values()) {
+      if (force ? connections.remove(entry) : connections.removeIdle(entry)) {
         totalConnection.decrementAndGet();
         try {
-          item.abort(connectionRemover);
+          entry.getItem().abort(connectionRemover);
         } catch (SQLException ex) {
           // eat exception
         }
@@ -623,7 +668,7 @@ public class Pool implements AutoCloseable, PoolMBean {
 
   @Override
   public long getActiveConnections() {
-    return totalConnection.get() - idleConnections.size();
+    return totalConnection.get() - connections.getIdleCount();
   }
 
   @Override
@@ -633,7 +678,7 @@ public class Pool implements AutoCloseable, PoolMBean {
 
   @Override
   public long getIdleConnections() {
-    return idleConnections.size();
+    return connections.getIdleCount();
   }
 
   public long getConnectionRequests() {
@@ -667,8 +712,10 @@ public class Pool implements AutoCloseable, PoolMBean {
    */
   public List<Long> testGetConnectionIdleThreadIds() {
     List<Long> threadIds = new ArrayList<>();
-    for (MariaDbPooledConnection pooledConnection : idleConnections) {
-      threadIds.add(pooledConnection.getConnection().getServerThreadId());
+    for (ConnectionBag.Entry<MariaDbPooledConnection> entry : connections.values()) {
+      if (entry.getState() == ConnectionBag.STATE_IDLE) {
+        threadIds.add(entry.getItem().getConnection().getServerThreadId());
+      }
     }
     return threadIds;
   }
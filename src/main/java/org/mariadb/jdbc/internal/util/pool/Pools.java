@@ -28,6 +28,10 @@ import java.util.concurrent.ScheduledThreadPoolExecutor;
 import java.util.concurrent.TimeUnit;
 import java.util.concurrent.atomic.AtomicInteger;
 import org.mariadb.jdbc.UrlParser;
+import org.mariadb.jdbc.failover.HostStatistics;
+import org.mariadb.jdbc.internal.com.send.authentication.RsaPublicKeyCache;
+import org.mariadb.jdbc.internal.protocol.tls.SslContextCache;
+import org.mariadb.jdbc.internal.util.MetadataCache;
 import org.mariadb.jdbc.internal.util.scheduler.MariaDbThreadFactory;
 
 public class Pools {
@@ -86,6 +90,11 @@ public class Pools {
           // eat
         }
       }
+      ControlConnectionPool.close();
+      MetadataCache.close();
+      HostStatistics.close();
+      SslContextCache.clear();
+      RsaPublicKeyCache.clear();
       shutdownExecutor();
       poolMap.clear();
     }
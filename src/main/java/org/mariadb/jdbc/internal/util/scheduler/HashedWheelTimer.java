@@ -0,0 +1,273 @@
+/*
+ *
+ * MariaDB Client for Java
+ *
+ * Copyright (c) 2012-2014 Monty Program Ab.
+ * Copyright (c) 2015-2020 MariaDB Corporation Ab.
+ *
+ * This library is free software; you can redistribute it and/or modify it under
+ * the terms of the GNU Lesser General Public License as published by the Free
+ * Software Foundation; either version 2.1 of the License, or (at your option)
+ * any later version.
+ *
+ * This library is distributed in the hope that it will be useful, but
+ * WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE.  See the GNU Lesser General Public License
+ * for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License along
+ * with this library; if not, write to Monty Program Ab info@montyprogram.com.
+ *
+ */
+
+package org.mariadb.jdbc.internal.util.scheduler;
+
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.FutureTask;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Hashed timer wheel used for query timeouts.
+ *
+ * <p>Timeouts are hashed into a fixed number of buckets by deadline, so that scheduling and
+ * cancelling a timeout are O(1), whatever the number of pending timeouts, contrary to the heap of a
+ * {@link java.util.concurrent.ScheduledThreadPoolExecutor}. Precision is one tick, that is enough
+ * for timeouts expressed in seconds.
+ *
+ * <p>A single worker thread advances the wheel. New and cancelled timeouts are handed to it through
+ * lock-free queues, so that only the worker thread modifies buckets. Expired tasks are run on a
+ * small separate pool, because they might block on network.
+ */
+public class HashedWheelTimer {
+
+  private final long tickNanos;
+  private final Bucket[] wheel;
+  private final int mask;
+  private final Queue<Timeout> pending = new ConcurrentLinkedQueue<>();
+  private final Queue<Timeout> cancelled = new ConcurrentLinkedQueue<>();
+  private final ThreadPoolExecutor taskExecutor;
+  private final Thread worker;
+  private volatile boolean started;
+  private volatile boolean closed;
+  private long startTime;
+  private long tick;
+
+  /**
+   * Constructor.
+   *
+   * @param threadName name of wheel and task threads
+   * @param tickDuration wheel tick duration
+   * @param unit tick duration unit
+   * @param wheelSize number of buckets, rounded up to a power of 2
+   * @param taskThreads maximum number of threads running expired tasks
+   */
+  public HashedWheelTimer(
+      String threadName, long tickDuration, TimeUnit unit, int wheelSize, int taskThreads) {
+    this.tickNanos = unit.toNanos(tickDuration);
+    int size = 1;
+    while (size < wheelSize) {
+      size <<= 1;
+    }
+    this.wheel = new Bucket[size];
+    for (int i = 0; i < size; i++) {
+      wheel[i] = new Bucket();
+    }
+    this.mask = size - 1;
+    this.taskExecutor =
+        new ThreadPoolExecutor(
+            taskThreads,
+            taskThreads,
+            1,
+            TimeUnit.MINUTES,
+            new LinkedBlockingQueue<>(),
+            new MariaDbThreadFactory(threadName + "-task"));
+    this.taskExecutor.allowCoreThreadTimeOut(true);
+    this.worker = new MariaDbThreadFactory(threadName).newThread(this::work);
+  }
+
+  /**
+   * Schedule a task to run after delay.
+   *
+   * @param task task to run
+   * @param delay delay
+   * @param unit delay unit
+   * @return timeout, permitting to cancel task, or wait for its completion
+   */
+  public Timeout schedule(Runnable task, long delay, TimeUnit unit) {
+    if (closed) {
+      throw new RejectedExecutionException("Timer is closed");
+    }
+    if (!started) {
+      start();
+    }
+    Timeout timeout = new Timeout(task, System.nanoTime() + unit.toNanos(delay));
+    pending.add(timeout);
+    return timeout;
+  }
+
+  private synchronized void start() {
+    if (!started) {
+      startTime = System.nanoTime();
+      worker.start();
+      started = true;
+    }
+  }
+
+  /** Stop timer. Pending tasks will never run. */
+  public void close() {
+    closed = true;
+    worker.interrupt();
+    taskExecutor.shutdownNow();
+  }
+
+  /**
+   * Number of pending timeouts, for test.
+   *
+   * @return number of timeouts not expired nor cancelled
+   */
+  int pendingCount() {
+    int count = 0;
+    for (Timeout timeout : pending) {
+      if (!timeout.isDone()) {
+        count++;
+      }
+    }
+    for (Bucket bucket : wheel) {
+      synchronized (bucket) {
+        count += bucket.size;
+      }
+    }
+    return count;
+  }
+
+  private void work() {
+    while (!closed) {
+      long deadline = startTime + (tick + 1) * tickNanos;
+      long sleepNanos;
+      while ((sleepNanos = deadline - System.nanoTime()) > 0) {
+        try {
+          TimeUnit.NANOSECONDS.sleep(sleepNanos);
+        } catch (InterruptedException interrupted) {
+          if (closed) {
+            return;
+          }
+        }
+      }
+      removeCancelled();
+      transferPending();
+      expire(wheel[(int) (tick & mask)], deadline);
+      tick++;
+    }
+  }
+
+  private void removeCancelled() {
+    Timeout timeout;
+    while ((timeout = cancelled.poll()) != null) {
+      if (timeout.bucket != null) {
+        timeout.bucket.remove(timeout);
+      }
+    }
+  }
+
+  private void transferPending() {
+    // bounded, so a flood of new timeouts can't delay expiration indefinitely
+    for (int i = 0; i < 100_000; i++) {
+      Timeout timeout = pending.poll();
+      if (timeout == null) {
+        return;
+      }
+      if (timeout.isDone()) {
+        continue;
+      }
+      long ticks = Math.max(tick, (timeout.deadline - startTime) / tickNanos);
+      timeout.remainingRounds = (ticks - tick) / wheel.length;
+      wheel[(int) (ticks & mask)].add(timeout);
+    }
+  }
+
+  private void expire(Bucket bucket, long tickDeadline) {
+    Timeout timeout = bucket.head;
+    while (timeout != null) {
+      Timeout next = timeout.next;
+      if (timeout.remainingRounds <= 0 && timeout.deadline <= tickDeadline) {
+        bucket.remove(timeout);
+        if (!timeout.isDone()) {
+          try {
+            taskExecutor.execute(timeout);
+          } catch (RejectedExecutionException rejected) {
+            // closed
+          }
+        }
+      } else if (timeout.remainingRounds > 0) {
+        timeout.remainingRounds--;
+      }
+      timeout = next;
+    }
+  }
+
+  /** Scheduled task handle. Cancelling it removes it from the wheel. */
+  public class Timeout extends FutureTask<Void> {
+    private final long deadline;
+    private long remainingRounds;
+    private Bucket bucket;
+    private Timeout prev;
+    private Timeout next;
+
+    private Timeout(Runnable task, long deadline) {
+      super(task, null);
+      this.deadline = deadline;
+    }
+
+    @Override
+    public boolean cancel(boolean mayInterruptIfRunning) {
+      boolean cancelled = super.cancel(mayInterruptIfRunning);
+      if (cancelled) {
+        HashedWheelTimer.this.cancelled.add(this);
+      }
+      return cancelled;
+    }
+  }
+
+  /** Doubly linked list of timeouts. Only modified by worker thread. */
+  private static final class Bucket {
+    private Timeout head;
+    private Timeout tail;
+    private int size;
+
+    private synchronized void add(Timeout timeout) {
+      timeout.bucket = this;
+      if (head == null) {
+        head = tail = timeout;
+      } else {
+        tail.next = timeout;
+        timeout.prev = tail;
+        tail = timeout;
+      }
+      size++;
+    }
+
+    private synchronized void remove(Timeout timeout) {
+      if (timeout.bucket != this) {
+        return;
+      }
+      if (timeout.prev != null) {
+        timeout.prev.next = timeout.next;
+      } else {
+        head = timeout.next;
+      }
+      if (timeout.next != null) {
+        timeout.next.prev = timeout.prev;
+      } else {
+        tail = timeout.prev;
+      }
+      timeout.prev = null;
+      timeout.next = null;
+      timeout.bucket = null;
+      size--;
+    }
+  }
+}
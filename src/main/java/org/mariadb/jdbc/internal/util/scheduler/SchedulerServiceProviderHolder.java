@@ -68,7 +68,9 @@ public class SchedulerServiceProviderHolder {
         private DynamicSizedSchedulerInterface dynamicSizedScheduler;
         private FixedSizedSchedulerImpl fixedSizedScheduler;
         private ScheduledThreadPoolExecutor timeoutScheduler;
+        private HashedWheelTimer timeoutWheel;
         private ThreadPoolExecutor threadPoolExecutor;
+        private ThreadPoolExecutor asyncQueryExecutor;
 
         @Override
         public DynamicSizedSchedulerInterface getScheduler(
@@ -111,6 +113,19 @@ public class SchedulerServiceProviderHolder {
           return timeoutScheduler;
         }
 
+        @Override
+        public HashedWheelTimer getTimeoutWheel() {
+          if (timeoutWheel == null) {
+            synchronized (this) {
+              if (timeoutWheel == null) {
+                timeoutWheel =
+                    new HashedWheelTimer("MariaDb-timeout", 100, TimeUnit.MILLISECONDS, 512, 4);
+              }
+            }
+          }
+          return timeoutWheel;
+        }
+
         @Override
         @SuppressWarnings("unchecked")
         public ThreadPoolExecutor getBulkScheduler() {
@@ -131,6 +146,26 @@ public class SchedulerServiceProviderHolder {
           return threadPoolExecutor;
         }
 
+        @Override
+        public ThreadPoolExecutor getAsyncQueryScheduler() {
+          if (asyncQueryExecutor == null) {
+            synchronized (this) {
+              if (asyncQueryExecutor == null) {
+                asyncQueryExecutor =
+                    new ThreadPoolExecutor(
+                        16,
+                        16,
+                        1,
+                        TimeUnit.MINUTES,
+                        new LinkedBlockingQueue<>(10_000),
+                        new MariaDbThreadFactory("MariaDb-async"));
+                asyncQueryExecutor.allowCoreThreadTimeOut(true);
+              }
+            }
+          }
+          return asyncQueryExecutor;
+        }
+
         public void close() {
           synchronized (this) {
             if (dynamicSizedScheduler != null) {
@@ -142,14 +177,22 @@ public class SchedulerServiceProviderHolder {
             if (timeoutScheduler != null) {
               timeoutScheduler.shutdownNow();
             }
+            if (timeoutWheel != null) {
+              timeoutWheel.close();
+            }
             if (threadPoolExecutor != null) {
               threadPoolExecutor.shutdownNow();
             }
+            if (asyncQueryExecutor != null) {
+              asyncQueryExecutor.shutdownNow();
+            }
 
             dynamicSizedScheduler = null;
             fixedSizedScheduler = null;
             timeoutScheduler = null;
+            timeoutWheel = null;
             threadPoolExecutor = null;
+            asyncQueryExecutor = null;
           }
         }
       };
@@ -220,10 +263,28 @@ public class SchedulerServiceProviderHolder {
     return getSchedulerProvider().getTimeoutScheduler();
   }
 
+  /**
+   * Get timer wheel to handle timeout.
+   *
+   * @return timer wheel, or null if provider only provides a timeout scheduler
+   */
+  public static HashedWheelTimer getTimeoutWheel() {
+    return getSchedulerProvider().getTimeoutWheel();
+  }
+
   public static ThreadPoolExecutor getBulkScheduler() {
     return getSchedulerProvider().getBulkScheduler();
   }
 
+  /**
+   * Get executor of asynchronous queries.
+   *
+   * @return executor
+   */
+  public static ThreadPoolExecutor getAsyncQueryScheduler() {
+    return getSchedulerProvider().getAsyncQueryScheduler();
+  }
+
   /**
    * Provider for thread pools which allow scheduling capabilities. It is expected that the thread
    * pools entire lifecycle (start to stop) is done through the same provider instance.
@@ -254,8 +315,29 @@ public class SchedulerServiceProviderHolder {
      */
     ScheduledThreadPoolExecutor getTimeoutScheduler();
 
+    /**
+     * Timer wheel for query timeouts, with O(1) schedule and cancel. When null, {@link
+     * #getTimeoutScheduler()} is used.
+     *
+     * @return timer wheel, or null
+     */
+    default HashedWheelTimer getTimeoutWheel() {
+      return null;
+    }
+
     ThreadPoolExecutor getBulkScheduler();
 
+    /**
+     * Executor of asynchronous queries, distinct from bulk scheduler so that pipelined bulk
+     * operations cannot starve asynchronous queries. Default implementation uses {@link
+     * #getBulkScheduler()}.
+     *
+     * @return executor
+     */
+    default ThreadPoolExecutor getAsyncQueryScheduler() {
+      return getBulkScheduler();
+    }
+
     void close();
   }
 }
@@ -156,6 +156,22 @@ public enum DefaultOptions {
       "Compresses the exchange with the database through gzip."
           + " This permits better performance when the database is not in the same location.",
       false),
+  COMPRESSION_LEVEL(
+      "compressionLevel",
+      -1,
+      -1,
+      "2.7.0",
+      "When using compression, deflate compression level, from 0 (no compression) to 9 (best "
+          + "compression). Default -1 use zlib default level (6). Lower levels use less CPU",
+      false),
+  ADAPTIVE_COMPRESSION(
+      "adaptiveCompression",
+      Boolean.FALSE,
+      "2.7.0",
+      "When using compression, stop compressing packets while recent packets don't compress well "
+          + "(compressed size more than 90% of initial size), checking again periodically. "
+          + "Avoid spending CPU on already compressed or random data",
+      false),
   ALLOW_MULTI_QUERIES(
       "allowMultiQueries",
       Boolean.FALSE,
@@ -254,6 +270,35 @@ public enum DefaultOptions {
           + " cycle through available hosts, attempting to connect.\n"
           + "     * Between cycles, the driver will pause for 250ms if no servers are available.",
       false),
+  FAILOVER_CONNECT_CONCURRENCY(
+      "failoverConnectConcurrency",
+      1,
+      1,
+      "2.7.0",
+      "When using replication or aurora, maximum number of hosts the driver connects to "
+          + "concurrently when searching hosts. A connection to another host is started when "
+          + "previous attempts haven't completed after 250ms, and the first host to answer is used. "
+          + "Default 1 connects to hosts one after the other.",
+      false),
+  HOST_SELECTION_TYPE(
+      "hostSelectionType",
+      (String) null,
+      "2.7.0",
+      "When using replication or load-balancing, host selection implementation. Default \"latency\" "
+          + "orders hosts randomly, weighted by their measured response time, slow hosts and "
+          + "replicas lagging more than maxReplicaLag last. \"random\" orders hosts randomly. "
+          + "Customs implementations can be added implementing "
+          + "org.mariadb.jdbc.failover.HostSelectionPlugin",
+      false),
+  MAX_REPLICA_LAG(
+      "maxReplicaLag",
+      0,
+      0,
+      "2.7.0",
+      "When using replication, maximum replica lag (Seconds_Behind_Master) in seconds. A replica "
+          + "lagging more is used only if no other replica is available. Lag is read using "
+          + "SHOW SLAVE STATUS, requiring REPLICATION CLIENT privilege. 0 disables the check",
+      false),
   FAILOVER_LOOP_RETRIES(
       "failoverLoopRetries",
       120,
@@ -284,7 +329,9 @@ public enum DefaultOptions {
       "cachePrepStmts",
       Boolean.TRUE,
       "1.3.0",
-      "enable/disable prepare Statement cache, default true.",
+      "enable/disable prepare Statement cache, default true.\n"
+          + "Client-side prepared statements will then also share query parsing results "
+          + "between connections.",
       false),
   PREP_STMT_CACHE_SIZE(
       "prepStmtCacheSize",
@@ -411,6 +458,34 @@ public enum DefaultOptions {
       "This sets the number of callable statements "
           + "that the driver will cache per VM if \"cacheCallableStmts\" is enabled.",
       false),
+  TABLE_METADATA_CACHE_SIZE(
+      "tableMetadataCacheSize",
+      0,
+      0,
+      "2.7.0",
+      "Number of tables whose column metadata is cached per connection for updatable result-sets, "
+          + "avoiding a SHOW COLUMNS query each time an updatable result-set is created. Cache is "
+          + "cleared when a DDL command is executed on the connection or when connection is reset, "
+          + "and an entry is reloaded when columns or their primary key, nullability or "
+          + "auto-increment flags differ. Changes of default values made by other connections are "
+          + "not detected. 0 (default) disables the cache.",
+      false),
+  USE_METADATA_CACHE(
+      "useMetadataCache",
+      Boolean.FALSE,
+      "2.7.0",
+      "Cache DatabaseMetaData query results, shared by connections with the same configuration. "
+          + "Cache is cleared when a DDL command is executed on one of those connections, and "
+          + "results expire after \"metadataCacheTtl\" seconds.",
+      false),
+  METADATA_CACHE_TTL(
+      "metadataCacheTtl",
+      300,
+      0,
+      "2.7.0",
+      "Time in seconds DatabaseMetaData results are kept in cache when \"useMetadataCache\" is "
+          + "enabled.",
+      false),
   CONNECTION_ATTRIBUTES(
       "connectionAttributes",
       "1.4.0",
@@ -557,6 +632,14 @@ public enum DefaultOptions {
           + " has been borrowed recently avoiding useless verifications in case of frequent reuse of connections. "
           + "0 means validation is done each time the connection is asked.",
       false),
+  POOL_CREATION_THREADS(
+      "poolCreationThreads",
+      1,
+      1,
+      "2.7.0",
+      "Maximum number of physical connections the pool can create in parallel, when connections are "
+          + "requested and none are idle.",
+      false),
   STATIC_GLOBAL(
       "staticGlobal",
       Boolean.FALSE,
@@ -620,6 +703,22 @@ public enum DefaultOptions {
       "2.4.0",
       "use a buffered inputSteam that read socket available data",
       false),
+  USE_SOCKET_CHANNEL(
+      "useSocketChannel",
+      Boolean.FALSE,
+      "2.7.0",
+      "Use a non-blocking SocketChannel for TCP connections, reading socket data into pooled direct"
+          + " buffers, avoiding an intermediate copy of received data. Not used with option "
+          + "socketFactory, pipe, localSocket or sharedMemory, or when using SSL",
+      false),
+  USE_ROW_CHUNK_STORAGE(
+      "useRowChunkStorage",
+      Boolean.FALSE,
+      "2.7.0",
+      "Store rows of fully loaded read-only result-sets contiguously in large pooled chunks of memory "
+          + "instead of one array per row, reducing garbage collection pressure for big result-sets. "
+          + "Chunks are reused once result-set is closed.",
+      false),
   KEY_STORE_TYPE(
       "keyStoreType",
       (String) null,
@@ -66,6 +66,8 @@ public class Options implements Cloneable {
   public boolean trackSchema = true;
   public boolean rewriteBatchedStatements;
   public boolean useCompression;
+  public int compressionLevel = -1;
+  public boolean adaptiveCompression;
   public boolean interactiveClient;
   public String passwordCharacterEncoding;
   public boolean blankTableNameMeta;
@@ -93,6 +95,9 @@ public class Options implements Cloneable {
   public boolean jdbcCompliantTruncation = true;
   public boolean cacheCallableStmts = true;
   public int callableStmtCacheSize = 150;
+  public int tableMetadataCacheSize;
+  public boolean useMetadataCache;
+  public int metadataCacheTtl = 300;
   public String connectionAttributes;
   public Boolean useBatchMultiSend;
   public int useBatchMultiSendNumber = 100;
@@ -122,6 +127,9 @@ public class Options implements Cloneable {
   public int validConnectionTimeout;
   public int loadBalanceBlacklistTimeout = 50;
   public int failoverLoopRetries = 120;
+  public int failoverConnectConcurrency = 1;
+  public String hostSelectionType;
+  public int maxReplicaLag;
   public boolean allowMasterDownConnection;
   public String galeraAllowedState;
 
@@ -134,8 +142,11 @@ public class Options implements Cloneable {
   public boolean staticGlobal;
   public boolean registerJmxPool = true;
   public int poolValidMinDelay = 1000;
+  public int poolCreationThreads = 1;
   public boolean useResetConnection;
   public boolean useReadAheadInput = true;
+  public boolean useSocketChannel;
+  public boolean useRowChunkStorage;
 
   // MySQL sha authentication
   public String serverRsaPublicKeyFile;
@@ -208,6 +219,12 @@ public class Options implements Cloneable {
     if (useCompression != opt.useCompression) {
       return false;
     }
+    if (compressionLevel != opt.compressionLevel) {
+      return false;
+    }
+    if (adaptiveCompression != opt.adaptiveCompression) {
+      return false;
+    }
     if (interactiveClient != opt.interactiveClient) {
       return false;
     }
@@ -310,6 +327,15 @@ public class Options implements Cloneable {
     if (failoverLoopRetries != opt.failoverLoopRetries) {
       return false;
     }
+    if (failoverConnectConcurrency != opt.failoverConnectConcurrency) {
+      return false;
+    }
+    if (!Objects.equals(hostSelectionType, opt.hostSelectionType)) {
+      return false;
+    }
+    if (maxReplicaLag != opt.maxReplicaLag) {
+      return false;
+    }
     if (pool != opt.pool) {
       return false;
     }
@@ -325,6 +351,12 @@ public class Options implements Cloneable {
     if (useReadAheadInput != opt.useReadAheadInput) {
       return false;
     }
+    if (useSocketChannel != opt.useSocketChannel) {
+      return false;
+    }
+    if (useRowChunkStorage != opt.useRowChunkStorage) {
+      return false;
+    }
     if (maxPoolSize != opt.maxPoolSize) {
       return false;
     }
@@ -334,6 +366,9 @@ public class Options implements Cloneable {
     if (poolValidMinDelay != opt.poolValidMinDelay) {
       return false;
     }
+    if (poolCreationThreads != opt.poolCreationThreads) {
+      return false;
+    }
     if (!Objects.equals(user, opt.user)) {
       return false;
     }
@@ -418,6 +453,15 @@ public class Options implements Cloneable {
     if (callableStmtCacheSize != opt.callableStmtCacheSize) {
       return false;
     }
+    if (tableMetadataCacheSize != opt.tableMetadataCacheSize) {
+      return false;
+    }
+    if (useMetadataCache != opt.useMetadataCache) {
+      return false;
+    }
+    if (metadataCacheTtl != opt.metadataCacheTtl) {
+      return false;
+    }
     if (!Objects.equals(connectionAttributes, opt.connectionAttributes)) {
       return false;
     }
@@ -485,6 +529,8 @@ public class Options implements Cloneable {
     result = 31 * result + (allowMultiQueries ? 1 : 0);
     result = 31 * result + (rewriteBatchedStatements ? 1 : 0);
     result = 31 * result + (useCompression ? 1 : 0);
+    result = 31 * result + compressionLevel;
+    result = 31 * result + (adaptiveCompression ? 1 : 0);
     result = 31 * result + (interactiveClient ? 1 : 0);
     result =
         31 * result
@@ -511,6 +557,9 @@ public class Options implements Cloneable {
     result = 31 * result + (jdbcCompliantTruncation ? 1 : 0);
     result = 31 * result + (cacheCallableStmts ? 1 : 0);
     result = 31 * result + callableStmtCacheSize;
+    result = 31 * result + tableMetadataCacheSize;
+    result = 31 * result + (useMetadataCache ? 1 : 0);
+    result = 31 * result + metadataCacheTtl;
     result = 31 * result + (connectionAttributes != null ? connectionAttributes.hashCode() : 0);
     result = 31 * result + (useBatchMultiSend != null ? useBatchMultiSend.hashCode() : 0);
     result = 31 * result + useBatchMultiSendNumber;
@@ -534,10 +583,15 @@ public class Options implements Cloneable {
     result = 31 * result + validConnectionTimeout;
     result = 31 * result + loadBalanceBlacklistTimeout;
     result = 31 * result + failoverLoopRetries;
+    result = 31 * result + failoverConnectConcurrency;
+    result = 31 * result + (hostSelectionType != null ? hostSelectionType.hashCode() : 0);
+    result = 31 * result + maxReplicaLag;
     result = 31 * result + (pool ? 1 : 0);
     result = 31 * result + (registerJmxPool ? 1 : 0);
     result = 31 * result + (useResetConnection ? 1 : 0);
     result = 31 * result + (useReadAheadInput ? 1 : 0);
+    result = 31 * result + (useSocketChannel ? 1 : 0);
+    result = 31 * result + (useRowChunkStorage ? 1 : 0);
     result = 31 * result + (staticGlobal ? 1 : 0);
     result = 31 * result + (poolName != null ? poolName.hashCode() : 0);
     result = 31 * result + (galeraAllowedState != null ? galeraAllowedState.hashCode() : 0);
@@ -545,6 +599,7 @@ public class Options implements Cloneable {
     result = 31 * result + (minPoolSize != null ? minPoolSize.hashCode() : 0);
     result = 31 * result + maxIdleTime;
     result = 31 * result + poolValidMinDelay;
+    result = 31 * result + poolCreationThreads;
     result = 31 * result + (autocommit ? 1 : 0);
     result = 31 * result + (credentialType != null ? credentialType.hashCode() : 0);
     result = 31 * result + (nonMappedOptions != null ? nonMappedOptions.hashCode() : 0);
@@ -0,0 +1,172 @@
+/*
+ *
+ * MariaDB Client for Java
+ *
+ * Copyright (c) 2012-2014 Monty Program Ab.
+ * Copyright (c) 2015-2020 MariaDB Corporation Ab.
+ *
+ * This library is free software; you can redistribute it and/or modify it under
+ * the terms of the GNU Lesser General Public License as published by the Free
+ * Software Foundation; either version 2.1 of the License, or (at your option)
+ * any later version.
+ *
+ * This library is distributed in the hope that it will be useful, but
+ * WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE.  See the GNU Lesser General Public License
+ * for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License along
+ * with this library; if not, write to Monty Program Ab info@montyprogram.com.
+ *
+ */
+
+package org.mariadb.jdbc;
+
+import static org.junit.Assert.*;
+
+import java.sql.*;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledThreadPoolExecutor;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import org.junit.BeforeClass;
+import org.junit.Test;
+import org.mariadb.jdbc.internal.util.scheduler.DynamicSizedSchedulerInterface;
+import org.mariadb.jdbc.internal.util.scheduler.SchedulerServiceProviderHolder;
+import org.mariadb.jdbc.internal.util.scheduler.SchedulerServiceProviderHolder.SchedulerProvider;
+
+public class AsyncQueryTest extends BaseTest {
+
+  @BeforeClass()
+  public static void initClass() throws SQLException {
+    createTable("AsyncQueryTest", "id int not null primary key auto_increment, test varchar(20)");
+  }
+
+  @Test
+  public void pipelinedQueries() throws Exception {
+    MariaDbAsyncExecutor executor = sharedConnection.unwrap(MariaDbAsyncExecutor.class);
+    List<CompletableFuture<ResultSet>> futures = new ArrayList<>();
+    for (int i = 0; i < 100; i++) {
+      futures.add(executor.executeQueryAsync("SELECT " + i));
+    }
+    for (int i = 0; i < 100; i++) {
+      ResultSet rs = futures.get(i).get();
+      assertTrue(rs.next());
+      assertEquals(i, rs.getInt(1));
+      assertFalse(rs.next());
+      rs.close();
+    }
+  }
+
+  @Test
+  public void rejectedNotRunOnCaller() throws Exception {
+    SchedulerProvider defaultProvider = SchedulerServiceProviderHolder.DEFAULT_PROVIDER;
+    ThreadPoolExecutor stopped =
+        new ThreadPoolExecutor(1, 1, 1, TimeUnit.SECONDS, new LinkedBlockingQueue<>());
+    stopped.shutdown();
+    SchedulerServiceProviderHolder.setSchedulerProvider(
+        new SchedulerProvider() {
+          @Override
+          public DynamicSizedSchedulerInterface getScheduler(
+              int minimumThreads, String poolName, int maximumPoolSize) {
+            return defaultProvider.getScheduler(minimumThreads, poolName, maximumPoolSize);
+          }
+
+          @Override
+          public ScheduledExecutorService getFixedSizeScheduler(
+              int minimumThreads, String poolName) {
+            return defaultProvider.getFixedSizeScheduler(minimumThreads, poolName);
+          }
+
+          @Override
+          public ScheduledThreadPoolExecutor getTimeoutScheduler() {
+            return defaultProvider.getTimeoutScheduler();
+          }
+
+          @Override
+          public ThreadPoolExecutor getBulkScheduler() {
+            return defaultProvider.getBulkScheduler();
+          }
+
+          @Override
+          public ThreadPoolExecutor getAsyncQueryScheduler() {
+            return stopped;
+          }
+
+          @Override
+          public void close() {
+            // default provider is closed when set back
+          }
+        });
+    try {
+      MariaDbAsyncExecutor executor = sharedConnection.unwrap(MariaDbAsyncExecutor.class);
+      CompletableFuture<Long> insert =
+          executor.executeUpdateAsync("INSERT INTO AsyncQueryTest(test) VALUES ('rejected')");
+      assertTrue(insert.isCompletedExceptionally());
+      try {
+        insert.get();
+        fail("must have thrown error");
+      } catch (ExecutionException e) {
+        assertTrue(e.getCause() instanceof SQLException);
+      }
+    } finally {
+      SchedulerServiceProviderHolder.setSchedulerProvider(null);
+    }
+
+    ResultSet rs =
+        sharedConnection
+            .createStatement()
+            .executeQuery("SELECT COUNT(*) FROM AsyncQueryTest WHERE test = 'rejected'");
+    assertTrue(rs.next());
+    assertEquals(0, rs.getInt(1));
+  }
+
+  @Test
+  public void updateAndErrors() throws Exception {
+    MariaDbAsyncExecutor executor = sharedConnection.unwrap(MariaDbAsyncExecutor.class);
+    CompletableFuture<Long> insert =
+        executor.executeUpdateAsync("INSERT INTO AsyncQueryTest(test) VALUES ('a'), ('b')");
+    CompletableFuture<ResultSet> wrongQuery =
+        executor.executeQueryAsync("SELECT * FROM wrongTable");
+    CompletableFuture<ResultSet> select =
+        executor.executeQueryAsync("SELECT test FROM AsyncQueryTest ORDER BY id");
+
+    assertEquals(2L, insert.get().longValue());
+    try {
+      wrongQuery.get();
+      fail("must have thrown error");
+    } catch (ExecutionException e) {
+      assertTrue(e.getCause() instanceof SQLException);
+      assertTrue(e.getCause().getMessage().contains("wrongTable"));
+    }
+
+    // error doesn't affect next pipelined query
+    ResultSet rs = select.get();
+    assertTrue(rs.next());
+    assertEquals("a", rs.getString(1));
+    assertTrue(rs.next());
+    assertEquals("b", rs.getString(1));
+
+    // connection can be used synchronously in dependant action
+    int value =
+        executor
+            .executeQueryAsync("SELECT 1")
+            .thenApply(
+                resultSet -> {
+                  try (Statement stmt = sharedConnection.createStatement()) {
+                    ResultSet rs2 = stmt.executeQuery("SELECT 2");
+                    rs2.next();
+                    return rs2.getInt(1);
+                  } catch (SQLException sqle) {
+                    throw new IllegalStateException(sqle);
+                  }
+                })
+            .get();
+    assertEquals(2, value);
+  }
+}
@@ -81,6 +81,65 @@ public class BigQueryTest extends BaseTest {
     createTable(
         "bigblob5", "id int not null primary key auto_increment, test longblob, test2 text");
     createTable("bigblob6", "id int not null primary key auto_increment, test longblob");
+    createTable("bigblob7", "id int not null primary key, test longblob, test2 varchar(20)");
+  }
+
+  @Test
+  public void streamBigValue() throws Exception {
+    Assume.assumeTrue(checkMaxAllowedPacketMore40m("streamBigValue"));
+
+    byte[] arr = new byte[20000000];
+    for (int i = 0; i < arr.length; i++) {
+      arr[i] = (byte) ('a' + (i % 10));
+    }
+    try (PreparedStatement ps =
+        sharedConnection.prepareStatement("INSERT INTO bigblob7 VALUES (?, ?, ?)")) {
+      for (int i = 1; i <= 3; i++) {
+        ps.setInt(1, i);
+        ps.setBytes(2, arr);
+        ps.setString(3, "val" + i);
+        ps.executeUpdate();
+      }
+    }
+
+    Statement stmt = sharedConnection.createStatement();
+    stmt.setFetchSize(1);
+    try (ResultSet rs = stmt.executeQuery("SELECT id, test, test2 FROM bigblob7 ORDER BY id")) {
+      // value read from socket
+      assertTrue(rs.next());
+      assertEquals(1, rs.getInt(1));
+      try (InputStream is = rs.getBinaryStream(2)) {
+        byte[] buf = new byte[8192];
+        int pos = 0;
+        int len;
+        while ((len = is.read(buf)) != -1) {
+          for (int i = 0; i < len; i++) {
+            assertEquals(arr[pos + i], buf[i]);
+          }
+          pos += len;
+        }
+        assertEquals(arr.length, pos);
+      }
+      try {
+        rs.getString(3);
+        fail("value has been streamed");
+      } catch (SQLException sqle) {
+        assertTrue(sqle.getMessage().contains("Columns must be read in order"));
+      }
+
+      // value not read, row is loaded when reading next columns
+      assertTrue(rs.next());
+      assertEquals(2, rs.getInt(1));
+      assertEquals("val2", rs.getString(3));
+      assertArrayEquals(arr, rs.getBytes(2));
+
+      // partially read value is skipped
+      assertTrue(rs.next());
+      Blob blob = rs.getBlob(2);
+      assertEquals(arr.length, blob.length());
+      assertArrayEquals(Arrays.copyOfRange(arr, 10, 20), blob.getBytes(11, 10));
+      assertFalse(rs.next());
+    }
   }
 
   @Test
@@ -1335,4 +1335,85 @@ public class DatabaseMetadataTest extends BaseTest {
 
     assertFalse(rs.next());
   }
+
+  @Test
+  public void metadataCache() throws SQLException {
+    createTable("metadataCache_a", "id int not null primary key, val varchar(10)");
+    createTable("metadataCacheXa", "id int not null primary key");
+    String catalog = sharedConnection.getCatalog();
+    try (Connection connection = setConnection("&useMetadataCache=true")) {
+      MariaDbDatabaseMetaData dbmd = (MariaDbDatabaseMetaData) connection.getMetaData();
+      dbmd.clearCache();
+      dbmd.prefetch(catalog);
+
+      // results from cache must be identical to results from server
+      DatabaseMetaData serverMeta = sharedConnection.getMetaData();
+      assertSameResult(
+          serverMeta.getColumns(catalog, null, "metadataCache_a", null),
+          dbmd.getColumns(catalog, null, "metadataCache_a", null));
+      assertSameResult(
+          serverMeta.getColumns(catalog, null, "metadataCache_a", "%"),
+          dbmd.getColumns(catalog, null, "metadataCache_a", "%"));
+      assertSameResult(
+          serverMeta.getPrimaryKeys(catalog, null, "metadataCacheXa"),
+          dbmd.getPrimaryKeys(catalog, null, "metadataCacheXa"));
+      assertSameResult(
+          serverMeta.getIndexInfo(catalog, null, "metadataCache_a", true, false),
+          dbmd.getIndexInfo(catalog, null, "metadataCache_a", true, false));
+
+      // DDL on connection clears cache
+      Statement stmt = connection.createStatement();
+      stmt.execute("ALTER TABLE metadataCache_a ADD COLUMN val2 int");
+      ResultSet rs = dbmd.getColumns(catalog, null, "metadataCache_a", null);
+      int columns = 0;
+      while (rs.next()) {
+        columns++;
+      }
+      assertEquals(3, columns);
+    }
+  }
+
+  @Test
+  public void metadataCacheTableWithoutKeys() throws SQLException {
+    createTable("metadataCacheNoKey", "ref int", "engine=innodb");
+    createTable("metadataCacheRef", "id int not null primary key", "engine=innodb");
+    String catalog = sharedConnection.getCatalog();
+    try (Connection connection = setConnection("&useMetadataCache=true")) {
+      MariaDbDatabaseMetaData dbmd = (MariaDbDatabaseMetaData) connection.getMetaData();
+      dbmd.clearCache();
+      dbmd.prefetch(catalog);
+
+      // change table from another configuration : cached results don't see it without a query
+      sharedConnection
+          .createStatement()
+          .execute(
+              "ALTER TABLE metadataCacheNoKey ADD PRIMARY KEY (ref),"
+                  + " ADD FOREIGN KEY (ref) REFERENCES metadataCacheRef(id)");
+      assertTrue(
+          sharedConnection
+              .getMetaData()
+              .getImportedKeys(catalog, null, "metadataCacheNoKey")
+              .next());
+
+      assertFalse(dbmd.getImportedKeys(catalog, null, "metadataCacheNoKey").next());
+      assertFalse(dbmd.getPrimaryKeys(catalog, null, "metadataCacheNoKey").next());
+      assertFalse(dbmd.getIndexInfo(catalog, null, "metadataCacheNoKey", false, false).next());
+      dbmd.clearCache();
+    } finally {
+      // referencing table first
+      sharedConnection.createStatement().execute("DROP TABLE IF EXISTS metadataCacheNoKey");
+    }
+  }
+
+  private static void assertSameResult(ResultSet expected, ResultSet actual) throws SQLException {
+    int columnCount = expected.getMetaData().getColumnCount();
+    assertEquals(columnCount, actual.getMetaData().getColumnCount());
+    while (expected.next()) {
+      assertTrue(actual.next());
+      for (int i = 1; i <= columnCount; i++) {
+        assertEquals(expected.getString(i), actual.getString(i));
+      }
+    }
+    assertFalse(actual.next());
+  }
 }
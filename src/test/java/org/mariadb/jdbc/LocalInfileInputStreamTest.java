@@ -56,6 +56,8 @@ import static org.junit.Assert.*;
 
 import java.io.*;
 import java.sql.*;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.stream.IntStream;
 import org.junit.Assume;
 import org.junit.BeforeClass;
 import org.junit.Test;
@@ -72,6 +74,7 @@ public class LocalInfileInputStreamTest extends BaseTest {
     createTable("LocalInfileInputStreamTest", "id int, test varchar(100)");
     createTable("ttlocal", "id int, test varchar(100)");
     createTable("ldinfile", "a varchar(10)");
+    createTable("localInfileRows", "id int, test varchar(100)");
     createTable(
         "`infile`",
         "`a` varchar(50) DEFAULT NULL, `b` varchar(50) DEFAULT NULL",
@@ -107,6 +110,85 @@ public class LocalInfileInputStreamTest extends BaseTest {
     }
   }
 
+  @Test
+  public void testLocalInfileRows() throws SQLException {
+    Assume.assumeFalse(
+        (isMariadbServer() && minVersion(10, 4, 0)) || (!isMariadbServer() && minVersion(8, 0, 3)));
+    String[] values = new String[] {"hello", "tab\tand\nnew line", "'quote\" \\ back", null};
+    try (Connection connection = setConnection("&allowLocalInfile=true")) {
+      try (Statement st = connection.createStatement()) {
+        ((MariaDbStatement) st)
+            .setLocalInfileRows(
+                IntStream.range(0, values.length).mapToObj(i -> new Object[] {i, values[i]}));
+        assertEquals(
+            values.length,
+            st.executeUpdate(
+                "LOAD DATA LOCAL INFILE 'dummy.tsv' INTO TABLE localInfileRows "
+                    + "CHARACTER SET utf8mb4 (id, test)"));
+
+        ResultSet rs = st.executeQuery("SELECT * FROM localInfileRows ORDER BY id");
+        for (int i = 0; i < values.length; i++) {
+          assertTrue(rs.next());
+          assertEquals(i, rs.getInt(1));
+          assertEquals(values[i], rs.getString(2));
+        }
+        assertFalse(rs.next());
+      }
+    }
+  }
+
+  @Test
+  public void testLocalInfileRowsProducerError() throws SQLException {
+    Assume.assumeFalse(
+        (isMariadbServer() && minVersion(10, 4, 0)) || (!isMariadbServer() && minVersion(8, 0, 3)));
+    try (Connection connection = setConnection("&allowLocalInfile=true")) {
+      try (Statement st = connection.createStatement()) {
+        AtomicBoolean closed = new AtomicBoolean();
+        ((MariaDbStatement) st)
+            .setLocalInfileRows(
+                IntStream.range(0, 10)
+                    .mapToObj(
+                        i -> {
+                          if (i == 5) {
+                            throw new UncheckedIOException(new IOException("producer failed"));
+                          }
+                          return new Object[] {100 + i, "v" + i};
+                        })
+                    .onClose(() -> closed.set(true)));
+        try {
+          st.executeUpdate(
+              "LOAD DATA LOCAL INFILE 'dummy.tsv' INTO TABLE localInfileRows "
+                  + "CHARACTER SET utf8mb4 (id, test)");
+          fail("must have thrown exception");
+        } catch (SQLException sqle) {
+          assertTrue(sqle.getMessage().contains("producer failed"));
+        }
+        assertTrue(closed.get());
+
+        // producer IOException doesn't close connection
+        ((MariaDbStatement) st)
+            .setLocalInfileRows(
+                writer -> {
+                  writer.writeRow(200, "a");
+                  throw new IOException("read failed");
+                });
+        try {
+          st.executeUpdate(
+              "LOAD DATA LOCAL INFILE 'dummy.tsv' INTO TABLE localInfileRows "
+                  + "CHARACTER SET utf8mb4 (id, test)");
+          fail("must have thrown exception");
+        } catch (SQLException sqle) {
+          assertTrue(sqle.getMessage().contains("read failed"));
+        }
+        assertTrue(connection.isValid(1));
+        ResultSet rs =
+            st.executeQuery("SELECT COUNT(*) FROM localInfileRows WHERE id >= 100 AND id < 300");
+        assertTrue(rs.next());
+        assertEquals(6, rs.getInt(1));
+      }
+    }
+  }
+
   @Test
   public void testLocalInfileValidInterceptor() throws Exception {
     Assume.assumeFalse(
@@ -236,6 +236,34 @@ public class MariaDbPoolDataSourceTest extends BaseTest {
     }
   }
 
+  @Test
+  public void testResetPipelinedState() throws SQLException {
+    Assume.assumeFalse(sharedIsAurora());
+    try (MariaDbPoolDataSource pool = new MariaDbPoolDataSource(connUri + "&maxPoolSize=1")) {
+
+      try (Connection connection = pool.getConnection()) {
+        Statement statement = connection.createStatement();
+        statement.execute("CREATE DATABASE IF NOT EXISTS testingPipelinedReset");
+        connection.setCatalog("testingPipelinedReset");
+        connection.setAutoCommit(false);
+        connection.setTransactionIsolation(Connection.TRANSACTION_SERIALIZABLE);
+        statement.execute("SET @var = 10");
+      }
+
+      try (Connection connection = pool.getConnection()) {
+        assertEquals(database, connection.getCatalog());
+        assertTrue(connection.getAutoCommit());
+        assertEquals(Connection.TRANSACTION_REPEATABLE_READ, connection.getTransactionIsolation());
+        Statement statement = connection.createStatement();
+        ResultSet rs = statement.executeQuery("SELECT @@autocommit, DATABASE()");
+        assertTrue(rs.next());
+        assertEquals(1, rs.getInt(1));
+        assertEquals(database, rs.getString(2));
+        statement.execute("DROP DATABASE testingPipelinedReset");
+      }
+    }
+  }
+
   @Test
   public void testJmx() throws Exception {
     MBeanServer server = ManagementFactory.getPlatformMBeanServer();
@@ -54,6 +54,9 @@ package org.mariadb.jdbc;
 
 import static org.junit.Assert.*;
 
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
 import java.sql.*;
 import org.junit.Assert;
 import org.junit.Assume;
@@ -72,6 +75,51 @@ public class ResultSetTest extends BaseTest {
     createTable("result_set_test", "id int not null primary key auto_increment, name char(20)");
   }
 
+  @Test
+  public void rowChunkStorage() throws SQLException, IOException {
+    Assume.assumeTrue(isMariadbServer());
+    for (String options : new String[] {"", "&useServerPrepStmts=true"}) {
+      try (Connection connection = setConnection("&useRowChunkStorage=true" + options)) {
+        PreparedStatement stmt =
+            connection.prepareStatement(
+                "SELECT seq, CONCAT('val', seq), CAST(seq AS CHAR) FROM seq_1_to_100000 WHERE seq > ?");
+        stmt.setInt(1, 0);
+        ResultSet rs = stmt.executeQuery();
+        for (int i = 1; i <= 100000; i++) {
+          assertTrue(rs.next());
+          assertEquals(i, rs.getInt(1));
+          assertEquals("val" + i, rs.getString(2));
+          Clob clob = rs.getClob(3);
+          assertEquals(String.valueOf(i), clob.getSubString(1, (int) clob.length()));
+        }
+        assertFalse(rs.next());
+        assertTrue(rs.previous());
+        assertEquals(100000, rs.getInt(1));
+        InputStream binary = rs.getBinaryStream(2);
+        InputStream object = rs.getObject(2, InputStream.class);
+        rs.close();
+
+        // pooled chunk reused by another result-set must not change streams
+        connection
+            .createStatement()
+            .executeQuery("SELECT REPEAT('z', 20) FROM seq_1_to_100000")
+            .close();
+        byte[] expected = "val100000".getBytes();
+        assertArrayEquals(expected, readAll(binary));
+        assertArrayEquals(expected, readAll(object));
+      }
+    }
+  }
+
+  private static byte[] readAll(InputStream stream) throws IOException {
+    ByteArrayOutputStream out = new ByteArrayOutputStream();
+    int value;
+    while ((value = stream.read()) != -1) {
+      out.write(value);
+    }
+    return out.toByteArray();
+  }
+
   @Test
   public void isBeforeFirstFetchTest() throws SQLException {
     insertRows(1);
@@ -115,6 +115,117 @@ public class ServerPrepareStatementTest extends BaseTest {
     createTable(
         "ServerPrepareStatementSync",
         "id int not null primary key auto_increment, test varchar(1007), tt boolean");
+    createTable("ServerPrepareMetaCache", "id int, val varchar(20)");
+    createTable("ServerPrepareMetaCacheAlter", "id int, val varchar(20)");
+    createProcedure(
+        "ServerPrepareMetaCacheProc",
+        "(IN p1 INT, OUT p2 INT) BEGIN SELECT p1 AS a; SELECT 'b' AS b, p1 + 1 AS c; "
+            + "SET p2 = p1 * 2; END");
+  }
+
+  /**
+   * MariaDB 10.6+ skips result-set metadata when identical to the last one sent for a prepared
+   * statement.
+   */
+  private void assumeMetadataCaching() throws SQLException {
+    Assume.assumeTrue(isMariadbServer() && minVersion(10, 6, 0) && !sharedIsAurora());
+  }
+
+  @Test
+  public void metadataCacheRepeatedSelect() throws SQLException {
+    assumeMetadataCaching();
+    Statement stmt = sharedConnection.createStatement();
+    stmt.execute("INSERT INTO ServerPrepareMetaCache VALUES (1, 'a'), (2, 'bb'), (3, null)");
+    try (Connection connection = setConnection("&useServerPrepStmts=true")) {
+      try (PreparedStatement ps =
+          connection.prepareStatement(
+              "SELECT id, val FROM ServerPrepareMetaCache WHERE id >= ? ORDER BY id")) {
+        for (int i = 0; i < 3; i++) {
+          ps.setInt(1, 2);
+          ResultSet rs = ps.executeQuery();
+          assertEquals(2, rs.getMetaData().getColumnCount());
+          assertEquals("val", rs.getMetaData().getColumnLabel(2));
+          assertTrue(rs.next());
+          assertEquals(2, rs.getInt(1));
+          assertEquals("bb", rs.getString(2));
+          assertTrue(rs.next());
+          assertEquals(3, rs.getInt("id"));
+          assertNull(rs.getString("val"));
+          assertFalse(rs.next());
+        }
+      }
+    }
+  }
+
+  @Test
+  public void metadataCacheAlterTable() throws SQLException {
+    assumeMetadataCaching();
+    Statement stmt = sharedConnection.createStatement();
+    stmt.execute("INSERT INTO ServerPrepareMetaCacheAlter VALUES (1, 'a')");
+    try (Connection connection = setConnection("&useServerPrepStmts=true")) {
+      try (PreparedStatement ps =
+          connection.prepareStatement("SELECT * FROM ServerPrepareMetaCacheAlter WHERE id = ?")) {
+        ps.setInt(1, 1);
+        ResultSet rs = ps.executeQuery();
+        assertEquals(2, rs.getMetaData().getColumnCount());
+        assertTrue(rs.next());
+        assertEquals("a", rs.getString(2));
+
+        // metadata cached : second execution must decode without metadata
+        rs = ps.executeQuery();
+        assertTrue(rs.next());
+        assertEquals("a", rs.getString("val"));
+
+        stmt.execute("ALTER TABLE ServerPrepareMetaCacheAlter ADD COLUMN val2 INT DEFAULT 5");
+
+        // metadata changed : server resend them
+        rs = ps.executeQuery();
+        assertEquals(3, rs.getMetaData().getColumnCount());
+        assertEquals("val2", rs.getMetaData().getColumnLabel(3));
+        assertTrue(rs.next());
+        assertEquals(1, rs.getInt(1));
+        assertEquals("a", rs.getString(2));
+        assertEquals(5, rs.getInt(3));
+
+        // new metadata are now cached
+        rs = ps.executeQuery();
+        assertEquals(3, rs.getMetaData().getColumnCount());
+        assertTrue(rs.next());
+        assertEquals(5, rs.getInt("val2"));
+      }
+    }
+  }
+
+  @Test
+  public void metadataCacheCallMultipleResults() throws SQLException {
+    assumeMetadataCaching();
+    try (Connection connection = setConnection("&useServerPrepStmts=true")) {
+      try (CallableStatement cs =
+          connection.prepareCall("{call ServerPrepareMetaCacheProc(?, ?)}")) {
+        for (int i = 1; i <= 3; i++) {
+          cs.setInt(1, i);
+          cs.registerOutParameter(2, Types.INTEGER);
+          assertTrue(cs.execute());
+
+          ResultSet rs = cs.getResultSet();
+          assertEquals(1, rs.getMetaData().getColumnCount());
+          assertEquals("a", rs.getMetaData().getColumnLabel(1));
+          assertTrue(rs.next());
+          assertEquals(i, rs.getInt(1));
+          assertFalse(rs.next());
+
+          assertTrue(cs.getMoreResults());
+          rs = cs.getResultSet();
+          assertEquals(2, rs.getMetaData().getColumnCount());
+          assertTrue(rs.next());
+          assertEquals("b", rs.getString(1));
+          assertEquals(i + 1, rs.getInt(2));
+          assertFalse(rs.next());
+
+          assertEquals(i * 2, cs.getInt(2));
+        }
+      }
+    }
   }
 
   @Test
@@ -192,4 +192,84 @@ public class TimeoutTest extends BaseTest {
       }
     }
   }
+
+  @Test(timeout = 20000)
+  public void queryTimeoutKeepsSessionValue() throws SQLException {
+    Assume.assumeFalse(sharedIsAurora());
+    boolean mariaDb = isMariadbServer();
+    Assume.assumeTrue(mariaDb ? minVersion(10, 1, 2) : minVersion(5, 7, 8));
+    String variable = mariaDb ? "max_statement_time" : "max_execution_time";
+    try (Connection connection = setConnection()) {
+      Statement stmt = connection.createStatement();
+      stmt.execute("SET SESSION " + variable + "=50000");
+
+      stmt.setQueryTimeout(1);
+      try {
+        stmt.executeQuery(
+            "select * from information_schema.columns as c1,  information_schema.tables, information_schema.tables as t2");
+        fail("Query must have timed out");
+      } catch (SQLTimeoutException e) {
+        // normal exception
+      }
+      ResultSet rs = stmt.executeQuery("SELECT 1");
+      assertTrue(rs.next());
+
+      // timeout must not be set on session, user value is kept
+      Statement stmt2 = connection.createStatement();
+      rs = stmt2.executeQuery("SELECT @@session." + variable);
+      assertTrue(rs.next());
+      assertEquals(50000D, rs.getDouble(1), 0.01);
+    }
+  }
+
+  @Test(timeout = 20000)
+  public void batchQueryTimeout() throws SQLException {
+    Assume.assumeFalse(sharedIsAurora());
+    Assume.assumeTrue(isMariadbServer() && minVersion(10, 1, 2));
+    createTable("batchQueryTimeout", "val int");
+    String slowInsert =
+        "INSERT INTO batchQueryTimeout (val) SELECT 1 FROM information_schema.columns as c1,"
+            + " information_schema.tables, information_schema.tables as t2";
+    try (Connection connection = setConnection("&useServerPrepStmts=false")) {
+      Statement stmt = connection.createStatement();
+      stmt.execute("SET SESSION max_statement_time=50000");
+
+      // text batch : server enforces timeout of each query
+      stmt.setQueryTimeout(1);
+      stmt.addBatch("INSERT INTO batchQueryTimeout (val) VALUES (1)");
+      stmt.addBatch(slowInsert);
+      long start = System.nanoTime();
+      try {
+        stmt.executeBatch();
+        fail("Batch must have timed out");
+      } catch (BatchUpdateException e) {
+        assertTrue(e.getCause() instanceof SQLTimeoutException);
+      }
+      assertTrue(System.nanoTime() - start < 10_000_000_000L);
+
+      // client-side prepared batch
+      try (PreparedStatement prep =
+          connection.prepareStatement(slowInsert.replace("SELECT 1", "SELECT ?"))) {
+        prep.setQueryTimeout(1);
+        prep.setInt(1, 1);
+        prep.addBatch();
+        prep.setInt(1, 2);
+        prep.addBatch();
+        start = System.nanoTime();
+        try {
+          prep.executeBatch();
+          fail("Batch must have timed out");
+        } catch (BatchUpdateException e) {
+          assertTrue(e.getCause() instanceof SQLTimeoutException);
+        }
+        assertTrue(System.nanoTime() - start < 10_000_000_000L);
+      }
+
+      // connection is still usable, and user session value is kept
+      ResultSet rs =
+          connection.createStatement().executeQuery("SELECT @@session.max_statement_time");
+      assertTrue(rs.next());
+      assertEquals(50000D, rs.getDouble(1), 0.01);
+    }
+  }
 }
@@ -785,6 +785,34 @@ public class UpdateResultSetTest extends BaseTest {
     }
   }
 
+  @Test
+  public void rowChunkStorage() throws SQLException {
+    createTable(
+        "updatableChunkStorage",
+        "id INT NOT NULL AUTO_INCREMENT, t1 VARCHAR(50), PRIMARY KEY (id)");
+    try (Connection connection = setConnection("&useRowChunkStorage=true")) {
+      Statement st =
+          connection.createStatement(ResultSet.TYPE_SCROLL_INSENSITIVE, ResultSet.CONCUR_UPDATABLE);
+      st.execute("INSERT INTO updatableChunkStorage(t1) values ('555')");
+      ResultSet rs = st.executeQuery("SELECT id, t1 FROM updatableChunkStorage");
+
+      // insertRow reload generated row using internal read-only result-set
+      rs.moveToInsertRow();
+      rs.updateString(2, "new");
+      rs.insertRow();
+      rs.moveToCurrentRow();
+
+      assertTrue(rs.first());
+      connection.createStatement().execute("UPDATE updatableChunkStorage set t1 = '666'");
+      rs.refreshRow();
+      assertEquals("666", rs.getString(2));
+
+      assertTrue(rs.last());
+      assertEquals("666", rs.getString(2));
+      assertTrue(rs.getInt(1) > 0);
+    }
+  }
+
   @Test
   public void testMoveToInsertRow() throws SQLException {
     createTable("testMoveToInsertRow", "t2 text, t1 text, id int primary key");
@@ -1024,4 +1052,88 @@ public class UpdateResultSetTest extends BaseTest {
       rs.getObject(3);
     }
   }
+
+  @Test
+  public void tableMetadataCacheReload() throws SQLException {
+    createTable("tableMetadataCache", "id int not null primary key, t1 varchar(50)");
+    try (Connection connection = setConnection("&tableMetadataCacheSize=10")) {
+      Statement stmt = connection.createStatement();
+      stmt.execute("INSERT INTO tableMetadataCache VALUES (1, 'a'), (2, 'b')");
+
+      for (int i = 0; i < 2; i++) {
+        try (PreparedStatement preparedStatement =
+            connection.prepareStatement(
+                "SELECT id, t1 FROM tableMetadataCache",
+                ResultSet.TYPE_SCROLL_INSENSITIVE,
+                ResultSet.CONCUR_UPDATABLE)) {
+          ResultSet rs = preparedStatement.executeQuery();
+          while (rs.next()) {
+            rs.updateString(2, "v" + i + rs.getInt(1));
+            rs.updateRow();
+          }
+        }
+      }
+
+      // DDL on connection clears cached metadata
+      stmt.execute("ALTER TABLE tableMetadataCache ADD COLUMN t2 varchar(50) NOT NULL");
+      try (PreparedStatement preparedStatement =
+          connection.prepareStatement(
+              "SELECT id, t1 FROM tableMetadataCache",
+              ResultSet.TYPE_SCROLL_INSENSITIVE,
+              ResultSet.CONCUR_UPDATABLE)) {
+        ResultSet rs = preparedStatement.executeQuery();
+        try {
+          rs.moveToInsertRow();
+          fail("must have thrown exception");
+        } catch (SQLException sqle) {
+          assertTrue(sqle.getMessage().contains("Field `t2` is not present"));
+        }
+      }
+
+      ResultSet rs = stmt.executeQuery("SELECT t1 FROM tableMetadataCache ORDER BY id");
+      assertTrue(rs.next());
+      assertEquals("v11", rs.getString(1));
+      assertTrue(rs.next());
+      assertEquals("v12", rs.getString(1));
+    }
+  }
+
+  @Test
+  public void tableMetadataCacheExternalDdl() throws SQLException {
+    createTable("tableMetadataCacheDdl", "id int not null, t1 int not null, t2 varchar(50)");
+    try (Connection connection = setConnection("&tableMetadataCacheSize=10")) {
+      Statement stmt = connection.createStatement();
+      stmt.execute("INSERT INTO tableMetadataCacheDdl VALUES (1, 1, 'a'), (2, 1, 'b')");
+      String query = "SELECT id, t1, t2 FROM tableMetadataCacheDdl";
+
+      try (PreparedStatement preparedStatement =
+          connection.prepareStatement(
+              query, ResultSet.TYPE_SCROLL_INSENSITIVE, ResultSet.CONCUR_UPDATABLE)) {
+        ResultSet rs = preparedStatement.executeQuery();
+        assertTrue(rs.next());
+        rs.updateString(3, "c");
+        rs.updateRow();
+      }
+
+      // primary key changed by another connection : cached metadata must not be used
+      sharedConnection
+          .createStatement()
+          .execute("ALTER TABLE tableMetadataCacheDdl ADD PRIMARY KEY (id)");
+
+      try (PreparedStatement preparedStatement =
+          connection.prepareStatement(
+              query, ResultSet.TYPE_SCROLL_INSENSITIVE, ResultSet.CONCUR_UPDATABLE)) {
+        ResultSet rs = preparedStatement.executeQuery();
+        assertTrue(rs.next());
+        rs.updateString(3, "d");
+        rs.updateRow();
+      }
+
+      ResultSet rs = stmt.executeQuery("SELECT t2 FROM tableMetadataCacheDdl ORDER BY id");
+      assertTrue(rs.next());
+      assertEquals("d", rs.getString(1));
+      assertTrue(rs.next());
+      assertEquals("b", rs.getString(1));
+    }
+  }
 }
@@ -0,0 +1,92 @@
+/*
+ *
+ * MariaDB Client for Java
+ *
+ * Copyright (c) 2012-2014 Monty Program Ab.
+ * Copyright (c) 2015-2020 MariaDB Corporation Ab.
+ *
+ * This library is free software; you can redistribute it and/or modify it under
+ * the terms of the GNU Lesser General Public License as published by the Free
+ * Software Foundation; either version 2.1 of the License, or (at your option)
+ * any later version.
+ *
+ * This library is distributed in the hope that it will be useful, but
+ * WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE.  See the GNU Lesser General Public License
+ * for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License along
+ * with this library; if not, write to Monty Program Ab info@montyprogram.com.
+ *
+ */
+
+package org.mariadb.jdbc.internal.com.read.resultset;
+
+import static org.junit.Assert.*;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
+import org.junit.Test;
+import org.mariadb.jdbc.internal.ColumnType;
+import org.mariadb.jdbc.internal.io.input.StandardPacketInputStream;
+import org.mariadb.jdbc.util.Options;
+
+public class ColumnDefinitionArenaTest {
+
+  private static void writePacket(ByteArrayOutputStream out, String name, int type) {
+    ByteArrayOutputStream packet = new ByteArrayOutputStream();
+    for (String value : new String[] {"def", "db", "tt", "tt", name, name}) {
+      byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+      packet.write(bytes.length);
+      packet.write(bytes, 0, bytes.length);
+    }
+    packet.write(0x0c);
+    packet.write(new byte[] {33, 0, 11, 0, 0, 0, (byte) type, 1, 0, 0, 0, 0}, 0, 12);
+    int length = packet.size();
+    out.write(length);
+    out.write(length >> 8);
+    out.write(length >> 16);
+    out.write(0);
+    out.write(packet.toByteArray(), 0, length);
+  }
+
+  private static StandardPacketInputStream stream(String... names) {
+    ByteArrayOutputStream out = new ByteArrayOutputStream();
+    for (String name : names) {
+      writePacket(out, name, 3);
+    }
+    return new StandardPacketInputStream(
+        new ByteArrayInputStream(out.toByteArray()), new Options(), 1);
+  }
+
+  @Test
+  public void decode() throws Exception {
+    ColumnDefinitionArena arena = new ColumnDefinitionArena();
+    ColumnDefinition[] columns = arena.read(stream("id", "other"), 2);
+    assertEquals(2, columns.length);
+    assertEquals("db", columns[0].getDatabase());
+    assertEquals("tt", columns[0].getTable());
+    assertEquals("id", columns[0].getName());
+    assertEquals("other", columns[1].getName());
+    assertEquals("other", columns[1].getOriginalName());
+    assertEquals(ColumnType.INTEGER, columns[1].getColumnType());
+    assertEquals(11, columns[1].getLength());
+    assertEquals(33, columns[1].getCharsetNumber());
+    assertTrue(columns[1].isNotNull());
+  }
+
+  @Test
+  public void reuseIdenticalDefinitions() throws Exception {
+    ColumnDefinitionArena arena = new ColumnDefinitionArena();
+    ColumnDefinition[] columns = arena.read(stream("id", "other"), 2);
+    assertSame(columns, arena.read(stream("id", "other"), 2));
+
+    ColumnDefinition[] otherColumns = arena.read(stream("id", "another"), 2);
+    assertNotSame(columns, otherColumns);
+    assertEquals("another", otherColumns[1].getName());
+
+    arena.clear();
+    assertNotSame(otherColumns, arena.read(stream("id", "another"), 2));
+  }
+}
@@ -0,0 +1,111 @@
+/*
+ *
+ * MariaDB Client for Java
+ *
+ * Copyright (c) 2012-2014 Monty Program Ab.
+ * Copyright (c) 2015-2020 MariaDB Corporation Ab.
+ *
+ * This library is free software; you can redistribute it and/or modify it under
+ * the terms of the GNU Lesser General Public License as published by the Free
+ * Software Foundation; either version 2.1 of the License, or (at your option)
+ * any later version.
+ *
+ * This library is distributed in the hope that it will be useful, but
+ * WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE.  See the GNU Lesser General Public License
+ * for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License along
+ * with this library; if not, write to Monty Program Ab info@montyprogram.com.
+ *
+ */
+
+package org.mariadb.jdbc.internal.com.read.resultset;
+
+import static org.junit.Assert.*;
+
+import java.nio.charset.StandardCharsets;
+import java.sql.SQLException;
+import java.util.TimeZone;
+import org.junit.Test;
+import org.mariadb.jdbc.internal.ColumnType;
+import org.mariadb.jdbc.internal.com.read.resultset.rowprotocol.TextRowProtocol;
+import org.mariadb.jdbc.util.Options;
+
+public class RowChunkStoreTest {
+
+  private static byte[] textRow(String... values) {
+    int length = 0;
+    for (String value : values) {
+      length += 1 + value.length();
+    }
+    byte[] row = new byte[length];
+    int pos = 0;
+    for (String value : values) {
+      byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+      row[pos++] = (byte) bytes.length;
+      System.arraycopy(bytes, 0, row, pos, bytes.length);
+      pos += bytes.length;
+    }
+    return row;
+  }
+
+  @Test
+  public void packedRows() throws SQLException {
+    RowChunkStore store = new RowChunkStore();
+    int rowNumber = 200_000;
+    for (int i = 0; i < rowNumber; i++) {
+      byte[] row = textRow(String.valueOf(i), "value" + i);
+      store.add(row, row.length);
+    }
+    assertEquals(rowNumber, store.size());
+
+    ColumnDefinition column = ColumnDefinition.create("a", ColumnType.STRING);
+    TextRowProtocol row = new TextRowProtocol(0, new Options());
+    for (int i = 0; i < rowNumber; i += 997) {
+      row.resetRow(store.chunk(i), store.offset(i));
+      row.setPosition(1);
+      assertEquals("value" + i, row.getInternalString(column, null, TimeZone.getDefault()));
+      row.setPosition(0);
+      assertEquals(String.valueOf(i), row.getInternalString(column, null, TimeZone.getDefault()));
+    }
+    store.release();
+    assertEquals(0, store.size());
+  }
+
+  @Test
+  public void bigRow() {
+    RowChunkStore store = new RowChunkStore();
+    byte[] small = textRow("a");
+    byte[] big = new byte[RowChunkStore.CHUNK_SIZE + 10];
+    store.add(small, small.length);
+    store.add(big, big.length);
+    store.add(small, small.length);
+
+    assertEquals(0, store.offset(1));
+    assertEquals(big.length, store.chunk(1).length);
+    assertSame(store.chunk(0), store.chunk(2));
+    assertEquals(small.length, store.offset(2));
+    store.release();
+  }
+
+  @Test
+  public void copy() {
+    RowChunkStore store = new RowChunkStore();
+    byte[] first = textRow("a", "b");
+    byte[] second = textRow("cde");
+    store.add(first, first.length);
+    store.add(second, second.length);
+
+    byte[] copy = store.copy(1);
+    assertArrayEquals(second, copy);
+    store.release();
+
+    // copy is independent of pooled chunk
+    RowChunkStore other = new RowChunkStore();
+    byte[] overwrite = new byte[first.length + second.length];
+    other.add(overwrite, overwrite.length);
+    assertArrayEquals(second, copy);
+    other.release();
+  }
+}
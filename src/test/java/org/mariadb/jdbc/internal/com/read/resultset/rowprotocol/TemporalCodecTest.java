@@ -0,0 +1,198 @@
+/*
+ *
+ * MariaDB Client for Java
+ *
+ * Copyright (c) 2012-2014 Monty Program Ab.
+ * Copyright (c) 2015-2020 MariaDB Corporation Ab.
+ *
+ * This library is free software; you can redistribute it and/or modify it under
+ * the terms of the GNU Lesser General Public License as published by the Free
+ * Software Foundation; either version 2.1 of the License, or (at your option)
+ * any later version.
+ *
+ * This library is distributed in the hope that it will be useful, but
+ * WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE.  See the GNU Lesser General Public License
+ * for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License along
+ * with this library; if not, write to Monty Program Ab info@montyprogram.com.
+ *
+ */
+
+package org.mariadb.jdbc.internal.com.read.resultset.rowprotocol;
+
+import static org.junit.Assert.*;
+
+import java.nio.charset.StandardCharsets;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.time.ZonedDateTime;
+import java.time.zone.ZoneOffsetTransition;
+import java.time.zone.ZoneRules;
+import java.util.Calendar;
+import java.util.GregorianCalendar;
+import java.util.Random;
+import java.util.SimpleTimeZone;
+import java.util.TimeZone;
+import org.junit.Test;
+import org.mariadb.jdbc.internal.ColumnType;
+import org.mariadb.jdbc.internal.com.read.resultset.ColumnDefinition;
+import org.mariadb.jdbc.util.Options;
+
+public class TemporalCodecTest {
+
+  private static final long END = ZonedDateTime.parse("2037-01-01T00:00Z").toEpochSecond();
+
+  private static long calendarMillis(
+      TimeZone timeZone, int year, int month, int day, int hour, int minutes, int seconds) {
+    Calendar calendar = Calendar.getInstance(timeZone);
+    calendar.clear();
+    calendar.set(year, month - 1, day, hour, minutes, seconds);
+    return calendar.getTimeInMillis();
+  }
+
+  private static void check(TimeZone timeZone, ZoneId zoneId, LocalDateTime local) {
+    int year = local.getYear();
+    int month = local.getMonthValue();
+    int day = local.getDayOfMonth();
+    int hour = local.getHour();
+    int minutes = local.getMinute();
+    int seconds = local.getSecond();
+    assertEquals(
+        timeZone.getID() + " " + local,
+        calendarMillis(timeZone, year, month, day, hour, minutes, seconds),
+        TemporalCodec.epochMillis(
+            zoneId, TemporalCodec.localMillis(year, month, day, hour, minutes, seconds, 0)));
+  }
+
+  @Test
+  public void sameAsCalendarAroundTransitions() {
+    for (String id : TimeZone.getAvailableIDs()) {
+      TimeZone timeZone = TimeZone.getTimeZone(id);
+      ZoneId zoneId = TemporalCodec.zoneId(timeZone);
+      assertNotNull(id, zoneId);
+      ZoneRules rules = zoneId.getRules();
+      ZoneOffsetTransition transition = rules.nextTransition(Instant.parse("1901-01-02T00:00:00Z"));
+      while (transition != null && transition.toEpochSecond() < END) {
+        LocalDateTime local = transition.getDateTimeBefore().minusHours(3);
+        LocalDateTime end = transition.getDateTimeAfter().plusHours(3);
+        while (local.isBefore(end)) {
+          check(timeZone, zoneId, local);
+          local = local.plusMinutes(20);
+        }
+        transition = rules.nextTransition(transition.getInstant());
+      }
+    }
+  }
+
+  @Test
+  public void sameAsCalendarRandom() {
+    Random random = new Random(42);
+    String[] ids = TimeZone.getAvailableIDs();
+    for (int i = 0; i < 200_000; i++) {
+      TimeZone timeZone = TimeZone.getTimeZone(ids[random.nextInt(ids.length)]);
+      LocalDateTime local =
+          LocalDateTime.of(1901, 1, 1, 0, 0).plusSeconds((long) (random.nextDouble() * 4.1e9));
+      check(timeZone, TemporalCodec.zoneId(timeZone), local);
+    }
+  }
+
+  @Test
+  public void lenientFields() {
+    TimeZone timeZone = TimeZone.getTimeZone("Europe/Paris");
+    ZoneId zoneId = TemporalCodec.zoneId(timeZone);
+    int[][] values = {
+      {2020, 0, 0, 0, 0, 0}, {2020, 13, 1, 0, 0, 0}, {2020, 2, 30, 0, 0, 0},
+      {1970, 1, 1, -838, 59, 59}, {1970, 1, 1, 838, 59, 59}, {1970, 1, -33, -12, 0, 0}
+    };
+    for (int[] v : values) {
+      assertEquals(
+          calendarMillis(timeZone, v[0], v[1], v[2], v[3], v[4], v[5]),
+          TemporalCodec.epochMillis(
+              zoneId, TemporalCodec.localMillis(v[0], v[1], v[2], v[3], v[4], v[5], 0)));
+    }
+  }
+
+  @Test
+  public void unsupported() {
+    assertNull(TemporalCodec.zoneId(new SimpleTimeZone(3600_000, "custom")));
+    GregorianCalendar calendar = new GregorianCalendar();
+    assertNotNull(TemporalCodec.zoneId(calendar));
+    calendar.setLenient(false);
+    assertNull(TemporalCodec.zoneId(calendar));
+    assertNull(TemporalCodec.zoneId(new GregorianCalendar() {}));
+    assertFalse(TemporalCodec.supports(1900, 12));
+    assertTrue(TemporalCodec.supports(1900, 13));
+    assertTrue(TemporalCodec.supports(2036, 12));
+    assertFalse(TemporalCodec.supports(2036, 13));
+  }
+
+  @Test
+  public void toDefaultZone() {
+    TimeZone initial = TimeZone.getDefault();
+    try {
+      TimeZone.setDefault(TimeZone.getTimeZone("Europe/Paris"));
+      TimeZone paris = TimeZone.getTimeZone("Europe/Paris");
+      TimeZone utc = TimeZone.getTimeZone("UTC");
+      LocalDateTime[] values = {
+        LocalDateTime.of(2020, 6, 1, 12, 30, 15, 123_456_000),
+        LocalDateTime.of(2020, 3, 29, 2, 30),
+        LocalDateTime.of(2020, 10, 25, 2, 30)
+      };
+      for (LocalDateTime value : values) {
+        for (TimeZone server : new TimeZone[] {paris, utc}) {
+          assertEquals(
+              ZonedDateTime.of(value, server.toZoneId())
+                  .withZoneSameInstant(ZoneId.systemDefault())
+                  .toLocalDateTime(),
+              TemporalCodec.toDefaultZone(value, server));
+        }
+      }
+    } finally {
+      TimeZone.setDefault(initial);
+    }
+  }
+
+  @Test
+  public void textRowDecoding() throws SQLException {
+    TimeZone server = TimeZone.getTimeZone("America/New_York");
+    ColumnDefinition column = ColumnDefinition.create("a", ColumnType.DATETIME);
+    TextRowProtocol row = new TextRowProtocol(0, new Options());
+    String[] values = {
+      "2020-03-08 02:30:00.123456", "2020-11-01 01:30:00", "1800-01-01 10:00:00.5"
+    };
+    for (String value : values) {
+      byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+      byte[] buf = new byte[bytes.length + 1];
+      buf[0] = (byte) bytes.length;
+      System.arraycopy(bytes, 0, buf, 1, bytes.length);
+      row.resetRow(buf);
+      row.setPosition(0);
+
+      LocalDateTime local = LocalDateTime.parse(value.replace(' ', 'T'));
+      Timestamp timestamp = row.getInternalTimestamp(column, null, server);
+      assertEquals(
+          value,
+          calendarMillis(
+                  server,
+                  local.getYear(),
+                  local.getMonthValue(),
+                  local.getDayOfMonth(),
+                  local.getHour(),
+                  local.getMinute(),
+                  local.getSecond())
+              + local.getNano() / 1_000_000,
+          timestamp.getTime());
+      assertEquals(local.getNano(), timestamp.getNanos());
+      assertEquals(
+          ZonedDateTime.of(local, server.toZoneId())
+              .withZoneSameInstant(ZoneId.systemDefault())
+              .toLocalDateTime(),
+          row.getInternalLocalDateTime(column, server));
+    }
+  }
+}
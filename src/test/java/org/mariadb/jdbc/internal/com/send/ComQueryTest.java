@@ -0,0 +1,86 @@
+/*
+ *
+ * MariaDB Client for Java
+ *
+ * Copyright (c) 2012-2014 Monty Program Ab.
+ * Copyright (c) 2015-2020 MariaDB Corporation Ab.
+ *
+ * This library is free software; you can redistribute it and/or modify it under
+ * the terms of the GNU Lesser General Public License as published by the Free
+ * Software Foundation; either version 2.1 of the License, or (at your option)
+ * any later version.
+ *
+ * This library is distributed in the hope that it will be useful, but
+ * WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE.  See the GNU Lesser General Public License
+ * for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License along
+ * with this library; if not, write to Monty Program Ab info@montyprogram.com.
+ *
+ */
+
+package org.mariadb.jdbc.internal.com.send;
+
+import static org.junit.Assert.*;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import org.junit.Test;
+import org.mariadb.jdbc.internal.com.send.parameters.ParameterBatch;
+import org.mariadb.jdbc.internal.io.output.PacketOutputStream;
+import org.mariadb.jdbc.internal.io.output.StandardPacketOutputStream;
+import org.mariadb.jdbc.internal.util.dao.ClientPrepareResult;
+import org.mariadb.jdbc.util.Options;
+
+public class ComQueryTest {
+
+  private static String rewrite(boolean rewriteValues, int queryTimeout) throws IOException {
+    ClientPrepareResult prepareResult =
+        ClientPrepareResult.rewritableParts("INSERT INTO t(a) VALUES (?)", false);
+    ParameterBatch batch = new ParameterBatch(1);
+    for (int i = 1; i <= 3; i++) {
+      batch.setInt(0, i);
+      batch.addRow();
+    }
+    ByteArrayOutputStream out = new ByteArrayOutputStream();
+    PacketOutputStream pos = new StandardPacketOutputStream(out, new Options(), 1);
+    int index =
+        ComQuery.sendRewriteCmd(
+            pos,
+            prepareResult.getQueryParts(),
+            0,
+            prepareResult.getParamCount(),
+            batch,
+            rewriteValues,
+            queryTimeout);
+    assertEquals(3, index);
+    byte[] sent = out.toByteArray();
+    // packet header and COM_QUERY
+    return new String(sent, 5, sent.length - 5, StandardCharsets.UTF_8);
+  }
+
+  @Test
+  public void rewriteWithoutTimeout() throws IOException {
+    assertEquals(
+        "INSERT INTO t(a) VALUES (1);INSERT INTO t(a) VALUES (2);INSERT INTO t(a) VALUES (3)",
+        rewrite(false, 0));
+    assertEquals("INSERT INTO t(a) VALUES (1), (2), (3)", rewrite(true, 0));
+  }
+
+  @Test
+  public void rewriteWithTimeout() throws IOException {
+    String prefix = "SET STATEMENT max_statement_time=2 FOR ";
+    // each query has its own timeout
+    assertEquals(
+        prefix
+            + "INSERT INTO t(a) VALUES (1);"
+            + prefix
+            + "INSERT INTO t(a) VALUES (2);"
+            + prefix
+            + "INSERT INTO t(a) VALUES (3)",
+        rewrite(false, 2));
+    assertEquals(prefix + "INSERT INTO t(a) VALUES (1), (2), (3)", rewrite(true, 2));
+  }
+}
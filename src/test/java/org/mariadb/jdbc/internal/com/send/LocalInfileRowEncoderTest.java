@@ -0,0 +1,248 @@
+/*
+ *
+ * MariaDB Client for Java
+ *
+ * Copyright (c) 2012-2014 Monty Program Ab.
+ * Copyright (c) 2015-2020 MariaDB Corporation Ab.
+ *
+ * This library is free software; you can redistribute it and/or modify it under
+ * the terms of the GNU Lesser General Public License as published by the Free
+ * Software Foundation; either version 2.1 of the License, or (at your option)
+ * any later version.
+ *
+ * This library is distributed in the hope that it will be useful, but
+ * WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE.  See the GNU Lesser General Public License
+ * for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License along
+ * with this library; if not, write to Monty Program Ab info@montyprogram.com.
+ *
+ */
+
+package org.mariadb.jdbc.internal.com.send;
+
+import static org.junit.Assert.*;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.sql.Time;
+import java.sql.Timestamp;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.time.OffsetDateTime;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+import java.time.ZonedDateTime;
+import java.util.Arrays;
+import java.util.Calendar;
+import java.util.Date;
+import java.util.TimeZone;
+import org.junit.Test;
+import org.mariadb.jdbc.internal.io.output.StandardPacketOutputStream;
+import org.mariadb.jdbc.util.Options;
+
+public class LocalInfileRowEncoderTest {
+
+  private static final TimeZone UTC = TimeZone.getTimeZone("UTC");
+  // connection time zone without daylight saving, different from instants offsets
+  private static final TimeZone CONNECTION_TZ = TimeZone.getTimeZone("GMT+02:00");
+  /** 2020-01-01 08:00:00.123 UTC. */
+  private static final long INSTANT_MILLIS =
+      LocalDateTime.of(2020, 1, 1, 8, 0, 0, 123_000_000).toInstant(ZoneOffset.UTC).toEpochMilli();
+
+  /**
+   * Read packets sent, checking sequence and ending empty packet.
+   *
+   * @return content of all packets
+   */
+  private static byte[] content(byte[] sent, int[] packetCount) {
+    ByteArrayOutputStream received = new ByteArrayOutputStream();
+    int pos = 0;
+    int seq = 2;
+    while (true) {
+      int length =
+          (sent[pos] & 0xff) + ((sent[pos + 1] & 0xff) << 8) + ((sent[pos + 2] & 0xff) << 16);
+      assertEquals(seq++ & 0xff, sent[pos + 3] & 0xff);
+      received.write(sent, pos + 4, length);
+      pos += 4 + length;
+      if (length == 0) {
+        break;
+      }
+      packetCount[0]++;
+    }
+    assertEquals(sent.length, pos);
+    return received.toByteArray();
+  }
+
+  @Test
+  public void escaping() throws IOException {
+    ByteArrayOutputStream out = new ByteArrayOutputStream();
+    LocalInfileRowEncoder encoder =
+        new LocalInfileRowEncoder(new StandardPacketOutputStream(out, new Options(), 1), 2, UTC);
+    encoder.writeRow(1, "simple", null);
+    encoder.writeRow(2L, "tab\tnew\nline", "quote' \"dbl\" back\\ nul\0");
+    encoder.writeRow(new BigDecimal("1E+3"), true, "été".getBytes(StandardCharsets.UTF_8));
+    encoder.finish();
+
+    int[] packetCount = new int[1];
+    assertEquals(
+        "1\tsimple\t\\N\n"
+            + "2\ttab\\tnew\\nline\tquote\\' \\\"dbl\\\" back\\\\ nul\\\0\n"
+            + "1000\t1\tété\n",
+        new String(content(out.toByteArray(), packetCount), StandardCharsets.UTF_8));
+    assertEquals(1, packetCount[0]);
+  }
+
+  private static String encode(Object value) throws IOException {
+    ByteArrayOutputStream out = new ByteArrayOutputStream();
+    LocalInfileRowEncoder encoder =
+        new LocalInfileRowEncoder(
+            new StandardPacketOutputStream(out, new Options(), 1), 2, CONNECTION_TZ);
+    encoder.writeRow(value);
+    encoder.finish();
+    String row = new String(content(out.toByteArray(), new int[1]), StandardCharsets.UTF_8);
+    return row.substring(0, row.length() - 1);
+  }
+
+  @Test
+  public void utilDate() throws IOException {
+    assertEquals("2020-01-01 10:00:00.123", encode(new Date(INSTANT_MILLIS)));
+    assertEquals("2020-01-01 10:00:00", encode(new Date(INSTANT_MILLIS - 123)));
+  }
+
+  @Test
+  public void sqlTemporal() throws IOException {
+    Timestamp timestamp = new Timestamp(INSTANT_MILLIS);
+    timestamp.setNanos(123_456_789);
+    assertEquals("2020-01-01 10:00:00.123456", encode(timestamp));
+    assertEquals("2020-01-01", encode(new java.sql.Date(INSTANT_MILLIS)));
+    assertEquals("10:00:00.123", encode(new Time(INSTANT_MILLIS)));
+  }
+
+  @Test
+  public void calendar() throws IOException {
+    Calendar calendar = Calendar.getInstance(TimeZone.getTimeZone("America/New_York"));
+    calendar.setTimeInMillis(INSTANT_MILLIS);
+    assertEquals("2020-01-01 10:00:00.123", encode(calendar));
+  }
+
+  @Test
+  public void instant() throws IOException {
+    assertEquals("2020-01-01 10:00:00.123", encode(Instant.ofEpochMilli(INSTANT_MILLIS)));
+  }
+
+  @Test
+  public void localDateTime() throws IOException {
+    assertEquals("2020-01-01 08:00:00", encode(LocalDateTime.of(2020, 1, 1, 8, 0, 0)));
+    assertEquals(
+        "2020-01-01 08:00:00.000005", encode(LocalDateTime.of(2020, 1, 1, 8, 0, 0, 5_000)));
+  }
+
+  @Test
+  public void localDate() throws IOException {
+    assertEquals("2020-01-01", encode(LocalDate.of(2020, 1, 1)));
+  }
+
+  @Test
+  public void localTime() throws IOException {
+    assertEquals("08:05:09", encode(LocalTime.of(8, 5, 9)));
+    assertEquals("08:05:09.12", encode(LocalTime.of(8, 5, 9, 120_000_000)));
+  }
+
+  @Test
+  public void offsetDateTime() throws IOException {
+    assertEquals(
+        "2020-01-01 10:00:00",
+        encode(OffsetDateTime.of(2020, 1, 1, 3, 0, 0, 0, ZoneOffset.ofHours(-5))));
+  }
+
+  @Test
+  public void zonedDateTime() throws IOException {
+    assertEquals(
+        "2020-01-01 10:00:00.5",
+        encode(ZonedDateTime.of(2020, 1, 1, 17, 0, 0, 500_000_000, ZoneId.of("Asia/Tokyo"))));
+  }
+
+  @Test
+  public void multiplePackets() throws IOException {
+    ByteArrayOutputStream out = new ByteArrayOutputStream();
+    StandardPacketOutputStream writer = new StandardPacketOutputStream(out, new Options(), 1);
+    writer.setMaxAllowedPacket(10_000);
+    LocalInfileRowEncoder encoder = new LocalInfileRowEncoder(writer, 2, UTC);
+    StringBuilder expected = new StringBuilder();
+    for (int i = 0; i < 10_000; i++) {
+      encoder.writeRow(i, "value " + i);
+      expected.append(i).append("\tvalue ").append(i).append('\n');
+    }
+    encoder.finish();
+
+    int[] packetCount = new int[1];
+    assertEquals(
+        expected.toString(),
+        new String(content(out.toByteArray(), packetCount), StandardCharsets.UTF_8));
+    assertTrue(packetCount[0] > 10);
+  }
+
+  @Test
+  public void rowBiggerThanPacket() throws IOException {
+    ByteArrayOutputStream out = new ByteArrayOutputStream();
+    StandardPacketOutputStream writer = new StandardPacketOutputStream(out, new Options(), 1);
+    writer.setMaxAllowedPacket(40 * 1024 * 1024);
+    LocalInfileRowEncoder encoder = new LocalInfileRowEncoder(writer, 2, UTC);
+    byte[] big = new byte[0xffffff + 100];
+    Arrays.fill(big, (byte) 'a');
+    encoder.writeRow("small");
+    encoder.writeRow(big);
+    encoder.writeRow("next");
+    encoder.finish();
+
+    // writer split big row : sequence numbers must still follow each other
+    int[] packetCount = new int[1];
+    byte[] content = content(out.toByteArray(), packetCount);
+    assertEquals(6 + big.length + 1 + 5, content.length);
+    assertEquals("next\n", new String(content, content.length - 5, 5, StandardCharsets.UTF_8));
+    assertTrue(packetCount[0] >= 2);
+  }
+
+  @Test
+  public void socketError() throws IOException {
+    StandardPacketOutputStream writer =
+        new StandardPacketOutputStream(
+            new OutputStream() {
+              @Override
+              public void write(int b) throws IOException {
+                throw new IOException("socket closed");
+              }
+            },
+            new Options(),
+            1);
+    writer.setMaxAllowedPacket(10_000);
+    LocalInfileRowEncoder encoder = new LocalInfileRowEncoder(writer, 2, UTC);
+    assertFalse(encoder.isSocketError());
+    try {
+      for (int i = 0; i < 10_000; i++) {
+        encoder.writeRow(i, "value " + i);
+      }
+      fail("must have thrown exception");
+    } catch (IOException ioe) {
+      assertTrue(encoder.isSocketError());
+    }
+  }
+
+  @Test
+  public void noRows() throws IOException {
+    ByteArrayOutputStream out = new ByteArrayOutputStream();
+    LocalInfileRowEncoder encoder =
+        new LocalInfileRowEncoder(new StandardPacketOutputStream(out, new Options(), 1), 2, UTC);
+    encoder.finish();
+    int[] packetCount = new int[1];
+    assertEquals(0, content(out.toByteArray(), packetCount).length);
+    assertEquals(0, packetCount[0]);
+  }
+}
@@ -0,0 +1,94 @@
+/*
+ *
+ * MariaDB Client for Java
+ *
+ * Copyright (c) 2012-2014 Monty Program Ab.
+ * Copyright (c) 2015-2020 MariaDB Corporation Ab.
+ *
+ * This library is free software; you can redistribute it and/or modify it under
+ * the terms of the GNU Lesser General Public License as published by the Free
+ * Software Foundation; either version 2.1 of the License, or (at your option)
+ * any later version.
+ *
+ * This library is distributed in the hope that it will be useful, but
+ * WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE.  See the GNU Lesser General Public License
+ * for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License along
+ * with this library; if not, write to Monty Program Ab info@montyprogram.com.
+ *
+ */
+
+package org.mariadb.jdbc.internal.com.send.authentication;
+
+import static org.junit.Assert.*;
+
+import java.io.File;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.security.KeyPairGenerator;
+import java.security.PublicKey;
+import java.util.Base64;
+import org.junit.Test;
+import org.mariadb.jdbc.HostAddress;
+import org.mariadb.jdbc.util.Options;
+
+public class RsaPublicKeyCacheTest {
+
+  private static PublicKey generateKey() throws Exception {
+    KeyPairGenerator generator = KeyPairGenerator.getInstance("RSA");
+    generator.initialize(1024);
+    return generator.generateKeyPair().getPublic();
+  }
+
+  private static void writeKey(File file, PublicKey key) throws Exception {
+    String pem =
+        "-----BEGIN PUBLIC KEY-----\n"
+            + Base64.getMimeEncoder().encodeToString(key.getEncoded())
+            + "\n-----END PUBLIC KEY-----\n";
+    Files.write(file.toPath(), pem.getBytes(StandardCharsets.US_ASCII));
+  }
+
+  @Test
+  public void fileKey() throws Exception {
+    File file = File.createTempFile("public", ".pem");
+    file.deleteOnExit();
+    PublicKey key = generateKey();
+    writeKey(file, key);
+    assertTrue(file.setLastModified(1_000_000_000_000L));
+
+    PublicKey cached = RsaPublicKeyCache.fromFile(file.getAbsolutePath());
+    assertEquals(key, cached);
+    assertSame(cached, RsaPublicKeyCache.fromFile(file.getAbsolutePath()));
+
+    // modified file is read again
+    PublicKey newKey = generateKey();
+    writeKey(file, newKey);
+    assertTrue(file.setLastModified(1_100_000_000_000L));
+    assertEquals(newKey, RsaPublicKeyCache.fromFile(file.getAbsolutePath()));
+
+    // authentication failure force reading file again
+    cached = RsaPublicKeyCache.fromFile(file.getAbsolutePath());
+    Options options = new Options();
+    options.serverRsaPublicKeyFile = file.getAbsolutePath();
+    RsaPublicKeyCache.invalidate(options, null);
+    assertNotSame(cached, RsaPublicKeyCache.fromFile(file.getAbsolutePath()));
+  }
+
+  @Test
+  public void serverKey() throws Exception {
+    HostAddress host = new HostAddress("host", 3306);
+    HostAddress otherHost = new HostAddress("host", 3307);
+    assertNull(RsaPublicKeyCache.get(host));
+    assertNull(RsaPublicKeyCache.get(null));
+
+    PublicKey key = generateKey();
+    RsaPublicKeyCache.put(host, key);
+    assertSame(key, RsaPublicKeyCache.get(new HostAddress("host", 3306)));
+    assertNull(RsaPublicKeyCache.get(otherHost));
+
+    RsaPublicKeyCache.invalidate(new Options(), host);
+    assertNull(RsaPublicKeyCache.get(host));
+  }
+}
@@ -0,0 +1,122 @@
+/*
+ *
+ * MariaDB Client for Java
+ *
+ * Copyright (c) 2012-2014 Monty Program Ab.
+ * Copyright (c) 2015-2020 MariaDB Corporation Ab.
+ *
+ * This library is free software; you can redistribute it and/or modify it under
+ * the terms of the GNU Lesser General Public License as published by the Free
+ * Software Foundation; either version 2.1 of the License, or (at your option)
+ * any later version.
+ *
+ * This library is distributed in the hope that it will be useful, but
+ * WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE.  See the GNU Lesser General Public License
+ * for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License along
+ * with this library; if not, write to Monty Program Ab info@montyprogram.com.
+ *
+ */
+
+package org.mariadb.jdbc.internal.com.send.parameters;
+
+import static org.junit.Assert.*;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import org.junit.Test;
+import org.mariadb.jdbc.internal.ColumnType;
+import org.mariadb.jdbc.internal.io.output.PacketOutputStream;
+import org.mariadb.jdbc.internal.io.output.StandardPacketOutputStream;
+import org.mariadb.jdbc.util.Options;
+
+public class ParameterBatchTest {
+
+  private static byte[] written(Writer writer) throws IOException {
+    ByteArrayOutputStream out = new ByteArrayOutputStream();
+    PacketOutputStream pos = new StandardPacketOutputStream(out, new Options(), 1);
+    pos.startPacket(0);
+    writer.write(pos);
+    pos.flush();
+    return out.toByteArray();
+  }
+
+  private static void fill(ParameterBatch batch, int row) {
+    batch.setBoolean(0, row % 2 == 0);
+    batch.setByte(1, (byte) -row);
+    batch.setShort(2, (short) (row * 300));
+    batch.setInt(3, row == 3 ? Integer.MIN_VALUE : row * 70_000);
+    batch.setLong(4, row == 3 ? Long.MIN_VALUE : -row * 10_000_000_000L);
+    batch.setFloat(5, row * 1.5f);
+    batch.setDouble(6, row * -2.25d);
+    if (row % 2 == 0) {
+      batch.setNull(7, ColumnType.VARCHAR);
+    } else {
+      batch.set(7, new StringParameter("value" + row, false));
+    }
+  }
+
+  @Test
+  public void directWriteSameAsHolders() throws IOException {
+    ParameterBatch batch = new ParameterBatch(8);
+    for (int row = 0; row < 100; row++) {
+      fill(batch, row);
+      batch.addRow();
+    }
+    assertEquals(100, batch.size());
+
+    for (int row = 0; row < 100; row++) {
+      ParameterHolder[] holders = batch.get(row);
+      for (int i = 0; i < 8; i++) {
+        final int r = row;
+        final int col = i;
+        final ParameterHolder holder = holders[i];
+        assertEquals(holder.getColumnType(), batch.getColumnType(row, i));
+        assertEquals(holder.isNullData(), batch.isNullData(row, i));
+        assertEquals(
+            holder.getApproximateTextProtocolLength(),
+            batch.getApproximateTextProtocolLength(row, i));
+        assertArrayEquals(written(holder::writeTo), written(pos -> batch.writeTo(r, col, pos)));
+        assertArrayEquals(
+            written(holder::writeBinary), written(pos -> batch.writeBinary(r, col, pos)));
+      }
+    }
+  }
+
+  @Test
+  public void currentParametersKept() {
+    ParameterBatch batch = new ParameterBatch(2);
+    assertEquals(0, batch.firstUnsetParameter());
+    batch.setInt(0, 1);
+    assertEquals(1, batch.firstUnsetParameter());
+    batch.set(1, new StringParameter("a", false));
+    assertEquals(-1, batch.firstUnsetParameter());
+    batch.addRow();
+
+    // parameters are kept after addBatch
+    assertEquals(-1, batch.firstUnsetParameter());
+    batch.setInt(0, 2);
+    batch.addRow();
+    assertEquals("1", batch.get(0)[0].toString());
+    assertEquals("2", batch.get(1)[0].toString());
+    assertEquals("'a'", batch.get(1)[1].toString());
+
+    for (int i = 0; i < 1000; i++) {
+      batch.addRow();
+    }
+    batch.clear();
+    assertEquals(0, batch.size());
+    assertEquals("2", batch.getParameter(0).toString());
+    assertEquals("'a'", batch.getParameter(1).toString());
+
+    batch.clearParameters();
+    assertEquals(0, batch.firstUnsetParameter());
+    assertNull(batch.getParameter(1));
+  }
+
+  private interface Writer {
+    void write(PacketOutputStream pos) throws IOException;
+  }
+}
@@ -0,0 +1,171 @@
+/*
+ *
+ * MariaDB Client for Java
+ *
+ * Copyright (c) 2012-2014 Monty Program Ab.
+ * Copyright (c) 2015-2020 MariaDB Corporation Ab.
+ *
+ * This library is free software; you can redistribute it and/or modify it under
+ * the terms of the GNU Lesser General Public License as published by the Free
+ * Software Foundation; either version 2.1 of the License, or (at your option)
+ * any later version.
+ *
+ * This library is distributed in the hope that it will be useful, but
+ * WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE.  See the GNU Lesser General Public License
+ * for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License along
+ * with this library; if not, write to Monty Program Ab info@montyprogram.com.
+ *
+ */
+
+package org.mariadb.jdbc.internal.failover;
+
+import java.lang.reflect.Proxy;
+import java.sql.SQLException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.ReentrantLock;
+import org.mariadb.jdbc.UrlParser;
+import org.mariadb.jdbc.internal.com.read.dao.Results;
+import org.mariadb.jdbc.internal.failover.impl.AuroraListener;
+import org.mariadb.jdbc.internal.failover.impl.MastersSlavesListener;
+import org.mariadb.jdbc.internal.protocol.MasterProtocol;
+import org.mariadb.jdbc.internal.protocol.Protocol;
+import org.mariadb.jdbc.internal.util.pool.GlobalStateInfo;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+/**
+ * Per-call overhead of multi-host protocol dispatch: reflective {@link Proxy} using {@link
+ * FailoverProxy} as handler compared to direct {@link FailoverProtocol} dispatch. Listeners are
+ * connected to a stub protocol that doesn't send anything, so only dispatch cost is measured.
+ *
+ * <p>Run with <code>mvn test-compile exec:java -Dexec.classpathScope=test
+ * -Dexec.mainClass=org.mariadb.jdbc.internal.failover.ProtocolDispatchBenchmark</code>
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ProtocolDispatchBenchmark {
+
+  @Param({"REPLICATION", "AURORA"})
+  private String haMode;
+
+  private Protocol reflective;
+  private Protocol direct;
+
+  @Setup
+  public void setup() throws SQLException {
+    reflective =
+        (Protocol)
+            Proxy.newProxyInstance(
+                Protocol.class.getClassLoader(),
+                new Class[] {Protocol.class},
+                new FailoverProxy(listener(), new ReentrantLock(), null));
+    direct = new FailoverProtocol(new FailoverProxy(listener(), new ReentrantLock(), null));
+  }
+
+  @TearDown
+  public void tearDown() {
+    reflective.closeExplicit();
+    direct.closeExplicit();
+  }
+
+  private Listener listener() throws SQLException {
+    if ("AURORA".equals(haMode)) {
+      UrlParser urlParser = UrlParser.parse("jdbc:mariadb:aurora://localhost:3306/testj");
+      return new StubAuroraListener(urlParser);
+    }
+    UrlParser urlParser =
+        UrlParser.parse("jdbc:mariadb:replication://localhost:3306,localhost:3307/testj");
+    return new StubMastersSlavesListener(urlParser);
+  }
+
+  @Benchmark
+  public void reflectiveExecuteQuery() throws SQLException {
+    reflective.executeQuery(true, null, "SELECT 1");
+  }
+
+  @Benchmark
+  public void directExecuteQuery() throws SQLException {
+    direct.executeQuery(true, null, "SELECT 1");
+  }
+
+  @Benchmark
+  public void reflectiveGetter(Blackhole blackhole) {
+    blackhole.consume(reflective.getHostAddress());
+  }
+
+  @Benchmark
+  public void directGetter(Blackhole blackhole) {
+    blackhole.consume(direct.getHostAddress());
+  }
+
+  public static void main(String[] args) throws RunnerException {
+    Options opt =
+        new OptionsBuilder().include(ProtocolDispatchBenchmark.class.getSimpleName()).build();
+    new Runner(opt).run();
+  }
+
+  /** Master protocol that is never connected, and doesn't send any query. */
+  private static class StubProtocol extends MasterProtocol {
+
+    StubProtocol(UrlParser urlParser) {
+      super(urlParser, new GlobalStateInfo(), new ReentrantLock(), null);
+      setHostAddress(urlParser.getHostAddresses().get(0));
+    }
+
+    @Override
+    public void executeQuery(boolean mustExecuteOnMaster, Results results, final String sql) {
+      // nothing to send
+    }
+
+    @Override
+    public boolean isClosed() {
+      return false;
+    }
+
+    @Override
+    public boolean isMasterConnection() {
+      return true;
+    }
+  }
+
+  private static class StubMastersSlavesListener extends MastersSlavesListener {
+
+    StubMastersSlavesListener(UrlParser urlParser) {
+      super(urlParser, new GlobalStateInfo());
+    }
+
+    @Override
+    public void initializeConnection() {
+      masterProtocol = new StubProtocol(urlParser);
+      currentProtocol = masterProtocol;
+      resetMasterFailoverData();
+      resetSecondaryFailoverData();
+    }
+  }
+
+  private static class StubAuroraListener extends AuroraListener {
+
+    StubAuroraListener(UrlParser urlParser) throws SQLException {
+      super(urlParser, new GlobalStateInfo());
+    }
+
+    @Override
+    public void initializeConnection() {
+      masterProtocol = new StubProtocol(urlParser);
+      currentProtocol = masterProtocol;
+      resetMasterFailoverData();
+      resetSecondaryFailoverData();
+    }
+  }
+}
@@ -0,0 +1,81 @@
+/*
+ *
+ * MariaDB Client for Java
+ *
+ * Copyright (c) 2012-2014 Monty Program Ab.
+ * Copyright (c) 2015-2020 MariaDB Corporation Ab.
+ *
+ * This library is free software; you can redistribute it and/or modify it under
+ * the terms of the GNU Lesser General Public License as published by the Free
+ * Software Foundation; either version 2.1 of the License, or (at your option)
+ * any later version.
+ *
+ * This library is distributed in the hope that it will be useful, but
+ * WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE.  See the GNU Lesser General Public License
+ * for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License along
+ * with this library; if not, write to Monty Program Ab info@montyprogram.com.
+ *
+ */
+
+package org.mariadb.jdbc.internal.failover.impl;
+
+import static org.junit.Assert.*;
+
+import java.lang.reflect.Proxy;
+import java.sql.SQLException;
+import org.junit.Test;
+import org.mariadb.jdbc.HostAddress;
+import org.mariadb.jdbc.UrlParser;
+import org.mariadb.jdbc.failover.HostStatistics;
+import org.mariadb.jdbc.internal.protocol.Protocol;
+import org.mariadb.jdbc.internal.util.pool.GlobalStateInfo;
+
+public class HostStatisticsSamplingTest {
+
+  private static Protocol protocol(HostAddress host, long pingMillis) {
+    return (Protocol)
+        Proxy.newProxyInstance(
+            Protocol.class.getClassLoader(),
+            new Class<?>[] {Protocol.class},
+            (proxy, method, args) -> {
+              switch (method.getName()) {
+                case "getHostAddress":
+                  return host;
+                case "isValid":
+                  Thread.sleep(pingMillis);
+                  return true;
+                default:
+                  throw new UnsupportedOperationException(method.getName());
+              }
+            });
+  }
+
+  @Test
+  public void validationRecordsRoundTrip() throws SQLException {
+    UrlParser urlParser =
+        UrlParser.parse("jdbc:mariadb:sequential://stat-host1,stat-host2/testj?user=root");
+    HostAddress host = urlParser.getHostAddresses().get(0);
+    Protocol protocol = protocol(host, 2);
+    MastersFailoverListener listener =
+        new MastersFailoverListener(urlParser, new GlobalStateInfo()) {
+          {
+            currentProtocol = protocol;
+          }
+        };
+    HostStatistics statistics = HostStatistics.retrieve(urlParser);
+    assertEquals(-1, statistics.getResponseTime(host));
+
+    // connection validation (pool borrow, Connection.isValid, validation loop) records a sample
+    assertTrue(listener.isValid(1000));
+    long first = statistics.getResponseTime(host);
+    assertTrue(first >= 2_000_000L);
+    assertTrue(first < 50_000_000L);
+
+    assertTrue(listener.isValid(1000));
+    assertNotEquals(first, statistics.getResponseTime(host));
+    HostStatistics.close();
+  }
+}
@@ -0,0 +1,115 @@
+/*
+ *
+ * MariaDB Client for Java
+ *
+ * Copyright (c) 2012-2014 Monty Program Ab.
+ * Copyright (c) 2015-2020 MariaDB Corporation Ab.
+ *
+ * This library is free software; you can redistribute it and/or modify it under
+ * the terms of the GNU Lesser General Public License as published by the Free
+ * Software Foundation; either version 2.1 of the License, or (at your option)
+ * any later version.
+ *
+ * This library is distributed in the hope that it will be useful, but
+ * WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE.  See the GNU Lesser General Public License
+ * for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License along
+ * with this library; if not, write to Monty Program Ab info@montyprogram.com.
+ *
+ */
+
+package org.mariadb.jdbc.internal.failover.impl;
+
+import static org.junit.Assert.*;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import org.junit.Test;
+import org.mariadb.jdbc.HostAddress;
+import org.mariadb.jdbc.failover.HostStatistics;
+import org.mariadb.jdbc.util.Options;
+
+public class LatencyAwareHostSelectionPluginTest {
+
+  private static final HostAddress FAST = new HostAddress("fast", 3306);
+  private static final HostAddress MEDIUM = new HostAddress("medium", 3306);
+  private static final HostAddress SLOW = new HostAddress("slow", 3306);
+  private static final HostAddress UNKNOWN = new HostAddress("unknown", 3306);
+
+  private static List<HostAddress> order(HostStatistics statistics, Options options) {
+    List<HostAddress> hosts = new ArrayList<>(Arrays.asList(SLOW, MEDIUM, UNKNOWN, FAST));
+    new LatencyAwareHostSelectionPlugin().order(hosts, statistics, options);
+    return hosts;
+  }
+
+  @Test
+  public void responseTimeAverage() {
+    HostStatistics statistics = new HostStatistics();
+    assertEquals(-1, statistics.getResponseTime(FAST));
+    statistics.recordResponseTime(FAST, 1000);
+    assertEquals(1000, statistics.getResponseTime(FAST));
+    statistics.recordResponseTime(FAST, 2000);
+    assertEquals(1200, statistics.getResponseTime(FAST));
+  }
+
+  @Test
+  public void slowHostsLast() {
+    HostStatistics statistics = new HostStatistics();
+    statistics.recordResponseTime(FAST, TimeUnit.MILLISECONDS.toNanos(1));
+    statistics.recordResponseTime(MEDIUM, TimeUnit.MILLISECONDS.toNanos(2));
+    statistics.recordResponseTime(SLOW, TimeUnit.MILLISECONDS.toNanos(50));
+
+    for (int i = 0; i < 100; i++) {
+      List<HostAddress> hosts = order(statistics, new Options());
+      assertEquals(4, hosts.size());
+      assertEquals(SLOW, hosts.get(3));
+    }
+  }
+
+  @Test
+  public void fasterHostsPreferred() {
+    HostStatistics statistics = new HostStatistics();
+    statistics.recordResponseTime(FAST, TimeUnit.MILLISECONDS.toNanos(1));
+    statistics.recordResponseTime(MEDIUM, TimeUnit.MILLISECONDS.toNanos(2));
+
+    int fastFirst = 0;
+    int mediumFirst = 0;
+    for (int i = 0; i < 2000; i++) {
+      HostAddress first = order(statistics, new Options()).get(0);
+      if (first.equals(FAST)) {
+        fastFirst++;
+      } else if (first.equals(MEDIUM)) {
+        mediumFirst++;
+      }
+    }
+    // unknown hosts are tried too, but fastest host is chosen first more often
+    assertTrue(mediumFirst > 0);
+    assertTrue(fastFirst > mediumFirst);
+  }
+
+  @Test
+  public void laggingReplicasLast() {
+    HostStatistics statistics = new HostStatistics();
+    statistics.recordReplicationLag(FAST, 120);
+    statistics.recordReplicationLag(MEDIUM, 30);
+
+    // lag is ignored when maxReplicaLag is not set
+    Options options = new Options();
+    boolean laggingFirst = false;
+    for (int i = 0; i < 100 && !laggingFirst; i++) {
+      laggingFirst = order(statistics, options).get(0).equals(FAST);
+    }
+    assertTrue(laggingFirst);
+
+    options.maxReplicaLag = 10;
+    for (int i = 0; i < 100; i++) {
+      List<HostAddress> hosts = order(statistics, options);
+      assertEquals(MEDIUM, hosts.get(2));
+      assertEquals(FAST, hosts.get(3));
+    }
+  }
+}
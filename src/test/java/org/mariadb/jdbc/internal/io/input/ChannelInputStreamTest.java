@@ -0,0 +1,145 @@
+/*
+ *
+ * MariaDB Client for Java
+ *
+ * Copyright (c) 2012-2014 Monty Program Ab.
+ * Copyright (c) 2015-2020 MariaDB Corporation Ab.
+ *
+ * This library is free software; you can redistribute it and/or modify it under
+ * the terms of the GNU Lesser General Public License as published by the Free
+ * Software Foundation; either version 2.1 of the License, or (at your option)
+ * any later version.
+ *
+ * This library is distributed in the hope that it will be useful, but
+ * WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE.  See the GNU Lesser General Public License
+ * for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License along
+ * with this library; if not, write to Monty Program Ab info@montyprogram.com.
+ *
+ */
+
+package org.mariadb.jdbc.internal.io.input;
+
+import static org.junit.Assert.*;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.net.Socket;
+import java.net.SocketException;
+import java.net.SocketTimeoutException;
+import java.nio.channels.ServerSocketChannel;
+import java.nio.channels.SocketChannel;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.mariadb.jdbc.internal.io.output.ChannelOutputStream;
+import org.mariadb.jdbc.internal.io.output.StandardPacketOutputStream;
+import org.mariadb.jdbc.util.Options;
+
+public class ChannelInputStreamTest {
+
+  private ServerSocketChannel server;
+  private SocketChannel client;
+  private Socket serverSide;
+
+  private static byte[] content(int length) {
+    byte[] content = new byte[length];
+    for (int i = 0; i < length; i++) {
+      content[i] = (byte) i;
+    }
+    return content;
+  }
+
+  @Before
+  public void connect() throws IOException {
+    server = ServerSocketChannel.open();
+    server.bind(new InetSocketAddress(InetAddress.getLoopbackAddress(), 0));
+    client = SocketChannel.open(server.getLocalAddress());
+    serverSide = server.accept().socket();
+    client.configureBlocking(false);
+  }
+
+  @After
+  public void close() throws IOException {
+    client.close();
+    serverSide.close();
+    server.close();
+  }
+
+  @Test(timeout = 10000)
+  public void echo() throws Exception {
+    // server echoes received bytes
+    Thread echo =
+        new Thread(
+            () -> {
+              try {
+                InputStream in = serverSide.getInputStream();
+                OutputStream out = serverSide.getOutputStream();
+                byte[] buf = new byte[8192];
+                int count;
+                while ((count = in.read(buf)) > 0) {
+                  out.write(buf, 0, count);
+                }
+              } catch (IOException e) {
+                // socket closed
+              }
+            });
+    echo.start();
+
+    Options options = new Options();
+    StandardPacketOutputStream writer =
+        new StandardPacketOutputStream(new ChannelOutputStream(client), options, 1);
+    StandardPacketInputStream reader =
+        new StandardPacketInputStream(new ChannelInputStream(client), options, 1);
+
+    int[] lengths = {10, 200_000, 1000};
+    for (int length : lengths) {
+      writer.startPacket(0);
+      writer.write(content(length));
+      writer.flush();
+    }
+    for (int length : lengths) {
+      assertArrayEquals(content(length), reader.getPacketArray(false));
+    }
+    reader.close();
+    writer.close();
+  }
+
+  @Test(timeout = 10000)
+  public void readTimeout() throws IOException {
+    client.socket().setSoTimeout(100);
+    ChannelInputStream in = new ChannelInputStream(client);
+    long start = System.currentTimeMillis();
+    try {
+      in.read(new byte[10], 0, 10);
+      fail("must have thrown timeout");
+    } catch (SocketTimeoutException e) {
+      assertTrue(System.currentTimeMillis() - start >= 100);
+    }
+
+    // data received after timeout is still readable
+    serverSide.getOutputStream().write(new byte[] {1, 2, 3});
+    byte[] buf = new byte[10];
+    assertEquals(3, in.read(buf, 0, 10));
+    assertEquals(3, buf[2]);
+    in.close();
+  }
+
+  @Test(timeout = 10000)
+  public void readAfterClose() throws IOException {
+    ChannelInputStream in = new ChannelInputStream(client);
+    in.close();
+    in.close();
+    try {
+      in.read();
+      fail("must have thrown exception");
+    } catch (SocketException e) {
+      assertTrue(e.getMessage().contains("closed"));
+    }
+  }
+}
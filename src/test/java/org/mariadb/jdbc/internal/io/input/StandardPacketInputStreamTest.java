@@ -0,0 +1,122 @@
+/*
+ *
+ * MariaDB Client for Java
+ *
+ * Copyright (c) 2012-2014 Monty Program Ab.
+ * Copyright (c) 2015-2020 MariaDB Corporation Ab.
+ *
+ * This library is free software; you can redistribute it and/or modify it under
+ * the terms of the GNU Lesser General Public License as published by the Free
+ * Software Foundation; either version 2.1 of the License, or (at your option)
+ * any later version.
+ *
+ * This library is distributed in the hope that it will be useful, but
+ * WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE.  See the GNU Lesser General Public License
+ * for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License along
+ * with this library; if not, write to Monty Program Ab info@montyprogram.com.
+ *
+ */
+
+package org.mariadb.jdbc.internal.io.input;
+
+import static org.junit.Assert.*;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import org.junit.Test;
+import org.mariadb.jdbc.util.Options;
+
+public class StandardPacketInputStreamTest {
+
+  private static final int MAX_PACKET_SIZE = 0xffffff;
+
+  private static byte[] content(int length) {
+    byte[] content = new byte[length];
+    for (int i = 0; i < length; i++) {
+      content[i] = (byte) i;
+    }
+    return content;
+  }
+
+  /** Split content in 16M packets, followed by a small packet. */
+  private static StandardPacketInputStream stream(byte[] content) {
+    ByteArrayOutputStream out = new ByteArrayOutputStream();
+    int seq = 0;
+    int pos = 0;
+    int length;
+    do {
+      length = Math.min(MAX_PACKET_SIZE, content.length - pos);
+      out.write(length);
+      out.write(length >> 8);
+      out.write(length >> 16);
+      out.write(seq++);
+      out.write(content, pos, length);
+      pos += length;
+    } while (length == MAX_PACKET_SIZE);
+    out.write(new byte[] {1, 0, 0, (byte) seq, 0x0e}, 0, 5);
+    return new StandardPacketInputStream(
+        new ByteArrayInputStream(out.toByteArray()), new Options(), 1);
+  }
+
+  @Test
+  public void bigPacket() throws IOException {
+    byte[] content = content(2 * MAX_PACKET_SIZE + 100);
+    StandardPacketInputStream reader = stream(content);
+    assertArrayEquals(content, reader.getPacketArray(false));
+    assertFalse(reader.hasRemainingPacketContent());
+    assertArrayEquals(new byte[] {0x0e}, reader.getPacketArray(false));
+  }
+
+  @Test
+  public void exactMultiplePacket() throws IOException {
+    byte[] content = content(MAX_PACKET_SIZE);
+    StandardPacketInputStream reader = stream(content);
+    assertArrayEquals(content, reader.getPacketArray(false));
+    assertArrayEquals(new byte[] {0x0e}, reader.getPacketArray(false));
+  }
+
+  @Test
+  public void streamBigPacket() throws IOException {
+    byte[] content = content(2 * MAX_PACKET_SIZE + 100);
+    StandardPacketInputStream reader = stream(content);
+    byte[] head = reader.getStreamablePacketArray();
+    assertEquals(MAX_PACKET_SIZE, head.length);
+    assertTrue(reader.hasRemainingPacketContent());
+
+    byte[] buf = new byte[65536];
+    int pos = head.length;
+    int count;
+    while ((count = reader.readRemainingPacketContent(buf, 0, buf.length)) > 0) {
+      for (int i = 0; i < count; i++) {
+        assertEquals(content[pos + i], buf[i]);
+      }
+      pos += count;
+    }
+    assertEquals(content.length, pos);
+    assertFalse(reader.hasRemainingPacketContent());
+    assertArrayEquals(new byte[] {0x0e}, reader.getStreamablePacketArray());
+  }
+
+  @Test
+  public void skipBigPacket() throws IOException {
+    byte[] content = content(MAX_PACKET_SIZE + 100);
+    StandardPacketInputStream reader = stream(content);
+    reader.getStreamablePacketArray();
+    assertEquals(10, reader.readRemainingPacketContent(new byte[10], 0, 10));
+    assertEquals(90, reader.skipRemainingPacketContent());
+    assertArrayEquals(new byte[] {0x0e}, reader.getStreamablePacketArray());
+  }
+
+  @Test
+  public void completeBigPacket() throws IOException {
+    byte[] content = content(MAX_PACKET_SIZE + 100);
+    StandardPacketInputStream reader = stream(content);
+    byte[] head = reader.getStreamablePacketArray();
+    assertArrayEquals(content, reader.completePacketArray(head));
+    assertArrayEquals(new byte[] {0x0e}, reader.getPacketArray(false));
+  }
+}
@@ -0,0 +1,135 @@
+/*
+ *
+ * MariaDB Client for Java
+ *
+ * Copyright (c) 2012-2014 Monty Program Ab.
+ * Copyright (c) 2015-2020 MariaDB Corporation Ab.
+ *
+ * This library is free software; you can redistribute it and/or modify it under
+ * the terms of the GNU Lesser General Public License as published by the Free
+ * Software Foundation; either version 2.1 of the License, or (at your option)
+ * any later version.
+ *
+ * This library is distributed in the hope that it will be useful, but
+ * WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE.  See the GNU Lesser General Public License
+ * for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License along
+ * with this library; if not, write to Monty Program Ab info@montyprogram.com.
+ *
+ */
+
+package org.mariadb.jdbc.internal.io.output;
+
+import static org.junit.Assert.*;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.util.Random;
+import org.junit.Test;
+import org.mariadb.jdbc.internal.io.input.DecompressPacketInputStream;
+
+public class CompressPacketOutputStreamTest {
+
+  private static byte[] text(int length) {
+    byte[] content = new byte[length];
+    for (int i = 0; i < length; i++) {
+      content[i] = (byte) ('a' + (i % 7));
+    }
+    return content;
+  }
+
+  private static byte[] random(int length) {
+    byte[] content = new byte[length];
+    new Random(1).nextBytes(content);
+    return content;
+  }
+
+  private static byte[] send(CompressPacketOutputStream writer, byte[]... packets)
+      throws IOException {
+    for (byte[] packet : packets) {
+      writer.startPacket(0);
+      writer.write(packet);
+      writer.flush();
+    }
+    return ((ByteArrayOutputStream) writer.getOutputStream()).toByteArray();
+  }
+
+  private static void checkReceived(byte[] sent, byte[]... packets) throws IOException {
+    DecompressPacketInputStream reader =
+        new DecompressPacketInputStream(new ByteArrayInputStream(sent), 1024, 1);
+    for (byte[] packet : packets) {
+      assertArrayEquals(packet, reader.getPacketArray(false));
+    }
+    reader.close();
+  }
+
+  /** Number of compressed packets sent (uncompressed length header != 0). */
+  private static int compressedPackets(byte[] sent) {
+    int pos = 0;
+    int compressed = 0;
+    while (pos < sent.length) {
+      int length =
+          (sent[pos] & 0xff) + ((sent[pos + 1] & 0xff) << 8) + ((sent[pos + 2] & 0xff) << 16);
+      if ((sent[pos + 4] | sent[pos + 5] | sent[pos + 6]) != 0) {
+        compressed++;
+      }
+      pos += 7 + length;
+    }
+    return compressed;
+  }
+
+  @Test
+  public void compressible() throws IOException {
+    byte[][] packets = {text(50), text(1000), text(100_000), text(10)};
+    CompressPacketOutputStream writer =
+        new CompressPacketOutputStream(new ByteArrayOutputStream(), 1024, 1);
+    byte[] sent = send(writer, packets);
+    assertEquals(2, compressedPackets(sent));
+    assertTrue(sent.length < 10_000);
+    checkReceived(sent, packets);
+    writer.close();
+  }
+
+  @Test
+  public void notCompressible() throws IOException {
+    byte[][] packets = {random(1000), random(100_000), text(1000)};
+    CompressPacketOutputStream writer =
+        new CompressPacketOutputStream(new ByteArrayOutputStream(), 1024, 1, 1, false);
+    byte[] sent = send(writer, packets);
+    assertEquals(1, compressedPackets(sent));
+    checkReceived(sent, packets);
+    writer.close();
+  }
+
+  @Test
+  public void adaptive() throws IOException {
+    byte[][] packets = new byte[100][];
+    for (int i = 0; i < 60; i++) {
+      packets[i] = random(1000);
+    }
+    for (int i = 60; i < 100; i++) {
+      packets[i] = text(1000);
+    }
+    CompressPacketOutputStream writer =
+        new CompressPacketOutputStream(new ByteArrayOutputStream(), 1024, 1, -1, true);
+    byte[] sent = send(writer, packets);
+    // compressible packets are compressed again only after a probe
+    int compressed = compressedPackets(sent);
+    assertTrue(compressed > 0 && compressed < 40);
+    checkReceived(sent, packets);
+    writer.close();
+  }
+
+  @Test
+  public void exceedingPacketLength() throws IOException {
+    byte[] packet = text(0xffffff + 1000);
+    CompressPacketOutputStream writer =
+        new CompressPacketOutputStream(new ByteArrayOutputStream(), 1024, 1);
+    byte[] sent = send(writer, packet);
+    checkReceived(sent, packet);
+    writer.close();
+  }
+}
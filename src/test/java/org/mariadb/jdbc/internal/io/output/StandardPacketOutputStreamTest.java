@@ -0,0 +1,115 @@
+/*
+ *
+ * MariaDB Client for Java
+ *
+ * Copyright (c) 2012-2014 Monty Program Ab.
+ * Copyright (c) 2015-2020 MariaDB Corporation Ab.
+ *
+ * This library is free software; you can redistribute it and/or modify it under
+ * the terms of the GNU Lesser General Public License as published by the Free
+ * Software Foundation; either version 2.1 of the License, or (at your option)
+ * any later version.
+ *
+ * This library is distributed in the hope that it will be useful, but
+ * WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE.  See the GNU Lesser General Public License
+ * for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License along
+ * with this library; if not, write to Monty Program Ab info@montyprogram.com.
+ *
+ */
+
+package org.mariadb.jdbc.internal.io.output;
+
+import static org.junit.Assert.*;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.util.Random;
+import org.junit.Test;
+import org.mariadb.jdbc.util.Options;
+
+public class StandardPacketOutputStreamTest {
+
+  private static byte[] content(int length) {
+    byte[] content = new byte[length];
+    new Random(length).nextBytes(content);
+    return content;
+  }
+
+  /**
+   * Send content as LOCAL INFILE, then check packets and content.
+   *
+   * @return number of packets, ending empty packet excluded
+   */
+  private static int checkLocalInfile(byte[] content, InputStream is, int maxAllowedPacket)
+      throws IOException {
+    ByteArrayOutputStream out = new ByteArrayOutputStream();
+    StandardPacketOutputStream writer = new StandardPacketOutputStream(out, new Options(), 1);
+    if (maxAllowedPacket > 0) {
+      writer.setMaxAllowedPacket(maxAllowedPacket);
+    }
+    writer.writeLocalInfile(2, is);
+
+    byte[] sent = out.toByteArray();
+    ByteArrayOutputStream received = new ByteArrayOutputStream();
+    int pos = 0;
+    int seq = 2;
+    int packets = 0;
+    while (true) {
+      int length =
+          (sent[pos] & 0xff) + ((sent[pos + 1] & 0xff) << 8) + ((sent[pos + 2] & 0xff) << 16);
+      assertEquals(seq++ & 0xff, sent[pos + 3] & 0xff);
+      assertTrue(length < 0xffffff);
+      if (maxAllowedPacket > 0) {
+        assertTrue(length < maxAllowedPacket);
+      }
+      received.write(sent, pos + 4, length);
+      pos += 4 + length;
+      if (length == 0) {
+        break;
+      }
+      packets++;
+    }
+    assertEquals(sent.length, pos);
+    assertArrayEquals(content, received.toByteArray());
+    return packets;
+  }
+
+  @Test
+  public void localInfileStream() throws IOException {
+    byte[] content = content(100_000);
+    assertEquals(4, checkLocalInfile(content, new ByteArrayInputStream(content), 32_768));
+    assertEquals(1, checkLocalInfile(content, new ByteArrayInputStream(content), 0));
+    assertEquals(0, checkLocalInfile(new byte[0], new ByteArrayInputStream(new byte[0]), 0));
+  }
+
+  @Test
+  public void localInfileExceedingPacketLength() throws IOException {
+    byte[] content = content(0xffffff + 100);
+    assertEquals(2, checkLocalInfile(content, new ByteArrayInputStream(content), 0));
+  }
+
+  @Test
+  public void localInfileFile() throws IOException {
+    byte[] content = content(100_000);
+    File file = File.createTempFile("infile", ".csv");
+    try {
+      Files.write(file.toPath(), content);
+      try (FileInputStream is = new FileInputStream(file)) {
+        assertEquals(4, checkLocalInfile(content, is, 32_768));
+      }
+      try (FileInputStream is = new FileInputStream(file)) {
+        assertEquals(1, checkLocalInfile(content, is, 0));
+      }
+    } finally {
+      file.delete();
+    }
+  }
+}
@@ -0,0 +1,99 @@
+/*
+ *
+ * MariaDB Client for Java
+ *
+ * Copyright (c) 2012-2014 Monty Program Ab.
+ * Copyright (c) 2015-2020 MariaDB Corporation Ab.
+ *
+ * This library is free software; you can redistribute it and/or modify it under
+ * the terms of the GNU Lesser General Public License as published by the Free
+ * Software Foundation; either version 2.1 of the License, or (at your option)
+ * any later version.
+ *
+ * This library is distributed in the hope that it will be useful, but
+ * WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE.  See the GNU Lesser General Public License
+ * for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License along
+ * with this library; if not, write to Monty Program Ab info@montyprogram.com.
+ *
+ */
+
+package org.mariadb.jdbc.internal.io.socket;
+
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+/**
+ * Throughput of a colocated server using {@link UnixDomainSocket} (<code>localSocket</code> option)
+ * compared to TCP loopback. Unix socket path is the server <code>@@socket</code> value.
+ *
+ * <p>Run with <code>mvn test-compile exec:java -Dexec.classpathScope=test
+ * -Dexec.mainClass=org.mariadb.jdbc.internal.io.socket.UnixDomainSocketBenchmark
+ * -DdbUrl=jdbc:mariadb://localhost:3306/testj?user=root</code>
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class UnixDomainSocketBenchmark {
+
+  @Param({"tcp", "unix"})
+  private String transport;
+
+  @Param({"100", "1000000"})
+  private int size;
+
+  private Connection connection;
+  private Statement statement;
+  private String query;
+
+  @Setup
+  public void setup() throws SQLException {
+    String url = System.getProperty("dbUrl", "jdbc:mariadb://localhost:3306/testj?user=root");
+    if ("unix".equals(transport)) {
+      String path;
+      try (Connection tcp = DriverManager.getConnection(url);
+          ResultSet rs = tcp.createStatement().executeQuery("SELECT @@socket")) {
+        rs.next();
+        path = rs.getString(1);
+      }
+      url += (url.indexOf('?') > 0 ? "&" : "?") + "localSocket=" + path;
+    }
+    connection = DriverManager.getConnection(url);
+    statement = connection.createStatement();
+    query = "SELECT REPEAT('a', " + size + ")";
+  }
+
+  @TearDown
+  public void tearDown() throws SQLException {
+    connection.close();
+  }
+
+  @Benchmark
+  public void select(Blackhole blackhole) throws SQLException {
+    try (ResultSet rs = statement.executeQuery(query)) {
+      rs.next();
+      blackhole.consume(rs.getBytes(1));
+    }
+  }
+
+  public static void main(String[] args) throws RunnerException {
+    Options opt =
+        new OptionsBuilder().include(UnixDomainSocketBenchmark.class.getSimpleName()).build();
+    new Runner(opt).run();
+  }
+}
@@ -0,0 +1,146 @@
+/*
+ *
+ * MariaDB Client for Java
+ *
+ * Copyright (c) 2012-2014 Monty Program Ab.
+ * Copyright (c) 2015-2020 MariaDB Corporation Ab.
+ *
+ * This library is free software; you can redistribute it and/or modify it under
+ * the terms of the GNU Lesser General Public License as published by the Free
+ * Software Foundation; either version 2.1 of the License, or (at your option)
+ * any later version.
+ *
+ * This library is distributed in the hope that it will be useful, but
+ * WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE.  See the GNU Lesser General Public License
+ * for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License along
+ * with this library; if not, write to Monty Program Ab info@montyprogram.com.
+ *
+ */
+
+package org.mariadb.jdbc.internal.io.socket;
+
+import static org.junit.Assert.*;
+
+import com.sun.jna.LastErrorException;
+import com.sun.jna.Native;
+import com.sun.jna.Platform;
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.SocketTimeoutException;
+import java.nio.ByteBuffer;
+import org.junit.After;
+import org.junit.Assume;
+import org.junit.Before;
+import org.junit.Test;
+
+public class UnixDomainSocketTest {
+
+  private File path;
+  private int serverFd;
+  private int serverSide;
+  private UnixDomainSocket socket;
+
+  @Before
+  public void connect() throws IOException {
+    Assume.assumeFalse(Platform.isWindows() || Platform.isWindowsCE());
+    path = File.createTempFile("mariadb", ".sock");
+    path.delete();
+    UnixDomainSocket.SockAddr sockAddr = new UnixDomainSocket.SockAddr(path.getAbsolutePath());
+    serverFd = Server.socket(1, Platform.isSolaris() ? 2 : 1, 0);
+    Server.bind(serverFd, sockAddr, sockAddr.size());
+    Server.listen(serverFd, 1);
+
+    socket = new UnixDomainSocket(path.getAbsolutePath());
+    socket.connect(null);
+    serverSide = Server.accept(serverFd, null, null);
+  }
+
+  @After
+  public void close() throws IOException {
+    if (socket != null) {
+      socket.close();
+      if (serverSide >= 0) {
+        UnixDomainSocket.close(serverSide);
+      }
+      UnixDomainSocket.close(serverFd);
+      path.delete();
+    }
+  }
+
+  @Test
+  public void readAtOffset() throws IOException {
+    send(new byte[] {1, 2, 3, 4, 5});
+    byte[] buf = new byte[10];
+    InputStream in = socket.getInputStream();
+    int read = 0;
+    while (read < 5) {
+      read += in.read(buf, 3 + read, 5 - read);
+    }
+    assertArrayEquals(new byte[] {0, 0, 0, 1, 2, 3, 4, 5, 0, 0}, buf);
+  }
+
+  @Test
+  public void writeAtOffset() throws IOException {
+    OutputStream out = socket.getOutputStream();
+    out.write(new byte[] {9, 9, 1, 2, 3, 9}, 2, 3);
+    byte[] buf = new byte[3];
+    int read = 0;
+    while (read < 3) {
+      ByteBuffer dst = ByteBuffer.wrap(buf, read, 3 - read);
+      read += UnixDomainSocket.recv(serverSide, dst, 3 - read, 0);
+    }
+    assertArrayEquals(new byte[] {1, 2, 3}, buf);
+  }
+
+  @Test
+  public void readTimeout() throws IOException {
+    socket.setSoTimeout(100);
+    assertEquals(100, socket.getSoTimeout());
+    long start = System.currentTimeMillis();
+    try {
+      socket.getInputStream().read(new byte[10], 0, 10);
+      fail("must have thrown timeout");
+    } catch (SocketTimeoutException e) {
+      assertTrue(System.currentTimeMillis() - start >= 90);
+    }
+
+    // connection is still usable
+    send(new byte[] {7});
+    assertEquals(7, socket.getInputStream().read());
+  }
+
+  @Test
+  public void endOfStream() throws IOException {
+    UnixDomainSocket.close(serverSide);
+    serverSide = -1;
+    assertEquals(-1, socket.getInputStream().read(new byte[10], 0, 10));
+    assertEquals(-1, socket.getInputStream().read());
+  }
+
+  private void send(byte[] data) {
+    assertEquals(
+        data.length, UnixDomainSocket.send(serverSide, ByteBuffer.wrap(data), data.length, 0));
+  }
+
+  /** Server side natives, only needed for testing. */
+  private static class Server {
+
+    static {
+      Native.register("c");
+    }
+
+    static native int socket(int domain, int type, int protocol) throws LastErrorException;
+
+    static native int bind(int sockfd, UnixDomainSocket.SockAddr sockaddr, int addrlen)
+        throws LastErrorException;
+
+    static native int listen(int sockfd, int backlog) throws LastErrorException;
+
+    static native int accept(int sockfd, int[] addr, int[] addrlen) throws LastErrorException;
+  }
+}
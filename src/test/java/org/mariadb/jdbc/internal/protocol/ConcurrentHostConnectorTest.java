@@ -0,0 +1,153 @@
+/*
+ *
+ * MariaDB Client for Java
+ *
+ * Copyright (c) 2012-2014 Monty Program Ab.
+ * Copyright (c) 2015-2020 MariaDB Corporation Ab.
+ *
+ * This library is free software; you can redistribute it and/or modify it under
+ * the terms of the GNU Lesser General Public License as published by the Free
+ * Software Foundation; either version 2.1 of the License, or (at your option)
+ * any later version.
+ *
+ * This library is distributed in the hope that it will be useful, but
+ * WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE.  See the GNU Lesser General Public License
+ * for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License along
+ * with this library; if not, write to Monty Program Ab info@montyprogram.com.
+ *
+ */
+
+package org.mariadb.jdbc.internal.protocol;
+
+import static org.junit.Assert.*;
+
+import java.sql.SQLException;
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.ReentrantLock;
+import org.junit.After;
+import org.junit.Test;
+import org.mariadb.jdbc.HostAddress;
+import org.mariadb.jdbc.UrlParser;
+import org.mariadb.jdbc.internal.util.pool.GlobalStateInfo;
+
+public class ConcurrentHostConnectorTest {
+
+  private final ExecutorService executor = Executors.newFixedThreadPool(4);
+  private final Map<String, Long> delays = new ConcurrentHashMap<>();
+  private final Map<String, Thread> connectThreads = new ConcurrentHashMap<>();
+  private final Map<String, Boolean> closed = new ConcurrentHashMap<>();
+
+  @After
+  public void shutdown() {
+    executor.shutdownNow();
+  }
+
+  private ConcurrentHostConnector<StubProtocol> connector(int concurrency) throws SQLException {
+    UrlParser urlParser = UrlParser.parse("jdbc:mariadb://localhost:3306/testj");
+    return new ConcurrentHostConnector<>(executor, concurrency, () -> new StubProtocol(urlParser));
+  }
+
+  private static Deque<HostAddress> hosts(String... names) {
+    Deque<HostAddress> hosts = new ArrayDeque<>();
+    for (String name : names) {
+      hosts.add(new HostAddress(name, 3306));
+    }
+    return hosts;
+  }
+
+  @Test
+  public void firstAnsweringHostWins() throws Exception {
+    delays.put("dead", 2000L);
+    delays.put("live", 10L);
+    Deque<HostAddress> hosts = hosts("dead", "live");
+
+    long start = System.nanoTime();
+    try (ConcurrentHostConnector<StubProtocol> connector = connector(3)) {
+      ConcurrentHostConnector.Attempt<StubProtocol> attempt = connector.next(hosts);
+      assertEquals("live", attempt.getConnected().getHostAddress().host);
+      assertTrue(TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start) < 1000);
+      assertTrue(connector.hasPending());
+    }
+
+    // pending attempt is closed when completed
+    long end = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+    while (!closed.containsKey("dead") && System.nanoTime() < end) {
+      Thread.sleep(10);
+    }
+    assertTrue(closed.containsKey("dead"));
+    assertFalse(closed.containsKey("live"));
+  }
+
+  @Test
+  public void failedAttempt() throws Exception {
+    delays.put("failing", -1L);
+    delays.put("live", 10L);
+    Deque<HostAddress> hosts = hosts("failing", "live");
+
+    try (ConcurrentHostConnector<StubProtocol> connector = connector(2)) {
+      ConcurrentHostConnector.Attempt<StubProtocol> attempt = connector.next(hosts);
+      assertEquals("failing", attempt.getProtocol().getHostAddress().host);
+      try {
+        attempt.getConnected();
+        fail("must have thrown exception");
+      } catch (SQLException sqle) {
+        assertEquals("08000", sqle.getSQLState());
+      }
+
+      attempt = connector.next(hosts);
+      assertEquals("live", attempt.getConnected().getHostAddress().host);
+      assertNull(connector.next(hosts));
+    }
+  }
+
+  @Test
+  public void sequential() throws Exception {
+    delays.put("h1", 300L);
+    delays.put("h2", 10L);
+    Deque<HostAddress> hosts = hosts("h1", "h2");
+
+    try (ConcurrentHostConnector<StubProtocol> connector = connector(1)) {
+      assertEquals("h1", connector.next(hosts).getConnected().getHostAddress().host);
+      assertEquals(1, hosts.size());
+      assertEquals("h2", connector.next(hosts).getConnected().getHostAddress().host);
+    }
+    assertSame(Thread.currentThread(), connectThreads.get("h1"));
+    assertSame(Thread.currentThread(), connectThreads.get("h2"));
+  }
+
+  private class StubProtocol extends MasterProtocol {
+
+    StubProtocol(UrlParser urlParser) {
+      super(urlParser, new GlobalStateInfo(), new ReentrantLock(), null);
+    }
+
+    @Override
+    public void connect() throws SQLException {
+      String host = getHostAddress().host;
+      connectThreads.put(host, Thread.currentThread());
+      long delay = delays.get(host);
+      if (delay < 0) {
+        throw new SQLException("Could not connect to " + host, "08000");
+      }
+      try {
+        Thread.sleep(delay);
+      } catch (InterruptedException e) {
+        throw new SQLException("interrupted", "08000");
+      }
+    }
+
+    @Override
+    public void close() {
+      closed.put(getHostAddress().host, Boolean.TRUE);
+    }
+  }
+}
@@ -0,0 +1,95 @@
+/*
+ *
+ * MariaDB Client for Java
+ *
+ * Copyright (c) 2012-2014 Monty Program Ab.
+ * Copyright (c) 2015-2020 MariaDB Corporation Ab.
+ *
+ * This library is free software; you can redistribute it and/or modify it under
+ * the terms of the GNU Lesser General Public License as published by the Free
+ * Software Foundation; either version 2.1 of the License, or (at your option)
+ * any later version.
+ *
+ * This library is distributed in the hope that it will be useful, but
+ * WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE.  See the GNU Lesser General Public License
+ * for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License along
+ * with this library; if not, write to Monty Program Ab info@montyprogram.com.
+ *
+ */
+
+package org.mariadb.jdbc.internal.protocol.tls;
+
+import static org.junit.Assert.*;
+
+import java.io.File;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.List;
+import javax.net.ssl.SSLContext;
+import org.junit.Test;
+import org.mariadb.jdbc.util.Options;
+
+public class SslContextCacheTest {
+
+  private static final String CERT =
+      "-----BEGIN CERTIFICATE-----\n"
+          + "MIIC+zCCAeOgAwIBAgIJANin/585wAXHMA0GCSqGSIb3DQEBBQUAMBMxETAPBgNV\n"
+          + "BAMMCHRlc3QuY29tMCAXDTE3MDYyMzEzNTI1NloYDzIxMTcwNTMwMTM1MjU2WjAT\n"
+          + "MREwDwYDVQQDDAh0ZXN0LmNvbTCCASIwDQYJKoZIhvcNAQEBBQADggEPADCCAQoC\n"
+          + "ggEBAMQHS31pL/fMkcQBo5zZV2Hi1Jdc1vIIv65d+XeFmv+n/vv+X5Z5NKLc7i01\n"
+          + "SFPoTEr1HG7R6Xvl27UtGm9Z6fmgsCbCRImUCG1yPER20fAgWNhKkoGgvOM8PxZz\n"
+          + "AS0dWgaukBnG9EDVQQrLu+bHuHji8qysGiYQGvSBy/QLSMWjfkSjyFv8I2pT0jLi\n"
+          + "eghgROl3IprRcsiebC/Bv1iJ06s8BD1C9ErzmPxqHaChdzGFATm+G4opcnBxzPuN\n"
+          + "DVE9CaLUS4Q5SixB9TRTQ2LyryEtUOUnnDyoktrX3LzkTmr2dhT8MIgRMsNkJD5w\n"
+          + "CpITvLchBXCdj0lcn5NMb0Rt/AsCAwEAAaNQME4wHQYDVR0OBBYEFJMoFo+HhyIt\n"
+          + "WA6QZmedeN2/qBU/MB8GA1UdIwQYMBaAFJMoFo+HhyItWA6QZmedeN2/qBU/MAwG\n"
+          + "A1UdEwQFMAMBAf8wDQYJKoZIhvcNAQEFBQADggEBAGpBkEJ3nv1kCnqQbrU3WYmv\n"
+          + "zl+kNc5xVZdLWMarjvWwBE1cnDHkXzJpl5cyWcHuPyWAi40/edN7gRfpNINWfc0A\n"
+          + "9YWo2PVBlBdklqzsewDV3gipFHkCgBTlGXaPXjCLLNxphYwdsble1hu/XXNvNY8v\n"
+          + "9EPxgN0rTnBj85gme/+Hrjq2kH15jyqK5rdylOjCZELs5g8cc49M6sw/sY70GsGA\n"
+          + "UEjb+vAN7FxXzXzH4oqIeycnxP+/MA82iieew7nlOMlYrppM6igjP0CUzw4ys6lG\n"
+          + "8QdWBcm2Ybo4XFjOnC98VlQl+WBu4CiToxjGphDmsMIO3Hf5PSTRwTKxtuWn45Y=\n"
+          + "-----END CERTIFICATE-----\n";
+
+  private static SSLContext context(Options options) throws Exception {
+    new DefaultTlsSocketPlugin().getSocketFactory(options);
+    return SslContextCache.get(SslContextCache.key(options));
+  }
+
+  @Test
+  public void sameConfigurationShareContext() throws Exception {
+    Options options = new Options();
+    options.trustServerCertificate = true;
+    SSLContext context = context(options);
+    assertNotNull(context);
+    assertSame(context, context(options));
+
+    Options other = new Options();
+    other.trustServerCertificate = true;
+    assertSame(context, context(other));
+
+    other.serverSslCert = CERT;
+    assertNotSame(context, context(other));
+  }
+
+  @Test
+  public void modifiedFileReload() throws Exception {
+    File certFile = File.createTempFile("server", ".crt");
+    certFile.deleteOnExit();
+    Files.write(certFile.toPath(), CERT.getBytes(StandardCharsets.US_ASCII));
+    assertTrue(certFile.setLastModified(1_000_000_000_000L));
+
+    Options options = new Options();
+    options.serverSslCert = certFile.getAbsolutePath();
+    SSLContext context = context(options);
+    assertSame(context, context(options));
+
+    assertTrue(certFile.setLastModified(1_100_000_000_000L));
+    List<Object> key = SslContextCache.key(options);
+    assertNull(SslContextCache.get(key));
+    assertNotSame(context, context(options));
+  }
+}
@@ -0,0 +1,64 @@
+/*
+ *
+ * MariaDB Client for Java
+ *
+ * Copyright (c) 2012-2014 Monty Program Ab.
+ * Copyright (c) 2015-2020 MariaDB Corporation Ab.
+ *
+ * This library is free software; you can redistribute it and/or modify it under
+ * the terms of the GNU Lesser General Public License as published by the Free
+ * Software Foundation; either version 2.1 of the License, or (at your option)
+ * any later version.
+ *
+ * This library is distributed in the hope that it will be useful, but
+ * WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE.  See the GNU Lesser General Public License
+ * for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License along
+ * with this library; if not, write to Monty Program Ab info@montyprogram.com.
+ *
+ */
+
+package org.mariadb.jdbc.internal.util;
+
+import static org.junit.Assert.*;
+
+import org.junit.Test;
+import org.mariadb.jdbc.internal.util.dao.ClientPrepareResult;
+
+public class ClientPrepareResultCacheTest {
+
+  @Test
+  public void sharedResult() {
+    ClientPrepareResultCache cache = new ClientPrepareResultCache(4, 10);
+    String sql = "INSERT INTO tt(a, b) VALUES (?, ?)";
+    ClientPrepareResult first = cache.get(sql, false, true);
+    ClientPrepareResult second = cache.get(sql, false, true);
+    assertSame(first, second);
+    assertEquals(2, first.getParamCount());
+    assertEquals(1, cache.getHitCount());
+    assertEquals(1, cache.getMissCount());
+
+    // escape mode and parsing type are part of the key
+    assertNotSame(first, cache.get(sql, true, true));
+    ClientPrepareResult notRewritable = cache.get(sql, false, false);
+    assertNotSame(first, notRewritable);
+    assertFalse(notRewritable.isRewriteType());
+    assertEquals(3, cache.getMissCount());
+  }
+
+  @Test
+  public void bounded() {
+    ClientPrepareResultCache cache = new ClientPrepareResultCache(2, 5);
+    for (int i = 0; i < 100; i++) {
+      cache.get("SELECT " + i + " FROM dual WHERE a = ?", false, false);
+    }
+    assertTrue(cache.size() <= 10);
+    assertEquals(100, cache.getMissCount());
+
+    cache.clear();
+    assertEquals(0, cache.size());
+    assertEquals(0, cache.getMissCount());
+  }
+}
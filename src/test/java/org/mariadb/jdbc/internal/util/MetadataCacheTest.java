@@ -0,0 +1,63 @@
+/*
+ *
+ * MariaDB Client for Java
+ *
+ * Copyright (c) 2012-2014 Monty Program Ab.
+ * Copyright (c) 2015-2020 MariaDB Corporation Ab.
+ *
+ * This library is free software; you can redistribute it and/or modify it under
+ * the terms of the GNU Lesser General Public License as published by the Free
+ * Software Foundation; either version 2.1 of the License, or (at your option)
+ * any later version.
+ *
+ * This library is distributed in the hope that it will be useful, but
+ * WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE.  See the GNU Lesser General Public License
+ * for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License along
+ * with this library; if not, write to Monty Program Ab info@montyprogram.com.
+ *
+ */
+
+package org.mariadb.jdbc.internal.util;
+
+import static org.junit.Assert.*;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import org.junit.Test;
+import org.mariadb.jdbc.internal.ColumnType;
+import org.mariadb.jdbc.internal.com.read.resultset.ColumnDefinition;
+
+public class MetadataCacheTest {
+
+  private static final ColumnDefinition[] COLUMNS =
+      new ColumnDefinition[] {ColumnDefinition.create("TABLE_NAME", ColumnType.VARCHAR)};
+
+  @Test
+  public void cached() {
+    MetadataCache cache = new MetadataCache(TimeUnit.MINUTES.toNanos(1));
+    List<byte[]> rows = new ArrayList<>();
+    rows.add(new byte[] {2, 't', '1'});
+    cache.put("SELECT 1", COLUMNS, rows);
+
+    MetadataCache.Entry entry = cache.get("SELECT 1");
+    assertSame(COLUMNS, entry.getColumns());
+    assertSame(rows, entry.getRows());
+    assertNull(cache.get("SELECT 2"));
+
+    cache.clear();
+    assertNull(cache.get("SELECT 1"));
+  }
+
+  @Test
+  public void expiration() throws InterruptedException {
+    MetadataCache cache = new MetadataCache(TimeUnit.MILLISECONDS.toNanos(10));
+    assertNotNull(cache.put("SELECT 1", COLUMNS, new ArrayList<>()));
+    Thread.sleep(20);
+    assertNull(cache.get("SELECT 1"));
+    assertEquals(0, cache.size());
+  }
+}
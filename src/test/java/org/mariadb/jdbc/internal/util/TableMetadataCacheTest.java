@@ -0,0 +1,61 @@
+/*
+ *
+ * MariaDB Client for Java
+ *
+ * Copyright (c) 2012-2014 Monty Program Ab.
+ * Copyright (c) 2015-2020 MariaDB Corporation Ab.
+ *
+ * This library is free software; you can redistribute it and/or modify it under
+ * the terms of the GNU Lesser General Public License as published by the Free
+ * Software Foundation; either version 2.1 of the License, or (at your option)
+ * any later version.
+ *
+ * This library is distributed in the hope that it will be useful, but
+ * WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE.  See the GNU Lesser General Public License
+ * for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License along
+ * with this library; if not, write to Monty Program Ab info@montyprogram.com.
+ *
+ */
+
+package org.mariadb.jdbc.internal.util;
+
+import static org.junit.Assert.*;
+
+import org.junit.Test;
+
+public class TableMetadataCacheTest {
+
+  @Test
+  public void ddlDetection() {
+    assertTrue(TableMetadataCache.isDdl("ALTER TABLE t ADD COLUMN c INT"));
+    assertTrue(TableMetadataCache.isDdl("  \n drop table t"));
+    assertTrue(TableMetadataCache.isDdl("/* comment */ Create TABLE t (id int)"));
+    assertTrue(TableMetadataCache.isDdl("RENAME TABLE t TO t2"));
+    assertFalse(TableMetadataCache.isDdl("SELECT * FROM alter_table"));
+    assertFalse(TableMetadataCache.isDdl("INSERT INTO t VALUES (1)"));
+    assertFalse(TableMetadataCache.isDdl("DROPPED"));
+    assertFalse(TableMetadataCache.isDdl("/* unfinished comment"));
+    assertFalse(TableMetadataCache.isDdl(null));
+  }
+
+  @Test
+  public void bounded() {
+    TableMetadataCache cache = new TableMetadataCache(2);
+    TableMetadataCache.Column[] columns =
+        new TableMetadataCache.Column[] {
+          new TableMetadataCache.Column("id", false, false, true, true, true)
+        };
+    cache.put(TableMetadataCache.key("db", "t1"), columns);
+    cache.put(TableMetadataCache.key("db", "t2"), columns);
+    // access t1, so t2 is the eldest entry
+    assertSame(columns, cache.get(TableMetadataCache.key("db", "t1")));
+    cache.put(TableMetadataCache.key("db", "t3"), columns);
+
+    assertEquals(2, cache.size());
+    assertNull(cache.get(TableMetadataCache.key("db", "t2")));
+    assertNotNull(cache.get(TableMetadataCache.key("db", "t1")));
+  }
+}
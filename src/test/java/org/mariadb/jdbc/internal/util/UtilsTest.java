@@ -149,6 +149,22 @@ public class UtilsTest {
         Utils.validateFileName("LOAD DATA INFILE ? /**/", goodParameterHolders, "file_name"));
   }
 
+  @Test
+  public void addMaxExecutionTimeHint() {
+    assertEquals(
+        "SELECT /*+ MAX_EXECUTION_TIME(2000) */ 1",
+        Utils.addMaxExecutionTimeHint("SELECT 1", 2000));
+    assertEquals(
+        " (select /*+ MAX_EXECUTION_TIME(1000) */ * FROM t) UNION (SELECT 2)",
+        Utils.addMaxExecutionTimeHint(" (select * FROM t) UNION (SELECT 2)", 1000));
+    assertEquals(
+        "SELECT /*+ MAX_EXECUTION_TIME(1000) */\n1",
+        Utils.addMaxExecutionTimeHint("SELECT\n1", 1000));
+    assertNull(Utils.addMaxExecutionTimeHint("INSERT INTO t SELECT 1", 1000));
+    assertNull(Utils.addMaxExecutionTimeHint("SELECTED", 1000));
+    assertNull(Utils.addMaxExecutionTimeHint("DO SLEEP(1)", 1000));
+  }
+
   @Test
   public void intToHexString() {
     assertEquals("05", Utils.intToHexString(5));
@@ -0,0 +1,90 @@
+/*
+ *
+ * MariaDB Client for Java
+ *
+ * Copyright (c) 2012-2014 Monty Program Ab.
+ * Copyright (c) 2015-2020 MariaDB Corporation Ab.
+ *
+ * This library is free software; you can redistribute it and/or modify it under
+ * the terms of the GNU Lesser General Public License as published by the Free
+ * Software Foundation; either version 2.1 of the License, or (at your option)
+ * any later version.
+ *
+ * This library is distributed in the hope that it will be useful, but
+ * WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE.  See the GNU Lesser General Public License
+ * for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License along
+ * with this library; if not, write to Monty Program Ab info@montyprogram.com.
+ *
+ */
+
+package org.mariadb.jdbc.internal.util.pool;
+
+import java.util.concurrent.LinkedBlockingDeque;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+/**
+ * Pool contention benchmark: borrow / give back cycle of pooled items by many threads, when there
+ * are fewer items than threads.
+ *
+ * <p>Compare lock-free {@link ConnectionBag} with previous blocking deque implementation. Run with
+ * <code>mvn test-compile exec:java -Dexec.classpathScope=test
+ * -Dexec.mainClass=org.mariadb.jdbc.internal.util.pool.ConnectionBagBenchmark</code>
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@Threads(16)
+public class ConnectionBagBenchmark {
+
+  @Param({"4", "16"})
+  private int poolSize;
+
+  private ConnectionBag<Integer> bag;
+  private LinkedBlockingDeque<Integer> deque;
+
+  @Setup
+  public void setup() {
+    bag = new ConnectionBag<>();
+    deque = new LinkedBlockingDeque<>();
+    for (int i = 0; i < poolSize; i++) {
+      bag.add(new ConnectionBag.Entry<>(i));
+      deque.add(i);
+    }
+  }
+
+  @Benchmark
+  public void connectionBag(Blackhole blackhole) throws InterruptedException {
+    ConnectionBag.Entry<Integer> entry = bag.borrow(1, TimeUnit.SECONDS);
+    blackhole.consume(entry.getItem());
+    Blackhole.consumeCPU(100);
+    bag.release(entry);
+    bag.registerAffinity(entry);
+    bag.requite(entry);
+  }
+
+  @Benchmark
+  public void blockingDeque(Blackhole blackhole) throws InterruptedException {
+    Integer item = deque.pollFirst(1, TimeUnit.SECONDS);
+    blackhole.consume(item);
+    Blackhole.consumeCPU(100);
+    deque.addFirst(item);
+  }
+
+  public static void main(String[] args) throws RunnerException {
+    Options opt =
+        new OptionsBuilder().include(ConnectionBagBenchmark.class.getSimpleName()).build();
+    new Runner(opt).run();
+  }
+}
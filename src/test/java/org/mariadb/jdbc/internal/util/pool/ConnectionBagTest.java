@@ -0,0 +1,171 @@
+/*
+ *
+ * MariaDB Client for Java
+ *
+ * Copyright (c) 2012-2014 Monty Program Ab.
+ * Copyright (c) 2015-2020 MariaDB Corporation Ab.
+ *
+ * This library is free software; you can redistribute it and/or modify it under
+ * the terms of the GNU Lesser General Public License as published by the Free
+ * Software Foundation; either version 2.1 of the License, or (at your option)
+ * any later version.
+ *
+ * This library is distributed in the hope that it will be useful, but
+ * WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE.  See the GNU Lesser General Public License
+ * for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License along
+ * with this library; if not, write to Monty Program Ab info@montyprogram.com.
+ *
+ */
+
+package org.mariadb.jdbc.internal.util.pool;
+
+import static org.junit.Assert.*;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.junit.Test;
+
+public class ConnectionBagTest {
+
+  @Test
+  public void borrowAndRequite() throws InterruptedException {
+    ConnectionBag<String> bag = new ConnectionBag<>();
+    ConnectionBag.Entry<String> entry = new ConnectionBag.Entry<>("a");
+    bag.add(entry);
+    assertEquals(1, bag.getIdleCount());
+
+    assertSame(entry, bag.borrow(0, TimeUnit.NANOSECONDS));
+    assertEquals(ConnectionBag.STATE_IN_USE, entry.getState());
+    assertNull(bag.borrow(0, TimeUnit.NANOSECONDS));
+
+    // releasing entry is neither idle nor borrowable
+    assertTrue(bag.release(entry));
+    assertFalse(bag.release(entry));
+    assertEquals(0, bag.getIdleCount());
+    assertNull(bag.borrow(0, TimeUnit.NANOSECONDS));
+
+    bag.registerAffinity(entry);
+    bag.requite(entry);
+    assertEquals(1, bag.getIdleCount());
+    assertSame(entry, bag.borrow(0, TimeUnit.NANOSECONDS));
+  }
+
+  @Test
+  public void affinityKeptWhileReleasing() throws InterruptedException {
+    ConnectionBag<String> bag = new ConnectionBag<>();
+    ConnectionBag.Entry<String> first = new ConnectionBag.Entry<>("a");
+    ConnectionBag.Entry<String> second = new ConnectionBag.Entry<>("b");
+    bag.add(first);
+    bag.add(second);
+    assertSame(first, bag.borrow(0, TimeUnit.NANOSECONDS));
+    assertSame(second, bag.borrow(0, TimeUnit.NANOSECONDS));
+
+    bag.release(second);
+    bag.registerAffinity(second);
+    bag.release(first);
+    bag.requite(first);
+
+    // second is being reset : first is borrowed, second stays preferred
+    assertSame(first, bag.borrow(0, TimeUnit.NANOSECONDS));
+    bag.release(first);
+    bag.requite(first);
+    bag.requite(second);
+    assertSame(second, bag.borrow(0, TimeUnit.NANOSECONDS));
+  }
+
+  @Test
+  public void remove() throws InterruptedException {
+    ConnectionBag<String> bag = new ConnectionBag<>();
+    ConnectionBag.Entry<String> idle = new ConnectionBag.Entry<>("a");
+    ConnectionBag.Entry<String> used = new ConnectionBag.Entry<>("b");
+    bag.add(idle);
+    bag.add(used);
+    assertNotNull(bag.borrow(0, TimeUnit.NANOSECONDS));
+    ConnectionBag.Entry<String> borrowed =
+        idle.getState() == ConnectionBag.STATE_IN_USE ? idle : used;
+    ConnectionBag.Entry<String> other = borrowed == idle ? used : idle;
+
+    assertFalse(bag.removeIdle(borrowed));
+    assertTrue(bag.removeIdle(other));
+    assertFalse(bag.remove(other));
+    assertTrue(bag.remove(borrowed));
+    assertEquals(ConnectionBag.STATE_REMOVED, borrowed.getState());
+
+    // removed entry is never given back
+    bag.requite(borrowed);
+    assertEquals(ConnectionBag.STATE_REMOVED, borrowed.getState());
+    assertTrue(bag.values().isEmpty());
+  }
+
+  @Test
+  public void handoffToWaitingBorrower() throws Exception {
+    ConnectionBag<String> bag = new ConnectionBag<>();
+    ConnectionBag.Entry<String> entry = new ConnectionBag.Entry<>("a");
+    bag.add(entry);
+    assertSame(entry, bag.borrow(0, TimeUnit.NANOSECONDS));
+
+    ExecutorService executor = Executors.newSingleThreadExecutor();
+    try {
+      CountDownLatch waiting = new CountDownLatch(1);
+      Future<ConnectionBag.Entry<String>> future =
+          executor.submit(
+              () -> {
+                waiting.countDown();
+                return bag.borrow(10, TimeUnit.SECONDS);
+              });
+      waiting.await();
+      bag.release(entry);
+      bag.requite(entry);
+      assertSame(entry, future.get(10, TimeUnit.SECONDS));
+      assertEquals(ConnectionBag.STATE_IN_USE, entry.getState());
+    } finally {
+      executor.shutdownNow();
+    }
+  }
+
+  @Test
+  public void concurrentBorrow() throws Exception {
+    ConnectionBag<Integer> bag = new ConnectionBag<>();
+    for (int i = 0; i < 4; i++) {
+      bag.add(new ConnectionBag.Entry<>(i));
+    }
+
+    AtomicInteger inUse = new AtomicInteger();
+    AtomicInteger maxInUse = new AtomicInteger();
+    AtomicInteger failures = new AtomicInteger();
+    ExecutorService executor = Executors.newFixedThreadPool(16);
+    for (int i = 0; i < 16; i++) {
+      executor.execute(
+          () -> {
+            try {
+              for (int j = 0; j < 1000; j++) {
+                ConnectionBag.Entry<Integer> entry = bag.borrow(10, TimeUnit.SECONDS);
+                if (entry == null) {
+                  failures.incrementAndGet();
+                  continue;
+                }
+                maxInUse.accumulateAndGet(inUse.incrementAndGet(), Math::max);
+                inUse.decrementAndGet();
+                bag.release(entry);
+                bag.registerAffinity(entry);
+                bag.requite(entry);
+              }
+            } catch (InterruptedException e) {
+              failures.incrementAndGet();
+            }
+          });
+    }
+    executor.shutdown();
+    assertTrue(executor.awaitTermination(60, TimeUnit.SECONDS));
+    assertEquals(0, failures.get());
+    assertTrue(maxInUse.get() <= 4);
+    assertEquals(4, bag.getIdleCount());
+  }
+}
@@ -0,0 +1,238 @@
+/*
+ *
+ * MariaDB Client for Java
+ *
+ * Copyright (c) 2012-2014 Monty Program Ab.
+ * Copyright (c) 2015-2020 MariaDB Corporation Ab.
+ *
+ * This library is free software; you can redistribute it and/or modify it under
+ * the terms of the GNU Lesser General Public License as published by the Free
+ * Software Foundation; either version 2.1 of the License, or (at your option)
+ * any later version.
+ *
+ * This library is distributed in the hope that it will be useful, but
+ * WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE.  See the GNU Lesser General Public License
+ * for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License along
+ * with this library; if not, write to Monty Program Ab info@montyprogram.com.
+ *
+ */
+
+package org.mariadb.jdbc.internal.util.pool;
+
+import static org.junit.Assert.*;
+
+import java.sql.SQLException;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.locks.ReentrantLock;
+import org.junit.Test;
+import org.mariadb.jdbc.UrlParser;
+import org.mariadb.jdbc.internal.protocol.MasterProtocol;
+
+public class ControlConnectionPoolTest {
+
+  @Test
+  public void reuseConnection() throws Exception {
+    StubPool pool = new StubPool();
+    pool.killQuery(10);
+    pool.killQuery(11);
+    pool.killConnection(12);
+
+    assertEquals(1, pool.getConnectionsCreated());
+    assertEquals(1, pool.getIdleConnections());
+    assertEquals(3, pool.getCommandCount());
+    assertEquals(0, pool.getCommandErrors());
+    assertTrue(pool.getMaxLatencyNanos() > 0);
+    assertTrue(pool.getTotalLatencyNanos() >= pool.getMaxLatencyNanos());
+    assertEquals(3, pool.commands.size());
+    assertEquals("KILL QUERY 10", pool.commands.get(0));
+    assertEquals("KILL 12", pool.commands.get(2));
+  }
+
+  @Test
+  public void rejectedCommand() throws Exception {
+    StubPool pool = new StubPool();
+    pool.reject = true;
+    try {
+      pool.killQuery(10);
+      fail("must have thrown exception");
+    } catch (SQLException sqle) {
+      assertTrue(sqle.getMessage().contains("Unknown thread id"));
+    }
+    // server error, connection is kept
+    assertEquals(1, pool.getIdleConnections());
+    assertEquals(1, pool.getCommandErrors());
+
+    pool.reject = false;
+    pool.closeOnCommand = true;
+    try {
+      pool.killQuery(10);
+      fail("must have thrown exception");
+    } catch (SQLException sqle) {
+      // expected
+    }
+    // connection error, connection is discarded
+    assertEquals(0, pool.getIdleConnections());
+
+    pool.closeOnCommand = false;
+    pool.killQuery(10);
+    assertEquals(2, pool.getConnectionsCreated());
+  }
+
+  @Test
+  public void expiredAndClosed() throws Exception {
+    StubPool pool = new StubPool();
+    pool.killQuery(10);
+    assertEquals(1, pool.getIdleConnections());
+
+    pool.closeExpired(System.nanoTime());
+    assertEquals(1, pool.getIdleConnections());
+    pool.closeExpired(System.nanoTime() + ControlConnectionPool.IDLE_TIMEOUT_NANOS + 1);
+    assertEquals(0, pool.getIdleConnections());
+
+    // closed pool doesn't keep released connections
+    pool.killQuery(11);
+    assertEquals(1, pool.getIdleConnections());
+    pool.shutdown();
+    assertEquals(0, pool.getIdleConnections());
+    pool.killQuery(12);
+    assertEquals(0, pool.getIdleConnections());
+    assertEquals(3, pool.getConnectionsCreated());
+  }
+
+  @Test
+  public void reaperScheduled() throws Exception {
+    UrlParser urlParser = UrlParser.parse("jdbc:mariadb://localhost:3306/testj?user=reaper");
+    ControlConnectionPool.close();
+    assertFalse(ControlConnectionPool.isReaperScheduled());
+
+    // pool retrieved without connection pool, by a statement cancel for example
+    ControlConnectionPool.retrievePool(urlParser, urlParser.getHostAddresses().get(0));
+    assertTrue(ControlConnectionPool.isReaperScheduled());
+
+    // unused pool is removed, and reaper stops when no pool remains
+    ControlConnectionPool.reapIdle();
+    assertFalse(ControlConnectionPool.isReaperScheduled());
+  }
+
+  @Test
+  public void boundedConnections() throws Exception {
+    StubPool pool = new StubPool();
+    pool.block = new CountDownLatch(1);
+    ExecutorService executor = Executors.newFixedThreadPool(10);
+    try {
+      List<Future<?>> futures = new CopyOnWriteArrayList<>();
+      for (int i = 0; i < 10; i++) {
+        final int threadId = i;
+        futures.add(
+            executor.submit(
+                () -> {
+                  pool.killQuery(threadId);
+                  return null;
+                }));
+      }
+      // callers don't wait for a pooled connection : extra commands use one-off connections
+      long end = System.nanoTime() + TimeUnit.SECONDS.toNanos(2);
+      while (pool.running.get() < 10 && System.nanoTime() < end) {
+        Thread.sleep(10);
+      }
+      assertEquals(10, pool.running.get());
+
+      pool.block.countDown();
+      for (Future<?> future : futures) {
+        future.get(5, TimeUnit.SECONDS);
+      }
+      assertEquals(10, pool.getCommandCount());
+      assertEquals(10, pool.getConnectionsCreated());
+      // one-off connections are closed after use, pooled ones are kept up to MAX_IDLE
+      assertEquals(ControlConnectionPool.MAX_IDLE, pool.getIdleConnections());
+      assertEquals(10 - ControlConnectionPool.MAX_IDLE, pool.closedConnections.get());
+    } finally {
+      executor.shutdownNow();
+    }
+  }
+
+  private static class StubPool extends ControlConnectionPool {
+    private final List<String> commands = new CopyOnWriteArrayList<>();
+    private final AtomicInteger running = new AtomicInteger();
+    private final AtomicInteger closedConnections = new AtomicInteger();
+    private final UrlParser urlParser;
+    private volatile boolean reject;
+    private volatile boolean closeOnCommand;
+    private volatile CountDownLatch block;
+
+    StubPool() throws SQLException {
+      this(UrlParser.parse("jdbc:mariadb://localhost:3306/testj"));
+    }
+
+    private StubPool(UrlParser urlParser) {
+      super(urlParser, urlParser.getHostAddresses().get(0));
+      this.urlParser = urlParser;
+    }
+
+    @Override
+    protected MasterProtocol createProtocol() {
+      return new StubProtocol(this, urlParser);
+    }
+  }
+
+  /** Master protocol that is never connected, and only records commands. */
+  private static class StubProtocol extends MasterProtocol {
+    private final StubPool pool;
+    private boolean closed;
+
+    StubProtocol(StubPool pool, UrlParser urlParser) {
+      super(urlParser, new GlobalStateInfo(), new ReentrantLock(), null);
+      this.pool = pool;
+    }
+
+    @Override
+    public void executeQuery(String sql) throws SQLException {
+      pool.running.incrementAndGet();
+      try {
+        if (pool.block != null) {
+          pool.block.await(5, TimeUnit.SECONDS);
+        }
+      } catch (InterruptedException e) {
+        throw new SQLException(e);
+      } finally {
+        pool.running.decrementAndGet();
+      }
+      if (pool.closeOnCommand) {
+        closed = true;
+        throw new SQLException("Connection reset", "08000");
+      }
+      if (pool.reject) {
+        throw new SQLException("Unknown thread id: 10", "HY000", 1094);
+      }
+      pool.commands.add(sql);
+    }
+
+    @Override
+    public boolean ping() {
+      return !closed;
+    }
+
+    @Override
+    public boolean isClosed() {
+      return closed;
+    }
+
+    @Override
+    public void close() {
+      if (!closed) {
+        closed = true;
+        pool.closedConnections.incrementAndGet();
+      }
+    }
+  }
+}
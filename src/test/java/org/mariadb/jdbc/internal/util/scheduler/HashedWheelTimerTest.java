@@ -0,0 +1,87 @@
+/*
+ *
+ * MariaDB Client for Java
+ *
+ * Copyright (c) 2012-2014 Monty Program Ab.
+ * Copyright (c) 2015-2020 MariaDB Corporation Ab.
+ *
+ * This library is free software; you can redistribute it and/or modify it under
+ * the terms of the GNU Lesser General Public License as published by the Free
+ * Software Foundation; either version 2.1 of the License, or (at your option)
+ * any later version.
+ *
+ * This library is distributed in the hope that it will be useful, but
+ * WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE.  See the GNU Lesser General Public License
+ * for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License along
+ * with this library; if not, write to Monty Program Ab info@montyprogram.com.
+ *
+ */
+
+package org.mariadb.jdbc.internal.util.scheduler;
+
+import static org.junit.Assert.*;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.junit.Test;
+
+public class HashedWheelTimerTest {
+
+  @Test
+  public void expire() throws Exception {
+    HashedWheelTimer timer = new HashedWheelTimer("test-timeout", 10, TimeUnit.MILLISECONDS, 8, 2);
+    try {
+      CountDownLatch latch = new CountDownLatch(2);
+      long start = System.nanoTime();
+      HashedWheelTimer.Timeout shortTimeout =
+          timer.schedule(latch::countDown, 30, TimeUnit.MILLISECONDS);
+      // more than one wheel round
+      HashedWheelTimer.Timeout longTimeout =
+          timer.schedule(latch::countDown, 200, TimeUnit.MILLISECONDS);
+      assertTrue(latch.await(5, TimeUnit.SECONDS));
+      assertTrue(System.nanoTime() - start >= TimeUnit.MILLISECONDS.toNanos(200));
+      shortTimeout.get(1, TimeUnit.SECONDS);
+      longTimeout.get(1, TimeUnit.SECONDS);
+      assertFalse(shortTimeout.cancel(true));
+    } finally {
+      timer.close();
+    }
+  }
+
+  @Test
+  public void cancel() throws Exception {
+    HashedWheelTimer timer = new HashedWheelTimer("test-timeout", 10, TimeUnit.MILLISECONDS, 8, 2);
+    try {
+      AtomicInteger counter = new AtomicInteger();
+      for (int i = 0; i < 10_000; i++) {
+        HashedWheelTimer.Timeout timeout =
+            timer.schedule(counter::incrementAndGet, 50 + i % 100, TimeUnit.MILLISECONDS);
+        assertTrue(timeout.cancel(true));
+      }
+      CountDownLatch latch = new CountDownLatch(1);
+      timer.schedule(latch::countDown, 200, TimeUnit.MILLISECONDS);
+      assertTrue(latch.await(5, TimeUnit.SECONDS));
+      assertEquals(0, counter.get());
+      assertEquals(0, timer.pendingCount());
+    } finally {
+      timer.close();
+    }
+  }
+
+  @Test
+  public void closed() {
+    HashedWheelTimer timer = new HashedWheelTimer("test-timeout", 10, TimeUnit.MILLISECONDS, 8, 2);
+    timer.close();
+    try {
+      timer.schedule(() -> {}, 1, TimeUnit.SECONDS);
+      fail("must have thrown exception");
+    } catch (RejectedExecutionException expected) {
+      // expected
+    }
+  }
+}